@@ -0,0 +1,30 @@
+package com.lucasxf.ed.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for POK audit history.
+ *
+ * @param snapshotInterval a full snapshot of the content is stored every this many versions;
+ *                         versions in between store a delta against the previous one, so
+ *                         reconstructing any version applies at most {@code snapshotInterval - 1}
+ *                         deltas
+ * @param partitionsAhead  monthly partitions of the audit table kept created beyond the current
+ *                         month
+ * @param retentionMonths  full months of history kept before the current one; older partitions
+ *                         are archived to {@code archiveDir} and dropped. {@code 0} keeps
+ *                         everything
+ * @param archiveDir       directory for archived partitions (gzipped JSON Lines); retention is
+ *                         skipped while it is blank
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ConfigurationProperties(prefix = "audit")
+public record AuditProperties(
+    @DefaultValue("20") int snapshotInterval,
+    @DefaultValue("3") int partitionsAhead,
+    @DefaultValue("0") int retentionMonths,
+    String archiveDir
+) {
+}
@@ -0,0 +1,22 @@
+package com.lucasxf.ed.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for {@code Idempotency-Key} handling.
+ *
+ * @param ttl            how long a key is remembered; a retry after that runs again
+ * @param pendingTimeout how long an import may hold its key without finishing before a retry may
+ *                       take it over (covers a server that died mid-import)
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("PT24H") Duration ttl,
+    @DefaultValue("PT10M") Duration pendingTimeout
+) {
+}
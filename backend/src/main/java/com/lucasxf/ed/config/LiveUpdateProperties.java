@@ -0,0 +1,21 @@
+package com.lucasxf.ed.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the live update stream ({@code GET /api/v1/events}).
+ *
+ * @param maxConnectionsPerUser open streams allowed per user; further ones are refused
+ * @param timeout               how long a stream stays open before the client has to reconnect
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ConfigurationProperties(prefix = "live-updates")
+public record LiveUpdateProperties(
+    @DefaultValue("5") int maxConnectionsPerUser,
+    @DefaultValue("PT30M") Duration timeout
+) {
+}
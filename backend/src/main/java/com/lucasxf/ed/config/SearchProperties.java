@@ -1,6 +1,7 @@
 package com.lucasxf.ed.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 /**
  * Configuration properties for semantic search.
@@ -9,11 +10,41 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * @since 2026-02-26
  */
 @ConfigurationProperties(prefix = "search")
-public record SearchProperties(HuggingFace huggingFace) {
+public record SearchProperties(HuggingFace huggingFace, @DefaultValue Cache cache, @DefaultValue Lucene lucene,
+                               @DefaultValue Planner planner) {
 
     /**
      * HuggingFace Inference API configuration.
      */
     public record HuggingFace(String apiKey, String modelUrl, int maxRetries) {
     }
+
+    /**
+     * Per-user search result cache configuration.
+     *
+     * @param enabled    whether search responses are cached at all
+     * @param maxEntries upper bound on cached responses across all users (least recently used are evicted)
+     */
+    public record Cache(@DefaultValue("true") boolean enabled, @DefaultValue("1000") int maxEntries) {
+    }
+
+    /**
+     * Embedded Lucene search engine configuration.
+     *
+     * @param enabled          whether keyword, semantic and hybrid searches are served from the Lucene index
+     * @param indexPath        directory for the index files; {@code null} keeps the index in memory
+     * @param rebuildOnStartup whether to rebuild the index from Postgres once the application is ready
+     */
+    public record Lucene(@DefaultValue("false") boolean enabled, String indexPath,
+                         @DefaultValue("true") boolean rebuildOnStartup) {
+    }
+
+    /**
+     * Search planner thresholds.
+     *
+     * @param inMemoryMaxPoks corpora up to this many POKs are loaded and searched exactly in memory
+     *                        ({@code 0} disables the in-memory strategy)
+     */
+    public record Planner(@DefaultValue("300") int inMemoryMaxPoks) {
+    }
 }
@@ -12,7 +12,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.lucasxf.ed.config.AdminProperties;
+import com.lucasxf.ed.service.AuditLogMaintenanceService;
+import com.lucasxf.ed.service.DuplicateDetectionService;
 import com.lucasxf.ed.service.EmbeddingBackfillService;
+import com.lucasxf.ed.service.PokHistoryService;
+import com.lucasxf.ed.service.SearchEngine;
 import com.lucasxf.ed.service.TagSuggestionBackfillService;
 
 import static java.util.Objects.requireNonNull;
@@ -33,13 +37,25 @@ public class AdminController {
 
     private final EmbeddingBackfillService embeddingBackfillService;
     private final TagSuggestionBackfillService tagSuggestionBackfillService;
+    private final SearchEngine searchEngine;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final PokHistoryService pokHistoryService;
+    private final AuditLogMaintenanceService auditLogMaintenanceService;
     private final AdminProperties adminProperties;
 
     public AdminController(EmbeddingBackfillService embeddingBackfillService,
                            TagSuggestionBackfillService tagSuggestionBackfillService,
+                           SearchEngine searchEngine,
+                           DuplicateDetectionService duplicateDetectionService,
+                           PokHistoryService pokHistoryService,
+                           AuditLogMaintenanceService auditLogMaintenanceService,
                            AdminProperties adminProperties) {
         this.embeddingBackfillService = requireNonNull(embeddingBackfillService);
         this.tagSuggestionBackfillService = requireNonNull(tagSuggestionBackfillService);
+        this.searchEngine = requireNonNull(searchEngine);
+        this.duplicateDetectionService = requireNonNull(duplicateDetectionService);
+        this.pokHistoryService = requireNonNull(pokHistoryService);
+        this.auditLogMaintenanceService = requireNonNull(auditLogMaintenanceService);
         this.adminProperties = requireNonNull(adminProperties);
     }
 
@@ -83,4 +99,86 @@ public class AdminController {
         int enqueued = tagSuggestionBackfillService.backfill();
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("enqueued", enqueued));
     }
+
+    /**
+     * Rebuilds the search engine index from the database.
+     *
+     * <p>Runs synchronously; searches are served from Postgres until it completes. When no
+     * search engine is enabled this is a no-op that reports {@code 0}.
+     *
+     * @param internalKey the internal API key from the {@code X-Internal-Key} header
+     * @return {@code 200} with {@code {"indexed": N}} on success, {@code 401} if key is invalid
+     */
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildSearchIndex(
+        @RequestHeader(value = "X-Internal-Key", required = false) String internalKey) {
+        if (internalKey == null || !internalKey.equals(adminProperties.internalKey())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        int indexed = searchEngine.rebuild();
+        return ResponseEntity.ok(Map.of("indexed", indexed));
+    }
+
+    /**
+     * Computes near-duplicate signatures for all active POKs created before signatures existed.
+     *
+     * <p>Runs synchronously and is idempotent — already-signed POKs are skipped.
+     *
+     * @param internalKey the internal API key from the {@code X-Internal-Key} header
+     * @return {@code 200} with {@code {"signed": N}} on success, {@code 401} if key is invalid
+     */
+    @PostMapping("/poks/backfill-duplicate-signatures")
+    public ResponseEntity<Map<String, Integer>> backfillDuplicateSignatures(
+        @RequestHeader(value = "X-Internal-Key", required = false) String internalKey) {
+        if (internalKey == null || !internalKey.equals(adminProperties.internalKey())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        int signed = duplicateDetectionService.backfill();
+        return ResponseEntity.ok(Map.of("signed", signed));
+    }
+
+    /**
+     * Converts audit entries written before delta encoding (full old/new copies) into snapshots
+     * and deltas.
+     *
+     * <p>Runs synchronously in batches of POKs and is idempotent — already-compact entries are
+     * skipped, and entries that cannot be expressed as a delta are left unchanged.
+     *
+     * @param internalKey the internal API key from the {@code X-Internal-Key} header
+     * @return {@code 200} with {@code {"poks": N, "reencoded": M}} on success, {@code 401} if key is invalid
+     */
+    @PostMapping("/audit/compact")
+    public ResponseEntity<Map<String, Integer>> compactAuditLog(
+        @RequestHeader(value = "X-Internal-Key", required = false) String internalKey) {
+        if (internalKey == null || !internalKey.equals(adminProperties.internalKey())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        PokHistoryService.Compaction compaction = pokHistoryService.compactLegacyEntries();
+        return ResponseEntity.ok(Map.of("poks", compaction.poks(), "reencoded", compaction.reencoded()));
+    }
+
+    /**
+     * Runs audit log partition maintenance now instead of waiting for the scheduled run: creates
+     * upcoming monthly partitions and, if retention is configured, archives and drops expired ones.
+     *
+     * @param internalKey the internal API key from the {@code X-Internal-Key} header
+     * @return {@code 200} with {@code {"partitionsCreated": N, "partitionsArchived": M, "rowsArchived": R}}
+     *         on success, {@code 401} if key is invalid
+     */
+    @PostMapping("/audit/maintenance")
+    public ResponseEntity<Map<String, Long>> maintainAuditLog(
+        @RequestHeader(value = "X-Internal-Key", required = false) String internalKey) {
+        if (internalKey == null || !internalKey.equals(adminProperties.internalKey())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        AuditLogMaintenanceService.Maintenance maintenance = auditLogMaintenanceService.maintain();
+        return ResponseEntity.ok(Map.of(
+            "partitionsCreated", (long) maintenance.partitionsCreated(),
+            "partitionsArchived", (long) maintenance.partitionsArchived(),
+            "rowsArchived", maintenance.rowsArchived()));
+    }
 }
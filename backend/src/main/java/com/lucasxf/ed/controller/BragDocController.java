@@ -0,0 +1,107 @@
+package com.lucasxf.ed.controller;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lucasxf.ed.dto.BragDocJobResponse;
+import com.lucasxf.ed.service.BragDocService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * REST controller for brag document generation.
+ *
+ * <p>All endpoints require JWT authentication and only ever cover the caller's own POKs.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@RestController
+@RequestMapping("/api/v1/brag-docs")
+@Tag(name = "Brag document", description = "Markdown summaries of POKs per period and tag")
+public class BragDocController {
+
+    private final BragDocService bragDocService;
+
+    public BragDocController(BragDocService bragDocService) {
+        this.bragDocService = requireNonNull(bragDocService);
+    }
+
+    /**
+     * Starts generating a brag document, or returns the cached one if nothing changed since.
+     *
+     * @param period         month, quarter (default) or year
+     * @param from           minimum creation date (ISO 8601)
+     * @param to             maximum creation date (ISO 8601)
+     * @param authentication the authenticated user
+     * @return 200 with the document if it is already generated, 202 with the running job otherwise
+     */
+    @PostMapping
+    @Operation(
+        summary = "Generate a brag document",
+        description = "Groups the caller's POKs by creation period and tag, with the most representative POKs of " +
+                      "each tag, as Markdown. Runs in the background: poll the returned job until COMPLETED. Asking " +
+                      "again before any POK or tag changes returns the same job. One document per user is generated at a " +
+                      "time; asking for another one meanwhile returns a FAILED job to retry once the first is done."
+    )
+    @ApiResponse(responseCode = "200", description = "Document already generated for the current data")
+    @ApiResponse(responseCode = "202", description = "Generation started or still running")
+    @ApiResponse(responseCode = "400", description = "Unsupported period or malformed date")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<BragDocJobResponse> generate(
+        @Parameter(description = "Grouping period: 'month', 'quarter' or 'year'. Default: 'quarter'.")
+        @RequestParam(defaultValue = "quarter") String period,
+        @Parameter(description = "Minimum creation date filter (ISO 8601).")
+        @RequestParam(required = false) String from,
+        @Parameter(description = "Maximum creation date filter (ISO 8601).")
+        @RequestParam(required = false) String to,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        BragDocJobResponse job = bragDocService.start(userId, period, from, to);
+        HttpStatus status = job.status() == BragDocJobResponse.Status.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(job);
+    }
+
+    /**
+     * Returns a brag document job, with the document rendered so far.
+     *
+     * @param jobId          the job ID
+     * @param authentication the authenticated user
+     * @return the job, or 404 if the caller has no such job
+     */
+    @GetMapping("/{jobId}")
+    @Operation(
+        summary = "Get a brag document job",
+        description = "Returns the job's progress and the Markdown rendered so far, one period at a time. Jobs are " +
+                      "kept in memory and may be forgotten; start again if this returns 404."
+    )
+    @ApiResponse(responseCode = "200", description = "Job found")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "404", description = "No such job for the caller")
+    public ResponseEntity<BragDocJobResponse> get(
+        @Parameter(description = "Job ID") @PathVariable UUID jobId,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.of(bragDocService.find(userId, jobId));
+    }
+
+    private UUID extractUserId(Authentication authentication) {
+        return UUID.fromString(authentication.getName());
+    }
+}
@@ -0,0 +1,68 @@
+package com.lucasxf.ed.controller;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.lucasxf.ed.service.LiveUpdateService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * REST controller for the live update stream.
+ *
+ * <p>Requires JWT authentication (the access token cookie works with {@code EventSource}).
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+@Tag(name = "Live updates", description = "Server-Sent Events for background work and POK changes")
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveUpdateController(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = requireNonNull(liveUpdateService);
+    }
+
+    /**
+     * Opens the caller's live update stream.
+     *
+     * @param authentication the authenticated user
+     * @return the event stream, or 429 if the user has too many open
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream live updates",
+        description = "Server-Sent Events for the caller: suggestions-ready, embedding-ready and pok-changed, each " +
+                      "with the affected pokIds. Heartbeat comments keep the stream open; reconnect when it closes."
+    )
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "429", description = "Too many open streams for this user")
+    public ResponseEntity<SseEmitter> stream(Authentication authentication) {
+        UUID userId = extractUserId(authentication);
+        return liveUpdateService.connect(userId)
+            .map(emitter -> ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")  // Stop nginx from buffering the stream
+                .body(emitter))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+    }
+
+    private UUID extractUserId(Authentication authentication) {
+        return UUID.fromString(authentication.getName());
+    }
+}
@@ -1,5 +1,7 @@
 package com.lucasxf.ed.controller;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,25 +15,41 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 import com.lucasxf.ed.dto.CreatePokRequest;
+import com.lucasxf.ed.dto.PatchPokRequest;
+import com.lucasxf.ed.dto.DuplicateGroupResponse;
 import com.lucasxf.ed.dto.PokAuditLogResponse;
+import com.lucasxf.ed.dto.PokHistoryPageResponse;
+import com.lucasxf.ed.dto.PokImportResponse;
 import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.dto.PokVersionDiffResponse;
+import com.lucasxf.ed.dto.TagFacetResponse;
+import com.lucasxf.ed.dto.TimelineItemsResponse;
+import com.lucasxf.ed.dto.TimelineMonthResponse;
 import com.lucasxf.ed.dto.UpdatePokRequest;
+import com.lucasxf.ed.service.DuplicateDetectionService;
+import com.lucasxf.ed.service.PokETags;
+import com.lucasxf.ed.service.PokImportService;
 import com.lucasxf.ed.service.PokService;
+import com.lucasxf.ed.service.TimelineService;
 
 import static java.util.Objects.requireNonNull;
 
@@ -41,6 +59,10 @@ import static java.util.Objects.requireNonNull;
  * <p>All endpoints require JWT authentication. User ID is extracted from the
  * authentication context and used to enforce ownership rules.
  *
+ * <p>{@code GET /{id}} and {@code GET /} send strong ETags and answer a matching
+ * {@code If-None-Match} with {@code 304 Not Modified} before loading anything; {@code PUT /{id}}
+ * and {@code PATCH /{id}} honour {@code If-Match} (see {@link PokETags}).
+ *
  * @author Lucas Xavier Ferreira
  * @since 2026-02-14
  */
@@ -49,10 +71,24 @@ import static java.util.Objects.requireNonNull;
 @Tag(name = "POKs", description = "Piece of Knowledge (POK) management - create, read, update, delete learnings")
 public class PokController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION =
+        "Client-chosen unique key (max 255 chars). Retrying with the same key replays the original result " +
+        "until the key expires (24 hours by default) instead of creating POKs again.";
+
     private final PokService pokService;
+    private final TimelineService timelineService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final PokImportService pokImportService;
 
-    public PokController(PokService pokService) {
+    public PokController(PokService pokService,
+                         TimelineService timelineService,
+                         DuplicateDetectionService duplicateDetectionService,
+                         PokImportService pokImportService) {
         this.pokService = requireNonNull(pokService);
+        this.timelineService = requireNonNull(timelineService);
+        this.duplicateDetectionService = requireNonNull(duplicateDetectionService);
+        this.pokImportService = requireNonNull(pokImportService);
     }
 
     /**
@@ -62,49 +98,123 @@ public class PokController {
      * Content is mandatory as it represents the actual knowledge.
      *
      * @param request        the POK creation request
+     * @param idempotencyKey optional key that makes retries of this request safe
      * @param authentication the authenticated user
      * @return the created POK
      */
     @PostMapping
     @Operation(
         summary = "Create a new POK",
-        description = "Creates a new Piece of Knowledge. Title is optional (for frictionless capture), content is mandatory."
+        description = "Creates a new Piece of Knowledge. Title is optional (for frictionless capture), content is mandatory. " +
+                      "likelyDuplicates lists existing POKs with nearly identical text."
     )
     @ApiResponse(responseCode = "201", description = "POK created successfully")
     @ApiResponse(responseCode = "400", description = "Validation error (empty content, title too long)")
     @ApiResponse(responseCode = "401", description = "Unauthorized - missing or invalid JWT token")
+    @ApiResponse(responseCode = "409", description = "Idempotency-Key already used for a different request")
     public ResponseEntity<PokResponse> create(
         @Valid @RequestBody CreatePokRequest request,
+        @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
         Authentication authentication
     ) {
         UUID userId = extractUserId(authentication);
-        PokResponse response = pokService.create(request, userId);
+        PokResponse response = pokService.create(request, userId, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Imports POKs in bulk from a JSON bundle.
+     *
+     * <p>The body is an array of {@code {"title", "content", "tags"}} objects (or an object with a
+     * {@code "poks"} array) and is streamed, not buffered. Tags are given by name.
+     *
+     * @param body           the bundle
+     * @param idempotencyKey optional key that makes retries of this request safe
+     * @param authentication the authenticated user
+     * @return how many POKs were imported and which entries were skipped
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Import POKs from JSON",
+        description = "Imports a JSON array of {title, content, tags} objects (or {\"poks\": [...]}). " +
+                      "Tags are matched by name and created when missing. Entries that fail validation are " +
+                      "skipped and reported by index; the rest are imported. Embeddings and tag suggestions " +
+                      "are generated in the background."
+    )
+    @ApiResponse(responseCode = "200", description = "Import finished (see skipped/errors for rejected entries)")
+    @ApiResponse(responseCode = "400", description = "Body is not a JSON array of POKs")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "409", description = "An import with this Idempotency-Key is still running")
+    public ResponseEntity<PokImportResponse> importJson(
+        InputStream body,
+        @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(pokImportService.importJson(userId, body, idempotencyKey));
+    }
+
+    /**
+     * Imports POKs in bulk from a Markdown bundle, one POK per level-1 heading.
+     *
+     * @param body           the bundle
+     * @param idempotencyKey optional key that makes retries of this request safe
+     * @param authentication the authenticated user
+     * @return how many POKs were imported and which entries were skipped
+     */
+    @PostMapping(value = "/import", consumes = "text/markdown")
+    @Operation(
+        summary = "Import POKs from Markdown",
+        description = "Imports a Markdown document: each '# Title' heading starts a POK, an optional " +
+                      "'Tags: a, b' line right after it lists its tags, and the text up to the next heading " +
+                      "is its content. Entries that fail validation are skipped and reported by index."
+    )
+    @ApiResponse(responseCode = "200", description = "Import finished (see skipped/errors for rejected entries)")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "409", description = "An import with this Idempotency-Key is still running")
+    public ResponseEntity<PokImportResponse> importMarkdown(
+        Reader body,
+        @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(pokImportService.importMarkdown(userId, body, idempotencyKey));
+    }
+
     /**
      * Retrieves a POK by ID.
      *
      * @param id             the POK ID
+     * @param webRequest     the request, for {@code If-None-Match}
      * @param authentication the authenticated user
-     * @return the POK
+     * @return the POK, or {@code null} once a 304 has been sent
      */
     @GetMapping("/{id}")
     @Operation(
         summary = "Get POK by ID",
-        description = "Retrieves a specific POK by its ID. User must own the POK."
+        description = "Retrieves a specific POK by its ID. User must own the POK. " +
+                      "Sends an ETag; a matching If-None-Match gets 304 Not Modified."
     )
     @ApiResponse(responseCode = "200", description = "POK found")
+    @ApiResponse(responseCode = "304", description = "POK unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
     @ApiResponse(responseCode = "403", description = "Forbidden - POK belongs to another user")
     @ApiResponse(responseCode = "404", description = "POK not found or soft-deleted")
     public ResponseEntity<PokResponse> getById(
         @PathVariable UUID id,
+        WebRequest webRequest,
         Authentication authentication
     ) {
         UUID userId = extractUserId(authentication);
+        String eTag = pokService.getETag(id, userId);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         PokResponse response = pokService.getById(id, userId);
-        return ResponseEntity.ok(response);
+        return eTag == null ? ResponseEntity.ok(response) : ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     /**
@@ -116,6 +226,7 @@ public class PokController {
      *   <li>Semantic / hybrid search via pgvector cosine distance ({@code searchMode})</li>
      *   <li>Sorting by createdAt or updatedAt (ASC/DESC, default: updatedAt DESC)</li>
      *   <li>Date range filtering (creation and update dates)</li>
+     *   <li>Tag filtering by user-tag subscription IDs (any-of or all-of)</li>
      *   <li>Pagination (default: page 0, size 20, max 100)</li>
      * </ul>
      *
@@ -127,10 +238,13 @@ public class PokController {
      * @param createdTo      optional maximum creation date (ISO 8601)
      * @param updatedFrom    optional minimum update date (ISO 8601)
      * @param updatedTo      optional maximum update date (ISO 8601)
+     * @param tagIds         optional user-tag subscription IDs to filter by
+     * @param tagMatch       optional tag match mode: {@code any} (default) or {@code all}
      * @param page           page number (0-indexed, default 0)
      * @param size           page size (default 20, max 100)
+     * @param webRequest     the request, for {@code If-None-Match}
      * @param authentication the authenticated user
-     * @return a page of matching POKs
+     * @return a page of matching POKs, or {@code null} once a 304 has been sent
      */
     @GetMapping
     @Operation(
@@ -138,10 +252,12 @@ public class PokController {
         description = "Retrieves and searches active POKs for the authenticated user. " +
                       "Supports keyword search, semantic search (pgvector cosine distance), and hybrid " +
                       "(keyword + semantic blended) search modes via the `searchMode` parameter. " +
-                      "Also supports sorting, date range filters, and pagination. " +
-                      "Default sort: most recently updated (updatedAt DESC)."
+                      "Also supports sorting, date range filters, tag filters, and pagination. " +
+                      "Default sort: most recently updated (updatedAt DESC). " +
+                      "Sends an ETag; a matching If-None-Match gets 304 Not Modified while nothing the user can see has changed."
     )
     @ApiResponse(responseCode = "200", description = "POKs retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Results unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "400", description = "Invalid query parameters (e.g., malformed dates)")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
     public ResponseEntity<Page<PokResponse>> list(
@@ -164,10 +280,16 @@ public class PokController {
         @RequestParam(required = false) String updatedFrom,
         @Parameter(description = "Maximum last-updated date filter (ISO 8601).")
         @RequestParam(required = false) String updatedTo,
+        @Parameter(description = "User-tag subscription IDs to filter by. Repeat the parameter or comma-separate values.")
+        @RequestParam(required = false) List<UUID> tagIds,
+        @Parameter(description = "Tag match mode: 'any' (POK has at least one of tagIds) or 'all' (POK has every tag). " +
+                                 "Default: 'any'.")
+        @RequestParam(required = false) String tagMatch,
         @Parameter(description = "Page number (0-indexed). Default: 0.")
         @RequestParam(defaultValue = "0") int page,
         @Parameter(description = "Page size (max 100). Default: 20.")
         @RequestParam(defaultValue = "20") int size,
+        WebRequest webRequest,
         Authentication authentication
     ) {
         UUID userId = extractUserId(authentication);
@@ -175,6 +297,12 @@ public class PokController {
         // Enforce max page size
         int pageSize = Math.min(size, 100);
 
+        String eTag = pokService.searchETag(userId, keyword, searchMode, sortBy, sortDirection,
+            createdFrom, createdTo, updatedFrom, updatedTo, tagIds, tagMatch, page, pageSize);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         Page<PokResponse> response = pokService.search(
             userId,
             keyword,
@@ -185,41 +313,201 @@ public class PokController {
             createdTo,
             updatedFrom,
             updatedTo,
+            tagIds,
+            tagMatch,
             page,
             pageSize
         );
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    /**
+     * Returns per-tag POK counts for the result set of a search with the given filters.
+     *
+     * <p>Accepts the same filters as {@link #list}; counts are computed in one aggregate query,
+     * so the Tags view can render group headers without downloading every POK.
+     *
+     * @param keyword        optional keyword to search in title and content
+     * @param createdFrom    optional minimum creation date (ISO 8601)
+     * @param createdTo      optional maximum creation date (ISO 8601)
+     * @param updatedFrom    optional minimum update date (ISO 8601)
+     * @param updatedTo      optional maximum update date (ISO 8601)
+     * @param tagIds         optional user-tag subscription IDs to filter by
+     * @param tagMatch       optional tag match mode: {@code any} (default) or {@code all}
+     * @param authentication the authenticated user
+     * @return facet counts for each of the user's tags present in the result set
+     */
+    @GetMapping("/tag-facets")
+    @Operation(
+        summary = "Get tag facet counts for a search",
+        description = "Returns, for each of the user's tags, how many POKs matching the given filters carry it. " +
+                      "Accepts the same keyword, date, and tag filters as the list endpoint."
+    )
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid query parameters (e.g., malformed dates)")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<List<TagFacetResponse>> tagFacets(
+        @RequestParam(required = false) String keyword,
+        @RequestParam(required = false) String createdFrom,
+        @RequestParam(required = false) String createdTo,
+        @RequestParam(required = false) String updatedFrom,
+        @RequestParam(required = false) String updatedTo,
+        @RequestParam(required = false) List<UUID> tagIds,
+        @RequestParam(required = false) String tagMatch,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        List<TagFacetResponse> facets = pokService.getTagFacets(
+            userId, keyword, createdFrom, createdTo, updatedFrom, updatedTo, tagIds, tagMatch);
+        return ResponseEntity.ok(facets);
+    }
+
+    /**
+     * Returns the timeline's month buckets: how many POKs were created in each month (UTC),
+     * newest month first.
+     *
+     * @param authentication the authenticated user
+     * @return month buckets with POK counts
+     */
+    @GetMapping("/timeline")
+    @Operation(
+        summary = "Get timeline months",
+        description = "Returns the number of POKs created in each month (UTC, YYYY-MM), newest first. " +
+                      "Months without POKs are omitted. Load a month's POKs with /timeline/{month}."
+    )
+    @ApiResponse(responseCode = "200", description = "Months retrieved successfully")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<List<TimelineMonthResponse>> timelineMonths(Authentication authentication) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(timelineService.getMonths(userId));
+    }
+
+    /**
+     * Returns one slice of the POKs created in a month, newest first.
+     *
+     * @param month          the month (YYYY-MM, UTC)
+     * @param cursor         the {@code nextCursor} of the previous slice, absent for the first
+     * @param size           slice size (max 100)
+     * @param authentication the authenticated user
+     * @return the POKs and the cursor for the next slice ({@code null} on the last one)
+     */
+    @GetMapping("/timeline/{month}")
+    @Operation(
+        summary = "Get timeline month items",
+        description = "Returns the POKs created in the given month (UTC), newest first, paginated by an opaque cursor. " +
+                      "Pass the returned nextCursor to fetch the next slice; it is null on the last slice."
+    )
+    @ApiResponse(responseCode = "200", description = "Month items retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Malformed month or cursor")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<TimelineItemsResponse> timelineMonthItems(
+        @Parameter(description = "Month in YYYY-MM format, e.g. 2026-01.")
+        @PathVariable String month,
+        @Parameter(description = "Opaque cursor from the previous response's nextCursor. Omit for the first slice.")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Slice size (max 100). Default: 20.")
+        @RequestParam(defaultValue = "20") int size,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        int sliceSize = Math.max(1, Math.min(size, 100));
+        return ResponseEntity.ok(timelineService.getMonthItems(userId, month, cursor, sliceSize));
+    }
+
+    /**
+     * Returns the user's groups of near-duplicate POKs.
+     *
+     * @param authentication the authenticated user
+     * @return groups of two or more POKs with nearly identical text, largest first
+     */
+    @GetMapping("/duplicates")
+    @Operation(
+        summary = "Get near-duplicate POKs",
+        description = "Groups the user's POKs whose title and content are nearly identical. " +
+                      "Each group lists its POKs oldest first, with similarity relative to the oldest."
+    )
+    @ApiResponse(responseCode = "200", description = "Duplicate groups retrieved successfully")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<List<DuplicateGroupResponse>> duplicates(Authentication authentication) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(duplicateDetectionService.findDuplicateGroups(userId));
     }
 
     /**
      * Updates a POK.
      *
-     * <p>Title and content can both be updated. Title can be set to null to remove it.
+     * <p>Title and content can both be updated. Title can be set to null to remove it. With
+     * {@code If-Match}, the update only applies if the POK's content has not changed since that
+     * ETag was issued.
      *
      * @param id             the POK ID
      * @param request        the update request
+     * @param ifMatch        optional ETag from an earlier read
      * @param authentication the authenticated user
-     * @return the updated POK
+     * @return the updated POK, with its new ETag
      */
     @PutMapping("/{id}")
     @Operation(
         summary = "Update POK",
-        description = "Updates an existing POK. User must own the POK. Title can be set to null."
+        description = "Updates an existing POK. User must own the POK. Title can be set to null. " +
+                      "Send the ETag from the last read in If-Match to avoid overwriting another client's edit."
     )
     @ApiResponse(responseCode = "200", description = "POK updated successfully")
     @ApiResponse(responseCode = "400", description = "Validation error")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
     @ApiResponse(responseCode = "403", description = "Forbidden - POK belongs to another user")
     @ApiResponse(responseCode = "404", description = "POK not found or soft-deleted")
+    @ApiResponse(responseCode = "412", description = "POK changed since the ETag in If-Match")
     public ResponseEntity<PokResponse> update(
         @PathVariable UUID id,
         @Valid @RequestBody UpdatePokRequest request,
+        @Parameter(description = "ETag from the last read; the update fails with 412 if the POK changed since.")
+        @RequestHeader(value = "If-Match", required = false) String ifMatch,
         Authentication authentication
     ) {
         UUID userId = extractUserId(authentication);
-        PokResponse response = pokService.update(id, request, userId);
-        return ResponseEntity.ok(response);
+        String changeToken = pokService.changeToken(userId);
+        PokResponse response = pokService.update(id, request, userId, ifMatch);
+        return ResponseEntity.ok().eTag(PokETags.forPok(response.updatedAt(), changeToken)).body(response);
+    }
+
+    /**
+     * Partially updates a POK.
+     *
+     * <p>Only the fields sent are changed, and content can be edited by character ranges instead
+     * of being re-sent whole. Supports {@code If-Match} like {@code PUT}.
+     *
+     * @param id             the POK ID
+     * @param request        the patch
+     * @param ifMatch        optional ETag from an earlier read
+     * @param authentication the authenticated user
+     * @return the patched POK, with its new ETag
+     */
+    @PatchMapping("/{id}")
+    @Operation(
+        summary = "Partially update POK",
+        description = "Changes only the fields sent. Content is replaced whole (content) or by text-range edits " +
+                      "(edits, offsets into the current content). A patch that changes nothing writes nothing and " +
+                      "does not regenerate embeddings or tag suggestions."
+    )
+    @ApiResponse(responseCode = "200", description = "POK patched successfully")
+    @ApiResponse(responseCode = "400", description = "Validation error or edits outside the content")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "403", description = "Forbidden - POK belongs to another user")
+    @ApiResponse(responseCode = "404", description = "POK not found or soft-deleted")
+    @ApiResponse(responseCode = "412", description = "POK changed since the ETag in If-Match")
+    public ResponseEntity<PokResponse> patch(
+        @PathVariable UUID id,
+        @Valid @RequestBody PatchPokRequest request,
+        @Parameter(description = "ETag from the last read; the patch fails with 412 if the POK changed since.")
+        @RequestHeader(value = "If-Match", required = false) String ifMatch,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        String changeToken = pokService.changeToken(userId);
+        PokResponse response = pokService.patch(id, request, userId, ifMatch);
+        return ResponseEntity.ok().eTag(PokETags.forPok(response.updatedAt(), changeToken)).body(response);
     }
 
     /**
@@ -264,7 +552,8 @@ public class PokController {
     @GetMapping("/{id}/history")
     @Operation(
         summary = "Get POK audit history",
-        description = "Returns all audit log entries for a POK (create, update, delete events), newest first. User must own the POK."
+        description = "Returns all audit log entries for a POK (create, update, delete events), newest first, " +
+                      "with full titles and content. For long histories use /history/versions. User must own the POK."
     )
     @ApiResponse(responseCode = "200", description = "History retrieved successfully")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
@@ -279,6 +568,94 @@ public class PokController {
         return ResponseEntity.ok(history);
     }
 
+    /**
+     * Returns one slice of a POK's audit history, newest first, without titles or content.
+     *
+     * @param id             the POK ID
+     * @param cursor         the {@code nextCursor} of the previous slice, absent for the first
+     * @param size           slice size (max 100)
+     * @param authentication the authenticated user
+     * @return the entries and the cursor for the next slice ({@code null} on the last one)
+     */
+    @GetMapping("/{id}/history/versions")
+    @Operation(
+        summary = "Get POK history versions",
+        description = "Returns a POK's audit entries newest first, with content lengths and size changes instead of " +
+                      "titles and content, paginated by an opaque cursor. Load one version with /history/versions/{version}. " +
+                      "User must own the POK."
+    )
+    @ApiResponse(responseCode = "200", description = "History slice retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "403", description = "Forbidden - POK belongs to another user")
+    @ApiResponse(responseCode = "404", description = "POK not found")
+    public ResponseEntity<PokHistoryPageResponse> getHistoryVersions(
+        @PathVariable UUID id,
+        @Parameter(description = "Opaque cursor from the previous response's nextCursor. Omit for the first slice.")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Slice size (max 100). Default: 20.")
+        @RequestParam(defaultValue = "20") int size,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        int sliceSize = Math.max(1, Math.min(size, 100));
+        return ResponseEntity.ok(pokService.getHistoryPage(id, userId, cursor, sliceSize));
+    }
+
+    /**
+     * Returns one version of a POK's audit history with its old and new values.
+     *
+     * @param id             the POK ID
+     * @param version        the history version
+     * @param authentication the authenticated user
+     * @return the audit entry
+     */
+    @GetMapping("/{id}/history/versions/{version}")
+    @Operation(
+        summary = "Get POK history version",
+        description = "Returns one audit entry of a POK with its title and content before and after the change. " +
+                      "User must own the POK."
+    )
+    @ApiResponse(responseCode = "200", description = "Version retrieved successfully")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "403", description = "Forbidden - POK belongs to another user")
+    @ApiResponse(responseCode = "404", description = "POK or version not found")
+    public ResponseEntity<PokAuditLogResponse> getHistoryVersion(
+        @PathVariable UUID id,
+        @PathVariable int version,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(pokService.getHistoryVersion(id, version, userId));
+    }
+
+    /**
+     * Returns the content changes made by one version of a POK.
+     *
+     * @param id             the POK ID
+     * @param version        the history version
+     * @param authentication the authenticated user
+     * @return the title change and content edits
+     */
+    @GetMapping("/{id}/history/versions/{version}/diff")
+    @Operation(
+        summary = "Get POK history version diff",
+        description = "Returns the title before and after one audit entry and its content changes as EQUAL, DELETE " +
+                      "and INSERT segments. User must own the POK."
+    )
+    @ApiResponse(responseCode = "200", description = "Diff retrieved successfully")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "403", description = "Forbidden - POK belongs to another user")
+    @ApiResponse(responseCode = "404", description = "POK or version not found")
+    public ResponseEntity<PokVersionDiffResponse> getHistoryDiff(
+        @PathVariable UUID id,
+        @PathVariable int version,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(pokService.getHistoryDiff(id, version, userId));
+    }
+
     /**
      * Extracts the user ID from the authentication context.
      *
@@ -0,0 +1,102 @@
+package com.lucasxf.ed.controller;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.lucasxf.ed.service.PokExportService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * REST controller for exporting POKs.
+ *
+ * <p>All endpoints require JWT authentication and only ever export the caller's own POKs.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@RestController
+@RequestMapping("/api/v1/poks/export")
+@Tag(name = "Export", description = "Download POKs as NDJSON, Markdown or ZIP")
+public class PokExportController {
+
+    private final PokExportService pokExportService;
+
+    public PokExportController(PokExportService pokExportService) {
+        this.pokExportService = requireNonNull(pokExportService);
+    }
+
+    /**
+     * Streams the caller's POKs, optionally filtered, as a download.
+     *
+     * @param format         ndjson (default), markdown or zip
+     * @param authentication the authenticated user
+     * @return the export, written while it is read
+     */
+    @GetMapping
+    @Operation(
+        summary = "Export POKs",
+        description = "Downloads the caller's POKs with their tags. ndjson: one JSON object per line; markdown: one " +
+                      "'# Title' section per POK, in the import format; zip: one Markdown file per POK in a folder " +
+                      "per tag. Accepts the keyword, date, tag and sort filters of the list endpoint."
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @ApiResponse(responseCode = "400", description = "Unsupported format or malformed filter")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<StreamingResponseBody> export(
+        @Parameter(description = "Output format: 'ndjson', 'markdown' or 'zip'. Default: 'ndjson'.")
+        @RequestParam(defaultValue = "ndjson") String format,
+        @Parameter(description = "Keyword to search in title and content (case-insensitive).")
+        @RequestParam(required = false) String keyword,
+        @Parameter(description = "Sort field: 'createdAt' or 'updatedAt'. Default: 'updatedAt'.")
+        @RequestParam(required = false) String sortBy,
+        @Parameter(description = "Sort direction: 'ASC' or 'DESC'. Default: 'DESC'.")
+        @RequestParam(required = false) String sortDirection,
+        @Parameter(description = "Minimum creation date filter (ISO 8601).")
+        @RequestParam(required = false) String createdFrom,
+        @Parameter(description = "Maximum creation date filter (ISO 8601).")
+        @RequestParam(required = false) String createdTo,
+        @Parameter(description = "Minimum last-updated date filter (ISO 8601).")
+        @RequestParam(required = false) String updatedFrom,
+        @Parameter(description = "Maximum last-updated date filter (ISO 8601).")
+        @RequestParam(required = false) String updatedTo,
+        @Parameter(description = "User-tag subscription IDs to filter by. Repeat the parameter or comma-separate values.")
+        @RequestParam(required = false) List<UUID> tagIds,
+        @Parameter(description = "Tag match mode: 'any' or 'all'. Default: 'any'.")
+        @RequestParam(required = false) String tagMatch,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        PokExportService.Format exportFormat = PokExportService.Format.of(format);
+        PokExportService.Export export = pokExportService.prepare(userId, exportFormat, new PokExportService.Filter(
+            keyword, sortBy, sortDirection, createdFrom, createdTo, updatedFrom, updatedTo, tagIds, tagMatch));
+
+        String fileName = "learnimo-export-" + LocalDate.now(ZoneOffset.UTC) + "." + exportFormat.extension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(out -> pokExportService.write(export, out));
+    }
+
+    private UUID extractUserId(Authentication authentication) {
+        return UUID.fromString(authentication.getName());
+    }
+}
@@ -0,0 +1,107 @@
+package com.lucasxf.ed.controller;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lucasxf.ed.dto.SyncBatchRequest;
+import com.lucasxf.ed.dto.SyncBatchResponse;
+import com.lucasxf.ed.dto.SyncChangesResponse;
+import com.lucasxf.ed.service.SyncService;
+import com.lucasxf.ed.service.SyncUploadService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * REST controller for incremental sync of offline-first clients.
+ *
+ * <p>All endpoints require JWT authentication and only ever return the caller's own data.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@RestController
+@RequestMapping("/api/v1/sync")
+@Tag(name = "Sync", description = "Incremental change feed for offline-first clients")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final SyncUploadService syncUploadService;
+
+    public SyncController(SyncService syncService, SyncUploadService syncUploadService) {
+        this.syncService = requireNonNull(syncService);
+        this.syncUploadService = requireNonNull(syncUploadService);
+    }
+
+    /**
+     * Returns the POKs, tags and tag assignments changed since a cursor.
+     *
+     * @param since          the cursor of the previous response; omit for a full sync
+     * @param limit          maximum changes per page (default 500, max 1000)
+     * @param authentication the authenticated user
+     * @return the changes and the next cursor
+     */
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get changes since a cursor",
+        description = "Returns POKs, tag subscriptions and POK–tag assignments created, changed or deleted since " +
+                      "the cursor, deletions as tombstones. Store the returned cursor and send it as 'since' next " +
+                      "time; while hasMore is true, call again immediately. Applying a change twice is harmless."
+    )
+    @ApiResponse(responseCode = "200", description = "Changes retrieved")
+    @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<SyncChangesResponse> changes(
+        @Parameter(description = "Cursor from the previous response; omit for a full sync")
+        @RequestParam(required = false) String since,
+        @Parameter(description = "Maximum changes per page (default 500, max 1000)")
+        @RequestParam(defaultValue = "500") int limit,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        int pageSize = Math.max(1, Math.min(limit, 1000));
+        return ResponseEntity.ok(syncService.changes(userId, since, pageSize));
+    }
+
+    /**
+     * Applies a batch of offline POK edits in one round trip.
+     *
+     * @param request        the edits, in the order they were made
+     * @param authentication the authenticated user
+     * @return one result per operation, in request order
+     */
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Upload offline edits",
+        description = "Applies up to 500 create, update and delete operations in order. Updates and deletes carry " +
+                      "the updatedAt they were made against; if the POK changed since, the operation is reported " +
+                      "as CONFLICT with the server's copy and nothing is written. Resending a batch is safe."
+    )
+    @ApiResponse(responseCode = "200", description = "Batch processed; see each operation's status")
+    @ApiResponse(responseCode = "400", description = "Validation error")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<SyncBatchResponse> batch(
+        @Valid @RequestBody SyncBatchRequest request,
+        Authentication authentication
+    ) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(syncUploadService.apply(userId, request));
+    }
+
+    private UUID extractUserId(Authentication authentication) {
+        return UUID.fromString(authentication.getName());
+    }
+}
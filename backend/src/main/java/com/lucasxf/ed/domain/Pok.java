@@ -1,18 +1,18 @@
 package com.lucasxf.ed.domain;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.UuidGenerator;
 
 import com.lucasxf.ed.config.VectorAttributeConverter;
 
@@ -30,8 +30,9 @@ import com.lucasxf.ed.config.VectorAttributeConverter;
 @Table(name = "poks")
 public class Pok {
 
+    // Time-ordered (UUIDv7) so inserts append to the right edge of the primary key index
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -53,14 +54,25 @@ public class Pok {
     @Convert(converter = VectorAttributeConverter.class)
     private float[] embedding;
 
+    /**
+     * 64-bit SimHash of the title and content, used for near-duplicate detection.
+     * NULL for POKs created before signatures existed, until backfilled.
+     */
+    @Column(name = "content_simhash")
+    private Long contentSimhash;
+
     @Column(name = "deleted_at")
     private Instant deletedAt;
 
     @Column(name = "created_at", nullable = false, updatable = false)
-    private Instant createdAt = Instant.now();
+    private Instant createdAt = now();
 
+    /**
+     * When the title, content or deletion state last changed. Background updates (embedding,
+     * signature) leave it alone, so it can serve as the POK's content version (ETags, If-Match).
+     */
     @Column(name = "updated_at", nullable = false)
-    private Instant updatedAt = Instant.now();
+    private Instant updatedAt = createdAt;
 
     protected Pok() {
         // JPA requires a no-arg constructor
@@ -79,16 +91,12 @@ public class Pok {
         this.content = content;
     }
 
-    @PreUpdate
-    void onUpdate() {
-        this.updatedAt = Instant.now();
-    }
-
     /**
      * Soft deletes this POK by setting the deletion timestamp.
      */
     public void softDelete() {
-        this.deletedAt = Instant.now();
+        this.deletedAt = now();
+        this.updatedAt = deletedAt;
     }
 
     /**
@@ -106,7 +114,10 @@ public class Pok {
      * @param title the new title (can be null or empty)
      */
     public void updateTitle(String title) {
-        this.title = title;
+        if (!Objects.equals(this.title, title)) {
+            this.title = title;
+            this.updatedAt = now();
+        }
     }
 
     /**
@@ -115,7 +126,10 @@ public class Pok {
      * @param content the new content
      */
     public void updateContent(String content) {
-        this.content = content;
+        if (!Objects.equals(this.content, content)) {
+            this.content = content;
+            this.updatedAt = now();
+        }
     }
 
     /**
@@ -155,6 +169,23 @@ public class Pok {
         this.embedding = null;
     }
 
+    /**
+     * Stores the near-duplicate signature computed from the current title and content.
+     *
+     * @param contentSimhash the 64-bit SimHash
+     */
+    public void updateContentSimhash(Long contentSimhash) {
+        this.contentSimhash = contentSimhash;
+    }
+
+    /**
+     * The current time at the precision Postgres stores, so an in-memory timestamp (and any ETag
+     * derived from it) equals the one read back from the database.
+     */
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // Getters
 
     public UUID getId() {
@@ -188,4 +219,8 @@ public class Pok {
     public float[] getEmbedding() {
         return embedding;
     }
+
+    public Long getContentSimhash() {
+        return contentSimhash;
+    }
 }
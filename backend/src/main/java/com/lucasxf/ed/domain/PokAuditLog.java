@@ -7,23 +7,35 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.UuidGenerator;
+
 /**
  * Immutable audit log entry recording every create, update, or delete on a POK.
  *
  * <p>Audit entries are never modified after creation. The {@code pok_id} FK uses
  * {@code ON DELETE RESTRICT} to prevent losing history if hard-delete is added later.
  *
- * <p>Content fields capture the state before and after the change:
+ * <p>Entries are numbered per POK ({@code version}, starting at 1) and stored in one of three
+ * {@link Storage} formats:
  * <ul>
- *   <li>CREATE: {@code oldTitle}, {@code oldContent} are null; new values set</li>
- *   <li>UPDATE: both old and new values recorded</li>
- *   <li>DELETE: {@code newTitle}, {@code newContent} are null; old values preserved</li>
+ *   <li>{@link Storage#FULL}: both the old and the new title and content are stored (CREATE
+ *       entries have null old values, DELETE entries null new values). Entries written before
+ *       delta encoding, and the first entry of a POK with no earlier history, use this format.</li>
+ *   <li>{@link Storage#SNAPSHOT}: only the new title and content are stored; the old values are
+ *       those of the previous version.</li>
+ *   <li>{@link Storage#DELTA}: the new title is stored, and the new content as an edit script
+ *       against the previous version's content. DELETE entries store nothing — the POK's last
+ *       state is the previous version.</li>
  * </ul>
+ * Reconstructing a version therefore starts from the nearest FULL or SNAPSHOT entry at or before
+ * it and applies the deltas in between.
+ *
+ * <p>Every entry also records the length of the content it leaves behind ({@code contentLength},
+ * 0 after a DELETE), so a history listing can show how much each version changed without
+ * reconstructing any content.
  *
  * @author Lucas Xavier Ferreira
  * @since 2026-02-20
@@ -41,8 +53,17 @@ public class PokAuditLog {
         DELETE
     }
 
+    /**
+     * How the entry's content is stored.
+     */
+    public enum Storage {
+        FULL,
+        SNAPSHOT,
+        DELTA
+    }
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @Column(name = "pok_id", nullable = false)
@@ -67,6 +88,19 @@ public class PokAuditLog {
     @Column(name = "new_content", columnDefinition = "TEXT")
     private String newContent;
 
+    @Column(name = "content_delta", columnDefinition = "TEXT")
+    private String contentDelta;
+
+    @Column(name = "content_length")
+    private Integer contentLength;
+
+    @Column(nullable = false)
+    private int version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Storage storage;
+
     @Column(name = "occurred_at", nullable = false)
     private Instant occurredAt;
 
@@ -75,11 +109,12 @@ public class PokAuditLog {
     }
 
     /**
-     * Creates a new audit log entry.
+     * Creates a {@link Storage#FULL} audit log entry, storing both old and new values.
      *
      * @param pokId      the POK being audited
      * @param userId     the user performing the action (denormalized)
      * @param action     the operation type (CREATE, UPDATE, DELETE)
+     * @param version    the entry's position in the POK's history, starting at 1
      * @param oldTitle   title before the change (null for CREATE)
      * @param newTitle   title after the change (null for DELETE)
      * @param oldContent content before the change (null for CREATE)
@@ -90,23 +125,76 @@ public class PokAuditLog {
         UUID pokId,
         UUID userId,
         Action action,
+        int version,
         String oldTitle,
         String newTitle,
         String oldContent,
         String newContent,
         Instant occurredAt
     ) {
+        this(pokId, userId, action, version, Storage.FULL, oldTitle, newTitle, oldContent, newContent, null,
+            action == Action.DELETE ? Integer.valueOf(0) : lengthOf(newContent), occurredAt);
+    }
+
+    private PokAuditLog(UUID pokId, UUID userId, Action action, int version, Storage storage,
+                        String oldTitle, String newTitle, String oldContent, String newContent,
+                        String contentDelta, Integer contentLength, Instant occurredAt) {
         this.pokId = pokId;
         this.userId = userId;
         this.action = action;
+        this.version = version;
+        this.storage = storage;
         this.oldTitle = oldTitle;
         this.newTitle = newTitle;
         this.oldContent = oldContent;
         this.newContent = newContent;
+        this.contentDelta = contentDelta;
+        this.contentLength = contentLength;
         this.occurredAt = occurredAt;
     }
 
-    // Getters — no setters: audit entries are immutable after creation
+    /**
+     * Creates a {@link Storage#SNAPSHOT} entry for a CREATE or UPDATE, storing only the new state.
+     */
+    public static PokAuditLog snapshot(UUID pokId, UUID userId, Action action, int version,
+                                       String title, String content, Instant occurredAt) {
+        return new PokAuditLog(pokId, userId, action, version, Storage.SNAPSHOT,
+            null, title, null, content, null, lengthOf(content), occurredAt);
+    }
+
+    /**
+     * Creates a {@link Storage#DELTA} entry for an UPDATE, storing the new title and an edit
+     * script from the previous version's content to the new content.
+     *
+     * @param contentLength length of the new content, as computed by {@link #lengthOf}
+     */
+    public static PokAuditLog delta(UUID pokId, UUID userId, int version, String title, String contentDelta,
+                                    int contentLength, Instant occurredAt) {
+        return new PokAuditLog(pokId, userId, Action.UPDATE, version, Storage.DELTA,
+            null, title, null, null, contentDelta, contentLength, occurredAt);
+    }
+
+    /**
+     * Creates a {@link Storage#DELTA} entry for a DELETE; the deleted state is the previous version.
+     */
+    public static PokAuditLog deletion(UUID pokId, UUID userId, int version, Instant occurredAt) {
+        return new PokAuditLog(pokId, userId, Action.DELETE, version, Storage.DELTA,
+            null, null, null, null, null, 0, occurredAt);
+    }
+
+    /**
+     * Length of a POK's content in Unicode code points, the unit of PostgreSQL's
+     * {@code char_length} (used to backfill existing entries).
+     *
+     * @param content the content, may be null
+     * @return the length, or {@code null} for null content
+     */
+    public static Integer lengthOf(String content) {
+        return content == null ? null : content.codePointCount(0, content.length());
+    }
+
+    // Getters — no setters: audit entries are immutable after creation (legacy FULL entries are
+    // only re-encoded in place by the one-off compaction, which preserves what they describe)
 
     public UUID getId() {
         return id;
@@ -140,6 +228,26 @@ public class PokAuditLog {
         return newContent;
     }
 
+    public String getContentDelta() {
+        return contentDelta;
+    }
+
+    /**
+     * Length of the content after this entry's change (0 after a DELETE), or {@code null} if it
+     * was not recorded.
+     */
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
     public Instant getOccurredAt() {
         return occurredAt;
     }
@@ -0,0 +1,44 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for a brag document generation job.
+ *
+ * @param jobId        the job ID, to poll with
+ * @param status       where the job is
+ * @param period       the period POKs are grouped by: {@code month}, {@code quarter} or {@code year}
+ * @param periodsDone  periods rendered so far
+ * @param periodsTotal periods in the document ({@code 0} until the rollup has run)
+ * @param markdown     the document rendered so far, complete once {@code status} is COMPLETED
+ * @param error        why the job failed
+ * @param createdAt    when the job started
+ * @param completedAt  when the job completed or failed
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record BragDocJobResponse(
+    UUID jobId,
+    Status status,
+    String period,
+    int periodsDone,
+    int periodsTotal,
+    String markdown,
+    String error,
+    Instant createdAt,
+    Instant completedAt
+) {
+
+    /**
+     * Where a job is.
+     */
+    public enum Status {
+        /** Rendering; {@code markdown} grows one period at a time. */
+        RUNNING,
+        /** Done; the document stays cached until the user's data changes. */
+        COMPLETED,
+        /** Generation failed; starting again runs a new job. */
+        FAILED
+    }
+}
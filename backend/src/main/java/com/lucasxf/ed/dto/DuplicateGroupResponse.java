@@ -0,0 +1,15 @@
+package com.lucasxf.ed.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a group of POKs that are near-duplicates of each other.
+ *
+ * @param poks the group's POKs, oldest first; similarities are relative to the oldest one
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record DuplicateGroupResponse(
+    List<PokDuplicateResponse> poks
+) {
+}
@@ -0,0 +1,29 @@
+package com.lucasxf.ed.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One POK in a bulk import bundle.
+ *
+ * <p>Unlike {@link CreatePokRequest}, tags are given by name: notes coming from other tools
+ * carry their own labels, which are matched case-insensitively against the user's tags and
+ * created when missing.
+ *
+ * @param title   optional title (0-200 characters)
+ * @param content mandatory content (1-50,000 characters)
+ * @param tags    optional tag names
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record ImportPokRequest(
+    @Size(max = 200, message = "Title must be 200 characters or less") String title,
+    @NotBlank(message = "Content is required and must not be blank")
+    @Size(min = 1, max = 50000, message = "Content must be between 1 and 50,000 characters")
+    String content,
+    @Size(max = 50, message = "You can assign at most 50 tags to a learning")
+    List<@NotBlank(message = "Tag names must not be blank")
+         @Size(max = 100, message = "Tag name must be 100 characters or less") String> tags) {
+}
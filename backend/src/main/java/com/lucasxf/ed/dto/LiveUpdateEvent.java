@@ -0,0 +1,21 @@
+package com.lucasxf.ed.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payload of a live update event.
+ *
+ * <p>Like the domain events behind it, it only identifies what changed; clients re-fetch what
+ * they display. A {@code pok-changed} event with no POK IDs means only tag subscriptions changed.
+ *
+ * @param pokIds the POKs the event is about
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record LiveUpdateEvent(List<UUID> pokIds) {
+
+    public LiveUpdateEvent {
+        pokIds = List.copyOf(pokIds);
+    }
+}
@@ -0,0 +1,59 @@
+package com.lucasxf.ed.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for partially updating a POK.
+ *
+ * <p>Omitted fields are left unchanged. Content is replaced either whole ({@code content}) or by
+ * text-range {@code edits}, never both; the edits' offsets refer to the current content, in UTF-16
+ * code units, and must be in ascending, non-overlapping order. The resulting content follows the
+ * same rules as {@link UpdatePokRequest}.
+ *
+ * @param title      the new title (0-200 characters), or {@code null} to keep it
+ * @param clearTitle {@code true} to remove the title
+ * @param content    the new content (1-50,000 characters), or {@code null} to keep it
+ * @param edits      text-range edits to apply to the current content
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record PatchPokRequest(
+
+    @Size(max = 200, message = "Title must be 200 characters or less")
+    String title,
+
+    Boolean clearTitle,
+
+    @Size(min = 1, max = 50000, message = "Content must be between 1 and 50,000 characters")
+    String content,
+
+    @Size(max = 1000, message = "A patch can contain at most 1,000 edits")
+    List<@Valid @NotNull TextEdit> edits
+) {
+
+    /**
+     * Replaces the characters in {@code [start, end)} with {@code text}.
+     *
+     * @param start first replaced offset
+     * @param end   offset after the last replaced character ({@code start} to insert)
+     * @param text  the replacement, empty to delete the range
+     */
+    public record TextEdit(
+
+        @PositiveOrZero(message = "Edit start must not be negative")
+        int start,
+
+        @PositiveOrZero(message = "Edit end must not be negative")
+        int end,
+
+        @NotNull(message = "Edit text is required (use an empty string to delete)")
+        @Size(max = 50000, message = "Edit text must be 50,000 characters or less")
+        String text
+    ) {
+    }
+}
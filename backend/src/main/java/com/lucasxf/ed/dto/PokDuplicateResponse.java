@@ -0,0 +1,23 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for a POK that is a likely near-duplicate of another.
+ *
+ * @param id         the duplicate POK's ID
+ * @param title      its title (can be null)
+ * @param createdAt  its creation timestamp
+ * @param similarity signature similarity in {@code [0, 1]}: the share of the 64 SimHash bits
+ *                   that agree with the POK it is compared to
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record PokDuplicateResponse(
+    UUID id,
+    String title,
+    Instant createdAt,
+    double similarity
+) {
+}
@@ -0,0 +1,27 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One POK in an NDJSON export, which holds one entry per line.
+ *
+ * @param id        the POK ID
+ * @param title     the title, or {@code null}
+ * @param content   the content
+ * @param tags      names of the user's tags assigned to the POK, alphabetically
+ * @param createdAt when the POK was created
+ * @param updatedAt when the POK's content last changed
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record PokExportEntry(
+    UUID id,
+    String title,
+    String content,
+    List<String> tags,
+    Instant createdAt,
+    Instant updatedAt
+) {
+}
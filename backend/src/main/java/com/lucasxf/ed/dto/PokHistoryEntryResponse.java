@@ -0,0 +1,28 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for one entry of a POK's paginated history, without titles or content.
+ *
+ * @param id            audit entry unique identifier
+ * @param version       position of the entry in the POK's history, starting at 1
+ * @param action        the operation type (CREATE, UPDATE, or DELETE)
+ * @param userId        the user who performed the action
+ * @param occurredAt    timestamp of the operation
+ * @param contentLength length of the content after the change (0 after a DELETE), or null if unknown
+ * @param sizeDelta     change in content length from the previous version, or null if unknown
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record PokHistoryEntryResponse(
+    UUID id,
+    int version,
+    String action,
+    UUID userId,
+    Instant occurredAt,
+    Integer contentLength,
+    Integer sizeDelta
+) {
+}
@@ -0,0 +1,17 @@
+package com.lucasxf.ed.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paginated slice of a POK's history.
+ *
+ * @param items      history entries, newest version first
+ * @param nextCursor opaque cursor for the next slice, or {@code null} if this is the last one
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record PokHistoryPageResponse(
+    List<PokHistoryEntryResponse> items,
+    String nextCursor
+) {
+}
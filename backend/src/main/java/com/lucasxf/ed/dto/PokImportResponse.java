@@ -0,0 +1,28 @@
+package com.lucasxf.ed.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk POK import.
+ *
+ * @param imported number of POKs created
+ * @param skipped  number of bundle entries that were not imported
+ * @param errors   why entries were skipped (at most the first 100)
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record PokImportResponse(
+    int imported,
+    int skipped,
+    List<ImportError> errors
+) {
+
+    /**
+     * A bundle entry that could not be imported.
+     *
+     * @param index   zero-based position of the entry in the bundle
+     * @param message what was wrong with it
+     */
+    public record ImportError(int index, String message) {
+    }
+}
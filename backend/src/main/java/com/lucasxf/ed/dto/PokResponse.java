@@ -18,6 +18,7 @@ import com.lucasxf.ed.domain.Pok;
  * @param updatedAt          last update timestamp
  * @param tags               active tag subscriptions assigned to this POK
  * @param pendingSuggestions AI-generated tag suggestions awaiting user decision
+ * @param likelyDuplicates   existing POKs this one nearly duplicates; only filled on create and update
  * @author Lucas Xavier Ferreira
  * @since 2026-02-14
  */
@@ -30,7 +31,8 @@ public record PokResponse(
     Instant createdAt,
     Instant updatedAt,
     List<TagResponse> tags,
-    List<TagSuggestionResponse> pendingSuggestions
+    List<TagSuggestionResponse> pendingSuggestions,
+    List<PokDuplicateResponse> likelyDuplicates
 ) {
 
     /**
@@ -50,6 +52,7 @@ public record PokResponse(
             pok.getCreatedAt(),
             pok.getUpdatedAt(),
             List.of(),
+            List.of(),
             List.of()
         );
     }
@@ -72,7 +75,19 @@ public record PokResponse(
             pok.getCreatedAt(),
             pok.getUpdatedAt(),
             tags,
-            pendingSuggestions
+            pendingSuggestions,
+            List.of()
         );
     }
+
+    /**
+     * Returns a copy of this response carrying the given likely duplicates.
+     *
+     * @param likelyDuplicates existing POKs this one nearly duplicates
+     * @return the response DTO
+     */
+    public PokResponse withLikelyDuplicates(List<PokDuplicateResponse> likelyDuplicates) {
+        return new PokResponse(id, userId, title, content, deletedAt, createdAt, updatedAt, tags,
+            pendingSuggestions, likelyDuplicates);
+    }
 }
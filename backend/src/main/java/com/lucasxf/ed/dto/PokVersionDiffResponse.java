@@ -0,0 +1,42 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for the changes made by one version of a POK.
+ *
+ * <p>Applying the segments in order turns the previous content into the new one: EQUAL and
+ * INSERT text together form the new content, EQUAL and DELETE text the old. A CREATE is a
+ * single insertion and a DELETE a single deletion.
+ *
+ * @param pokId      the POK
+ * @param version    the version, starting at 1
+ * @param action     the operation type (CREATE, UPDATE, or DELETE)
+ * @param occurredAt timestamp of the operation
+ * @param oldTitle   title before the change (null for CREATE entries)
+ * @param newTitle   title after the change (null for DELETE entries)
+ * @param segments   the content changes, or {@code null} if the content could not be reconstructed
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record PokVersionDiffResponse(
+    UUID pokId,
+    int version,
+    String action,
+    Instant occurredAt,
+    String oldTitle,
+    String newTitle,
+    List<Segment> segments
+) {
+
+    /**
+     * A run of content that was kept, removed or added.
+     *
+     * @param op   EQUAL, DELETE, or INSERT
+     * @param text the text of the run
+     */
+    public record Segment(String op, String text) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for uploading a batch of offline POK edits.
+ *
+ * <p>Operations are applied in order. Each one is validated on its own, so a malformed operation
+ * is rejected in its result without failing the rest of the batch.
+ *
+ * @param operations the edits to apply (1-500)
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record SyncBatchRequest(
+    @NotNull(message = "Operations are required")
+    @Size(min = 1, max = 500, message = "A batch must hold between 1 and 500 operations")
+    List<SyncOperation> operations
+) {
+
+    /**
+     * What an operation does.
+     */
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * One offline edit.
+     *
+     * <p>{@code baseUpdatedAt} is the POK's {@code updatedAt} as the client last saw it, from the
+     * sync feed or a POK response. An update or delete is applied only if the POK has not changed
+     * since; {@code null} applies it unconditionally.
+     *
+     * @param opId          client-generated ID, echoed in the result; a CREATE replayed with the
+     *                      same ID returns the POK created the first time
+     * @param type          CREATE, UPDATE or DELETE
+     * @param pokId         the POK to update or delete
+     * @param title         optional title (CREATE and UPDATE)
+     * @param content       the content (required for CREATE and UPDATE)
+     * @param tagIds        tags to assign to a created POK
+     * @param baseUpdatedAt the version the edit was made against (UPDATE and DELETE)
+     */
+    public record SyncOperation(
+        @NotBlank(message = "opId is required")
+        @Size(max = 100, message = "opId must be 100 characters or less")
+        String opId,
+        @NotNull(message = "type is required")
+        Type type,
+        UUID pokId,
+        @Size(max = 200, message = "Title must be 200 characters or less")
+        String title,
+        @Size(max = 50000, message = "Content must be between 1 and 50,000 characters")
+        String content,
+        @Size(max = 50, message = "You can assign at most 50 tags when creating a learning")
+        List<UUID> tagIds,
+        Instant baseUpdatedAt
+    ) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a batch of offline POK edits: one result per operation, in request order.
+ *
+ * @param results the outcome of each operation
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record SyncBatchResponse(List<OperationResult> results) {
+
+    /**
+     * How an operation ended.
+     */
+    public enum Status {
+        /** Applied, or already applied by an earlier upload of the same edit. */
+        APPLIED,
+        /** The POK changed on the server since {@code baseUpdatedAt}; nothing was written. */
+        CONFLICT,
+        /** The POK does not exist, is deleted, or belongs to someone else. */
+        NOT_FOUND,
+        /** The operation is malformed; {@code message} says why. */
+        REJECTED,
+        /** The server failed while applying it; nothing was written and it can be retried. */
+        FAILED
+    }
+
+    /**
+     * The outcome of one operation.
+     *
+     * @param opId      the operation's {@code opId}
+     * @param status    how it ended
+     * @param pokId     the POK written (for CREATE, the new POK's ID)
+     * @param updatedAt the POK's new version, to use as {@code baseUpdatedAt} for the next edit
+     * @param message   why it was not applied
+     * @param current   for a {@link Status#CONFLICT}, the POK as it now is on the server
+     */
+    public record OperationResult(
+        String opId,
+        Status status,
+        UUID pokId,
+        Instant updatedAt,
+        String message,
+        SyncChangesResponse.SyncPok current
+    ) {
+    }
+}
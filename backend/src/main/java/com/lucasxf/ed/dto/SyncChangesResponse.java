@@ -0,0 +1,65 @@
+package com.lucasxf.ed.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for one page of the incremental sync feed.
+ *
+ * <p>Clients apply every list as an upsert or a deletion keyed by ID, so applying a change twice
+ * is harmless. Assignments are keyed by POK and global tag ID.
+ *
+ * @param poks               POKs created or edited since the cursor
+ * @param deletedPokIds      POKs soft-deleted since the cursor
+ * @param tags               tag subscriptions created or changed since the cursor
+ * @param deletedTagIds      tag subscriptions deleted since the cursor (by subscription ID)
+ * @param assignments        POK–tag assignments added or changed since the cursor
+ * @param removedAssignments POK–tag assignments removed since the cursor
+ * @param cursor             cursor to send as {@code since} on the next call
+ * @param hasMore            {@code true} if more changes are waiting; call again right away
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record SyncChangesResponse(
+    List<SyncPok> poks,
+    List<UUID> deletedPokIds,
+    List<SyncTag> tags,
+    List<UUID> deletedTagIds,
+    List<SyncAssignment> assignments,
+    List<RemovedAssignment> removedAssignments,
+    String cursor,
+    boolean hasMore
+) {
+
+    /**
+     * A POK as the client stores it.
+     */
+    public record SyncPok(UUID id, String title, String content, Instant createdAt, Instant updatedAt) {
+    }
+
+    /**
+     * A tag subscription.
+     *
+     * @param id    the subscription ID
+     * @param tagId the global tag ID used by assignments
+     * @param name  the tag name
+     * @param color the subscription color
+     */
+    public record SyncTag(UUID id, UUID tagId, String name, String color) {
+    }
+
+    /**
+     * A tag assigned to a POK.
+     *
+     * @param source MANUAL, AI or AI_EDITED
+     */
+    public record SyncAssignment(UUID pokId, UUID tagId, String source) {
+    }
+
+    /**
+     * A tag no longer assigned to a POK.
+     */
+    public record RemovedAssignment(UUID pokId, UUID tagId) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.lucasxf.ed.dto;
+
+import java.util.UUID;
+
+import com.lucasxf.ed.domain.UserTag;
+
+/**
+ * Response DTO for a tag facet: how many POKs in a search result set carry a given tag.
+ *
+ * @param id       the user-tag subscription ID (same value accepted by the {@code tagIds} search filter)
+ * @param tagId    the global tag pool ID
+ * @param name     the tag name
+ * @param color    the user's assigned color for this tag
+ * @param pokCount number of matching POKs carrying this tag
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record TagFacetResponse(
+    UUID id,
+    UUID tagId,
+    String name,
+    String color,
+    long pokCount
+) {
+
+    /**
+     * Creates a {@link TagFacetResponse} from a {@link UserTag} subscription and its count.
+     *
+     * @param userTag  the subscription entity
+     * @param pokCount number of matching POKs carrying the tag
+     * @return the response DTO
+     */
+    public static TagFacetResponse from(UserTag userTag, long pokCount) {
+        return new TagFacetResponse(
+            userTag.getId(),
+            userTag.getTag().getId(),
+            userTag.getTag().getName(),
+            userTag.getColor(),
+            pokCount
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.lucasxf.ed.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paginated slice of the POKs in one timeline month.
+ *
+ * @param month      the calendar month of creation in UTC, formatted as {@code YYYY-MM}
+ * @param items      POKs created in the month, newest first
+ * @param nextCursor opaque cursor for the next slice, or {@code null} if this is the last one
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record TimelineItemsResponse(
+    String month,
+    List<PokResponse> items,
+    String nextCursor
+) {
+}
@@ -0,0 +1,15 @@
+package com.lucasxf.ed.dto;
+
+/**
+ * Response DTO for one month bucket of the POK timeline.
+ *
+ * @param month the calendar month of creation in UTC, formatted as {@code YYYY-MM}
+ * @param count number of active POKs created in that month
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public record TimelineMonthResponse(
+    String month,
+    long count
+) {
+}
@@ -0,0 +1,69 @@
+package com.lucasxf.ed.event;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.service.EmbeddingGenerationService;
+import com.lucasxf.ed.service.LiveUpdateService;
+import com.lucasxf.ed.service.TagSuggestionService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * (Re)generates the embeddings of created and updated POKs, one embedding call per batch, and
+ * tells the owners' connected clients which POKs are now embedded. Then suggests tags by
+ * similarity to each owner's tagged POKs, which needs the embeddings, and tells the clients if
+ * that added suggestions.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Component
+public class EmbeddingEventSubscriber implements PokEventSubscriber {
+
+    private final EmbeddingGenerationService embeddingGenerationService;
+    private final TagSuggestionService tagSuggestionService;
+    private final LiveUpdateService liveUpdateService;
+
+    public EmbeddingEventSubscriber(EmbeddingGenerationService embeddingGenerationService,
+                                    TagSuggestionService tagSuggestionService,
+                                    LiveUpdateService liveUpdateService) {
+        this.embeddingGenerationService = requireNonNull(embeddingGenerationService);
+        this.tagSuggestionService = requireNonNull(tagSuggestionService);
+        this.liveUpdateService = requireNonNull(liveUpdateService);
+    }
+
+    @Override
+    public String name() {
+        return "embedding";
+    }
+
+    @Override
+    public boolean accepts(PokEvent event) {
+        return event instanceof PokEvent.PokCreated || event instanceof PokEvent.PokUpdated;
+    }
+
+    @Override
+    public void onEvents(List<PokEvent> events) {
+        List<UUID> pokIds = events.stream()
+            .map(event -> switch (event) {
+                case PokEvent.PokCreated created -> created.pokId();
+                case PokEvent.PokUpdated updated -> updated.pokId();
+                default -> throw new IllegalStateException("Unexpected event: " + event);
+            })
+            .distinct()
+            .toList();
+        embeddingGenerationService.generateEmbeddingsForPoks(pokIds).stream()
+            .collect(Collectors.groupingBy(Pok::getUserId, Collectors.mapping(Pok::getId, Collectors.toList())))
+            .forEach((userId, embedded) -> {
+                liveUpdateService.publish(userId, LiveUpdateService.EMBEDDING_READY, embedded);
+                if (tagSuggestionService.suggestTagsByEmbedding(embedded, userId)) {
+                    liveUpdateService.publish(userId, LiveUpdateService.SUGGESTIONS_READY, embedded);
+                }
+            });
+    }
+}
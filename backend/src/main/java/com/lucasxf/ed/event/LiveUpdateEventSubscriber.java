@@ -0,0 +1,58 @@
+package com.lucasxf.ed.event;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.lucasxf.ed.service.LiveUpdateService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tells a user's connected clients which POKs changed, one {@code pok-changed} event per user and
+ * batch, so other tabs and devices refresh without polling.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Component
+public class LiveUpdateEventSubscriber implements PokEventSubscriber {
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveUpdateEventSubscriber(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = requireNonNull(liveUpdateService);
+    }
+
+    @Override
+    public String name() {
+        return "live-updates";
+    }
+
+    @Override
+    public boolean accepts(PokEvent event) {
+        return !(event instanceof PokEvent.TagSubscribed);
+    }
+
+    @Override
+    public void onEvents(List<PokEvent> events) {
+        Map<UUID, Set<UUID>> pokIdsByUser = new LinkedHashMap<>();
+        for (PokEvent event : events) {
+            Set<UUID> pokIds = pokIdsByUser.computeIfAbsent(event.userId(), id -> new LinkedHashSet<>());
+            switch (event) {
+                case PokEvent.PokCreated created -> pokIds.add(created.pokId());
+                case PokEvent.PokUpdated updated -> pokIds.add(updated.pokId());
+                case PokEvent.PokDeleted deleted -> pokIds.add(deleted.pokId());
+                case PokEvent.TagChanged changed -> pokIds.addAll(changed.pokIds());
+                case PokEvent.TagSubscribed subscribed -> throw new IllegalStateException("Unexpected event: " + event);
+            }
+        }
+        pokIdsByUser.forEach((userId, pokIds) ->
+            liveUpdateService.publish(userId, LiveUpdateService.POK_CHANGED, List.copyOf(pokIds)));
+    }
+}
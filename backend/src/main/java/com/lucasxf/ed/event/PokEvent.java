@@ -0,0 +1,67 @@
+package com.lucasxf.ed.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Domain events raised by POK and tag writes, delivered by {@link PokEventBus} after the writing
+ * transaction commits.
+ *
+ * <p>Events only carry identifiers: subscribers reload whatever they need from the committed
+ * rows, so an event can never disagree with the database.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public sealed interface PokEvent {
+
+    /**
+     * The user whose data changed.
+     *
+     * @return the owner's ID
+     */
+    UUID userId();
+
+    /**
+     * A POK was created (directly or by an import).
+     */
+    record PokCreated(UUID pokId, UUID userId) implements PokEvent {
+    }
+
+    /**
+     * A POK's title or content changed.
+     */
+    record PokUpdated(UUID pokId, UUID userId) implements PokEvent {
+    }
+
+    /**
+     * A POK was soft-deleted.
+     */
+    record PokDeleted(UUID pokId, UUID userId) implements PokEvent {
+    }
+
+    /**
+     * A tag subscription or a POK–tag assignment changed.
+     *
+     * @param userId the subscriber whose tags changed
+     * @param tagId  the global tag that was subscribed, renamed to, deleted, assigned or removed
+     * @param pokIds the POKs whose assignments changed (empty when only the subscription did)
+     */
+    record TagChanged(UUID userId, UUID tagId, List<UUID> pokIds) implements PokEvent {
+
+        public TagChanged {
+            pokIds = List.copyOf(pokIds);
+        }
+    }
+
+    /**
+     * A user subscribed to a tag: created it, reused an existing global tag, or renamed another
+     * tag to it. Published along with {@link TagChanged}, for subscribers that act on the new
+     * subscription itself.
+     *
+     * @param userId the subscriber
+     * @param tagId  the global tag subscribed to
+     */
+    record TagSubscribed(UUID userId, UUID tagId) implements PokEvent {
+    }
+}
@@ -0,0 +1,215 @@
+package com.lucasxf.ed.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-process bus that delivers {@link PokEvent}s to every {@link PokEventSubscriber} bean after
+ * the raising transaction commits.
+ *
+ * <p>Events published inside a transaction are buffered with it and dropped on rollback, so
+ * subscribers never see rows that do not exist yet (or never will). On commit, each subscriber
+ * receives the events it {@linkplain PokEventSubscriber#accepts accepts} as one batch — a bulk
+ * import chunk becomes one call, not one per POK. Outside a transaction, events are delivered
+ * immediately as a batch of one.
+ *
+ * <p>Every subscriber has its own single-thread lane: batches reach it in commit order, a slow
+ * subscriber never delays the others, and the bus adds at most one database connection per
+ * subscriber to the pool. Failures are logged and counted; the batch is not retried — the
+ * backfill endpoints repair whatever a failed subscriber missed.
+ *
+ * <p>Per subscriber, the bus publishes {@code learnimo.events.delivery} (batch handling time),
+ * {@code learnimo.events.delivered} (events handled), {@code learnimo.events.failures} (batches
+ * that threw) and {@code learnimo.events.pending} (batches waiting in the lane), all tagged with
+ * {@code subscriber}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+public class PokEventBus {
+
+    private final ObjectProvider<PokEventSubscriber> subscriberProvider;
+    private final MeterRegistry meterRegistry;
+    private final Function<String, ExecutorService> laneFactory;
+    private volatile List<Lane> lanes;
+
+    public PokEventBus(ObjectProvider<PokEventSubscriber> subscriberProvider, MeterRegistry meterRegistry) {
+        this(subscriberProvider, meterRegistry, name ->
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("pok-events-" + name).factory()));
+    }
+
+    PokEventBus(ObjectProvider<PokEventSubscriber> subscriberProvider, MeterRegistry meterRegistry,
+                Function<String, ExecutorService> laneFactory) {
+        this.subscriberProvider = requireNonNull(subscriberProvider);
+        this.meterRegistry = requireNonNull(meterRegistry);
+        this.laneFactory = requireNonNull(laneFactory);
+    }
+
+    /**
+     * Publishes an event, to be delivered after the current transaction commits (or right away
+     * when there is none).
+     *
+     * @param event the event
+     */
+    public void publish(PokEvent event) {
+        requireNonNull(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(List.of(event));
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending && pending.bus() == this) {
+                pending.events.add(event);
+                return;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        pending.events.add(event);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void dispatch(List<PokEvent> events) {
+        for (Lane lane : lanes()) {
+            List<PokEvent> accepted = events.stream().filter(lane.subscriber::accepts).toList();
+            if (!accepted.isEmpty()) {
+                lane.submit(accepted);
+            }
+        }
+    }
+
+    /**
+     * Resolves the subscribers on first use rather than at construction, because subscribers
+     * depend on services that publish events themselves.
+     */
+    private List<Lane> lanes() {
+        List<Lane> resolved = lanes;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = lanes;
+                if (resolved == null) {
+                    resolved = subscriberProvider.orderedStream().map(Lane::new).toList();
+                    lanes = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Lets queued batches finish before the application context (and its data source) closes.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        List<Lane> resolved = lanes;
+        if (resolved == null) {
+            return;
+        }
+        resolved.forEach(lane -> lane.executor.shutdown());
+        for (Lane lane : resolved) {
+            if (!lane.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Event subscriber {} did not drain before shutdown", lane.subscriber.name());
+            }
+        }
+    }
+
+    /**
+     * Events raised in one transaction, delivered once it commits.
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<PokEvent> events = new ArrayList<>();
+
+        private PokEventBus bus() {
+            return PokEventBus.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            dispatch(List.copyOf(events));
+        }
+    }
+
+    /**
+     * One subscriber's delivery thread and metrics.
+     */
+    private final class Lane {
+
+        private final PokEventSubscriber subscriber;
+        private final ExecutorService executor;
+        private final Timer delivery;
+        private final Counter delivered;
+        private final Counter failures;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Lane(PokEventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.executor = laneFactory.apply(subscriber.name());
+            this.delivery = Timer.builder("learnimo.events.delivery")
+                .tag("subscriber", subscriber.name())
+                .description("Time spent handling one batch of POK events")
+                .register(meterRegistry);
+            this.delivered = Counter.builder("learnimo.events.delivered")
+                .tag("subscriber", subscriber.name())
+                .description("POK events handled")
+                .register(meterRegistry);
+            this.failures = Counter.builder("learnimo.events.failures")
+                .tag("subscriber", subscriber.name())
+                .description("POK event batches whose handling threw")
+                .register(meterRegistry);
+            Gauge.builder("learnimo.events.pending", pending, AtomicInteger::get)
+                .tag("subscriber", subscriber.name())
+                .description("POK event batches waiting to be handled")
+                .register(meterRegistry);
+        }
+
+        private void submit(List<PokEvent> events) {
+            pending.incrementAndGet();
+            try {
+                executor.execute(() -> deliver(events));
+            } catch (RuntimeException e) {
+                pending.decrementAndGet();
+                failures.increment();
+                log.warn("Could not queue {} events for subscriber {}: {}", events.size(), subscriber.name(),
+                    e.getMessage());
+            }
+        }
+
+        private void deliver(List<PokEvent> events) {
+            pending.decrementAndGet();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                subscriber.onEvents(events);
+                delivered.increment(events.size());
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Event subscriber {} failed on a batch of {} events: {}", subscriber.name(), events.size(),
+                    e.getMessage(), e);
+            } finally {
+                sample.stop(delivery);
+            }
+        }
+    }
+}
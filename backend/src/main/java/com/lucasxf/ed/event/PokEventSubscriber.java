@@ -0,0 +1,38 @@
+package com.lucasxf.ed.event;
+
+import java.util.List;
+
+/**
+ * Receives {@link PokEvent}s from {@link PokEventBus}.
+ *
+ * <p>Each subscriber is a Spring bean with its own delivery lane: batches are handed over one at a
+ * time, in commit order, on a thread with no transaction, so a subscriber may open its own.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public interface PokEventSubscriber {
+
+    /**
+     * Short, stable name used for the delivery thread and the {@code subscriber} metric tag.
+     *
+     * @return the subscriber name
+     */
+    String name();
+
+    /**
+     * Returns whether this subscriber wants the event. Batches only contain accepted events, and a
+     * subscriber is not called for a commit that raised none.
+     *
+     * @param event the event
+     * @return {@code true} to receive it
+     */
+    boolean accepts(PokEvent event);
+
+    /**
+     * Handles the accepted events of one committed transaction, in the order they were raised.
+     *
+     * @param events the events, never empty
+     */
+    void onEvents(List<PokEvent> events);
+}
@@ -0,0 +1,65 @@
+package com.lucasxf.ed.event;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.lucasxf.ed.service.SearchEngine;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the {@link SearchEngine} index in step with POK content and tag assignments.
+ *
+ * <p>A batch collapses to one reindex of every touched POK plus one removal per deleted POK; a
+ * POK created and deleted in the same transaction is only removed.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Component
+public class SearchIndexEventSubscriber implements PokEventSubscriber {
+
+    private final SearchEngine searchEngine;
+
+    public SearchIndexEventSubscriber(SearchEngine searchEngine) {
+        this.searchEngine = requireNonNull(searchEngine);
+    }
+
+    @Override
+    public String name() {
+        return "search-index";
+    }
+
+    @Override
+    public boolean accepts(PokEvent event) {
+        return switch (event) {
+            case PokEvent.TagChanged changed -> !changed.pokIds().isEmpty();
+            case PokEvent.TagSubscribed subscribed -> false;
+            default -> true;
+        };
+    }
+
+    @Override
+    public void onEvents(List<PokEvent> events) {
+        Set<UUID> touched = new LinkedHashSet<>();
+        Set<UUID> deleted = new LinkedHashSet<>();
+        for (PokEvent event : events) {
+            switch (event) {
+                case PokEvent.PokCreated created -> touched.add(created.pokId());
+                case PokEvent.PokUpdated updated -> touched.add(updated.pokId());
+                case PokEvent.TagChanged changed -> touched.addAll(changed.pokIds());
+                case PokEvent.PokDeleted removed -> deleted.add(removed.pokId());
+                case PokEvent.TagSubscribed subscribed -> throw new IllegalStateException("Unexpected event: " + event);
+            }
+        }
+        touched.removeAll(deleted);
+        if (!touched.isEmpty()) {
+            searchEngine.index(touched);
+        }
+        deleted.forEach(searchEngine::remove);
+    }
+}
@@ -0,0 +1,74 @@
+package com.lucasxf.ed.event;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.lucasxf.ed.service.LiveUpdateService;
+import com.lucasxf.ed.service.TagSuggestionService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Suggests tags for created and updated POKs, one suggestion pass per user and batch, and a newly
+ * subscribed tag on the user's existing POKs, and tells the user's connected clients once each
+ * pass is done.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Component
+public class TagSuggestionEventSubscriber implements PokEventSubscriber {
+
+    private final TagSuggestionService tagSuggestionService;
+    private final LiveUpdateService liveUpdateService;
+
+    public TagSuggestionEventSubscriber(TagSuggestionService tagSuggestionService,
+                                        LiveUpdateService liveUpdateService) {
+        this.tagSuggestionService = requireNonNull(tagSuggestionService);
+        this.liveUpdateService = requireNonNull(liveUpdateService);
+    }
+
+    @Override
+    public String name() {
+        return "tag-suggestions";
+    }
+
+    @Override
+    public boolean accepts(PokEvent event) {
+        return event instanceof PokEvent.PokCreated || event instanceof PokEvent.PokUpdated
+            || event instanceof PokEvent.TagSubscribed;
+    }
+
+    @Override
+    public void onEvents(List<PokEvent> events) {
+        Map<UUID, Set<UUID>> pokIdsByUser = new LinkedHashMap<>();
+        Set<PokEvent.TagSubscribed> subscriptions = new LinkedHashSet<>();
+        for (PokEvent event : events) {
+            switch (event) {
+                case PokEvent.PokCreated created ->
+                    pokIdsByUser.computeIfAbsent(event.userId(), id -> new LinkedHashSet<>()).add(created.pokId());
+                case PokEvent.PokUpdated updated ->
+                    pokIdsByUser.computeIfAbsent(event.userId(), id -> new LinkedHashSet<>()).add(updated.pokId());
+                case PokEvent.TagSubscribed subscribed -> subscriptions.add(subscribed);
+                default -> throw new IllegalStateException("Unexpected event: " + event);
+            }
+        }
+        pokIdsByUser.forEach((userId, pokIds) -> {
+            tagSuggestionService.suggestTagsForPoks(List.copyOf(pokIds), userId);
+            liveUpdateService.publish(userId, LiveUpdateService.SUGGESTIONS_READY, List.copyOf(pokIds));
+        });
+        for (PokEvent.TagSubscribed subscription : subscriptions) {
+            List<UUID> suggested = tagSuggestionService.suggestTagOnExistingPoks(subscription.tagId(),
+                subscription.userId());
+            if (!suggested.isEmpty()) {
+                liveUpdateService.publish(subscription.userId(), LiveUpdateService.SUGGESTIONS_READY, suggested);
+            }
+        }
+    }
+}
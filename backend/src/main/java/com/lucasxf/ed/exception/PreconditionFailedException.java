@@ -0,0 +1,15 @@
+package com.lucasxf.ed.exception;
+
+/**
+ * Exception thrown when a conditional request's precondition ({@code If-Match}) does not hold,
+ * e.g. the POK was changed by another client since the caller read it.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,24 @@
 package com.lucasxf.ed.repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.lucasxf.ed.domain.PokAuditLog;
 
 /**
  * Repository for {@link PokAuditLog} audit entries.
  *
- * <p>Audit entries are append-only — no update or delete operations are exposed.
+ * <p>Audit entries are append-only — no delete operations are exposed, and updates only re-encode
+ * an entry without changing what it describes. Old history is removed by dropping whole monthly
+ * partitions ({@code AuditLogMaintenanceService}).
  *
  * @author Lucas Xavier Ferreira
  * @since 2026-02-20
@@ -18,10 +26,160 @@ import com.lucasxf.ed.domain.PokAuditLog;
 public interface PokAuditLogRepository extends JpaRepository<PokAuditLog, UUID> {
 
     /**
-     * Retrieves all audit log entries for a POK, ordered most-recent first.
+     * Retrieves all audit log entries for a POK, oldest version first.
      *
      * @param pokId the POK ID
-     * @return list of audit entries, newest first
+     * @return list of audit entries, in version order
      */
-    List<PokAuditLog> findByPokIdOrderByOccurredAtDesc(UUID pokId);
+    List<PokAuditLog> findByPokIdOrderByVersionAsc(UUID pokId);
+
+    /**
+     * Retrieves a POK's audit entries in a version range, oldest first.
+     *
+     * @param pokId the POK ID
+     * @param from  the first version (inclusive)
+     * @param to    the last version (inclusive)
+     * @return the entries, in version order
+     */
+    List<PokAuditLog> findByPokIdAndVersionBetweenOrderByVersionAsc(UUID pokId, int from, int to);
+
+    /**
+     * Keyset-paginates a POK's history, newest version first, without loading any title or
+     * content. Served by the {@code (pok_id, version)} index.
+     *
+     * @param pokId  the POK ID
+     * @param before exclusive upper bound on the version
+     * @param limit  maximum number of entries
+     * @return entry summaries in descending version order
+     */
+    @Query("""
+        SELECT a.id AS id, a.version AS version, a.action AS action, a.userId AS userId,
+               a.occurredAt AS occurredAt, a.contentLength AS contentLength
+        FROM PokAuditLog a
+        WHERE a.pokId = :pokId AND a.version < :before
+        ORDER BY a.version DESC
+        """)
+    List<VersionSummary> findVersionSummaries(@Param("pokId") UUID pokId, @Param("before") int before, Limit limit);
+
+    /**
+     * Returns the latest version at or before {@code version} whose entry is not stored in the
+     * given format, or {@code null} if there is none. Reconstruction starts from that entry.
+     *
+     * @param pokId    the POK ID
+     * @param version  the highest version to consider
+     * @param excluded the storage format to skip ({@code DELTA})
+     * @return the version number
+     */
+    @Query("""
+        SELECT MAX(a.version) FROM PokAuditLog a
+        WHERE a.pokId = :pokId AND a.version <= :version AND a.storage <> :excluded
+        """)
+    Integer findLatestVersionNotStoredAs(@Param("pokId") UUID pokId, @Param("version") int version,
+                                         @Param("excluded") PokAuditLog.Storage excluded);
+
+    /**
+     * Returns the POK's first entry recorded at or after {@code occurredAt}.
+     *
+     * @param pokId      the POK ID
+     * @param occurredAt inclusive lower bound on the entry timestamp
+     * @return the entry with the lowest such version, if any
+     */
+    Optional<PokAuditLog> findFirstByPokIdAndOccurredAtGreaterThanEqualOrderByVersionAsc(UUID pokId,
+                                                                                        Instant occurredAt);
+
+    /**
+     * Locks the POK's row until the end of the transaction, so its history versions are assigned
+     * by one writer at a time. The partitioned audit table cannot enforce a unique
+     * {@code (pok_id, version)} index.
+     *
+     * @param pokId the POK ID
+     * @return the POK ID, or {@code null} if the POK does not exist
+     */
+    @Query(value = "SELECT id FROM poks WHERE id = :pokId FOR NO KEY UPDATE", nativeQuery = true)
+    UUID lockPok(@Param("pokId") UUID pokId);
+
+    /**
+     * Returns the POK's latest history version, or {@code null} if it has no history.
+     *
+     * @param pokId the POK ID
+     * @return the highest version number
+     */
+    @Query("SELECT MAX(a.version) FROM PokAuditLog a WHERE a.pokId = :pokId")
+    Integer findLatestVersion(@Param("pokId") UUID pokId);
+
+    /**
+     * Keyset-paginates the IDs of POKs that still have entries in the given storage format.
+     *
+     * @param storage the storage format
+     * @param after   exclusive lower bound on the POK ID
+     * @param limit   maximum number of IDs
+     * @return POK IDs in ascending order
+     */
+    @Query("""
+        SELECT DISTINCT a.pokId FROM PokAuditLog a
+        WHERE a.storage = :storage AND a.pokId > :after
+        ORDER BY a.pokId
+        """)
+    List<UUID> findPokIdsWithStorageAfter(@Param("storage") PokAuditLog.Storage storage,
+                                          @Param("after") UUID after, Limit limit);
+
+    /**
+     * Re-encodes an entry in a compact format. Old values are dropped: compact entries derive
+     * them from the previous version.
+     *
+     * @param id           the entry ID
+     * @param storage      the new storage format ({@code SNAPSHOT} or {@code DELTA})
+     * @param newContent   the new content (SNAPSHOT) or {@code null} (DELTA)
+     * @param contentDelta the edit script (DELTA updates) or {@code null}
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("""
+        UPDATE PokAuditLog a
+        SET a.storage = :storage, a.oldTitle = NULL, a.oldContent = NULL,
+            a.newContent = :newContent, a.contentDelta = :contentDelta
+        WHERE a.id = :id
+        """)
+    int reencode(@Param("id") UUID id, @Param("storage") PokAuditLog.Storage storage,
+                 @Param("newContent") String newContent, @Param("contentDelta") String contentDelta);
+
+    /**
+     * Rewrites an entry with its old and new values spelled out and no delta, so it no longer
+     * depends on earlier entries.
+     *
+     * @param id         the entry ID
+     * @param storage    the new storage format ({@code FULL})
+     * @param oldTitle   the title before the change
+     * @param oldContent the content before the change
+     * @param newContent the content after the change ({@code null} for DELETE)
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("""
+        UPDATE PokAuditLog a
+        SET a.storage = :storage, a.oldTitle = :oldTitle, a.oldContent = :oldContent,
+            a.newContent = :newContent, a.contentDelta = NULL
+        WHERE a.id = :id
+        """)
+    int rewrite(@Param("id") UUID id, @Param("storage") PokAuditLog.Storage storage,
+                @Param("oldTitle") String oldTitle, @Param("oldContent") String oldContent,
+                @Param("newContent") String newContent);
+
+    /**
+     * Projection for one entry of the paginated history.
+     */
+    interface VersionSummary {
+
+        UUID getId();
+
+        int getVersion();
+
+        PokAuditLog.Action getAction();
+
+        UUID getUserId();
+
+        Instant getOccurredAt();
+
+        Integer getContentLength();
+    }
 }
@@ -1,13 +1,18 @@
 package com.lucasxf.ed.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -40,6 +45,39 @@ public interface PokRepository extends JpaRepository<Pok, UUID> {
      */
     Optional<Pok> findByIdAndDeletedAtIsNull(UUID id);
 
+    /**
+     * Finds an active POK and locks its row until the end of the transaction, so a conditional
+     * update can check and change it without another writer slipping in between.
+     *
+     * @param id the POK ID
+     * @return the POK if found and active
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pok p WHERE p.id = :id AND p.deletedAt IS NULL")
+    Optional<Pok> findActiveByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Finds a POK by ID whether or not it is deleted, locking its row until the transaction ends.
+     *
+     * @param id the POK ID
+     * @return the POK if found, including a soft-deleted one
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pok p WHERE p.id = :id")
+    Optional<Pok> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Returns an active POK's last content change time without loading the entity. Used to answer
+     * conditional requests.
+     *
+     * @param id     the POK ID
+     * @param userId the owner's ID
+     * @return the update timestamp, or empty if the POK does not exist, is deleted or belongs to
+     *         another user
+     */
+    @Query("SELECT p.updatedAt FROM Pok p WHERE p.id = :id AND p.userId = :userId AND p.deletedAt IS NULL")
+    Optional<Instant> findUpdatedAt(@Param("id") UUID id, @Param("userId") UUID userId);
+
     /**
      * Returns the IDs of all active (non-deleted) POKs belonging to a user.
      *
@@ -51,6 +89,26 @@ public interface PokRepository extends JpaRepository<Pok, UUID> {
     @Query("SELECT p.id FROM Pok p WHERE p.userId = :userId AND p.deletedAt IS NULL")
     List<UUID> findIdsByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Finds all active (non-deleted) POKs for a user, unpaginated.
+     *
+     * <p>Only meant for users whose corpus is known to be small (see {@code SearchPlanner}).
+     *
+     * @param userId the user ID
+     * @return all active POKs for the user
+     */
+    List<Pok> findByUserIdAndDeletedAtIsNull(UUID userId);
+
+    /**
+     * Counts a user's active POKs and how many of them have an embedding, in one pass.
+     *
+     * @param userId the user ID
+     * @return the counts
+     */
+    @Query("SELECT COUNT(p) AS pokCount, COUNT(p.embedding) AS embeddedCount " +
+           "FROM Pok p WHERE p.userId = :userId AND p.deletedAt IS NULL")
+    CorpusCounts countCorpus(@Param("userId") UUID userId);
+
     /**
      * Returns the IDs of all active (non-deleted) POKs that have no embedding yet.
      *
@@ -61,6 +119,20 @@ public interface PokRepository extends JpaRepository<Pok, UUID> {
     @Query("SELECT p.id FROM Pok p WHERE p.deletedAt IS NULL AND p.embedding IS NULL")
     List<UUID> findIdsByEmbeddingIsNullAndDeletedAtIsNull();
 
+    /**
+     * Returns the next batch of active POKs across all users in ID order, starting after
+     * {@code afterId}.
+     *
+     * <p>Used to stream the whole table in keyset-paginated batches (e.g., when rebuilding the
+     * search index) without the cost of deep {@code OFFSET}s.
+     *
+     * @param afterId exclusive lower bound on the POK ID
+     * @param limit   maximum number of POKs to return
+     * @return active POKs with {@code id > afterId}, ordered by ID
+     */
+    @Query("SELECT p FROM Pok p WHERE p.deletedAt IS NULL AND p.id > :afterId ORDER BY p.id")
+    List<Pok> findActiveAfter(@Param("afterId") UUID afterId, Limit limit);
+
     /**
      * Returns active POKs for a user ordered by cosine distance from the query embedding.
      *
@@ -117,4 +189,333 @@ public interface PokRepository extends JpaRepository<Pok, UUID> {
         @Param("updatedTo") Instant updatedTo,
         Pageable pageable
     );
+
+    /**
+     * Searches active POKs for a user with the same filters as {@link #searchPoks}, restricted to
+     * POKs carrying at least {@code minMatches} of the given global tags.
+     *
+     * <p>The tag restriction is a count correlated with each of the user's candidate POKs, served
+     * by {@code idx_pok_tags_pok_tag}, so a popular global tag never makes the database aggregate
+     * other users' assignments. Pass {@code minMatches = 1} for any-of semantics and
+     * {@code minMatches = tagIds.size()} for all-of semantics.
+     *
+     * @param userId      the user ID (required)
+     * @param keyword     optional keyword to search in title and content (case-insensitive)
+     * @param createdFrom optional minimum creation date (inclusive)
+     * @param createdTo   optional maximum creation date (inclusive)
+     * @param updatedFrom optional minimum update date (inclusive)
+     * @param updatedTo   optional maximum update date (inclusive)
+     * @param tagIds      the global tag IDs to filter by (must not be empty)
+     * @param minMatches  how many of {@code tagIds} a POK must carry to match
+     * @param pageable    pagination and sorting parameters
+     * @return a page of matching active POKs
+     */
+    @Query("SELECT p FROM Pok p WHERE p.userId = :userId AND p.deletedAt IS NULL " +
+           "AND (:keyword IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', CAST(:keyword AS string), '%')) " +
+           "                      OR LOWER(p.content) LIKE LOWER(CONCAT('%', CAST(:keyword AS string), '%'))) " +
+           "AND p.createdAt >= COALESCE(:createdFrom, p.createdAt) " +
+           "AND p.createdAt <= COALESCE(:createdTo, p.createdAt) " +
+           "AND p.updatedAt >= COALESCE(:updatedFrom, p.updatedAt) " +
+           "AND p.updatedAt <= COALESCE(:updatedTo, p.updatedAt) " +
+           "AND (SELECT COUNT(pt) FROM PokTag pt WHERE pt.pokId = p.id AND pt.tagId IN :tagIds) >= :minMatches")
+    Page<Pok> searchPoksByTags(
+        @Param("userId") UUID userId,
+        @Param("keyword") String keyword,
+        @Param("createdFrom") Instant createdFrom,
+        @Param("createdTo") Instant createdTo,
+        @Param("updatedFrom") Instant updatedFrom,
+        @Param("updatedTo") Instant updatedTo,
+        @Param("tagIds") Collection<UUID> tagIds,
+        @Param("minMatches") long minMatches,
+        Pageable pageable
+    );
+
+    /**
+     * Tag-restricted variant of {@link #findSemantically}: only POKs carrying at least
+     * {@code minMatches} of the given global tags are ranked.
+     *
+     * <p>The tag count is correlated per candidate POK, like {@link #searchPoksByTags}, so it is
+     * evaluated only for this user's embedded POKs rather than grouping every {@code pok_tags}
+     * row that carries one of the tags.
+     *
+     * @param userId         the user ID
+     * @param queryEmbedding the query vector in pgvector text format
+     * @param tagIds         the global tag IDs to filter by (must not be empty)
+     * @param minMatches     how many of {@code tagIds} a POK must carry to match
+     * @param limit          maximum number of results to return
+     * @param offset         number of results to skip (for pagination)
+     * @return list of matching active POKs ordered by cosine similarity (closest first)
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT * FROM poks " +
+                   "WHERE user_id = :userId AND deleted_at IS NULL AND embedding IS NOT NULL " +
+                   "AND (SELECT COUNT(*) FROM pok_tags pt " +
+                   "     WHERE pt.pok_id = poks.id AND pt.tag_id IN (:tagIds)) >= :minMatches " +
+                   "ORDER BY embedding <=> CAST(:queryEmbedding AS vector) " +
+                   "LIMIT :limit OFFSET :offset")
+    List<Pok> findSemanticallyByTags(
+        @Param("userId") UUID userId,
+        @Param("queryEmbedding") String queryEmbedding,
+        @Param("tagIds") Collection<UUID> tagIds,
+        @Param("minMatches") long minMatches,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
+    /**
+     * Counts, per global tag, how many active POKs match the {@link #searchPoks} filters.
+     *
+     * <p>A single {@code GROUP BY} over {@code pok_tags} joined to the filtered POKs, so the
+     * cost does not grow with the number of tags the user has.
+     *
+     * @param userId      the user ID (required)
+     * @param keyword     optional keyword to search in title and content (case-insensitive)
+     * @param createdFrom optional minimum creation date (inclusive)
+     * @param createdTo   optional maximum creation date (inclusive)
+     * @param updatedFrom optional minimum update date (inclusive)
+     * @param updatedTo   optional maximum update date (inclusive)
+     * @return one row per tag present in the result set
+     */
+    @Query("SELECT pt.tagId AS tagId, COUNT(p.id) AS pokCount FROM PokTag pt, Pok p " +
+           "WHERE p.id = pt.pokId AND p.userId = :userId AND p.deletedAt IS NULL " +
+           "AND (:keyword IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', CAST(:keyword AS string), '%')) " +
+           "                      OR LOWER(p.content) LIKE LOWER(CONCAT('%', CAST(:keyword AS string), '%'))) " +
+           "AND p.createdAt >= COALESCE(:createdFrom, p.createdAt) " +
+           "AND p.createdAt <= COALESCE(:createdTo, p.createdAt) " +
+           "AND p.updatedAt >= COALESCE(:updatedFrom, p.updatedAt) " +
+           "AND p.updatedAt <= COALESCE(:updatedTo, p.updatedAt) " +
+           "GROUP BY pt.tagId")
+    List<TagFacetCount> countTagFacets(
+        @Param("userId") UUID userId,
+        @Param("keyword") String keyword,
+        @Param("createdFrom") Instant createdFrom,
+        @Param("createdTo") Instant createdTo,
+        @Param("updatedFrom") Instant updatedFrom,
+        @Param("updatedTo") Instant updatedTo
+    );
+
+    /**
+     * Tag-restricted variant of {@link #countTagFacets}, matching the result set of
+     * {@link #searchPoksByTags}.
+     *
+     * @param userId      the user ID (required)
+     * @param keyword     optional keyword to search in title and content (case-insensitive)
+     * @param createdFrom optional minimum creation date (inclusive)
+     * @param createdTo   optional maximum creation date (inclusive)
+     * @param updatedFrom optional minimum update date (inclusive)
+     * @param updatedTo   optional maximum update date (inclusive)
+     * @param tagIds      the global tag IDs to filter by (must not be empty)
+     * @param minMatches  how many of {@code tagIds} a POK must carry to match
+     * @return one row per tag present in the result set
+     */
+    @Query("SELECT pt.tagId AS tagId, COUNT(p.id) AS pokCount FROM PokTag pt, Pok p " +
+           "WHERE p.id = pt.pokId AND p.userId = :userId AND p.deletedAt IS NULL " +
+           "AND (:keyword IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', CAST(:keyword AS string), '%')) " +
+           "                      OR LOWER(p.content) LIKE LOWER(CONCAT('%', CAST(:keyword AS string), '%'))) " +
+           "AND p.createdAt >= COALESCE(:createdFrom, p.createdAt) " +
+           "AND p.createdAt <= COALESCE(:createdTo, p.createdAt) " +
+           "AND p.updatedAt >= COALESCE(:updatedFrom, p.updatedAt) " +
+           "AND p.updatedAt <= COALESCE(:updatedTo, p.updatedAt) " +
+           "AND (SELECT COUNT(f) FROM PokTag f WHERE f.pokId = p.id AND f.tagId IN :tagIds) >= :minMatches " +
+           "GROUP BY pt.tagId")
+    List<TagFacetCount> countTagFacetsByTags(
+        @Param("userId") UUID userId,
+        @Param("keyword") String keyword,
+        @Param("createdFrom") Instant createdFrom,
+        @Param("createdTo") Instant createdTo,
+        @Param("updatedFrom") Instant updatedFrom,
+        @Param("updatedTo") Instant updatedTo,
+        @Param("tagIds") Collection<UUID> tagIds,
+        @Param("minMatches") long minMatches
+    );
+
+    /**
+     * Counts a user's active POKs per calendar month of creation (UTC), newest month first.
+     *
+     * <p>Served by {@code idx_poks_user_id_created_at}: the partial index covers exactly the
+     * user's active rows and holds {@code created_at}, so the aggregate never reads the table.
+     *
+     * @param userId the user ID
+     * @return one row per month that has at least one POK, months formatted as {@code YYYY-MM}
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT to_char(date_trunc('month', created_at AT TIME ZONE 'UTC'), 'YYYY-MM') AS month, " +
+                   "       COUNT(*) AS pokCount " +
+                   "FROM poks WHERE user_id = :userId AND deleted_at IS NULL " +
+                   "GROUP BY 1 ORDER BY 1 DESC")
+    List<MonthCount> countByCreationMonth(@Param("userId") UUID userId);
+
+    /**
+     * Returns the first page of a user's active POKs created in {@code [from, to)}, newest first.
+     *
+     * @param userId the user ID
+     * @param from   inclusive lower bound on creation time
+     * @param to     exclusive upper bound on creation time
+     * @param limit  maximum number of POKs to return
+     * @return POKs ordered by {@code createdAt DESC, id DESC}
+     */
+    @Query("SELECT p FROM Pok p WHERE p.userId = :userId AND p.deletedAt IS NULL " +
+           "AND p.createdAt >= :from AND p.createdAt < :to " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Pok> findCreatedBetween(
+        @Param("userId") UUID userId,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        Limit limit
+    );
+
+    /**
+     * Returns the page of a user's active POKs created in {@code [from, to)} that follows the
+     * keyset cursor {@code (afterCreatedAt, afterId)} in {@code createdAt DESC, id DESC} order.
+     *
+     * @param userId         the user ID
+     * @param from           inclusive lower bound on creation time
+     * @param to             exclusive upper bound on creation time
+     * @param afterCreatedAt creation time of the last POK already returned
+     * @param afterId        ID of the last POK already returned
+     * @param limit          maximum number of POKs to return
+     * @return POKs ordered by {@code createdAt DESC, id DESC}
+     */
+    @Query("SELECT p FROM Pok p WHERE p.userId = :userId AND p.deletedAt IS NULL " +
+           "AND p.createdAt >= :from AND p.createdAt < :to " +
+           "AND (p.createdAt < :afterCreatedAt OR (p.createdAt = :afterCreatedAt AND p.id < :afterId)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Pok> findCreatedBetweenAfter(
+        @Param("userId") UUID userId,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        @Param("afterCreatedAt") Instant afterCreatedAt,
+        @Param("afterId") UUID afterId,
+        Limit limit
+    );
+
+    /**
+     * Returns a user's active POKs whose content signature shares at least one 16-bit band with
+     * the given signature bands (banded LSH). Each band predicate matches one of the
+     * {@code idx_poks_simhash_band*} expression indexes. Callers verify the full Hamming distance.
+     *
+     * @param userId    the user ID
+     * @param excludeId POK to leave out (the one being checked)
+     * @param band0     bits 48-63 of the signature
+     * @param band1     bits 32-47 of the signature
+     * @param band2     bits 16-31 of the signature
+     * @param band3     bits 0-15 of the signature
+     * @return candidate POKs (unordered)
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT * FROM poks " +
+                   "WHERE user_id = :userId AND deleted_at IS NULL AND content_simhash IS NOT NULL " +
+                   "AND id <> :excludeId " +
+                   "AND (((content_simhash >> 48) & 65535) = :band0 " +
+                   "  OR ((content_simhash >> 32) & 65535) = :band1 " +
+                   "  OR ((content_simhash >> 16) & 65535) = :band2 " +
+                   "  OR (content_simhash & 65535) = :band3)")
+    List<Pok> findSimhashCandidates(
+        @Param("userId") UUID userId,
+        @Param("excludeId") UUID excludeId,
+        @Param("band0") int band0,
+        @Param("band1") int band1,
+        @Param("band2") int band2,
+        @Param("band3") int band3
+    );
+
+    /**
+     * Returns the IDs of a user's active POKs whose text contains a tag name as a whole word, and
+     * that neither have the tag assigned nor were ever suggested it. Used to suggest a new tag on
+     * existing POKs.
+     *
+     * <p>Title and content are matched in the normalized form of {@code TagMatcher} (lower case,
+     * runs of hyphens and whitespace as one space). The {@code LIKE} predicate is served by the
+     * {@code idx_poks_match_text_trgm} trigram index on that expression, for names of at least
+     * three characters; the regular expression then checks word boundaries on the candidates.
+     *
+     * @param userId      the user ID
+     * @param tagId       the global tag
+     * @param name        the tag name
+     * @param likePattern {@code %key%}, with LIKE wildcards in the key escaped
+     * @param wordRegex   the key as a whole-word regular expression
+     * @return matching POK IDs (unordered)
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT p.id FROM poks p " +
+                   "WHERE p.user_id = :userId AND p.deleted_at IS NULL " +
+                   "AND regexp_replace(lower(coalesce(p.title, '') || ' ' || p.content), '[\\s-]+', ' ', 'g') " +
+                   "    LIKE :likePattern " +
+                   "AND regexp_replace(lower(coalesce(p.title, '') || ' ' || p.content), '[\\s-]+', ' ', 'g') " +
+                   "    ~ :wordRegex " +
+                   "AND NOT EXISTS (SELECT 1 FROM pok_tags pt WHERE pt.pok_id = p.id AND pt.tag_id = :tagId) " +
+                   "AND NOT EXISTS (SELECT 1 FROM pok_tag_suggestions s " +
+                   "                WHERE s.pok_id = p.id AND lower(s.suggested_name) = lower(:name))")
+    List<UUID> findIdsMatchingTagName(
+        @Param("userId") UUID userId,
+        @Param("tagId") UUID tagId,
+        @Param("name") String name,
+        @Param("likePattern") String likePattern,
+        @Param("wordRegex") String wordRegex
+    );
+
+    /**
+     * Returns the content signatures of a user's active POKs, for the duplicates report.
+     *
+     * @param userId the user ID
+     * @return one row per signed active POK
+     */
+    @Query("SELECT p.id AS id, p.title AS title, p.createdAt AS createdAt, p.contentSimhash AS contentSimhash " +
+           "FROM Pok p WHERE p.userId = :userId AND p.deletedAt IS NULL AND p.contentSimhash IS NOT NULL")
+    List<ContentSignature> findContentSignatures(@Param("userId") UUID userId);
+
+    /**
+     * Returns the next batch of active POKs without a content signature, in ID order.
+     *
+     * @param afterId exclusive lower bound on the POK ID
+     * @param limit   maximum number of POKs to return
+     * @return unsigned active POKs with {@code id > afterId}, ordered by ID
+     */
+    @Query("SELECT p FROM Pok p WHERE p.deletedAt IS NULL AND p.contentSimhash IS NULL AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<Pok> findUnsignedAfter(@Param("afterId") UUID afterId, Limit limit);
+
+    /**
+     * Projection for a per-month POK count.
+     */
+    interface MonthCount {
+
+        String getMonth();
+
+        long getPokCount();
+    }
+
+    /**
+     * Projection for a per-tag facet count.
+     */
+    interface TagFacetCount {
+
+        UUID getTagId();
+
+        long getPokCount();
+    }
+
+    /**
+     * Projection for a POK's near-duplicate signature.
+     */
+    interface ContentSignature {
+
+        UUID getId();
+
+        String getTitle();
+
+        Instant getCreatedAt();
+
+        Long getContentSimhash();
+    }
+
+    /**
+     * Projection for a user's corpus size.
+     */
+    interface CorpusCounts {
+
+        long getPokCount();
+
+        long getEmbeddedCount();
+    }
 }
@@ -1,5 +1,6 @@
 package com.lucasxf.ed.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +28,14 @@ public interface PokTagRepository extends JpaRepository<PokTag, UUID> {
      */
     List<PokTag> findByPokId(UUID pokId);
 
+    /**
+     * Returns all tag assignments for a batch of POKs.
+     *
+     * @param pokIds the POK IDs
+     * @return list of assignments
+     */
+    List<PokTag> findByPokIdIn(Collection<UUID> pokIds);
+
     /**
      * Returns all POK assignments for a specific tag.
      *
@@ -44,6 +53,18 @@ public interface PokTagRepository extends JpaRepository<PokTag, UUID> {
      */
     Optional<PokTag> findByPokIdAndTagId(UUID pokId, UUID tagId);
 
+    /**
+     * Returns the IDs of a user's active POKs that carry a tag. Used by tag rename and deletion
+     * to touch, reindex and report only the POKs whose assignments change.
+     *
+     * @param tagId  the tag's ID
+     * @param userId the POKs' owner
+     * @return the POK IDs
+     */
+    @Query("SELECT pt.pokId FROM PokTag pt, Pok p " +
+           "WHERE p.id = pt.pokId AND pt.tagId = :tagId AND p.userId = :userId AND p.deletedAt IS NULL")
+    List<UUID> findActivePokIdsByTagIdAndUserId(@Param("tagId") UUID tagId, @Param("userId") UUID userId);
+
     /**
      * Deletes all assignments for a specific tag owned by a user.
      * Used during tag deletion to remove the user's POK associations.
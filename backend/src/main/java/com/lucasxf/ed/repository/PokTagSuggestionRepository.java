@@ -1,10 +1,14 @@
 package com.lucasxf.ed.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.lucasxf.ed.domain.PokTagSuggestion;
 import com.lucasxf.ed.domain.PokTagSuggestion.Status;
@@ -26,6 +30,80 @@ public interface PokTagSuggestionRepository extends JpaRepository<PokTagSuggesti
      */
     List<PokTagSuggestion> findByPokIdAndUserId(UUID pokId, UUID userId);
 
+    /**
+     * Returns all suggestions for several POKs owned by a specific user.
+     *
+     * @param pokIds the POK IDs
+     * @param userId the user's ID
+     * @return list of suggestions
+     */
+    List<PokTagSuggestion> findByPokIdInAndUserId(Collection<UUID> pokIds, UUID userId);
+
+    /**
+     * Inserts PENDING suggestions in one statement, one per (POK, name) pair at the same index of
+     * the two arrays. Pairs already suggested for the POK, under any status and in any case, are
+     * skipped by the unique index on {@code (pok_id, lower(suggested_name))}. IDs are time-ordered
+     * UUIDv7 from the column default ({@code uuid_generate_v7()}, migration V22), like the ones
+     * the entity is given.
+     *
+     * @param userId the POKs' owner
+     * @param pokIds the POK of each suggestion
+     * @param names  the suggested tag name of each suggestion
+     * @return the number of suggestions inserted
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+           value = "INSERT INTO pok_tag_suggestions (pok_id, user_id, suggested_name) " +
+                   "SELECT s.pok_id, :userId, s.name " +
+                   "FROM unnest(CAST(:pokIds AS uuid[]), CAST(:names AS varchar[])) AS s(pok_id, name) " +
+                   "ON CONFLICT (pok_id, lower(suggested_name)) DO NOTHING")
+    int insertPendingIgnoringDuplicates(
+            @Param("userId") UUID userId,
+            @Param("pokIds") UUID[] pokIds,
+            @Param("names") String[] names);
+
+    /**
+     * Suggests the user's tags whose centroid is close to the embedding of each given POK, in one
+     * statement. Each POK's cosine distance to every centroid of {@code user_tag_centroids} is
+     * computed in one pass; the nearest tags within {@code maxDistance} are suggested, at most
+     * {@code maxPerPok} per POK.
+     *
+     * <p>Only active subscriptions with at least {@code minTaggedPoks} embedded POKs count, tags the
+     * POK already carries are skipped, and pairs suggested before are skipped like in
+     * {@link #insertPendingIgnoringDuplicates}, and IDs come from the same UUIDv7 default. POKs
+     * without an embedding get no suggestion.
+     *
+     * @param userId        the POKs' owner
+     * @param pokIds        the POKs to suggest tags for
+     * @param maxDistance   the largest cosine distance to a centroid that is suggested
+     * @param minTaggedPoks the fewest embedded POKs a tag needs for its centroid to be used
+     * @param maxPerPok     the most suggestions per POK
+     * @return the number of suggestions inserted
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+           value = "INSERT INTO pok_tag_suggestions (pok_id, user_id, suggested_name) " +
+                   "SELECT ranked.pok_id, :userId, ranked.name FROM (" +
+                   "  SELECT p.id AS pok_id, t.name, " +
+                   "         row_number() OVER (PARTITION BY p.id ORDER BY p.embedding <=> c.embedding_sum) AS rank " +
+                   "  FROM poks p " +
+                   "  JOIN user_tag_centroids c ON c.user_id = p.user_id AND c.pok_count >= :minTaggedPoks " +
+                   "  JOIN user_tags ut ON ut.user_id = c.user_id AND ut.tag_id = c.tag_id AND ut.deleted_at IS NULL " +
+                   "  JOIN tags t ON t.id = c.tag_id " +
+                   "  WHERE p.id = ANY(CAST(:pokIds AS uuid[])) AND p.user_id = :userId " +
+                   "    AND p.deleted_at IS NULL AND p.embedding IS NOT NULL " +
+                   "    AND p.embedding <=> c.embedding_sum <= :maxDistance " +
+                   "    AND NOT EXISTS (SELECT 1 FROM pok_tags pt WHERE pt.pok_id = p.id AND pt.tag_id = c.tag_id)" +
+                   ") ranked " +
+                   "WHERE ranked.rank <= :maxPerPok " +
+                   "ON CONFLICT (pok_id, lower(suggested_name)) DO NOTHING")
+    int insertPendingNearTagCentroids(
+            @Param("userId") UUID userId,
+            @Param("pokIds") UUID[] pokIds,
+            @Param("maxDistance") double maxDistance,
+            @Param("minTaggedPoks") int minTaggedPoks,
+            @Param("maxPerPok") int maxPerPok);
+
     /**
      * Returns all suggestions for a POK filtered by status (internal use — ownership must be verified by caller).
      *
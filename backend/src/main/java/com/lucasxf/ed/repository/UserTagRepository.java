@@ -26,6 +26,14 @@ public interface UserTagRepository extends JpaRepository<UserTag, UUID> {
      */
     List<UserTag> findByUserIdAndDeletedAtIsNull(UUID userId);
 
+    /**
+     * Counts a user's active tag subscriptions.
+     *
+     * @param userId the user's ID
+     * @return number of active subscriptions
+     */
+    long countByUserIdAndDeletedAtIsNull(UUID userId);
+
     /**
      * Finds an active subscription for a specific user and tag.
      *
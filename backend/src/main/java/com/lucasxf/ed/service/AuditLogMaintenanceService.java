@@ -0,0 +1,317 @@
+package com.lucasxf.ed.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.lucasxf.ed.config.AuditProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Maintains the monthly partitions of {@code pok_audit_logs} (see migration V16).
+ *
+ * <p>Partitions are named {@code pok_audit_logs_yYYYYmMM} and cover one calendar month of
+ * {@code occurred_at} in UTC. The table has no default partition, so partitions for the current
+ * month and the next {@code audit.partitions-ahead} months are created on startup and on every
+ * maintenance run ({@code audit.maintenance-cron}, daily by default).
+ *
+ * <p>With {@code audit.retention-months} set, each run also archives the partitions of months
+ * older than that: the partition is exported to {@code audit.archive-dir} as gzipped JSON Lines,
+ * then detached and dropped — no row-by-row DELETE, no vacuum debt. Before a partition goes, each
+ * affected POK's first later entry is rewritten in full ({@link PokHistoryService#rebaseHistoryAt}),
+ * so the remaining history never depends on a snapshot that was archived.
+ *
+ * <p>Each run holds a PostgreSQL advisory lock, so when several instances run the same cron only
+ * one of them maintains the partitions; the others skip the run instead of archiving the same
+ * partition concurrently.
+ *
+ * <p>Does nothing when {@code pok_audit_logs} is not partitioned (e.g. a schema generated by
+ * Hibernate in tests).
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class AuditLogMaintenanceService {
+
+    private static final String TABLE = "pok_audit_logs";
+    private static final Pattern PARTITION_NAME = Pattern.compile("pok_audit_logs_y(\\d{4})m(\\d{2})");
+    private static final int REBASE_BATCH_SIZE = 100;
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+    /** Advisory lock key of the maintenance run; any constant not used by another lock. */
+    static final long MAINTENANCE_LOCK_KEY = 0x706f6b5f61756469L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PokHistoryService pokHistoryService;
+    private final AuditProperties auditProperties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuditLogMaintenanceService(JdbcTemplate jdbcTemplate,
+                                      PokHistoryService pokHistoryService,
+                                      AuditProperties auditProperties,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = requireNonNull(jdbcTemplate);
+        this.pokHistoryService = requireNonNull(pokHistoryService);
+        this.auditProperties = requireNonNull(auditProperties);
+        this.objectMapper = requireNonNull(objectMapper);
+        this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    }
+
+    /**
+     * Outcome of a maintenance run.
+     *
+     * @param partitionsCreated future partitions created
+     * @param partitionsArchived expired partitions exported and dropped
+     * @param rowsArchived      audit entries written to archive files
+     */
+    public record Maintenance(int partitionsCreated, int partitionsArchived, long rowsArchived) {
+    }
+
+    /**
+     * Creates missing partitions as soon as the application is ready, so writes never find their
+     * month without one even if the last scheduled run was missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartitionsOnStartup() {
+        try {
+            if (isPartitioned()) {
+                createPartitions(currentMonth());
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not create audit log partitions on startup: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Scheduled maintenance run. Failures are logged; the next run retries.
+     */
+    @Scheduled(cron = "${audit.maintenance-cron:0 30 3 * * *}", zone = "UTC")
+    public void scheduledMaintenance() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.error("Audit log maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates upcoming partitions and archives expired ones.
+     *
+     * @return what the run did
+     */
+    public Maintenance maintain() {
+        return maintain(currentMonth());
+    }
+
+    Maintenance maintain(YearMonth currentMonth) {
+        if (!isPartitioned()) {
+            log.debug("{} is not partitioned; skipping maintenance", TABLE);
+            return new Maintenance(0, 0, 0);
+        }
+        // A session-level lock, so it is held on one connection for the whole run and its transactions
+        return jdbcTemplate.execute((ConnectionCallback<Maintenance>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.info("Audit log maintenance is running on another instance; skipping this run");
+                return new Maintenance(0, 0, 0);
+            }
+            try {
+                return maintainLocked(currentMonth);
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+    }
+
+    private Maintenance maintainLocked(YearMonth currentMonth) {
+        int created = createPartitions(currentMonth);
+
+        int archived = 0;
+        long rows = 0;
+        if (auditProperties.retentionMonths() > 0) {
+            String archiveDir = auditProperties.archiveDir();
+            if (archiveDir == null || archiveDir.isBlank()) {
+                log.warn("audit.retention-months is set but audit.archive-dir is not; keeping all audit partitions");
+            } else {
+                YearMonth oldestKept = currentMonth.minusMonths(auditProperties.retentionMonths());
+                for (YearMonth month : partitions()) {
+                    if (month.isBefore(oldestKept)) {
+                        rows += archive(month, Path.of(archiveDir));
+                        archived++;
+                    }
+                }
+            }
+        }
+        log.info("Audit log maintenance: {} partitions created, {} archived ({} rows)", created, archived, rows);
+        return new Maintenance(created, archived, rows);
+    }
+
+    private int createPartitions(YearMonth currentMonth) {
+        List<YearMonth> existing = partitions();
+        int created = 0;
+        for (int i = 0; i <= auditProperties.partitionsAhead(); i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (!existing.contains(month)) {
+                // IF NOT EXISTS: another instance may be running the same maintenance
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + start(month) + "') TO ('" + start(month.plusMonths(1)) + "')");
+                log.info("Created audit log partition {}", partitionName(month));
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Rebases the history that outlives the partition, exports the partition, then drops it.
+     *
+     * @return the number of archived rows
+     */
+    private long archive(YearMonth month, Path archiveDir) {
+        String partition = partitionName(month);
+        Instant end = start(month.plusMonths(1));
+
+        List<UUID> pokIds = jdbcTemplate.queryForList("SELECT DISTINCT pok_id FROM " + partition, UUID.class);
+        int rebased = 0;
+        for (int from = 0; from < pokIds.size(); from += REBASE_BATCH_SIZE) {
+            List<UUID> batch = pokIds.subList(from, Math.min(from + REBASE_BATCH_SIZE, pokIds.size()));
+            Integer count = transactionTemplate.execute(status ->
+                (int) batch.stream().filter(pokId -> pokHistoryService.rebaseHistoryAt(pokId, end)).count());
+            rebased += Objects.requireNonNullElse(count, 0);
+        }
+
+        Path file = archiveDir.resolve(partition + ".jsonl.gz");
+        long rows = export(partition, file);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        });
+        log.info("Archived audit log partition {} ({} rows, {} POK histories rebased) to {}",
+            partition, rows, rebased, file);
+        return rows;
+    }
+
+    /**
+     * Streams a partition into a gzipped JSON Lines file, one object per row keyed by column
+     * name. Written to a temporary file first, so a partial export is never mistaken for an
+     * archive.
+     */
+    private long export(String partition, Path file) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long[] rows = {0};
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                // A transaction lets the driver stream with a cursor instead of buffering the partition
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                        "SELECT * FROM " + partition + " ORDER BY occurred_at, id");
+                    statement.setFetchSize(EXPORT_FETCH_SIZE);
+                    return statement;
+                }, (RowCallbackHandler) rs -> {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        Object value = rs.getObject(i);
+                        row.put(meta.getColumnLabel(i), value instanceof Timestamp ts ? ts.toInstant().toString() : value);
+                    }
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(row));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                }));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive audit log partition " + partition, e);
+        }
+        return rows[0];
+    }
+
+    /**
+     * Calls {@code pg_try_advisory_lock} or {@code pg_advisory_unlock} with the maintenance key.
+     */
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, MAINTENANCE_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+            "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('" + TABLE + "')", String.class);
+        return kinds.contains("p");
+    }
+
+    /**
+     * The months of the existing partitions, oldest first.
+     */
+    private List<YearMonth> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass('pok_audit_logs')
+                """, String.class).stream()
+            .map(PARTITION_NAME::matcher)
+            .filter(Matcher::matches)
+            .map(m -> YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))))
+            .sorted()
+            .toList();
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static YearMonth currentMonth() {
+        return YearMonth.now(ZoneOffset.UTC);
+    }
+}
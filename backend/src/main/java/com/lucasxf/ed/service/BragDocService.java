@@ -0,0 +1,493 @@
+package com.lucasxf.ed.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+import com.lucasxf.ed.dto.BragDocJobResponse;
+import com.lucasxf.ed.dto.BragDocJobResponse.Status;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Generates a brag document: a Markdown summary of what a user learned, per period and per tag.
+ *
+ * <p>The counting is done by the database. One rollup query groups the user's POKs by creation
+ * period (UTC) and by tag with {@code GROUPING SETS}, returning per-cluster and per-period counts
+ * in a single pass; no POK content crosses the wire for it. Then, one period at a time, a second
+ * query picks up to {@value #HIGHLIGHTS_PER_CLUSTER} representative POKs per tag cluster: those
+ * closest to the cluster's embedding centroid, which favours the POKs most typical of what the
+ * user wrote about that tag rather than outliers. POKs without an embedding rank after embedded
+ * ones, by content length, so clusters without any embedding still get their most substantial
+ * notes. Both queries run in one read-only, repeatable-read transaction so counts and highlights
+ * agree.
+ *
+ * <p>Generation runs as a background job on a virtual thread. Each period is appended to the
+ * document as soon as it is rendered, so polling shows progress and the partial document.
+ *
+ * <p>Finished documents are cached in memory keyed by the user's change version
+ * ({@link UserChangeVersionService#current}) and the request, so asking again before anything
+ * changed returns the same job without touching the database. Up to {@value #MAX_JOBS_PER_USER}
+ * jobs are kept per user and {@value #MAX_JOBS} overall; the least recently used ones are
+ * forgotten, and a forgotten job that is still running is cancelled.
+ *
+ * <p>Each job holds a connection for the whole generation, so at most
+ * {@value #MAX_RUNNING_JOBS_PER_USER} job per user and {@value #MAX_RUNNING_JOBS} overall run at
+ * once. A request beyond that returns a failed job asking to try again later.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class BragDocService {
+
+    static final int HIGHLIGHTS_PER_CLUSTER = 3;
+    static final int MAX_CLUSTERS_PER_PERIOD = 8;
+    static final int MAX_JOBS_PER_USER = 5;
+    static final int MAX_JOBS = 200;
+    static final int MAX_RUNNING_JOBS_PER_USER = 1;
+    static final int MAX_RUNNING_JOBS = 8;
+    static final int EXCERPT_LENGTH = 160;
+
+    /**
+     * The tags each POK is assigned and the user subscribes to; a POK without any yields one row
+     * with a {@code NULL} tag. POKs with several tags are in several clusters.
+     */
+    private static final String TAGGED = """
+        WITH tagged AS (
+            SELECT p.id, p.title, p.content, p.created_at, p.embedding,
+                   date_trunc(?, p.created_at, 'UTC') AS period, t.name AS tag
+            FROM poks p
+            LEFT JOIN LATERAL (
+                SELECT t.name FROM pok_tags pt
+                JOIN user_tags ut ON ut.tag_id = pt.tag_id AND ut.user_id = p.user_id AND ut.deleted_at IS NULL
+                JOIN tags t ON t.id = pt.tag_id
+                WHERE pt.pok_id = p.id
+            ) t ON true
+            WHERE p.user_id = ? AND p.deleted_at IS NULL
+        """;
+
+    private static final String ROLLUP = """
+        )
+        SELECT period, tag, GROUPING(tag) = 1 AS total, count(DISTINCT id) AS poks
+        FROM tagged
+        GROUP BY GROUPING SETS ((period, tag), (period))
+        ORDER BY period DESC, GROUPING(tag) DESC, poks DESC, tag NULLS LAST
+        """;
+
+    private static final String HIGHLIGHTS = """
+        ),
+        centroids AS (
+            SELECT tag, avg(embedding) AS centroid FROM tagged WHERE embedding IS NOT NULL GROUP BY tag
+        ),
+        ranked AS (
+            SELECT tg.id, tg.title, tg.content, tg.created_at, tg.tag,
+                   row_number() OVER (PARTITION BY tg.tag
+                       ORDER BY tg.embedding <=> c.centroid NULLS LAST, length(tg.content) DESC, tg.id) AS rank
+            FROM tagged tg
+            LEFT JOIN centroids c ON c.tag IS NOT DISTINCT FROM tg.tag
+        )
+        SELECT id, title, left(content, 400) AS excerpt, created_at, tag
+        FROM ranked
+        WHERE rank <= ?
+        ORDER BY tag NULLS LAST, rank
+        """;
+
+    /**
+     * The period POKs are grouped by.
+     */
+    public enum Period {
+        MONTH(1), QUARTER(3), YEAR(12);
+
+        private final int months;
+
+        Period(int months) {
+            this.months = months;
+        }
+
+        /**
+         * Parses a {@code period} parameter, case-insensitively.
+         *
+         * @throws IllegalArgumentException if the period is not supported
+         */
+        public static Period of(String period) {
+            try {
+                return valueOf(period.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported period: '" + period
+                    + "'. Allowed values: [month, quarter, year]");
+            }
+        }
+
+        String unit() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        Instant end(Instant start) {
+            return start.atZone(ZoneOffset.UTC).plusMonths(months).toInstant();
+        }
+
+        String label(Instant start) {
+            YearMonth month = YearMonth.from(start.atZone(ZoneOffset.UTC));
+            return switch (this) {
+                case MONTH -> month.toString();
+                case QUARTER -> month.getYear() + " Q" + ((month.getMonthValue() - 1) / 3 + 1);
+                case YEAR -> Integer.toString(month.getYear());
+            };
+        }
+    }
+
+    /**
+     * What to generate; {@code from} and {@code to} bound the POKs' creation time and are optional.
+     */
+    record Request(Period period, Instant from, Instant to) {
+    }
+
+    record Rollup(Instant period, String tag, boolean total, long poks) {
+    }
+
+    record Highlight(UUID id, String title, String excerpt, Instant createdAt, String tag) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserChangeVersionService userChangeVersionService;
+    private final ExecutorService executor;
+    /** Jobs by ID, least recently used first. */
+    private final Map<UUID, Job> jobs = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Job> eldest) {
+            if (size() <= MAX_JOBS) {
+                return false;
+            }
+            eldest.getValue().cancel();
+            return true;
+        }
+    };
+
+    public BragDocService(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          UserChangeVersionService userChangeVersionService) {
+        this(jdbcTemplate, transactionManager, userChangeVersionService,
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("brag-doc-", 0).factory()));
+    }
+
+    BragDocService(JdbcTemplate jdbcTemplate,
+                   PlatformTransactionManager transactionManager,
+                   UserChangeVersionService userChangeVersionService,
+                   ExecutorService executor) {
+        this.jdbcTemplate = requireNonNull(jdbcTemplate);
+        this.userChangeVersionService = requireNonNull(userChangeVersionService);
+        this.executor = requireNonNull(executor);
+        this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Starts generating a brag document, or returns the job that already generated (or is
+     * generating) the same document for the user's current data.
+     *
+     * @param userId the user
+     * @param period {@code month}, {@code quarter} or {@code year}
+     * @param from   minimum creation date (ISO 8601), or {@code null}
+     * @param to     maximum creation date (ISO 8601), or {@code null}
+     * @return the job's current state
+     * @throws IllegalArgumentException if the period or a date is malformed
+     */
+    public BragDocJobResponse start(UUID userId, String period, String from, String to) {
+        Request request = new Request(Period.of(period), parse(from), parse(to));
+        long version = userChangeVersionService.current(userId);
+        Job job;
+        String refusal;
+        synchronized (jobs) {
+            Optional<Job> cached = jobs.values().stream()
+                .filter(candidate -> candidate.userId.equals(userId) && candidate.version == version
+                    && candidate.request.equals(request) && candidate.status != Status.FAILED)
+                .findFirst();
+            if (cached.isPresent()) {
+                job = jobs.get(cached.get().id);
+                log.debug("Brag document for user {} served from job {}", userId, job.id);
+                return job.snapshot();
+            }
+            job = new Job(userId, version, request);
+            refusal = refusal(userId);
+            if (refusal == null) {
+                // Least recently used first
+                List<Job> own = jobs.values().stream().filter(other -> other.userId.equals(userId)).toList();
+                if (own.size() >= MAX_JOBS_PER_USER) {
+                    jobs.remove(own.getFirst().id).cancel();
+                }
+                jobs.put(job.id, job);
+            }
+        }
+        if (refusal != null) {
+            // Not kept: the next request tries again
+            job.fail(refusal);
+            log.info("Brag document job {} for user {} not started: {}", job.id, userId, refusal);
+            return job.snapshot();
+        }
+        try {
+            Job started = job;
+            job.start(executor.submit(() -> run(started)));
+        } catch (RuntimeException e) {
+            job.fail("Brag document generation could not be started");
+            log.warn("Brag document job {} not started: {}", job.id, e.getMessage());
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * Returns one of the user's jobs.
+     *
+     * @param userId the user
+     * @param jobId  the job ID
+     * @return the job's current state, or empty if the user has no such job (or it was forgotten)
+     */
+    public Optional<BragDocJobResponse> find(UUID userId, UUID jobId) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        return Optional.ofNullable(job).filter(found -> found.userId.equals(userId)).map(Job::snapshot);
+    }
+
+    /**
+     * Why a new job for the user cannot run now, or {@code null} if it can. Called holding the
+     * jobs' lock.
+     */
+    private String refusal(UUID userId) {
+        List<Job> running = jobs.values().stream().filter(job -> job.status == Status.RUNNING).toList();
+        if (running.stream().filter(job -> job.userId.equals(userId)).count() >= MAX_RUNNING_JOBS_PER_USER) {
+            return "Another brag document is still being generated; try again when it is done";
+        }
+        if (running.size() >= MAX_RUNNING_JOBS) {
+            return "Too many brag documents are being generated; try again later";
+        }
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> render(job));
+            job.complete();
+            log.info("Brag document for user {} rendered {} periods in {} ms", job.userId, job.periodsTotal,
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            job.fail("Brag document generation failed");
+            log.warn("Brag document job {} for user {} failed", job.id, job.userId, e);
+        }
+    }
+
+    private void render(Job job) {
+        Request request = job.request;
+        List<Object> args = new ArrayList<>(List.of(request.period().unit(), job.userId));
+        StringBuilder filters = new StringBuilder();
+        if (request.from() != null) {
+            filters.append("    AND p.created_at >= ?\n");
+            args.add(Timestamp.from(request.from()));
+        }
+        if (request.to() != null) {
+            filters.append("    AND p.created_at <= ?\n");
+            args.add(Timestamp.from(request.to()));
+        }
+
+        List<Rollup> rollups = jdbcTemplate.query(TAGGED + filters + ROLLUP, (rs, rowNum) -> new Rollup(
+            rs.getTimestamp("period").toInstant(), rs.getString("tag"), rs.getBoolean("total"), rs.getLong("poks")),
+            args.toArray());
+        Map<Instant, List<Rollup>> periods = rollups.stream()
+            .collect(Collectors.groupingBy(Rollup::period, LinkedHashMap::new, Collectors.toList()));
+
+        long total = rollups.stream().filter(Rollup::total).mapToLong(Rollup::poks).sum();
+        job.begin(periods.size(), header(request, periods.keySet(), total));
+
+        for (Map.Entry<Instant, List<Rollup>> period : periods.entrySet()) {
+            Instant periodStart = period.getKey();
+            List<Object> periodArgs = new ArrayList<>(args);
+            periodArgs.add(Timestamp.from(periodStart));
+            periodArgs.add(Timestamp.from(request.period().end(periodStart)));
+            periodArgs.add(HIGHLIGHTS_PER_CLUSTER);
+            List<Highlight> highlights = jdbcTemplate.query(
+                TAGGED + filters + "    AND p.created_at >= ? AND p.created_at < ?\n" + HIGHLIGHTS,
+                (rs, rowNum) -> new Highlight(rs.getObject("id", UUID.class), rs.getString("title"),
+                    rs.getString("excerpt"), rs.getTimestamp("created_at").toInstant(), rs.getString("tag")),
+                periodArgs.toArray());
+            job.append(section(request.period().label(periodStart), period.getValue(), highlights));
+        }
+    }
+
+    static String header(Request request, Iterable<Instant> periods, long total) {
+        StringBuilder md = new StringBuilder("# Brag document\n\n");
+        Iterator<Instant> it = periods.iterator();
+        if (!it.hasNext()) {
+            return md.append("No POKs yet.\n").toString();
+        }
+        Instant newest = it.next();
+        Instant oldest = newest;
+        while (it.hasNext()) {
+            oldest = it.next();
+        }
+        Period period = request.period();
+        String span = oldest.equals(newest)
+            ? period.label(newest)
+            : period.label(oldest) + " to " + period.label(newest);
+        return md.append(total).append(total == 1 ? " POK" : " POKs").append(", ").append(span)
+            .append(", by ").append(period.unit()).append(".\n").toString();
+    }
+
+    /**
+     * Renders one period: its count, then the largest tag clusters with their highlights; smaller
+     * clusters are listed on one line.
+     */
+    static String section(String label, List<Rollup> rollups, List<Highlight> highlights) {
+        StringBuilder md = new StringBuilder("\n## ").append(label).append("\n\n");
+        long count = rollups.stream().filter(Rollup::total).mapToLong(Rollup::poks).sum();
+        md.append(count).append(count == 1 ? " POK" : " POKs").append(".\n");
+
+        List<Rollup> clusters = rollups.stream().filter(rollup -> !rollup.total()).toList();
+        for (Rollup cluster : clusters.subList(0, Math.min(clusters.size(), MAX_CLUSTERS_PER_PERIOD))) {
+            md.append("\n### ").append(cluster.tag() == null ? "Untagged" : cluster.tag())
+                .append(" (").append(cluster.poks()).append(")\n\n");
+            highlights.stream()
+                .filter(highlight -> Objects.equals(highlight.tag(), cluster.tag()))
+                .forEach(highlight -> md.append(bullet(highlight)));
+        }
+        if (clusters.size() > MAX_CLUSTERS_PER_PERIOD) {
+            md.append("\nAlso: ").append(clusters.subList(MAX_CLUSTERS_PER_PERIOD, clusters.size()).stream()
+                .map(cluster -> (cluster.tag() == null ? "untagged" : cluster.tag()) + " (" + cluster.poks() + ")")
+                .collect(Collectors.joining(", "))).append(".\n");
+        }
+        return md.toString();
+    }
+
+    private static String bullet(Highlight highlight) {
+        String date = LocalDate.ofInstant(highlight.createdAt(), ZoneOffset.UTC).toString();
+        String excerpt = excerpt(highlight.excerpt());
+        if (highlight.title() == null || highlight.title().isBlank()) {
+            return "- " + excerpt + " (" + date + ")\n";
+        }
+        return "- **" + highlight.title().strip() + "** (" + date + "): " + excerpt + "\n";
+    }
+
+    static String excerpt(String content) {
+        String text = content.replaceAll("\\s+", " ").strip();
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, cut > EXCERPT_LENGTH / 2 ? cut : EXCERPT_LENGTH) + "…";
+    }
+
+    private static Instant parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed date: '" + value + "'. Expected ISO 8601 (e.g. 2026-01-01T00:00:00Z)");
+        }
+    }
+
+    /**
+     * One generation, rendered by a single thread and read by pollers.
+     */
+    private static final class Job {
+
+        private final UUID id = UUID.randomUUID();
+        private final UUID userId;
+        private final long version;
+        private final Request request;
+        private final Instant createdAt = Instant.now();
+        private final StringBuilder markdown = new StringBuilder();
+        private volatile Status status = Status.RUNNING;
+        private volatile int periodsDone;
+        private volatile int periodsTotal;
+        private volatile String error;
+        private volatile Instant completedAt;
+        private Future<?> task;
+        private boolean cancelled;
+
+        Job(UUID userId, long version, Request request) {
+            this.userId = userId;
+            this.version = version;
+            this.request = request;
+        }
+
+        synchronized void start(Future<?> task) {
+            this.task = task;
+            if (cancelled) {
+                task.cancel(true);
+            }
+        }
+
+        /**
+         * Stops a forgotten job: interrupts its generation if it is still running.
+         */
+        synchronized void cancel() {
+            cancelled = true;
+            if (task != null && status == Status.RUNNING) {
+                task.cancel(true);
+            }
+        }
+
+        synchronized void begin(int periods, String header) {
+            periodsTotal = periods;
+            markdown.append(header);
+        }
+
+        synchronized void append(String section) {
+            markdown.append(section);
+            periodsDone++;
+        }
+
+        synchronized void complete() {
+            completedAt = Instant.now();
+            status = Status.COMPLETED;
+        }
+
+        synchronized void fail(String reason) {
+            markdown.setLength(0);
+            error = reason;
+            completedAt = Instant.now();
+            status = Status.FAILED;
+        }
+
+        synchronized BragDocJobResponse snapshot() {
+            return new BragDocJobResponse(id, status, request.period().unit(), periodsDone, periodsTotal,
+                markdown.isEmpty() ? null : markdown.toString(), error, createdAt, completedAt);
+        }
+    }
+}
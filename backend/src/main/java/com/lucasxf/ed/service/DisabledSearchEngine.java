@@ -0,0 +1,45 @@
+package com.lucasxf.ed.service;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link SearchEngine} used when no embedded engine is configured. It never answers, so every
+ * search is served by the Postgres queries in {@link PokService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Component
+@ConditionalOnProperty(name = "search.lucene.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledSearchEngine implements SearchEngine {
+
+    @Override
+    public boolean isAvailable() {
+        return false;
+    }
+
+    @Override
+    public Optional<Hits> search(Criteria criteria) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void index(Collection<UUID> pokIds) {
+        // nothing to maintain
+    }
+
+    @Override
+    public void remove(UUID pokId) {
+        // nothing to maintain
+    }
+
+    @Override
+    public int rebuild() {
+        return 0;
+    }
+}
@@ -0,0 +1,264 @@
+package com.lucasxf.ed.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.dto.DuplicateGroupResponse;
+import com.lucasxf.ed.dto.PokDuplicateResponse;
+import com.lucasxf.ed.repository.PokRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Detects near-duplicate POKs with SimHash signatures and banded LSH.
+ *
+ * <p>Each POK carries a 64-bit SimHash of its title and content (word unigrams and bigrams).
+ * Texts that differ by a few words produce signatures that differ in a few bits, so two POKs
+ * are likely duplicates when their signatures are at most {@value #MAX_HAMMING_DISTANCE} bits
+ * apart. Signatures are split into four 16-bit bands; by pigeonhole, any such pair agrees on at
+ * least one band, so candidates come from four indexed band lookups (at create/update time) or
+ * from grouping by band value (for the per-user report) — never from comparing all pairs.
+ *
+ * <p>Signatures are computed synchronously, so create and update responses can report
+ * duplicates immediately, unlike embedding distance which is only known after the async
+ * embedding call.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class DuplicateDetectionService {
+
+    static final int MAX_HAMMING_DISTANCE = 3;
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = 16;
+    private static final int MAX_REPORTED = 5;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final PokRepository pokRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DuplicateDetectionService(PokRepository pokRepository, PlatformTransactionManager transactionManager) {
+        this.pokRepository = requireNonNull(pokRepository);
+        this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    }
+
+    /**
+     * Computes the SimHash signature of a POK's text.
+     *
+     * @param title   the title (may be null)
+     * @param content the content
+     * @return the signature, or {@code null} if the text has no words to sign
+     */
+    public static Long simhash(String title, String content) {
+        String text = (title == null ? "" : title) + " " + (content == null ? "" : content);
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int[] votes = new int[Long.SIZE];
+        int features = 0;
+        String previous = null;
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            vote(votes, hash(word));
+            if (previous != null) {
+                vote(votes, hash(previous + ' ' + word));
+            }
+            previous = word;
+            features++;
+        }
+        if (features == 0) {
+            return null;
+        }
+        long signature = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (votes[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Stores the signature of the POK's current title and content on the entity.
+     *
+     * @param pok the POK to sign
+     */
+    public void sign(Pok pok) {
+        pok.updateContentSimhash(simhash(pok.getTitle(), pok.getContent()));
+    }
+
+    /**
+     * Returns the owner's other active POKs that are likely near-duplicates of {@code pok}, most
+     * similar first (at most {@value #MAX_REPORTED}).
+     *
+     * @param pok a signed, persisted POK
+     * @return likely duplicates; empty if the POK has no signature
+     */
+    public List<PokDuplicateResponse> findLikelyDuplicates(Pok pok) {
+        Long signature = pok.getContentSimhash();
+        if (signature == null) {
+            return List.of();
+        }
+        return pokRepository.findSimhashCandidates(pok.getUserId(), pok.getId(),
+                band(signature, 0), band(signature, 1), band(signature, 2), band(signature, 3))
+            .stream()
+            .filter(candidate -> distance(signature, candidate.getContentSimhash()) <= MAX_HAMMING_DISTANCE)
+            .map(candidate -> new PokDuplicateResponse(candidate.getId(), candidate.getTitle(),
+                candidate.getCreatedAt(), similarity(signature, candidate.getContentSimhash())))
+            .sorted(Comparator.comparingDouble(PokDuplicateResponse::similarity).reversed())
+            .limit(MAX_REPORTED)
+            .toList();
+    }
+
+    /**
+     * Groups a user's active POKs into clusters of near-duplicates.
+     *
+     * <p>POKs are bucketed by each band value and only POKs sharing a bucket are compared;
+     * pairs within the distance threshold are merged with union-find, so chains of similar POKs
+     * form one group. Groups are returned largest first; POKs within a group oldest first.
+     *
+     * @param userId the user ID
+     * @return groups of two or more POKs
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateGroupResponse> findDuplicateGroups(UUID userId) {
+        List<PokRepository.ContentSignature> rows = pokRepository.findContentSignatures(userId);
+        int[] parent = new int[rows.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        for (int band = 0; band < BANDS; band++) {
+            Map<Integer, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                buckets.computeIfAbsent(band(rows.get(i).getContentSimhash(), band), k -> new ArrayList<>()).add(i);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int a = 0; a < bucket.size(); a++) {
+                    for (int b = a + 1; b < bucket.size(); b++) {
+                        int i = bucket.get(a);
+                        int j = bucket.get(b);
+                        if (distance(rows.get(i).getContentSimhash(), rows.get(j).getContentSimhash())
+                            <= MAX_HAMMING_DISTANCE) {
+                            parent[find(parent, i)] = find(parent, j);
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<Integer, List<PokRepository.ContentSignature>> groups = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            groups.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(rows.get(i));
+        }
+        List<DuplicateGroupResponse> result = groups.values().stream()
+            .filter(group -> group.size() > 1)
+            .map(DuplicateDetectionService::toGroup)
+            .sorted(Comparator.comparingInt((DuplicateGroupResponse g) -> g.poks().size()).reversed())
+            .toList();
+        log.debug("Duplicate report for user {}: {} signed POKs, {} groups", userId, rows.size(), result.size());
+        return result;
+    }
+
+    /**
+     * Signs every active POK that has no signature yet. Idempotent — signed POKs are skipped.
+     *
+     * <p>Each batch of {@value #BACKFILL_BATCH_SIZE} POKs is signed in its own transaction, so only
+     * one batch is ever held in the persistence context and an interrupted backfill keeps the
+     * batches it completed.
+     *
+     * @return the number of POKs signed
+     */
+    public int backfill() {
+        int signed = 0;
+        UUID after = MIN_UUID;
+        List<Pok> batch;
+        do {
+            UUID from = after;
+            batch = transactionTemplate.execute(status -> {
+                List<Pok> poks = pokRepository.findUnsignedAfter(from, Limit.of(BACKFILL_BATCH_SIZE));
+                poks.forEach(this::sign);
+                pokRepository.saveAll(poks);
+                return poks;
+            });
+            signed += batch.size();
+            if (!batch.isEmpty()) {
+                after = batch.getLast().getId();
+            }
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+        log.info("Duplicate-detection backfill signed {} POKs", signed);
+        return signed;
+    }
+
+    private static DuplicateGroupResponse toGroup(List<PokRepository.ContentSignature> members) {
+        List<PokRepository.ContentSignature> oldestFirst = members.stream()
+            .sorted(Comparator.comparing(PokRepository.ContentSignature::getCreatedAt))
+            .toList();
+        long original = oldestFirst.getFirst().getContentSimhash();
+        return new DuplicateGroupResponse(oldestFirst.stream()
+            .map(m -> new PokDuplicateResponse(m.getId(), m.getTitle(), m.getCreatedAt(),
+                similarity(original, m.getContentSimhash())))
+            .toList());
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    static int band(long signature, int band) {
+        return (int) ((signature >>> (BAND_BITS * (BANDS - 1 - band))) & 0xFFFF);
+    }
+
+    private static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static double similarity(long a, long b) {
+        return 1.0 - (double) distance(a, b) / Long.SIZE;
+    }
+
+    private static void vote(int[] votes, long hash) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            votes[bit] += ((hash >>> bit) & 1) == 1 ? 1 : -1;
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer, so that similar strings get
+     * unrelated bit patterns.
+     */
+    private static long hash(String feature) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            h ^= feature.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
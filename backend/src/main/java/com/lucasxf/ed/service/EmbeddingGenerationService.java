@@ -8,6 +8,10 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static java.util.Objects.requireNonNull;
@@ -15,7 +19,7 @@ import static java.util.Objects.requireNonNull;
 /**
  * Asynchronous service that generates and persists vector embeddings for POKs.
  *
- * <p>Called after POK create and update operations. Failures are non-fatal:
+ * <p>Runs after POK create and update operations commit. Failures are non-fatal:
  * if the embedding service is unavailable, a warning is logged and the POK
  * remains searchable via keyword search with a null embedding.
  *
@@ -26,13 +30,21 @@ import static java.util.Objects.requireNonNull;
 @Service
 public class EmbeddingGenerationService {
 
+    private static final int BATCH_SIZE = 32;
+
     private final PokRepository pokRepository;
     private final EmbeddingService embeddingService;
+    private final UserChangeVersionService userChangeVersionService;
+    private final SearchEngine searchEngine;
 
     public EmbeddingGenerationService(PokRepository pokRepository,
-                                      EmbeddingService embeddingService) {
+                                      EmbeddingService embeddingService,
+                                      UserChangeVersionService userChangeVersionService,
+                                      SearchEngine searchEngine) {
         this.pokRepository = requireNonNull(pokRepository);
         this.embeddingService = requireNonNull(embeddingService);
+        this.userChangeVersionService = requireNonNull(userChangeVersionService);
+        this.searchEngine = requireNonNull(searchEngine);
     }
 
     /**
@@ -54,6 +66,9 @@ public class EmbeddingGenerationService {
                 float[] embedding = embeddingService.embed(text);
                 pok.updateEmbedding(embedding);
                 pokRepository.save(pok);
+                // Semantic results change once the POK becomes embeddable
+                userChangeVersionService.markChanged(pok.getUserId());
+                searchEngine.index(pokId);
                 log.debug("Embedding generated for POK {}", pokId);
             } catch (EmbeddingUnavailableException e) {
                 log.warn("Embedding unavailable for POK {} — will retry via backfill: {}",
@@ -62,6 +77,49 @@ public class EmbeddingGenerationService {
         });
     }
 
+    /**
+     * Generates embeddings for many POKs in one pass. Called by {@code EmbeddingEventSubscriber}
+     * on its own thread once the POKs are committed.
+     *
+     * <p>POKs are processed in slices of {@value #BATCH_SIZE}: each slice is loaded with one
+     * query, embedded with one {@link EmbeddingService#embedAll} call and saved together. If the
+     * embedding service becomes unavailable the job stops; the remaining POKs keep a null
+     * embedding and are picked up by the backfill endpoint.
+     *
+     * @param pokIds the IDs of the POKs to embed
+     * @return the POKs that were embedded
+     */
+    public List<Pok> generateEmbeddingsForPoks(List<UUID> pokIds) {
+        List<Pok> embedded = new ArrayList<>(pokIds.size());
+        Set<UUID> owners = new HashSet<>();
+        for (int i = 0; i < pokIds.size(); i += BATCH_SIZE) {
+            List<Pok> batch = pokRepository.findAllById(pokIds.subList(i, Math.min(i + BATCH_SIZE, pokIds.size())))
+                .stream()
+                .filter(pok -> !pok.isDeleted())
+                .toList();
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                List<float[]> embeddings = embeddingService.embedAll(batch.stream().map(this::buildInputText).toList());
+                for (int j = 0; j < batch.size(); j++) {
+                    batch.get(j).updateEmbedding(embeddings.get(j));
+                    owners.add(batch.get(j).getUserId());
+                }
+                pokRepository.saveAll(batch);
+                searchEngine.index(batch.stream().map(Pok::getId).toList());
+                embedded.addAll(batch);
+            } catch (EmbeddingUnavailableException e) {
+                log.warn("Embedding unavailable after {}/{} POKs — the rest will be retried via backfill: {}",
+                    embedded.size(), pokIds.size(), e.getMessage());
+                break;
+            }
+        }
+        owners.forEach(userChangeVersionService::markChanged);
+        log.info("Batch embedding generated {} of {} POKs", embedded.size(), pokIds.size());
+        return embedded;
+    }
+
     /**
      * Builds the text to embed from a POK's title and content.
      * Title (if present) is prepended to improve semantic relevance.
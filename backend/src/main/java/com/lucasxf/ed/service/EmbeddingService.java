@@ -1,5 +1,7 @@
 package com.lucasxf.ed.service;
 
+import java.util.List;
+
 import com.lucasxf.ed.exception.EmbeddingUnavailableException;
 
 /**
@@ -22,4 +24,18 @@ public interface EmbeddingService {
      * @throws EmbeddingUnavailableException if the embedding service is unavailable
      */
     float[] embed(String text);
+
+    /**
+     * Generates embeddings for several texts, in input order.
+     *
+     * <p>The default implementation embeds one text at a time; implementations backed by a
+     * remote API should override it to send a single batched request.
+     *
+     * @param texts the input texts (each must not be null or blank)
+     * @return one embedding per input text, in the same order
+     * @throws EmbeddingUnavailableException if the embedding service is unavailable
+     */
+    default List<float[]> embedAll(List<String> texts) {
+        return texts.stream().map(this::embed).toList();
+    }
 }
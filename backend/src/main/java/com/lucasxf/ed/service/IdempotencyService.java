@@ -0,0 +1,178 @@
+package com.lucasxf.ed.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.lucasxf.ed.config.IdempotencyProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Dedupe store behind the {@code Idempotency-Key} header of POK creation and imports.
+ *
+ * <p>A request {@linkplain #claim claims} its key before doing any work. The first claim wins;
+ * later ones get the {@link Prior} result to replay. Claims are plain inserts on the
+ * {@code (user_id, idem_key)} primary key, so concurrent retries are serialized by the database:
+ * a retry that arrives while the original transaction is open waits for it, then either replays
+ * its committed result or, if it rolled back, claims the key itself.
+ *
+ * <p>Keys expire after {@code idempotency.ttl}. An expired key is claimed afresh even before the
+ * scheduled eviction deletes its row.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final String CLAIM = """
+        INSERT INTO idempotency_keys (user_id, idem_key, operation, fingerprint, created_at)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (user_id, idem_key) DO UPDATE
+            SET operation = EXCLUDED.operation, fingerprint = EXCLUDED.fingerprint,
+                created_at = EXCLUDED.created_at, pok_id = NULL, response = NULL
+            WHERE idempotency_keys.created_at < ?
+               OR (idempotency_keys.pok_id IS NULL AND idempotency_keys.response IS NULL
+                   AND idempotency_keys.created_at < ?)
+        """;
+
+    private static final String FIND = """
+        SELECT operation, fingerprint, pok_id, response::text AS response
+        FROM idempotency_keys WHERE user_id = ? AND idem_key = ?
+        """;
+
+    /**
+     * The operations a key can be used for; a key belongs to exactly one.
+     */
+    public enum Operation {
+        CREATE_POK,
+        IMPORT
+    }
+
+    /**
+     * The result recorded under a key by the request that claimed it first.
+     *
+     * @param pokId    the POK created by a {@link Operation#CREATE_POK} request
+     * @param response the JSON result of an {@link Operation#IMPORT}, {@code null} while it runs
+     */
+    public record Prior(UUID pokId, String response) {
+
+        public boolean completed() {
+            return pokId != null || response != null;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyService(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        this.jdbcTemplate = requireNonNull(jdbcTemplate);
+        this.properties = requireNonNull(properties);
+    }
+
+    /**
+     * Claims a key for a request, in the caller's transaction if there is one.
+     *
+     * @param userId      the requesting user (keys are scoped per user)
+     * @param key         the {@code Idempotency-Key} header
+     * @param operation   what the request does
+     * @param fingerprint hash of the request body, or {@code null} when it cannot be known upfront
+     * @return empty if this request now owns the key, otherwise the earlier request's result
+     * @throws IllegalArgumentException if the key is malformed, or was already used for a
+     *                                  different operation or body
+     */
+    public Optional<Prior> claim(UUID userId, String key, Operation operation, byte[] fingerprint) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        Instant now = Instant.now();
+        int claimed = jdbcTemplate.update(CLAIM, userId, key, operation.name(), fingerprint, Timestamp.from(now),
+            Timestamp.from(now.minus(properties.ttl())), Timestamp.from(now.minus(properties.pendingTimeout())));
+        if (claimed == 1) {
+            return Optional.empty();
+        }
+
+        List<Prior> rows = jdbcTemplate.query(FIND, (rs, i) -> {
+            if (!operation.name().equals(rs.getString("operation"))
+                || !Arrays.equals(fingerprint, rs.getBytes("fingerprint"))) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            }
+            return new Prior(rs.getObject("pok_id", UUID.class), rs.getString("response"));
+        }, userId, key);
+        if (rows.isEmpty()) {
+            // Evicted between the two statements; the retry simply runs again
+            return claim(userId, key, operation, fingerprint);
+        }
+        log.info("Replaying {} for user {} (Idempotency-Key reused)", operation, userId);
+        return Optional.of(rows.getFirst());
+    }
+
+    /**
+     * Records the POK created under a claimed key.
+     */
+    public void recordPok(UUID userId, String key, UUID pokId) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET pok_id = ? WHERE user_id = ? AND idem_key = ?",
+            pokId, userId, key);
+    }
+
+    /**
+     * Records the JSON result of the request that claimed a key.
+     */
+    public void recordResponse(UUID userId, String key, String response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET response = ?::jsonb WHERE user_id = ? AND idem_key = ?",
+            response, userId, key);
+    }
+
+    /**
+     * Gives up a claim whose request failed, so a retry runs it again.
+     */
+    public void release(UUID userId, String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE user_id = ? AND idem_key = ?", userId, key);
+    }
+
+    /**
+     * Deletes expired keys ({@code idempotency.eviction-interval}, hourly by default).
+     */
+    @Scheduled(fixedDelayString = "${idempotency.eviction-interval:PT1H}")
+    public void evictExpired() {
+        int evicted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?",
+            Timestamp.from(Instant.now().minus(properties.ttl())));
+        if (evicted > 0) {
+            log.info("Evicted {} expired idempotency keys", evicted);
+        }
+    }
+
+    /**
+     * Hashes the parts of a request body, in order, for {@link #claim}.
+     *
+     * @param parts the body's fields; {@code null}s are allowed
+     * @return the SHA-256 digest
+     */
+    public static byte[] fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.lucasxf.ed.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.lucasxf.ed.dto.ImportPokRequest;
+
+/**
+ * Streams the entries of a bulk import bundle one at a time, so the import never holds the
+ * whole bundle in memory.
+ *
+ * <p>Two formats are accepted:
+ * <ul>
+ *   <li><b>JSON</b> — an array of {@code {"title", "content", "tags"}} objects, or an object
+ *       whose {@code "poks"} field is such an array.</li>
+ *   <li><b>Markdown</b> — each level-1 heading ({@code # Title}) starts a POK; an optional
+ *       {@code Tags: a, b} line right after the heading lists its tags; everything up to the
+ *       next level-1 heading is its content. Headings inside fenced code blocks are ignored,
+ *       and text before the first heading becomes an untitled POK. A backslash before a line's
+ *       {@code # }, fence or {@code Tags:} keeps it in the content and is removed
+ *       ({@link #escapeLine} adds it on export).</li>
+ * </ul>
+ *
+ * <p>Read failures surface as {@link UncheckedIOException} from {@code hasNext()}/{@code next()}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+final class ImportBundleReader {
+
+    /** A line that would be read as a heading, a fence or a tags line, after any escapes. */
+    private static final Pattern SIGNIFICANT = Pattern.compile("(\\s*)(\\\\*(?:# |```|~~~|(?i:tags:)).*)",
+        Pattern.DOTALL);
+    private static final Pattern ESCAPED = Pattern.compile("(\\s*)\\\\(\\\\*(?:# |```|~~~|(?i:tags:)).*)",
+        Pattern.DOTALL);
+
+    private ImportBundleReader() {
+    }
+
+    /**
+     * Escapes a content line so that the Markdown reader takes it as content: a line starting
+     * (after indentation) with {@code # }, a code fence or {@code Tags:}, or with backslashes and
+     * one of those, gets one more backslash. Markdown renders {@code \#} as a plain {@code #}.
+     *
+     * @param line a line of POK content
+     * @return the line as written to a Markdown bundle
+     */
+    static String escapeLine(String line) {
+        Matcher matcher = SIGNIFICANT.matcher(line);
+        return matcher.matches() ? matcher.group(1) + "\\" + matcher.group(2) : line;
+    }
+
+    /**
+     * Reverses {@link #escapeLine}.
+     */
+    private static String unescapeLine(String line) {
+        Matcher matcher = ESCAPED.matcher(line);
+        return matcher.matches() ? matcher.group(1) + matcher.group(2) : line;
+    }
+
+    /**
+     * Streams the entries of a JSON bundle.
+     *
+     * @param objectMapper the mapper used to bind each entry
+     * @param body         the bundle
+     * @return the entries, in bundle order
+     * @throws IOException if the bundle does not start with an array or a {@code "poks"} array
+     */
+    static Iterator<ImportPokRequest> json(ObjectMapper objectMapper, InputStream body) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(body);
+        JsonToken first = parser.nextToken();
+        if (first == JsonToken.START_OBJECT) {
+            // Skip to the "poks" array, ignoring any other top-level metadata
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if ("poks".equals(parser.currentName())) {
+                    first = parser.nextToken();
+                    break;
+                }
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        }
+        if (first != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of POKs or an object with a \"poks\" array");
+        }
+        return new Iterator<>() {
+            private JsonToken current = advance();
+
+            private JsonToken advance() {
+                try {
+                    return parser.nextToken();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return current == JsonToken.START_OBJECT;
+            }
+
+            @Override
+            public ImportPokRequest next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    ImportPokRequest entry = objectMapper.readValue(parser, ImportPokRequest.class);
+                    current = advance();
+                    return entry;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Streams the entries of a Markdown bundle.
+     *
+     * @param body the bundle
+     * @return the entries, in bundle order
+     */
+    static Iterator<ImportPokRequest> markdown(Reader body) {
+        BufferedReader reader = new BufferedReader(body);
+        return new Iterator<>() {
+            private String pendingHeading;
+            private boolean started;
+            private boolean exhausted;
+            private ImportPokRequest next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && !exhausted) {
+                    next = readEntry();
+                }
+                return next != null;
+            }
+
+            @Override
+            public ImportPokRequest next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ImportPokRequest entry = next;
+                next = null;
+                return entry;
+            }
+
+            /** Reads one section; returns null for an empty preamble or at end of input. */
+            private ImportPokRequest readEntry() {
+                String title = pendingHeading;
+                boolean preamble = !started;
+                started = true;
+                pendingHeading = null;
+                List<String> tags = List.of();
+                StringBuilder content = new StringBuilder();
+                boolean inFence = false;
+                boolean expectTags = title != null;
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String trimmed = line.strip();
+                        if (trimmed.startsWith("```") || trimmed.startsWith("~~~")) {
+                            inFence = !inFence;
+                        }
+                        if (!inFence && line.startsWith("# ")) {
+                            pendingHeading = line.substring(2).strip();
+                            return entry(title, content, tags, preamble);
+                        }
+                        if (expectTags && !trimmed.isEmpty()) {
+                            expectTags = false;
+                            if (trimmed.toLowerCase(Locale.ROOT).startsWith("tags:")) {
+                                tags = parseTags(trimmed.substring("tags:".length()));
+                                continue;
+                            }
+                        }
+                        content.append(unescapeLine(line)).append('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exhausted = true;
+                return entry(title, content, tags, preamble);
+            }
+
+            private ImportPokRequest entry(String title, StringBuilder content, List<String> tags, boolean preamble) {
+                String text = content.toString().strip();
+                if (preamble && title == null && text.isEmpty()) {
+                    return null;
+                }
+                return new ImportPokRequest(title == null || title.isEmpty() ? null : title, text, tags);
+            }
+        };
+    }
+
+    private static List<String> parseTags(String list) {
+        return new ArrayList<>(Arrays.stream(list.split(","))
+            .map(String::strip)
+            .map(tag -> tag.startsWith("#") ? tag.substring(1) : tag)
+            .filter(tag -> !tag.isEmpty())
+            .toList());
+    }
+}
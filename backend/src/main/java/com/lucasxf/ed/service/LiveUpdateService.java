@@ -0,0 +1,224 @@
+package com.lucasxf.ed.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+import com.lucasxf.ed.config.LiveUpdateProperties;
+import com.lucasxf.ed.dto.LiveUpdateEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Pushes background-work completions and POK changes to connected clients over Server-Sent
+ * Events, so they can stop polling for them.
+ *
+ * <p>Each user may hold up to {@code live-updates.max-connections-per-user} open streams (one per
+ * tab or device). Each stream has its own queue, drained in order by at most one virtual thread at
+ * a time, so a slow or dead client never holds up the event bus lane that raised the event, nor
+ * other clients, and events reach a client in the order they were published. A stream with more
+ * than {@value #MAX_PENDING_EVENTS} events waiting is dropped rather than left to pile them up. A
+ * comment line is sent every {@code live-updates.heartbeat-interval} to keep proxies from closing
+ * idle streams and to notice clients that went away; a failed send drops the stream.
+ *
+ * <p>Events are best-effort: a client that was not connected misses them and catches up with a
+ * regular read (or the sync feed) when it reconnects.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class LiveUpdateService {
+
+    /** Tag suggestion pass finished for the POKs (there may be no new suggestions). */
+    public static final String SUGGESTIONS_READY = "suggestions-ready";
+    /** The POKs have an embedding and are now found by semantic search. */
+    public static final String EMBEDDING_READY = "embedding-ready";
+    /** The POKs were created, edited, deleted or had their tags changed. */
+    public static final String POK_CHANGED = "pok-changed";
+
+    /** Events a stream may have waiting before its client is considered stalled. */
+    static final int MAX_PENDING_EVENTS = 8;
+
+    private final Map<UUID, List<OpenStream>> streams = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final LiveUpdateProperties properties;
+    private final Supplier<SseEmitter> emitterFactory;
+
+    public LiveUpdateService(LiveUpdateProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry,
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-updates-", 0).factory()),
+            () -> new SseEmitter(properties.timeout().toMillis()));
+    }
+
+    LiveUpdateService(LiveUpdateProperties properties, MeterRegistry meterRegistry, ExecutorService sender,
+                      Supplier<SseEmitter> emitterFactory) {
+        this.properties = requireNonNull(properties);
+        this.sender = requireNonNull(sender);
+        this.emitterFactory = requireNonNull(emitterFactory);
+        Gauge.builder("learnimo.live.connections", streams, s -> s.values().stream().mapToInt(List::size).sum())
+            .description("Open live update streams")
+            .register(requireNonNull(meterRegistry));
+    }
+
+    /**
+     * Opens a stream for a user.
+     *
+     * @param userId the connecting user
+     * @return the stream, or empty if the user already has the maximum number open
+     */
+    public Optional<SseEmitter> connect(UUID userId) {
+        SseEmitter emitter = emitterFactory.get();
+        OpenStream stream = new OpenStream(userId, emitter);
+        boolean[] admitted = {false};
+        streams.compute(userId, (id, open) -> {
+            List<OpenStream> list = open != null ? open : new CopyOnWriteArrayList<>();
+            if (list.size() < properties.maxConnectionsPerUser()) {
+                list.add(stream);
+                admitted[0] = true;
+            }
+            return list;
+        });
+        if (!admitted[0]) {
+            log.info("Live update stream refused for user {}: {} already open", userId,
+                properties.maxConnectionsPerUser());
+            return Optional.empty();
+        }
+        emitter.onCompletion(() -> disconnect(userId, stream));
+        emitter.onTimeout(() -> disconnect(userId, stream));
+        emitter.onError(e -> disconnect(userId, stream));
+        log.debug("Live update stream opened for user {}", userId);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Sends an event to every open stream of a user. Returns immediately.
+     *
+     * @param userId the user
+     * @param name   the event name, one of the constants of this class
+     * @param pokIds the POKs the event is about
+     */
+    public void publish(UUID userId, String name, List<UUID> pokIds) {
+        List<OpenStream> open = streams.get(userId);
+        if (open == null || open.isEmpty()) {
+            return;
+        }
+        LiveUpdateEvent payload = new LiveUpdateEvent(pokIds);
+        for (OpenStream stream : open) {
+            stream.send(() -> SseEmitter.event().name(name).data(payload));
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment to every open stream ({@code live-updates.heartbeat-interval}).
+     */
+    @Scheduled(fixedDelayString = "${live-updates.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        streams.values().forEach(open ->
+            open.forEach(stream -> stream.send(() -> SseEmitter.event().comment("heartbeat"))));
+    }
+
+    /**
+     * Closes every stream so clients reconnect to another instance, and stops sending.
+     */
+    @PreDestroy
+    void shutdown() {
+        streams.values().forEach(open -> open.forEach(stream -> stream.emitter.complete()));
+        streams.clear();
+        sender.shutdown();
+    }
+
+    private void disconnect(UUID userId, OpenStream stream) {
+        streams.computeIfPresent(userId, (id, open) -> {
+            open.remove(stream);
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    /**
+     * An open stream and the events waiting to be sent to it, in order.
+     */
+    private final class OpenStream {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> pending =
+            new LinkedBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private OpenStream(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues an event and makes sure a sender is draining the queue. Returns immediately.
+         */
+        void send(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (!pending.offer(event)) {
+                log.info("Dropping live update stream of user {}: {} events waiting", userId, MAX_PENDING_EVENTS);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    log.debug("Live update not sent to user {}: {}", userId, e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while ((event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the container reports the error to onError as well.
+                        // The queue stays marked as draining, so nothing more is sent to it.
+                        log.debug("Dropping live update stream of user {}: {}", userId, e.getMessage());
+                        pending.clear();
+                        disconnect(userId, this);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared found no sender
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close() {
+            pending.clear();
+            disconnect(userId, this);
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.debug("Could not complete live update stream of user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+}
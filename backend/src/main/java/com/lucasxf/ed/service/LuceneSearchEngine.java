@@ -0,0 +1,527 @@
+package com.lucasxf.ed.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.lucasxf.ed.config.SearchProperties;
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.PokTagRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-process Lucene index of POKs, enabled with {@code search.lucene.enabled=true}.
+ *
+ * <p>Title and content are indexed twice — with the English and the Brazilian Portuguese
+ * analyzers — and queried across both, so stemming works for either language without detecting
+ * it per POK. Queries use {@link SimpleQueryParser} syntax: {@code "quoted phrases"},
+ * {@code prefix*}, {@code -exclusion} and {@code a | b}; plain terms are ANDed. Keyword results
+ * are ranked by BM25 unless an explicit date sort is requested.
+ *
+ * <p>Embeddings are stored as native kNN vector fields. Semantic search is a filtered kNN query;
+ * hybrid search runs the BM25 and kNN queries on the same searcher and fuses them with
+ * reciprocal rank fusion, so both halves see the same filters and the same snapshot.
+ *
+ * <p>The index is near-real-time: writes are applied after the writing transaction commits and
+ * are visible to the next search. It is rebuilt from Postgres when the application starts
+ * (unless disabled) and on demand through the admin API; while rebuilding, searches fall back
+ * to Postgres.
+ *
+ * <p>Writes are serialized, and every write and rebuild is committed, so a persistent index
+ * ({@code search.lucene.index-path}) survives a crash missing at most the writes in flight. Writes
+ * that land during a rebuild are not applied to the half-built index, where an older batch could
+ * overwrite them; their POKs are re-read from Postgres once the rebuild has read everything else.
+ * A persistent index is only used at startup if its last rebuild completed.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.lucene.enabled", havingValue = "true")
+public class LuceneSearchEngine implements SearchEngine {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    /** Rank constant for reciprocal rank fusion; 60 is the value from the original RRF paper. */
+    private static final int RRF_K = 60;
+
+    private static final String F_ID = "id";
+    private static final String F_USER_ID = "userId";
+    private static final String F_TAG = "tag";
+    private static final String F_CREATED_AT = "createdAt";
+    private static final String F_UPDATED_AT = "updatedAt";
+    private static final String F_EMBEDDING = "embedding";
+    private static final String F_TITLE_EN = "title_en";
+    private static final String F_TITLE_PT = "title_pt";
+    private static final String F_CONTENT_EN = "content_en";
+    private static final String F_CONTENT_PT = "content_pt";
+
+    /** Commit user data key, {@code "true"} once a rebuild has completed. */
+    private static final String COMMIT_COMPLETE = "complete";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+        F_TITLE_EN, 2.0f,
+        F_TITLE_PT, 2.0f,
+        F_CONTENT_EN, 1.0f,
+        F_CONTENT_PT, 1.0f
+    );
+
+    private final PokRepository pokRepository;
+    private final PokTagRepository pokTagRepository;
+    private final SearchProperties.Lucene properties;
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Object writeLock = new Object();
+
+    private volatile boolean available;
+    /** POKs written during a rebuild, or {@code null} when none is running; guarded by {@link #writeLock}. */
+    private Set<UUID> deferred;
+
+    public LuceneSearchEngine(SearchProperties searchProperties,
+                              PokRepository pokRepository,
+                              PokTagRepository pokTagRepository) throws IOException {
+        this.pokRepository = requireNonNull(pokRepository);
+        this.pokTagRepository = requireNonNull(pokTagRepository);
+        this.properties = searchProperties.lucene();
+        this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), Map.of(
+            F_TITLE_EN, new EnglishAnalyzer(),
+            F_CONTENT_EN, new EnglishAnalyzer(),
+            F_TITLE_PT, new BrazilianAnalyzer(),
+            F_CONTENT_PT, new BrazilianAnalyzer()
+        ));
+        String indexPath = properties.indexPath();
+        boolean persistent = indexPath != null && !indexPath.isBlank();
+        this.directory = persistent ? FSDirectory.open(Path.of(indexPath)) : new ByteBuffersDirectory();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+        // A persisted index is usable straight away unless its last rebuild was cut short; an
+        // in-memory one is empty until rebuilt
+        this.available = persistent && isComplete(writer);
+    }
+
+    /**
+     * Rebuilds the index in the background once the application is ready, so startup is not
+     * held up by a full table scan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!properties.rebuildOnStartup()) {
+            return;
+        }
+        Thread.ofVirtual().name("lucene-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Lucene index rebuild failed — searches stay on Postgres: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Override
+    public Optional<Hits> search(Criteria criteria) {
+        if (!available) {
+            return Optional.empty();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return Optional.of(switch (criteria.mode()) {
+                    case KEYWORD -> keywordSearch(searcher, criteria);
+                    case SEMANTIC -> semanticSearch(searcher, criteria);
+                    case HYBRID -> hybridSearch(searcher, criteria);
+                });
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Lucene search failed for user {} — falling back to Postgres: {}", criteria.userId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void index(Collection<UUID> pokIds) {
+        List<UUID> ids = List.copyOf(pokIds);
+        afterCommit(() -> reindex(ids));
+    }
+
+    @Override
+    public void remove(UUID pokId) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                if (deferred != null) {
+                    deferred.add(pokId);
+                    return;
+                }
+                try {
+                    writer.deleteDocuments(idTerm(pokId));
+                    commit();
+                } catch (IOException e) {
+                    log.warn("Failed to remove POK {} from the Lucene index: {}", pokId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces the index contents with every active POK in Postgres. Searches fall back to
+     * Postgres until the rebuild completes.
+     *
+     * @return the number of POKs indexed
+     */
+    @Override
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (writeLock) {
+            available = false;
+            deferred = new LinkedHashSet<>();
+            writer.setLiveCommitData(Map.of(COMMIT_COMPLETE, "false").entrySet());
+        }
+        boolean complete = false;
+        try {
+            writer.deleteAll();
+            int indexed = 0;
+            UUID afterId = MIN_UUID;
+            List<Pok> batch;
+            do {
+                batch = pokRepository.findActiveAfter(afterId, Limit.of(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<UUID, List<UUID>> tagsByPok = tagsByPok(batch.stream().map(Pok::getId).toList());
+                for (Pok pok : batch) {
+                    writer.updateDocument(idTerm(pok.getId()), toDocument(pok, tagsByPok.getOrDefault(pok.getId(), List.of())));
+                }
+                indexed += batch.size();
+                afterId = batch.getLast().getId();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            complete = true;
+            log.info("Lucene index rebuilt with {} POKs in {} ms", indexed, System.currentTimeMillis() - start);
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild Lucene index", e);
+        } finally {
+            synchronized (writeLock) {
+                List<UUID> missed = List.copyOf(deferred);
+                deferred = null;
+                if (complete) {
+                    writer.setLiveCommitData(Map.of(COMMIT_COMPLETE, "true").entrySet());
+                }
+                // Applied and committed even after a failure, so these writes are not lost if the
+                // rebuild is not retried
+                write(missed);
+                available = complete;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // ===== Indexing =====
+
+    /**
+     * Re-reads the POKs from Postgres and replaces their documents, or defers them to the end of
+     * the running rebuild. Reading under the write lock means two writes of one POK apply in order.
+     */
+    private void reindex(List<UUID> pokIds) {
+        synchronized (writeLock) {
+            if (deferred != null) {
+                deferred.addAll(pokIds);
+                return;
+            }
+            write(pokIds);
+        }
+    }
+
+    /**
+     * Replaces the documents of the POKs with their current state in Postgres and commits.
+     */
+    private void write(List<UUID> pokIds) {
+        try {
+            Map<UUID, List<UUID>> tagsByPok = pokIds.isEmpty() ? Map.of() : tagsByPok(pokIds);
+            Map<UUID, Pok> poks = pokIds.isEmpty() ? Map.of() : pokRepository.findAllById(pokIds).stream()
+                .collect(Collectors.toMap(Pok::getId, p -> p));
+            for (UUID pokId : pokIds) {
+                Pok pok = poks.get(pokId);
+                if (pok == null || pok.getDeletedAt() != null) {
+                    writer.deleteDocuments(idTerm(pokId));
+                } else {
+                    writer.updateDocument(idTerm(pokId), toDocument(pok, tagsByPok.getOrDefault(pokId, List.of())));
+                }
+            }
+            commit();
+        } catch (IOException | RuntimeException e) {
+            // The index lags until the next write to these POKs or the next rebuild; the
+            // request that triggered this has already committed and must not fail.
+            log.warn("Failed to index POKs {} in Lucene: {}", pokIds, e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the writes durable and visible to the next search. Commits are cheap for the in-memory
+     * index and, for a persistent one, bounded by the rate of POK writes.
+     */
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private static boolean isComplete(IndexWriter writer) {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> entry : commitData) {
+            if (COMMIT_COMPLETE.equals(entry.getKey())) {
+                return "true".equals(entry.getValue());
+            }
+        }
+        return false;
+    }
+
+    private Map<UUID, List<UUID>> tagsByPok(List<UUID> pokIds) {
+        return pokTagRepository.findByPokIdIn(pokIds).stream()
+            .collect(Collectors.groupingBy(PokTag::getPokId,
+                Collectors.mapping(PokTag::getTagId, Collectors.toList())));
+    }
+
+    private static Document toDocument(Pok pok, List<UUID> tagIds) {
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, pok.getId().toString(), Field.Store.YES));
+        doc.add(new StringField(F_USER_ID, pok.getUserId().toString(), Field.Store.NO));
+
+        String title = pok.getTitle() == null ? "" : pok.getTitle();
+        doc.add(new TextField(F_TITLE_EN, title, Field.Store.NO));
+        doc.add(new TextField(F_TITLE_PT, title, Field.Store.NO));
+        doc.add(new TextField(F_CONTENT_EN, pok.getContent(), Field.Store.NO));
+        doc.add(new TextField(F_CONTENT_PT, pok.getContent(), Field.Store.NO));
+
+        for (UUID tagId : tagIds) {
+            doc.add(new StringField(F_TAG, tagId.toString(), Field.Store.NO));
+        }
+
+        long createdAt = pok.getCreatedAt().toEpochMilli();
+        long updatedAt = pok.getUpdatedAt().toEpochMilli();
+        doc.add(new LongPoint(F_CREATED_AT, createdAt));
+        doc.add(new NumericDocValuesField(F_CREATED_AT, createdAt));
+        doc.add(new LongPoint(F_UPDATED_AT, updatedAt));
+        doc.add(new NumericDocValuesField(F_UPDATED_AT, updatedAt));
+
+        // Cosine similarity is undefined for the zero vector, so such embeddings are left out
+        if (pok.getEmbedding() != null && !isZero(pok.getEmbedding())) {
+            doc.add(new KnnFloatVectorField(F_EMBEDDING, pok.getEmbedding(), VectorSimilarityFunction.COSINE));
+        }
+        return doc;
+    }
+
+    // ===== Querying =====
+
+    private Hits keywordSearch(IndexSearcher searcher, Criteria criteria) throws IOException {
+        Query query = textQuery(criteria);
+        int limit = (criteria.page() + 1) * criteria.size();
+        TopDocs topDocs = criteria.sortBy() == null
+            ? searcher.search(query, limit)
+            : searcher.search(query, limit, dateSort(criteria));
+        return new Hits(pageOf(searcher, topDocs.scoreDocs, criteria), searcher.count(query));
+    }
+
+    private Hits semanticSearch(IndexSearcher searcher, Criteria criteria) throws IOException {
+        if (criteria.queryVector() == null || isZero(criteria.queryVector())) {
+            return new Hits(List.of(), 0);
+        }
+        int limit = (criteria.page() + 1) * criteria.size();
+        TopDocs topDocs = searcher.search(knnQuery(criteria, limit), limit);
+        // kNN has no exact total; report what was reachable, like the pgvector path does
+        return new Hits(pageOf(searcher, topDocs.scoreDocs, criteria), topDocs.scoreDocs.length);
+    }
+
+    private Hits hybridSearch(IndexSearcher searcher, Criteria criteria) throws IOException {
+        if (criteria.queryVector() == null || isZero(criteria.queryVector())) {
+            return keywordSearch(searcher, criteria);
+        }
+        // Over-fetch both lists so fusion can promote documents ranked lower by either one
+        int limit = (criteria.page() + 1) * criteria.size() * 3;
+        Query text = textQuery(criteria);
+        ScoreDoc[] textDocs = searcher.search(text, limit).scoreDocs;
+        ScoreDoc[] vectorDocs = searcher.search(knnQuery(criteria, limit), limit).scoreDocs;
+
+        Map<Integer, Double> fused = new HashMap<>();
+        for (int rank = 0; rank < textDocs.length; rank++) {
+            fused.merge(textDocs[rank].doc, 1.0 / (RRF_K + rank + 1), Double::sum);
+        }
+        for (int rank = 0; rank < vectorDocs.length; rank++) {
+            fused.merge(vectorDocs[rank].doc, 1.0 / (RRF_K + rank + 1), Double::sum);
+        }
+        ScoreDoc[] ranked = fused.entrySet().stream()
+            .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+            .map(e -> new ScoreDoc(e.getKey(), e.getValue().floatValue()))
+            .toArray(ScoreDoc[]::new);
+
+        long total = Math.max(searcher.count(text), ranked.length);
+        return new Hits(pageOf(searcher, ranked, criteria), total);
+    }
+
+    private Query textQuery(Criteria criteria) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return new BooleanQuery.Builder()
+            .add(parser.parse(criteria.keyword()), BooleanClause.Occur.MUST)
+            .add(filterQuery(criteria), BooleanClause.Occur.FILTER)
+            .build();
+    }
+
+    private static Query knnQuery(Criteria criteria, int k) {
+        return new KnnFloatVectorQuery(F_EMBEDDING, criteria.queryVector(), k, filterQuery(criteria));
+    }
+
+    /**
+     * Owner, date range and tag restrictions shared by every mode.
+     */
+    private static Query filterQuery(Criteria criteria) {
+        BooleanQuery.Builder filter = new BooleanQuery.Builder()
+            .add(new TermQuery(new Term(F_USER_ID, criteria.userId().toString())), BooleanClause.Occur.FILTER);
+        addRange(filter, F_CREATED_AT, criteria.createdFrom(), criteria.createdTo());
+        addRange(filter, F_UPDATED_AT, criteria.updatedFrom(), criteria.updatedTo());
+
+        if (criteria.tagIds() != null && !criteria.tagIds().isEmpty()) {
+            BooleanQuery.Builder tags = new BooleanQuery.Builder();
+            criteria.tagIds().forEach(tagId ->
+                tags.add(new TermQuery(new Term(F_TAG, tagId.toString())), BooleanClause.Occur.SHOULD));
+            tags.setMinimumNumberShouldMatch((int) Math.max(1, criteria.minTagMatches()));
+            filter.add(tags.build(), BooleanClause.Occur.FILTER);
+        }
+        return filter.build();
+    }
+
+    private static void addRange(BooleanQuery.Builder filter, String field, Instant from, Instant to) {
+        if (from == null && to == null) {
+            return;
+        }
+        long lower = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long upper = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        filter.add(LongPoint.newRangeQuery(field, lower, upper), BooleanClause.Occur.FILTER);
+    }
+
+    private static Sort dateSort(Criteria criteria) {
+        String field = "createdAt".equals(criteria.sortBy()) ? F_CREATED_AT : F_UPDATED_AT;
+        return new Sort(new SortField(field, SortField.Type.LONG, !criteria.ascending()));
+    }
+
+    private static List<UUID> pageOf(IndexSearcher searcher, ScoreDoc[] scoreDocs, Criteria criteria) throws IOException {
+        int from = criteria.page() * criteria.size();
+        int to = Math.min(scoreDocs.length, from + criteria.size());
+        if (from >= to) {
+            return List.of();
+        }
+        StoredFields storedFields = searcher.storedFields();
+        List<UUID> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(UUID.fromString(storedFields.document(scoreDocs[i].doc).get(F_ID)));
+        }
+        return ids;
+    }
+
+    // ===== Helpers =====
+
+    private static Term idTerm(UUID pokId) {
+        return new Term(F_ID, pokId.toString());
+    }
+
+    private static boolean isZero(float[] vector) {
+        for (float v : vector) {
+            if (v != 0f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or immediately when there is none.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
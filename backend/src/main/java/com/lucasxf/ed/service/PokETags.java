@@ -0,0 +1,103 @@
+package com.lucasxf.ed.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Builds and compares the entity tags of POK responses.
+ *
+ * <p>A single POK's tag is {@code "<content version>-<change token>"}: the content version is
+ * {@link com.lucasxf.ed.domain.Pok#getUpdatedAt() updatedAt}, and the change token
+ * ({@link UserChangeVersionService#token}) covers what {@code updatedAt} does not — tag
+ * assignments and suggestions. {@code If-None-Match} compares the whole tag; {@code If-Match}
+ * compares only the content version, so assigning a tag elsewhere never blocks an edit.
+ *
+ * <p>A list or search tag is a hash of the user's change token and the normalized search
+ * parameters ({@link SearchResultCache.Key}).
+ *
+ * <p>Tags are strong and are computed without loading any POK.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public final class PokETags {
+
+    private PokETags() {
+    }
+
+    /**
+     * Returns the tag of a single POK.
+     *
+     * @param updatedAt   the POK's last content change
+     * @param changeToken the owner's change token, read before the POK
+     * @return the quoted entity tag
+     */
+    public static String forPok(Instant updatedAt, String changeToken) {
+        return "\"" + contentVersion(updatedAt) + "-" + changeToken + "\"";
+    }
+
+    /**
+     * Returns the tag of a list or search response.
+     *
+     * @param changeToken the user's change token, read before searching
+     * @param key         the normalized search parameters
+     * @return the quoted entity tag
+     */
+    public static String forSearch(String changeToken, SearchResultCache.Key key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest((changeToken + "|" + key).getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against a POK's current content version.
+     *
+     * @param ifMatch   the header value: {@code *} or a comma-separated list of entity tags
+     * @param updatedAt the POK's current last content change
+     * @return {@code true} if any listed strong tag has the same content version
+     */
+    public static boolean contentMatches(String ifMatch, Instant updatedAt) {
+        String current = contentVersion(updatedAt);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            // Weak tags never match under the strong comparison If-Match requires
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            int dash = value.indexOf('-');
+            if ((dash < 0 ? value : value.substring(0, dash)).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares two content versions at the precision the database stores them.
+     *
+     * @param seen      the {@code updatedAt} a client last saw
+     * @param updatedAt the POK's current last content change
+     * @return {@code true} if the POK has not changed since {@code seen}
+     */
+    public static boolean sameContentVersion(Instant seen, Instant updatedAt) {
+        return contentVersion(seen).equals(contentVersion(updatedAt));
+    }
+
+    private static String contentVersion(Instant updatedAt) {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        return Long.toString(micros, 36);
+    }
+}
@@ -0,0 +1,405 @@
+package com.lucasxf.ed.service;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lucasxf.ed.dto.PokExportEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exports a user's POKs as NDJSON, Markdown, or a ZIP of Markdown files in per-tag folders.
+ *
+ * <p>The export never holds the corpus in memory: POKs are read through a server-side cursor
+ * (a read-only transaction and a fetch size of {@value #FETCH_SIZE} rows) and each one is written
+ * to the response as soon as it is read, tags included. Heap use stays flat whatever the corpus
+ * size; the cost is one open connection for the duration of the download.
+ *
+ * <p>The filters are those of keyword search: a case-insensitive keyword in title or content,
+ * created/updated date ranges, and user-tag subscriptions with {@code any}/{@code all} matching.
+ * They are checked by {@link #prepare} before anything is written, so a bad parameter is still
+ * an ordinary 400 rather than a broken download.
+ *
+ * <p>Markdown uses the import's format ({@code # Title}, an optional {@code Tags:} line, then
+ * the content), so a Markdown export or any file of a ZIP export can be imported again. Content
+ * lines the import would take for a heading, a code fence or a tags line are escaped with a
+ * backslash, which the import removes; only leading and trailing whitespace is not kept.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class PokExportService {
+
+    static final int FETCH_SIZE = 200;
+    static final String UNTAGGED_FOLDER = "untagged";
+
+    private static final Set<String> SORT_COLUMNS = Set.of("createdAt", "updatedAt");
+
+    private static final String SELECT = """
+        SELECT p.id, p.title, p.content, p.created_at, p.updated_at,
+               ARRAY(SELECT t.name FROM pok_tags pt
+                     JOIN tags t ON t.id = pt.tag_id
+                     JOIN user_tags ut ON ut.tag_id = pt.tag_id AND ut.user_id = p.user_id AND ut.deleted_at IS NULL
+                     WHERE pt.pok_id = p.id ORDER BY t.name) AS tags
+        FROM poks p
+        WHERE p.user_id = ? AND p.deleted_at IS NULL
+        """;
+
+    /**
+     * The export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        MARKDOWN("text/markdown", "md"),
+        ZIP("application/zip", "zip");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * Parses a {@code format} parameter, case-insensitively.
+         *
+         * @throws IllegalArgumentException if the format is not supported
+         */
+        public static Format of(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: '" + format
+                    + "'. Allowed values: [ndjson, markdown, zip]");
+            }
+        }
+    }
+
+    /**
+     * Export filters; every field is optional. Same meaning as the search parameters of
+     * {@code GET /api/v1/poks}.
+     */
+    public record Filter(
+        String keyword,
+        String sortBy,
+        String sortDirection,
+        String createdFrom,
+        String createdTo,
+        String updatedFrom,
+        String updatedTo,
+        List<UUID> tagIds,
+        String tagMatch
+    ) {
+
+        public static final Filter NONE = new Filter(null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * A checked export, ready to be written.
+     */
+    public record Export(UUID userId, Format format, String sql, List<Object> args) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public PokExportService(JdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = requireNonNull(jdbcTemplate);
+        this.objectMapper = requireNonNull(objectMapper);
+        this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Checks the filters and builds the export query. Nothing is read yet.
+     *
+     * @param userId the exporting user
+     * @param format the output format
+     * @param filter which POKs to export and in what order
+     * @return the export, to pass to {@link #write}
+     * @throws IllegalArgumentException if a date, the sort field or the tag match mode is malformed
+     */
+    public Export prepare(UUID userId, Format format, Filter filter) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+
+        if (filter.keyword() != null && !filter.keyword().isBlank()) {
+            sql.append("AND (strpos(lower(p.title), lower(?)) > 0 OR strpos(lower(p.content), lower(?)) > 0)\n");
+            args.add(filter.keyword());
+            args.add(filter.keyword());
+        }
+        range(sql, args, "p.created_at >= ?", filter.createdFrom());
+        range(sql, args, "p.created_at <= ?", filter.createdTo());
+        range(sql, args, "p.updated_at >= ?", filter.updatedFrom());
+        range(sql, args, "p.updated_at <= ?", filter.updatedTo());
+
+        if (filter.tagIds() != null && !filter.tagIds().isEmpty()) {
+            Set<UUID> requested = new HashSet<>(filter.tagIds());
+            long minMatches = matchAll(filter.tagMatch()) ? requested.size() : 1;
+            // Subscriptions the user does not own never match, so "all" with one of them is empty
+            sql.append("""
+                AND (SELECT count(*) FROM pok_tags pt
+                     JOIN user_tags ut ON ut.tag_id = pt.tag_id AND ut.user_id = p.user_id AND ut.deleted_at IS NULL
+                     WHERE pt.pok_id = p.id AND ut.id = ANY(?)) >= ?
+                """);
+            args.add(requested.toArray(UUID[]::new));
+            args.add(minMatches);
+        }
+
+        String sortBy = filter.sortBy() == null || filter.sortBy().isEmpty() ? "updatedAt" : filter.sortBy();
+        if (!SORT_COLUMNS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: '" + sortBy + "'. Allowed values: " + SORT_COLUMNS);
+        }
+        String direction = "ASC".equalsIgnoreCase(filter.sortDirection()) ? "ASC" : "DESC";
+        sql.append("ORDER BY ").append(sortBy.equals("createdAt") ? "p.created_at" : "p.updated_at")
+            .append(' ').append(direction).append(", p.id");
+
+        return new Export(userId, format, sql.toString(), List.copyOf(args));
+    }
+
+    /**
+     * Streams the export to {@code out}, which is flushed but not closed.
+     *
+     * @param export the prepared export
+     * @param out    where to write it
+     * @return the number of POKs written
+     * @throws UncheckedIOException if writing fails, e.g. because the client went away
+     */
+    public long write(Export export, OutputStream out) {
+        long start = System.nanoTime();
+        long written = switch (export.format()) {
+            case NDJSON -> writeNdjson(export, out);
+            case MARKDOWN -> writeMarkdown(export, out);
+            case ZIP -> writeZip(export, out);
+        };
+        log.info("Exported {} POKs as {} for user {} in {} ms", written, export.format(), export.userId(),
+            (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    private long writeNdjson(Export export, OutputStream out) {
+        long count;
+        try (SequenceWriter json = objectMapper.writer().withRootValueSeparator("\n").writeValues(unclosable(out))) {
+            count = stream(export, entry -> {
+                try {
+                    json.write(entry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            if (count > 0) {
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    private long writeMarkdown(Export export, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(unclosable(out), StandardCharsets.UTF_8));
+        long count = stream(export, entry -> {
+            try {
+                writeMarkdown(entry, writer);
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * Writes one Markdown file per POK and tag folder; a POK with several tags is in each of their
+     * folders, and untagged POKs are in {@value #UNTAGGED_FOLDER}.
+     */
+    private long writeZip(Export export, OutputStream out) {
+        ZipOutputStream zip = new ZipOutputStream(unclosable(out), StandardCharsets.UTF_8);
+        Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        long count = stream(export, entry -> {
+            List<String> folders = entry.tags().isEmpty()
+                ? List.of(UNTAGGED_FOLDER)
+                : entry.tags().stream().map(PokExportService::safeName).distinct().toList();
+            String file = fileName(entry);
+            try {
+                for (String folder : folders) {
+                    zip.putNextEntry(new ZipEntry(folder + "/" + file));
+                    writeMarkdown(entry, writer);
+                    writer.flush();
+                    zip.closeEntry();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            zip.finish();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * Runs the export query with a server-side cursor, handing each POK over as soon as its row
+     * arrives.
+     */
+    private long stream(Export export, Consumer<PokExportEntry> sink) {
+        Long count = transactionTemplate.execute(status -> {
+            long[] rows = {0};
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(export.sql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                List<Object> args = export.args();
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, rs -> {
+                sink.accept(entry(rs));
+                rows[0]++;
+            });
+            return rows[0];
+        });
+        return count == null ? 0 : count;
+    }
+
+    private static PokExportEntry entry(ResultSet rs) throws SQLException {
+        Array tags = rs.getArray("tags");
+        List<String> names = tags == null ? List.of() : Arrays.asList((String[]) tags.getArray());
+        return new PokExportEntry(rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("content"),
+            names, rs.getTimestamp("created_at").toInstant(), rs.getTimestamp("updated_at").toInstant());
+    }
+
+    static void writeMarkdown(PokExportEntry entry, Writer writer) throws IOException {
+        // An empty heading keeps untitled POKs apart and imports back as untitled
+        writer.write("# " + (entry.title() == null ? "" : entry.title().replaceAll("\\R", " ")) + "\n");
+        if (!entry.tags().isEmpty()) {
+            writer.write("Tags: " + String.join(", ", entry.tags()) + "\n");
+        }
+        writer.write("\n");
+        for (String line : entry.content().split("\n", -1)) {
+            writer.write(ImportBundleReader.escapeLine(line));
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * {@code <title slug>-<first 8 characters of the ID>.md}; the ID part keeps names unique.
+     */
+    static String fileName(PokExportEntry entry) {
+        String slug = entry.title() == null ? "" : entry.title().toLowerCase(Locale.ROOT)
+            .replaceAll("[^\\p{L}\\p{N}]+", "-")
+            .replaceAll("^-|-$", "");
+        if (slug.length() > 60) {
+            slug = slug.substring(0, 60);
+        }
+        String id = entry.id().toString().substring(0, 8);
+        return (slug.isEmpty() ? "untitled" : slug) + "-" + id + ".md";
+    }
+
+    /**
+     * Makes a tag name safe as a ZIP folder name.
+     */
+    static String safeName(String tag) {
+        String name = tag.replaceAll("[/\\\\:*?\"<>|\\p{Cntrl}]", "_").strip();
+        return name.isEmpty() || name.equals(".") || name.equals("..") ? "_" : name;
+    }
+
+    private static void range(StringBuilder sql, List<Object> args, String condition, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        try {
+            args.add(Timestamp.from(Instant.parse(value)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed date: '" + value + "'. Expected ISO 8601 (e.g. 2026-01-01T00:00:00Z)");
+        }
+        sql.append("AND ").append(condition).append('\n');
+    }
+
+    private static boolean matchAll(String tagMatch) {
+        if (tagMatch == null || tagMatch.isEmpty() || "any".equalsIgnoreCase(tagMatch)) {
+            return false;
+        }
+        if ("all".equalsIgnoreCase(tagMatch)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported tag match mode: '" + tagMatch + "'. Allowed values: [any, all]");
+    }
+
+    /**
+     * Shields the response stream from wrappers that close what they wrap; the container owns it.
+     */
+    private static OutputStream unclosable(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,460 @@
+package com.lucasxf.ed.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lucasxf.ed.config.AuditProperties;
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokAuditLog;
+import com.lucasxf.ed.domain.PokAuditLog.Action;
+import com.lucasxf.ed.domain.PokAuditLog.Storage;
+import com.lucasxf.ed.dto.PokAuditLogResponse;
+import com.lucasxf.ed.dto.PokHistoryEntryResponse;
+import com.lucasxf.ed.dto.PokHistoryPageResponse;
+import com.lucasxf.ed.dto.PokVersionDiffResponse;
+import com.lucasxf.ed.exception.PokNotFoundException;
+import com.lucasxf.ed.repository.PokAuditLogRepository;
+import com.lucasxf.ed.repository.PokAuditLogRepository.VersionSummary;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records and reads the audit history of POKs in a compact format.
+ *
+ * <p>Instead of copying the full old and new content into every entry, the content is stored as
+ * a snapshot every {@code audit.snapshot-interval} versions (and on the CREATE entry), with
+ * {@link TextDelta} edit scripts in between. An autosave that changes a few words costs a few
+ * dozen bytes rather than two copies of a document of up to 50,000 characters. Updates whose
+ * delta would not be smaller than the content are stored as snapshots.
+ *
+ * <p>{@link #getHistory} reconstructs every version's old and new values from the nearest
+ * snapshot, so the API still returns complete before/after pairs. Entries written before this
+ * format are kept as-is ({@link Storage#FULL}) until {@link #compactLegacyEntries()} converts them.
+ *
+ * <p>For long histories, {@link #getHistoryPage} lists entries without any content, and
+ * {@link #getVersion}/{@link #getVersionDiff} reconstruct a single version from the nearest
+ * snapshot at or before it, reading at most {@code audit.snapshot-interval} entries.
+ *
+ * <p>Write methods join the caller's transaction. Each entry takes the next version number of its
+ * POK; updates and deletions lock the POK's row first. Callers may have read the old content
+ * before that lock, so an update's delta is encoded against the content reconstructed at the
+ * latest recorded version rather than the caller's old content.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class PokHistoryService {
+
+    private static final int COMPACTION_BATCH_SIZE = 100;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final PokAuditLogRepository pokAuditLogRepository;
+    private final int snapshotInterval;
+    private final TransactionTemplate transactionTemplate;
+
+    public PokHistoryService(PokAuditLogRepository pokAuditLogRepository,
+                             AuditProperties auditProperties,
+                             PlatformTransactionManager transactionManager) {
+        this.pokAuditLogRepository = requireNonNull(pokAuditLogRepository);
+        this.snapshotInterval = Math.max(1, auditProperties.snapshotInterval());
+        this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    }
+
+    /**
+     * Outcome of a legacy compaction run.
+     *
+     * @param poks       POKs whose history was examined
+     * @param reencoded  entries converted to the compact format
+     */
+    public record Compaction(int poks, int reencoded) {
+    }
+
+    /**
+     * Records the creation of a POK.
+     *
+     * @param pok    the saved POK
+     * @param userId the creating user
+     */
+    public void recordCreate(Pok pok, UUID userId) {
+        pokAuditLogRepository.save(createEntry(pok, userId));
+    }
+
+    /**
+     * Records the creation of several POKs with one batched insert.
+     *
+     * @param poks   the saved POKs
+     * @param userId the creating user
+     */
+    public void recordCreates(List<Pok> poks, UUID userId) {
+        pokAuditLogRepository.saveAll(poks.stream().map(pok -> createEntry(pok, userId)).toList());
+    }
+
+    /**
+     * Records an update of a POK's title and content.
+     *
+     * @param pok        the POK, already holding the new values
+     * @param userId     the updating user
+     * @param oldTitle   the title before the update, only stored if the POK has no history yet
+     * @param oldContent the content before the update, only stored if the POK has no history yet
+     */
+    public void recordUpdate(Pok pok, UUID userId, String oldTitle, String oldContent) {
+        pokAuditLogRepository.lockPok(pok.getId());
+        Integer latest = pokAuditLogRepository.findLatestVersion(pok.getId());
+        Instant now = Instant.now();
+        if (latest == null) {
+            // No earlier entry to derive the old values from, so store them
+            pokAuditLogRepository.save(new PokAuditLog(pok.getId(), userId, Action.UPDATE, 1,
+                oldTitle, pok.getTitle(), oldContent, pok.getContent(), now));
+            return;
+        }
+        // The caller read oldContent before the lock, so a concurrent update may have recorded a
+        // version since then: the delta must apply to the content of the latest version instead
+        int version = latest + 1;
+        String base = isSnapshotVersion(version) ? null : contentAt(pok.getId(), latest);
+        pokAuditLogRepository.save(
+            encodeUpdate(pok.getId(), userId, version, base, pok.getTitle(), pok.getContent(), now));
+    }
+
+    /**
+     * Records the soft deletion of a POK.
+     *
+     * @param pok    the POK, already marked deleted
+     * @param userId the deleting user
+     */
+    public void recordDelete(Pok pok, UUID userId) {
+        pokAuditLogRepository.lockPok(pok.getId());
+        Integer latest = pokAuditLogRepository.findLatestVersion(pok.getId());
+        if (latest == null) {
+            pokAuditLogRepository.save(new PokAuditLog(pok.getId(), userId, Action.DELETE, 1,
+                pok.getTitle(), null, pok.getContent(), null, pok.getDeletedAt()));
+            return;
+        }
+        pokAuditLogRepository.save(PokAuditLog.deletion(pok.getId(), userId, latest + 1, pok.getDeletedAt()));
+    }
+
+    /**
+     * Returns a POK's history with the old and new values of every entry, newest first.
+     *
+     * @param pokId the POK ID (ownership must already be checked)
+     * @return the reconstructed entries
+     */
+    @Transactional(readOnly = true)
+    public List<PokAuditLogResponse> getHistory(UUID pokId) {
+        List<PokAuditLogResponse> history = reconstruct(pokAuditLogRepository.findByPokIdOrderByVersionAsc(pokId));
+        Collections.reverse(history);
+        return history;
+    }
+
+    /**
+     * Returns a slice of a POK's history, newest version first, with content lengths instead of
+     * content.
+     *
+     * @param pokId  the POK ID (ownership must already be checked)
+     * @param cursor the {@code nextCursor} of the previous slice, or {@code null} for the first
+     * @param size   maximum number of entries in the slice
+     * @return the slice and the cursor for the next one
+     * @throws IllegalArgumentException if {@code cursor} cannot be parsed
+     */
+    @Transactional(readOnly = true)
+    public PokHistoryPageResponse getHistoryPage(UUID pokId, String cursor, int size) {
+        int before = cursor == null || cursor.isEmpty() ? Integer.MAX_VALUE : HistoryCursor.decode(cursor).version();
+
+        // One extra row tells whether another slice exists and gives the last item's previous length
+        List<VersionSummary> rows = pokAuditLogRepository.findVersionSummaries(pokId, before, Limit.of(size + 1));
+        int count = Math.min(size, rows.size());
+        List<PokHistoryEntryResponse> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            VersionSummary row = rows.get(i);
+            VersionSummary previous = i + 1 < rows.size() ? rows.get(i + 1) : null;
+            items.add(new PokHistoryEntryResponse(row.getId(), row.getVersion(), row.getAction().name(),
+                row.getUserId(), row.getOccurredAt(), row.getContentLength(), sizeDelta(row, previous)));
+        }
+        String nextCursor = rows.size() > size ? new HistoryCursor(items.getLast().version()).encode() : null;
+        return new PokHistoryPageResponse(items, nextCursor);
+    }
+
+    /**
+     * Returns one version of a POK's history with its old and new values.
+     *
+     * @param pokId   the POK ID (ownership must already be checked)
+     * @param version the version
+     * @return the reconstructed entry
+     * @throws PokNotFoundException if the POK has no such version
+     */
+    @Transactional(readOnly = true)
+    public PokAuditLogResponse getVersion(UUID pokId, int version) {
+        return reconstructVersion(pokId, version);
+    }
+
+    /**
+     * Returns the changes one version made to a POK's content.
+     *
+     * @param pokId   the POK ID (ownership must already be checked)
+     * @param version the version
+     * @return the title change and the content edits
+     * @throws PokNotFoundException if the POK has no such version
+     */
+    @Transactional(readOnly = true)
+    public PokVersionDiffResponse getVersionDiff(UUID pokId, int version) {
+        PokAuditLogResponse entry = reconstructVersion(pokId, version);
+        String oldContent = entry.oldContent() == null && "CREATE".equals(entry.action()) ? "" : entry.oldContent();
+        String newContent = entry.newContent() == null && "DELETE".equals(entry.action()) ? "" : entry.newContent();
+        List<PokVersionDiffResponse.Segment> segments = oldContent == null || newContent == null
+            ? null
+            : TextDelta.edits(oldContent, TextDelta.encode(oldContent, newContent)).stream()
+                .map(edit -> new PokVersionDiffResponse.Segment(edit.kind().name(), edit.text()))
+                .toList();
+        return new PokVersionDiffResponse(pokId, version, entry.action(), entry.occurredAt(),
+            entry.oldTitle(), entry.newTitle(), segments);
+    }
+
+    /**
+     * Makes a POK's history from {@code boundary} on independent of the entries before it, so
+     * those can be archived: the first entry at or after the boundary is rewritten as
+     * {@link Storage#FULL}, with its old and new values reconstructed while the earlier entries
+     * still exist. Joins the caller's transaction.
+     *
+     * @param pokId    the POK ID
+     * @param boundary the timestamp before which entries are about to be removed
+     * @return {@code true} if an entry was rewritten
+     */
+    public boolean rebaseHistoryAt(UUID pokId, Instant boundary) {
+        PokAuditLog first = pokAuditLogRepository
+            .findFirstByPokIdAndOccurredAtGreaterThanEqualOrderByVersionAsc(pokId, boundary)
+            .orElse(null);
+        if (first == null || first.getStorage() == Storage.FULL
+            || (first.getStorage() == Storage.SNAPSHOT && first.getAction() == Action.CREATE)) {
+            return false;
+        }
+        PokAuditLogResponse state = reconstructVersion(pokId, first.getVersion());
+        if (state.oldContent() == null || (first.getAction() != Action.DELETE && state.newContent() == null)) {
+            log.warn("Audit entry {} (POK {}, version {}) cannot be reconstructed; it stays dependent on archived entries",
+                first.getId(), pokId, first.getVersion());
+            return false;
+        }
+        pokAuditLogRepository.rewrite(first.getId(), Storage.FULL, state.oldTitle(), state.oldContent(),
+            state.newContent());
+        return true;
+    }
+
+    /**
+     * Converts {@link Storage#FULL} entries written before delta encoding into snapshots and
+     * deltas, following the same snapshot schedule as new entries. Idempotent and lossless: an
+     * entry whose old values do not match the previous version (history recorded with a gap) is
+     * left as it is. Runs in one transaction per {@value #COMPACTION_BATCH_SIZE} POKs.
+     *
+     * @return how many POKs were examined and entries converted
+     */
+    public Compaction compactLegacyEntries() {
+        int poks = 0;
+        int reencoded = 0;
+        UUID after = MIN_UUID;
+        List<UUID> batch;
+        do {
+            batch = pokAuditLogRepository.findPokIdsWithStorageAfter(Storage.FULL, after,
+                Limit.of(COMPACTION_BATCH_SIZE));
+            List<UUID> pokIds = batch;
+            Integer converted = transactionTemplate.execute(status ->
+                pokIds.stream().mapToInt(this::compact).sum());
+            reencoded += converted == null ? 0 : converted;
+            poks += batch.size();
+            if (!batch.isEmpty()) {
+                after = batch.getLast();
+            }
+        } while (batch.size() == COMPACTION_BATCH_SIZE);
+        log.info("Audit compaction re-encoded {} entries across {} POKs", reencoded, poks);
+        return new Compaction(poks, reencoded);
+    }
+
+    private int compact(UUID pokId) {
+        List<PokAuditLog> entries = pokAuditLogRepository.findByPokIdOrderByVersionAsc(pokId);
+        List<PokAuditLogResponse> versions = reconstruct(entries);
+        int reencoded = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            PokAuditLog entry = entries.get(i);
+            if (entry.getStorage() != Storage.FULL) {
+                continue;
+            }
+            if (entry.getAction() == Action.CREATE) {
+                reencoded += pokAuditLogRepository.reencode(entry.getId(), Storage.SNAPSHOT, entry.getNewContent(), null);
+                continue;
+            }
+            if (i == 0) {
+                continue;
+            }
+            PokAuditLogResponse previous = versions.get(i - 1);
+            String previousTitle = titleAfter(previous);
+            String previousContent = contentAfter(previous);
+            if (previousContent == null || !Objects.equals(previousTitle, entry.getOldTitle())
+                || !previousContent.equals(entry.getOldContent())) {
+                continue;
+            }
+            if (entry.getAction() == Action.DELETE) {
+                reencoded += pokAuditLogRepository.reencode(entry.getId(), Storage.DELTA, null, null);
+            } else {
+                PokAuditLog encoded = encodeUpdate(pokId, entry.getUserId(), entry.getVersion(), previousContent,
+                    entry.getNewTitle(), entry.getNewContent(), entry.getOccurredAt());
+                reencoded += pokAuditLogRepository.reencode(entry.getId(), encoded.getStorage(),
+                    encoded.getNewContent(), encoded.getContentDelta());
+            }
+        }
+        return reencoded;
+    }
+
+    /**
+     * Reconstructs one version, replaying from the nearest non-delta entry before it so the
+     * version's old values are known too.
+     */
+    private PokAuditLogResponse reconstructVersion(UUID pokId, int version) {
+        Integer base = pokAuditLogRepository.findLatestVersionNotStoredAs(pokId, Math.max(1, version - 1),
+            Storage.DELTA);
+        List<PokAuditLog> entries = pokAuditLogRepository.findByPokIdAndVersionBetweenOrderByVersionAsc(pokId,
+            base == null ? 1 : base, version);
+        if (entries.isEmpty() || entries.getLast().getVersion() != version) {
+            throw new PokNotFoundException("History version not found");
+        }
+        return reconstruct(entries).getLast();
+    }
+
+    /**
+     * Content growth since the previous version; for the oldest entry only known if it is the
+     * creation.
+     */
+    private static Integer sizeDelta(VersionSummary entry, VersionSummary previous) {
+        if (entry.getContentLength() == null) {
+            return null;
+        }
+        if (previous == null) {
+            return entry.getAction() == Action.CREATE ? entry.getContentLength() : null;
+        }
+        return previous.getContentLength() == null ? null : entry.getContentLength() - previous.getContentLength();
+    }
+
+    /**
+     * The POK's content once the given version was applied, or {@code null} if it cannot be
+     * reconstructed.
+     */
+    private String contentAt(UUID pokId, int version) {
+        return contentAfter(reconstructVersion(pokId, version));
+    }
+
+    private boolean isSnapshotVersion(int version) {
+        return (version - 1) % snapshotInterval == 0;
+    }
+
+    /**
+     * Builds an UPDATE entry: a snapshot on the interval boundary, without a base content or when
+     * the delta would not be smaller than the content, a delta otherwise.
+     */
+    private PokAuditLog encodeUpdate(UUID pokId, UUID userId, int version, String baseContent,
+                                     String title, String content, Instant occurredAt) {
+        if (baseContent != null && !isSnapshotVersion(version)) {
+            String delta = TextDelta.encode(baseContent, content);
+            if (delta.length() < content.length()) {
+                return PokAuditLog.delta(pokId, userId, version, title, delta, PokAuditLog.lengthOf(content),
+                    occurredAt);
+            }
+        }
+        return PokAuditLog.snapshot(pokId, userId, Action.UPDATE, version, title, content, occurredAt);
+    }
+
+    private static PokAuditLog createEntry(Pok pok, UUID userId) {
+        return PokAuditLog.snapshot(pok.getId(), userId, Action.CREATE, 1, pok.getTitle(), pok.getContent(),
+            pok.getCreatedAt());
+    }
+
+    /**
+     * Replays entries in version order, resolving each one's old and new values. Content that
+     * cannot be resolved (a delta with no readable base) is reported as {@code null}.
+     */
+    static List<PokAuditLogResponse> reconstruct(List<PokAuditLog> entries) {
+        List<PokAuditLogResponse> versions = new ArrayList<>(entries.size());
+        String title = null;
+        String content = null;
+        for (PokAuditLog entry : entries) {
+            PokAuditLogResponse version = switch (entry.getStorage()) {
+                case FULL -> PokAuditLogResponse.from(entry);
+                case SNAPSHOT -> entry.getAction() == Action.CREATE
+                    ? response(entry, null, entry.getNewTitle(), null, entry.getNewContent())
+                    : response(entry, title, entry.getNewTitle(), content, entry.getNewContent());
+                case DELTA -> entry.getAction() == Action.DELETE
+                    ? response(entry, title, null, content, null)
+                    : response(entry, title, entry.getNewTitle(), content, applyDelta(entry, content));
+            };
+            versions.add(version);
+            title = titleAfter(version);
+            content = contentAfter(version);
+        }
+        return versions;
+    }
+
+    private static String applyDelta(PokAuditLog entry, String base) {
+        if (base == null) {
+            log.warn("Audit entry {} (POK {}, version {}) has no base content to apply its delta to",
+                entry.getId(), entry.getPokId(), entry.getVersion());
+            return null;
+        }
+        try {
+            return TextDelta.apply(base, entry.getContentDelta());
+        } catch (IllegalStateException e) {
+            log.warn("Audit entry {} (POK {}, version {}) has a delta that does not fit its base: {}",
+                entry.getId(), entry.getPokId(), entry.getVersion(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** The POK's title once the entry's change was applied; a deleted POK keeps its last state. */
+    private static String titleAfter(PokAuditLogResponse version) {
+        return "DELETE".equals(version.action()) ? version.oldTitle() : version.newTitle();
+    }
+
+    private static String contentAfter(PokAuditLogResponse version) {
+        return "DELETE".equals(version.action()) ? version.oldContent() : version.newContent();
+    }
+
+    private static PokAuditLogResponse response(PokAuditLog entry, String oldTitle, String newTitle,
+                                                String oldContent, String newContent) {
+        return new PokAuditLogResponse(entry.getId(), entry.getPokId(), entry.getUserId(), entry.getAction().name(),
+            oldTitle, newTitle, oldContent, newContent, entry.getOccurredAt());
+    }
+
+    /**
+     * Keyset position in {@code version DESC} order, encoded as URL-safe Base64 so clients treat
+     * it as opaque.
+     */
+    record HistoryCursor(int version) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("v" + version).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                if (!raw.startsWith("v")) {
+                    throw new IllegalArgumentException(raw);
+                }
+                return new HistoryCursor(Integer.parseInt(raw.substring(1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed history cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.lucasxf.ed.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.dto.CreateTagRequest;
+import com.lucasxf.ed.dto.ImportPokRequest;
+import com.lucasxf.ed.dto.PokImportResponse;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.PokTagRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Imports POKs in bulk from a JSON or Markdown bundle (see {@link ImportBundleReader}).
+ *
+ * <p>The bundle is streamed and written in chunks of {@value #CHUNK_SIZE} entries, each in its
+ * own transaction: POKs, their CREATE audit rows and their tag assignments are persisted with
+ * one {@code saveAll} per table, which Hibernate turns into JDBC batch inserts
+ * ({@code hibernate.jdbc.batch_size}). A failure rolls back only the current chunk; chunks
+ * already committed stay imported.
+ *
+ * <p>Each chunk raises one {@link PokEvent.PokCreated} per POK. {@link PokEventBus} delivers them
+ * as a single batch per subscriber once the chunk commits, so indexing, embeddings and tag
+ * suggestions run once per chunk instead of once per POK.
+ *
+ * <p>Entries that fail validation are skipped and reported by position; the rest of the bundle
+ * is still imported. A bundle that cannot be parsed stops the import at the point of the error.
+ * With an {@code Idempotency-Key}, a retried import returns the original summary instead of
+ * importing the bundle again.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class PokImportService {
+
+    static final int CHUNK_SIZE = 200;
+    static final int MAX_POKS = 10_000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final PokRepository pokRepository;
+    private final PokHistoryService pokHistoryService;
+    private final PokTagRepository pokTagRepository;
+    private final TagService tagService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final UserChangeVersionService userChangeVersionService;
+    private final PokEventBus pokEventBus;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public PokImportService(PokRepository pokRepository,
+                            PokHistoryService pokHistoryService,
+                            PokTagRepository pokTagRepository,
+                            TagService tagService,
+                            DuplicateDetectionService duplicateDetectionService,
+                            UserChangeVersionService userChangeVersionService,
+                            PokEventBus pokEventBus,
+                            IdempotencyService idempotencyService,
+                            ObjectMapper objectMapper,
+                            Validator validator,
+                            PlatformTransactionManager transactionManager) {
+        this.pokRepository = requireNonNull(pokRepository);
+        this.pokHistoryService = requireNonNull(pokHistoryService);
+        this.pokTagRepository = requireNonNull(pokTagRepository);
+        this.tagService = requireNonNull(tagService);
+        this.duplicateDetectionService = requireNonNull(duplicateDetectionService);
+        this.userChangeVersionService = requireNonNull(userChangeVersionService);
+        this.pokEventBus = requireNonNull(pokEventBus);
+        this.idempotencyService = requireNonNull(idempotencyService);
+        this.objectMapper = requireNonNull(objectMapper);
+        this.validator = requireNonNull(validator);
+        this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    }
+
+    /**
+     * Imports a JSON bundle: an array of {@link ImportPokRequest} objects, or an object whose
+     * {@code "poks"} field is such an array.
+     *
+     * @param userId         the importing user
+     * @param body           the bundle
+     * @param idempotencyKey the {@code Idempotency-Key} header, or {@code null}
+     * @return how many entries were imported and why the others were skipped
+     * @throws IllegalArgumentException if the bundle is not a JSON array of POKs, or the key is
+     *                                  in use by an import that is still running
+     */
+    public PokImportResponse importJson(UUID userId, InputStream body, String idempotencyKey) {
+        return once(userId, idempotencyKey, () -> {
+            Iterator<ImportPokRequest> entries;
+            try {
+                entries = ImportBundleReader.json(objectMapper, body);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unreadable import bundle: " + e.getMessage(), e);
+            }
+            return importEntries(userId, entries);
+        });
+    }
+
+    /**
+     * Imports a Markdown bundle, one POK per level-1 heading.
+     *
+     * @param userId         the importing user
+     * @param body           the bundle
+     * @param idempotencyKey the {@code Idempotency-Key} header, or {@code null}
+     * @return how many entries were imported and why the others were skipped
+     * @throws IllegalArgumentException if the key is in use by an import that is still running
+     */
+    public PokImportResponse importMarkdown(UUID userId, Reader body, String idempotencyKey) {
+        return once(userId, idempotencyKey, () -> importEntries(userId, ImportBundleReader.markdown(body)));
+    }
+
+    /**
+     * Runs an import at most once per {@code Idempotency-Key}.
+     *
+     * <p>An import spans many transactions, so its key is claimed (and committed) up front and its
+     * summary recorded at the end. A retry meanwhile is rejected rather than run twice; a retry
+     * afterwards gets the original summary. The body is streamed, so it is not fingerprinted: a
+     * key only ever replays the first import made with it.
+     */
+    private PokImportResponse once(UUID userId, String idempotencyKey, Supplier<PokImportResponse> importer) {
+        if (idempotencyKey == null) {
+            return importer.get();
+        }
+        Optional<IdempotencyService.Prior> prior = idempotencyService.claim(
+            userId, idempotencyKey, IdempotencyService.Operation.IMPORT, null);
+        if (prior.isPresent()) {
+            if (!prior.get().completed()) {
+                throw new IllegalArgumentException("An import with this Idempotency-Key is already running");
+            }
+            try {
+                return objectMapper.readValue(prior.get().response(), PokImportResponse.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        PokImportResponse response;
+        try {
+            response = importer.get();
+        } catch (RuntimeException e) {
+            idempotencyService.release(userId, idempotencyKey);
+            throw e;
+        }
+        try {
+            idempotencyService.recordResponse(userId, idempotencyKey, objectMapper.writeValueAsString(response));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return response;
+    }
+
+    private PokImportResponse importEntries(UUID userId, Iterator<ImportPokRequest> entries) {
+        ImportRun run = new ImportRun();
+        Map<String, UUID> tagIdsByName = new HashMap<>();
+        List<ImportPokRequest> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+
+        while (true) {
+            ImportPokRequest entry;
+            try {
+                if (!entries.hasNext()) {
+                    break;
+                }
+                entry = entries.next();
+            } catch (UncheckedIOException e) {
+                if (index == 0 && run.imported == 0) {
+                    throw new IllegalArgumentException("Unreadable import bundle: " + e.getCause().getMessage(), e);
+                }
+                run.skip(index, "Bundle could not be read past this entry: " + e.getCause().getMessage());
+                break;
+            }
+
+            if (index >= MAX_POKS) {
+                run.skip(index, "Import is limited to " + MAX_POKS + " POKs per bundle");
+                index++;
+                continue;
+            }
+            Set<ConstraintViolation<ImportPokRequest>> violations = validator.validate(entry);
+            if (!violations.isEmpty()) {
+                run.skip(index, violations.iterator().next().getMessage());
+            } else {
+                chunk.add(entry);
+                if (chunk.size() == CHUNK_SIZE) {
+                    run.imported += writeChunk(userId, chunk, tagIdsByName);
+                    chunk.clear();
+                }
+            }
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            run.imported += writeChunk(userId, chunk, tagIdsByName);
+        }
+
+        log.info("POK import for user {}: imported={}, skipped={}", userId, run.imported, run.skipped);
+        return new PokImportResponse(run.imported, run.skipped, List.copyOf(run.errors));
+    }
+
+    /**
+     * Persists one chunk in a single transaction; its background work follows the commit.
+     *
+     * @return the number of POKs written
+     */
+    private int writeChunk(UUID userId, List<ImportPokRequest> chunk, Map<String, UUID> tagIdsByName) {
+        List<UUID> pokIds = transactionTemplate.execute(status -> {
+            List<Pok> poks = new ArrayList<>(chunk.size());
+            for (ImportPokRequest entry : chunk) {
+                Pok pok = new Pok(userId, blankToNull(entry.title()), entry.content());
+                duplicateDetectionService.sign(pok);
+                poks.add(pok);
+            }
+            List<Pok> saved = pokRepository.saveAll(poks);
+
+            pokHistoryService.recordCreates(saved, userId);
+
+            List<PokTag> pokTags = new ArrayList<>();
+            for (int i = 0; i < saved.size(); i++) {
+                Pok pok = saved.get(i);
+                for (UUID tagId : resolveTags(chunk.get(i).tags(), userId, tagIdsByName)) {
+                    pokTags.add(new PokTag(pok.getId(), tagId, PokTag.Source.MANUAL));
+                }
+            }
+            pokTagRepository.saveAll(pokTags);
+
+            List<UUID> ids = saved.stream().map(Pok::getId).toList();
+            userChangeVersionService.markChanged(userId);
+            ids.forEach(id -> pokEventBus.publish(new PokEvent.PokCreated(id, userId)));
+            return ids;
+        });
+
+        log.debug("Imported chunk of {} POKs for user {}", pokIds.size(), userId);
+        return pokIds.size();
+    }
+
+    /**
+     * Maps tag names to global tag IDs, creating the user's subscriptions on first use. Results
+     * are cached for the whole import, so each distinct name costs one lookup.
+     */
+    private Set<UUID> resolveTags(List<String> names, UUID userId, Map<String, UUID> tagIdsByName) {
+        if (names == null || names.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> tagIds = new LinkedHashSet<>();
+        for (String name : names) {
+            String key = name.trim().toLowerCase(Locale.ROOT);
+            tagIds.add(tagIdsByName.computeIfAbsent(key,
+                k -> tagService.createOrReuse(new CreateTagRequest(name.trim()), userId).tagId()));
+        }
+        return tagIds;
+    }
+
+    private static String blankToNull(String title) {
+        return title == null || title.isBlank() ? null : title;
+    }
+
+    private static final class ImportRun {
+        private int imported;
+        private int skipped;
+        private final List<PokImportResponse.ImportError> errors = new ArrayList<>();
+
+        private void skip(int index, String message) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new PokImportResponse.ImportError(index, message));
+            }
+        }
+    }
+}
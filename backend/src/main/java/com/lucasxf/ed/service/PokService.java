@@ -2,12 +2,19 @@ package com.lucasxf.ed.service;
 
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
-import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -17,20 +24,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.lucasxf.ed.domain.Pok;
-import com.lucasxf.ed.domain.PokAuditLog;
-import com.lucasxf.ed.domain.PokAuditLog.Action;
 import com.lucasxf.ed.domain.PokTag;
 import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.CreatePokRequest;
+import com.lucasxf.ed.dto.PatchPokRequest;
 import com.lucasxf.ed.dto.PokAuditLogResponse;
+import com.lucasxf.ed.dto.PokHistoryPageResponse;
 import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.dto.PokVersionDiffResponse;
+import com.lucasxf.ed.dto.TagFacetResponse;
 import com.lucasxf.ed.dto.TagResponse;
 import com.lucasxf.ed.dto.TagSuggestionResponse;
 import com.lucasxf.ed.dto.UpdatePokRequest;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
 import com.lucasxf.ed.exception.EmbeddingUnavailableException;
 import com.lucasxf.ed.exception.PokAccessDeniedException;
 import com.lucasxf.ed.exception.PokNotFoundException;
-import com.lucasxf.ed.repository.PokAuditLogRepository;
+import com.lucasxf.ed.exception.PreconditionFailedException;
 import com.lucasxf.ed.repository.PokRepository;
 import com.lucasxf.ed.repository.PokTagRepository;
 import com.lucasxf.ed.repository.PokTagSuggestionRepository;
@@ -56,34 +67,52 @@ import static java.util.Objects.requireNonNull;
 @Service
 public class PokService {
 
+    /** Mirrors the {@code @Size} limit of {@link CreatePokRequest} for content built from edits. */
+    private static final int MAX_CONTENT_LENGTH = 50_000;
+
     private final PokRepository pokRepository;
-    private final PokAuditLogRepository pokAuditLogRepository;
+    private final PokHistoryService pokHistoryService;
     private final PokTagRepository pokTagRepository;
     private final UserTagRepository userTagRepository;
     private final PokTagSuggestionRepository pokTagSuggestionRepository;
-    private final TagSuggestionService tagSuggestionService;
-    private final EmbeddingGenerationService embeddingGenerationService;
     private final EmbeddingService embeddingService;
     private final TagService tagService;
+    private final UserChangeVersionService userChangeVersionService;
+    private final SearchResultCache searchResultCache;
+    private final SearchEngine searchEngine;
+    private final SearchPlanner searchPlanner;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final PokEventBus pokEventBus;
+    private final IdempotencyService idempotencyService;
 
     public PokService(PokRepository pokRepository,
-                      PokAuditLogRepository pokAuditLogRepository,
+                      PokHistoryService pokHistoryService,
                       PokTagRepository pokTagRepository,
                       UserTagRepository userTagRepository,
                       PokTagSuggestionRepository pokTagSuggestionRepository,
-                      @Lazy TagSuggestionService tagSuggestionService,
-                      EmbeddingGenerationService embeddingGenerationService,
                       EmbeddingService embeddingService,
-                      TagService tagService) {
+                      TagService tagService,
+                      UserChangeVersionService userChangeVersionService,
+                      SearchResultCache searchResultCache,
+                      SearchEngine searchEngine,
+                      SearchPlanner searchPlanner,
+                      DuplicateDetectionService duplicateDetectionService,
+                      PokEventBus pokEventBus,
+                      IdempotencyService idempotencyService) {
         this.pokRepository = requireNonNull(pokRepository);
-        this.pokAuditLogRepository = requireNonNull(pokAuditLogRepository);
+        this.pokHistoryService = requireNonNull(pokHistoryService);
         this.pokTagRepository = requireNonNull(pokTagRepository);
         this.userTagRepository = requireNonNull(userTagRepository);
         this.pokTagSuggestionRepository = requireNonNull(pokTagSuggestionRepository);
-        this.tagSuggestionService = requireNonNull(tagSuggestionService);
-        this.embeddingGenerationService = requireNonNull(embeddingGenerationService);
         this.embeddingService = requireNonNull(embeddingService);
         this.tagService = requireNonNull(tagService);
+        this.userChangeVersionService = requireNonNull(userChangeVersionService);
+        this.searchResultCache = requireNonNull(searchResultCache);
+        this.searchEngine = requireNonNull(searchEngine);
+        this.searchPlanner = requireNonNull(searchPlanner);
+        this.duplicateDetectionService = requireNonNull(duplicateDetectionService);
+        this.pokEventBus = requireNonNull(pokEventBus);
+        this.idempotencyService = requireNonNull(idempotencyService);
     }
 
     /**
@@ -91,32 +120,62 @@ public class PokService {
      *
      * @param request the POK creation request (title optional, content mandatory)
      * @param userId  the ID of the user creating the POK
-     * @return the created POK
+     * @return the created POK, with any existing POKs it nearly duplicates
      */
     @Transactional
     public PokResponse create(CreatePokRequest request, UUID userId) {
         log.debug("Creating POK for user {} with title: {}", userId, request.title());
 
         Pok pok = new Pok(userId, request.title(), request.content());
+        duplicateDetectionService.sign(pok);
         Pok savedPok = pokRepository.save(pok);
 
         log.info("POK created: id={}, userId={}, hasTitle={}",
             savedPok.getId(), userId, request.title() != null && !request.title().isEmpty());
 
-        logCreate(savedPok, userId);
+        pokHistoryService.recordCreate(savedPok, userId);
 
         // Assign requested tags atomically (within this transaction)
         tagService.assignTagsToNewPok(savedPok.getId(), request.tagIds(), userId);
+        userChangeVersionService.markChanged(userId);
 
-        // Trigger async AI tag suggestions (non-blocking)
-        tagSuggestionService.suggestTagsForPok(savedPok.getId(), userId);
-
-        // Trigger async vector embedding generation (non-blocking)
-        embeddingGenerationService.generateEmbeddingForPok(savedPok.getId());
+        // Indexing, tag suggestions and the embedding follow once the POK is committed
+        pokEventBus.publish(new PokEvent.PokCreated(savedPok.getId(), userId));
 
         List<TagResponse> tags = buildTagResponses(savedPok.getId(), userId);
         List<TagSuggestionResponse> suggestions = buildSuggestionResponses(savedPok.getId());
-        return PokResponse.from(savedPok, tags, suggestions);
+        return PokResponse.from(savedPok, tags, suggestions)
+            .withLikelyDuplicates(duplicateDetectionService.findLikelyDuplicates(savedPok));
+    }
+
+    /**
+     * Creates a new POK at most once per {@code Idempotency-Key}.
+     *
+     * <p>The key is claimed in the creating transaction, so a retry racing the original waits for
+     * it and then replays its POK (as it is now) instead of creating a second one. A key reused with
+     * a different body is rejected.
+     *
+     * @param request        the POK creation request
+     * @param userId         the ID of the user creating the POK
+     * @param idempotencyKey the {@code Idempotency-Key} header, or {@code null} to always create
+     * @return the created POK, or the one created by the original request
+     * @throws IllegalArgumentException if the key was already used for a different request
+     * @throws PokNotFoundException     if the original POK has been deleted since
+     */
+    @Transactional
+    public PokResponse create(CreatePokRequest request, UUID userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(request, userId);
+        }
+        byte[] fingerprint = IdempotencyService.fingerprint(request.title(), request.content(), request.tagIds());
+        Optional<IdempotencyService.Prior> prior = idempotencyService.claim(
+            userId, idempotencyKey, IdempotencyService.Operation.CREATE_POK, fingerprint);
+        if (prior.isPresent()) {
+            return getById(prior.get().pokId(), userId);
+        }
+        PokResponse response = create(request, userId);
+        idempotencyService.recordPok(userId, idempotencyKey, response.id());
+        return response;
     }
 
     /**
@@ -143,6 +202,34 @@ public class PokService {
         return PokResponse.from(pok, tags, suggestions);
     }
 
+    /**
+     * Returns the entity tag of a POK as it currently is, without loading it (see
+     * {@link PokETags}).
+     *
+     * @param id     the POK ID
+     * @param userId the ID of the user requesting the POK
+     * @return the quoted entity tag, or {@code null} if the POK is not an active POK of the user
+     */
+    @Transactional(readOnly = true)
+    public String getETag(UUID id, UUID userId) {
+        // Token first: a write racing with this read can only make the tag older than the body
+        String token = userChangeVersionService.token(userId);
+        return pokRepository.findUpdatedAt(id, userId)
+            .map(updatedAt -> PokETags.forPok(updatedAt, token))
+            .orElse(null);
+    }
+
+    /**
+     * Returns the token of the user's current change version, for tagging a response that is
+     * about to be built. Read it before the data it describes.
+     *
+     * @param userId the user ID
+     * @return the change token
+     */
+    public String changeToken(UUID userId) {
+        return userChangeVersionService.token(userId);
+    }
+
     /**
      * Retrieves all active (non-deleted) POKs for a user with pagination.
      *
@@ -166,6 +253,30 @@ public class PokService {
     /**
      * Searches POKs with optional keyword, search mode, date filters, and dynamic sorting.
      *
+     * <p>Equivalent to {@link #search(UUID, String, String, String, String, String, String, String,
+     * String, List, String, int, int)} without a tag filter.
+     */
+    @Transactional(readOnly = true)
+    public Page<PokResponse> search(
+        UUID userId,
+        String keyword,
+        String searchMode,
+        String sortBy,
+        String sortDirection,
+        String createdFrom,
+        String createdTo,
+        String updatedFrom,
+        String updatedTo,
+        int page,
+        int size
+    ) {
+        return search(userId, keyword, searchMode, sortBy, sortDirection,
+            createdFrom, createdTo, updatedFrom, updatedTo, null, null, page, size);
+    }
+
+    /**
+     * Searches POKs with optional keyword, search mode, date filters, tag filters, and dynamic sorting.
+     *
      * <p>All search parameters are optional:
      * <ul>
      *   <li>keyword: case-insensitive search in title and content</li>
@@ -174,10 +285,22 @@ public class PokService {
      *   <li>sortDirection: ASC or DESC (default: DESC)</li>
      *   <li>createdFrom/To: filter by creation date range</li>
      *   <li>updatedFrom/To: filter by update date range</li>
+     *   <li>tagIds/tagMatch: restrict to POKs carrying any ({@code "any"}, default) or all
+     *       ({@code "all"}) of the given user-tag subscriptions</li>
      * </ul>
      *
      * <p>Semantic and hybrid modes fall back to keyword-only search if the embedding service is
-     * unavailable.
+     * unavailable. Tag filters apply to every mode. Tag IDs the user does not own are ignored;
+     * with {@code tagMatch=all} they make the result empty, since no POK can carry them.
+     *
+     * <p>{@link SearchPlanner} picks the execution strategy from the user's corpus size: small
+     * corpora are searched exactly in memory; larger ones use the configured {@link SearchEngine}
+     * when it is available (where omitting {@code sortBy} ranks by relevance instead of by update
+     * time) and the Postgres queries otherwise, or when the engine cannot answer.
+     *
+     * <p>Responses are cached per user in {@link SearchResultCache}, keyed by the user's change
+     * version and the normalized parameters; repeating a search with no intervening write skips
+     * the database entirely.
      *
      * @param userId        the user ID
      * @param keyword       optional keyword to search (null = no keyword filter)
@@ -188,9 +311,12 @@ public class PokService {
      * @param createdTo     optional maximum creation date (ISO 8601 string)
      * @param updatedFrom   optional minimum update date (ISO 8601 string)
      * @param updatedTo     optional maximum update date (ISO 8601 string)
+     * @param tagIds        optional user-tag subscription IDs to filter by (null or empty = no tag filter)
+     * @param tagMatch      optional tag match mode ("any" or "all", default: "any")
      * @param page          page number (0-indexed)
      * @param size          page size
      * @return a page of matching POKs
+     * @throws IllegalArgumentException if {@code tagMatch} is not a supported value
      */
     @Transactional(readOnly = true)
     public Page<PokResponse> search(
@@ -203,48 +329,381 @@ public class PokService {
         String createdTo,
         String updatedFrom,
         String updatedTo,
+        List<UUID> tagIds,
+        String tagMatch,
+        int page,
+        int size
+    ) {
+        log.debug("Searching POKs for user {} with keyword='{}', searchMode={}, tagIds={}, tagMatch={}, page={}, size={}",
+            userId, keyword, searchMode, tagIds, tagMatch, page, size);
+
+        // Read the version before touching the database: a write that commits while this search
+        // runs bumps the version, so whatever we read is cached under a key nobody will ask for again.
+        SearchResultCache.Key cacheKey = SearchResultCache.Key.of(
+            userId, userChangeVersionService.current(userId), keyword, searchMode, sortBy, sortDirection,
+            parseInstant(createdFrom), parseInstant(createdTo), parseInstant(updatedFrom), parseInstant(updatedTo),
+            tagIds, tagMatch, page, size);
+        Page<PokResponse> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<UserTag> userTags = userTagRepository.findByUserIdAndDeletedAtIsNull(userId);
+        TagFilter tagFilter = resolveTagFilter(tagIds, tagMatch, userTags);
+        if (tagFilter != null && tagFilter.matchesNothing()) {
+            log.debug("Tag filter {} resolves to no owned tags for user {} — returning empty page", tagIds, userId);
+            Page<PokResponse> empty = Page.empty(PageRequest.of(page, size));
+            searchResultCache.put(cacheKey, empty);
+            return empty;
+        }
+
+        SearchPlanner.Plan plan = searchPlanner.plan(userId, keyword, searchMode);
+        long startNanos = System.nanoTime();
+        SearchOutcome outcome = execute(plan, userId, keyword, searchMode, sortBy, sortDirection,
+            createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags);
+        searchPlanner.recordExecution(userId, plan, outcome.strategy(), System.nanoTime() - startNanos);
+
+        if (outcome.cacheable()) {
+            searchResultCache.put(cacheKey, outcome.page());
+        }
+        return outcome.page();
+    }
+
+    /**
+     * Returns the entity tag of a {@link #search} response, without searching. It changes whenever
+     * anything the user can see changes, or the parameters do.
+     *
+     * @return the quoted entity tag
+     * @throws IllegalArgumentException if a date filter is malformed
+     * @see #search(UUID, String, String, String, String, String, String, String, String, List, String, int, int)
+     */
+    public String searchETag(
+        UUID userId,
+        String keyword,
+        String searchMode,
+        String sortBy,
+        String sortDirection,
+        String createdFrom,
+        String createdTo,
+        String updatedFrom,
+        String updatedTo,
+        List<UUID> tagIds,
+        String tagMatch,
         int page,
         int size
     ) {
-        log.debug("Searching POKs for user {} with keyword='{}', searchMode={}, page={}, size={}",
-            userId, keyword, searchMode, page, size);
+        String token = userChangeVersionService.token(userId);
+        // The version is carried by the token, which also identifies the boot
+        SearchResultCache.Key key = SearchResultCache.Key.of(
+            userId, 0L, keyword, searchMode, sortBy, sortDirection,
+            parseInstant(createdFrom), parseInstant(createdTo), parseInstant(updatedFrom), parseInstant(updatedTo),
+            tagIds, tagMatch, page, size);
+        return PokETags.forSearch(token, key);
+    }
 
+    /**
+     * Returns per-tag POK counts for the result set of a keyword search with the given filters.
+     *
+     * <p>Counts are computed in one aggregate query over {@code pok_tags}, regardless of how many
+     * tags the user has. Only the user's active tags are reported, sorted by count (descending)
+     * and then by name. The result set is the keyword/date/tag-filtered set; semantic ranking does
+     * not change which POKs belong to it.
+     *
+     * @param userId      the user ID
+     * @param keyword     optional keyword to search (null = no keyword filter)
+     * @param createdFrom optional minimum creation date (ISO 8601 string)
+     * @param createdTo   optional maximum creation date (ISO 8601 string)
+     * @param updatedFrom optional minimum update date (ISO 8601 string)
+     * @param updatedTo   optional maximum update date (ISO 8601 string)
+     * @param tagIds      optional user-tag subscription IDs to filter by (null or empty = no tag filter)
+     * @param tagMatch    optional tag match mode ("any" or "all", default: "any")
+     * @return facet counts for each of the user's tags present in the result set
+     * @throws IllegalArgumentException if {@code tagMatch} is not a supported value
+     */
+    @Transactional(readOnly = true)
+    public List<TagFacetResponse> getTagFacets(
+        UUID userId,
+        String keyword,
+        String createdFrom,
+        String createdTo,
+        String updatedFrom,
+        String updatedTo,
+        List<UUID> tagIds,
+        String tagMatch
+    ) {
         List<UserTag> userTags = userTagRepository.findByUserIdAndDeletedAtIsNull(userId);
+        TagFilter tagFilter = resolveTagFilter(tagIds, tagMatch, userTags);
+        if (tagFilter != null && tagFilter.matchesNothing()) {
+            return List.of();
+        }
+
+        String normalizedKeyword = (keyword != null && !keyword.isBlank()) ? keyword : null;
+        Instant createdFromInstant = parseInstant(createdFrom);
+        Instant createdToInstant = parseInstant(createdTo);
+        Instant updatedFromInstant = parseInstant(updatedFrom);
+        Instant updatedToInstant = parseInstant(updatedTo);
+
+        List<PokRepository.TagFacetCount> counts = tagFilter == null
+            ? pokRepository.countTagFacets(userId, normalizedKeyword,
+                createdFromInstant, createdToInstant, updatedFromInstant, updatedToInstant)
+            : pokRepository.countTagFacetsByTags(userId, normalizedKeyword,
+                createdFromInstant, createdToInstant, updatedFromInstant, updatedToInstant,
+                tagFilter.tagIds(), tagFilter.minMatches());
+
+        Map<UUID, UserTag> userTagsByGlobalId = new HashMap<>();
+        userTags.forEach(ut -> userTagsByGlobalId.put(ut.getTag().getId(), ut));
+
+        return counts.stream()
+            .filter(c -> userTagsByGlobalId.containsKey(c.getTagId()))
+            .map(c -> TagFacetResponse.from(userTagsByGlobalId.get(c.getTagId()), c.getPokCount()))
+            .sorted(Comparator.comparingLong(TagFacetResponse::pokCount).reversed()
+                .thenComparing(TagFacetResponse::name, String.CASE_INSENSITIVE_ORDER))
+            .toList();
+    }
+
+    /**
+     * Runs a search with the planned strategy. A strategy whose backend turns out to be
+     * unavailable degrades to the next cheapest one; the outcome reports what actually ran.
+     */
+    private SearchOutcome execute(
+        SearchPlanner.Plan plan, UUID userId, String keyword, String searchMode,
+        String sortBy, String sortDirection,
+        String createdFrom, String createdTo,
+        String updatedFrom, String updatedTo,
+        TagFilter tagFilter, int page, int size, List<UserTag> userTags
+    ) {
+        return switch (plan.strategy()) {
+            case EXACT_IN_MEMORY -> searchInMemory(userId, keyword, searchMode, sortBy, sortDirection,
+                createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags);
+            case EXACT_SQL -> new SearchOutcome(keywordSearch(userId, keyword, sortBy, sortDirection,
+                createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags),
+                SearchPlanner.Strategy.EXACT_SQL, true);
+            case FTS -> textSearch(userId, keyword, sortBy, sortDirection,
+                createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags, true);
+            case ANN, HYBRID -> vectorSearch(plan.strategy(), userId, keyword, sortBy, sortDirection,
+                createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags);
+        };
+    }
+
+    /**
+     * Keyword search on the search engine, or on Postgres if the engine cannot answer.
+     */
+    private SearchOutcome textSearch(
+        UUID userId, String keyword,
+        String sortBy, String sortDirection,
+        String createdFrom, String createdTo,
+        String updatedFrom, String updatedTo,
+        TagFilter tagFilter, int page, int size, List<UserTag> userTags,
+        boolean cacheable
+    ) {
+        if (keyword != null && !keyword.isBlank() && searchEngine.isAvailable()) {
+            Optional<Page<PokResponse>> result = searchWithEngine(userId, keyword, SearchEngine.Mode.KEYWORD, null,
+                sortBy, sortDirection, createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags);
+            if (result.isPresent()) {
+                return new SearchOutcome(result.get(), SearchPlanner.Strategy.FTS, cacheable);
+            }
+        }
+        return new SearchOutcome(keywordSearch(userId, keyword, sortBy, sortDirection,
+            createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags),
+            SearchPlanner.Strategy.EXACT_SQL, cacheable);
+    }
+
+    /**
+     * Semantic ({@code ANN}) or hybrid search on the search engine, or on pgvector if the engine
+     * cannot answer. Falls back to keyword search if the query cannot be embedded.
+     */
+    private SearchOutcome vectorSearch(
+        SearchPlanner.Strategy strategy, UUID userId, String keyword,
+        String sortBy, String sortDirection,
+        String createdFrom, String createdTo,
+        String updatedFrom, String updatedTo,
+        TagFilter tagFilter, int page, int size, List<UserTag> userTags
+    ) {
+        float[] queryVector;
+        try {
+            queryVector = embeddingService.embed(keyword);
+        } catch (EmbeddingUnavailableException e) {
+            log.warn("Embedding unavailable for search query — falling back to keyword search: {}", e.getMessage());
+            // Do not cache the degraded result under the semantic key — the next request should
+            // retry the embedding service.
+            return textSearch(userId, keyword, sortBy, sortDirection,
+                createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags, false);
+        }
+
+        SearchEngine.Mode mode = strategy == SearchPlanner.Strategy.HYBRID ? SearchEngine.Mode.HYBRID : SearchEngine.Mode.SEMANTIC;
+        if (searchEngine.isAvailable()) {
+            Optional<Page<PokResponse>> result = searchWithEngine(userId, keyword, mode, queryVector,
+                null, null, createdFrom, createdTo, updatedFrom, updatedTo, tagFilter, page, size, userTags);
+            if (result.isPresent()) {
+                return new SearchOutcome(result.get(), strategy, true);
+            }
+        }
+        String searchMode = mode == SearchEngine.Mode.HYBRID ? "hybrid" : "semantic";
+        return new SearchOutcome(searchWithSemantics(userId, keyword, queryVector, searchMode, tagFilter, page, size, userTags),
+            strategy, true);
+    }
+
+    /**
+     * Exact search over the user's whole corpus, loaded with one query. Only planned for small
+     * corpora, where this beats issuing separate keyword, COUNT and vector queries.
+     *
+     * <p>Filters match the SQL paths: case-insensitive substring keyword match, inclusive date
+     * bounds and the tag filter. Semantic mode ranks every embedded candidate by exact cosine
+     * similarity; hybrid mode appends keyword-only matches after them, as the pgvector path does.
+     */
+    private SearchOutcome searchInMemory(
+        UUID userId, String keyword, String searchMode,
+        String sortBy, String sortDirection,
+        String createdFrom, String createdTo,
+        String updatedFrom, String updatedTo,
+        TagFilter tagFilter, int page, int size, List<UserTag> userTags
+    ) {
+        Sort sort = buildSort(sortBy, sortDirection);
+        Instant createdFromInstant = parseInstant(createdFrom);
+        Instant createdToInstant = parseInstant(createdTo);
+        Instant updatedFromInstant = parseInstant(updatedFrom);
+        Instant updatedToInstant = parseInstant(updatedTo);
+
+        List<Pok> corpus = pokRepository.findByUserIdAndDeletedAtIsNull(userId);
+        Map<UUID, List<UUID>> tagsByPok = corpus.isEmpty()
+            ? Map.of()
+            : pokTagRepository.findByPokIdIn(corpus.stream().map(Pok::getId).toList()).stream()
+                .collect(Collectors.groupingBy(PokTag::getPokId,
+                    Collectors.mapping(PokTag::getTagId, Collectors.toList())));
+
+        List<Pok> candidates = corpus.stream()
+            .filter(p -> within(p.getCreatedAt(), createdFromInstant, createdToInstant))
+            .filter(p -> within(p.getUpdatedAt(), updatedFromInstant, updatedToInstant))
+            .filter(p -> tagFilter == null || tagFilter.matches(tagsByPok.getOrDefault(p.getId(), List.of())))
+            .toList();
 
         boolean hasKeyword = keyword != null && !keyword.isBlank();
+        List<Pok> keywordMatches = candidates.stream()
+            .filter(p -> !hasKeyword || containsIgnoreCase(p.getTitle(), keyword) || containsIgnoreCase(p.getContent(), keyword))
+            .sorted(comparatorFor(sort))
+            .toList();
+
+        List<Pok> ranked = keywordMatches;
+        boolean cacheable = true;
         if (hasKeyword && ("semantic".equals(searchMode) || "hybrid".equals(searchMode))) {
             try {
-                return searchWithSemantics(userId, keyword, searchMode, page, size, userTags);
+                float[] queryVector = embeddingService.embed(keyword);
+                List<Pok> semantic = candidates.stream()
+                    .filter(p -> p.getEmbedding() != null)
+                    .sorted(Comparator.comparingDouble((Pok p) -> cosineSimilarity(queryVector, p.getEmbedding())).reversed())
+                    .toList();
+                if ("hybrid".equals(searchMode)) {
+                    Map<UUID, Pok> merged = new LinkedHashMap<>();
+                    semantic.forEach(p -> merged.put(p.getId(), p));
+                    keywordMatches.forEach(p -> merged.putIfAbsent(p.getId(), p));
+                    ranked = List.copyOf(merged.values());
+                } else {
+                    ranked = semantic;
+                }
             } catch (EmbeddingUnavailableException e) {
                 log.warn("Embedding unavailable for search query — falling back to keyword search: {}", e.getMessage());
-                // fall through to keyword search below
+                cacheable = false;
             }
         }
 
-        return keywordSearch(userId, keyword, sortBy, sortDirection, createdFrom, createdTo,
-            updatedFrom, updatedTo, page, size, userTags);
+        List<PokResponse> content = ranked.stream()
+            .skip((long) page * size)
+            .limit(size)
+            .map(p -> PokResponse.from(p, tagResponses(tagsByPok.getOrDefault(p.getId(), List.of()), userTags), List.of()))
+            .toList();
+        return new SearchOutcome(new PageImpl<>(content, PageRequest.of(page, size), ranked.size()),
+            SearchPlanner.Strategy.EXACT_IN_MEMORY, cacheable);
+    }
+
+    private static boolean within(Instant value, Instant from, Instant to) {
+        return (from == null || !value.isBefore(from)) && (to == null || !value.isAfter(to));
+    }
+
+    private static boolean containsIgnoreCase(String text, String keyword) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(keyword.toLowerCase(Locale.ROOT));
+    }
+
+    private static Comparator<Pok> comparatorFor(Sort sort) {
+        Sort.Order order = sort.iterator().next();
+        Comparator<Pok> comparator = "createdAt".equals(order.getProperty())
+            ? Comparator.comparing(Pok::getCreatedAt)
+            : Comparator.comparing(Pok::getUpdatedAt);
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+
+    static double cosineSimilarity(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA == 0 || normB == 0 ? 0 : dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    /**
+     * Runs the search on the configured {@link SearchEngine} and hydrates the returned IDs in rank
+     * order. POKs the engine still knows about but that were deleted since are skipped.
+     *
+     * @return the page, or empty if the engine could not answer
+     */
+    private Optional<Page<PokResponse>> searchWithEngine(
+        UUID userId, String keyword, SearchEngine.Mode mode, float[] queryVector,
+        String sortBy, String sortDirection,
+        String createdFrom, String createdTo,
+        String updatedFrom, String updatedTo,
+        TagFilter tagFilter, int page, int size, List<UserTag> userTags
+    ) {
+        boolean hasSort = sortBy != null && !sortBy.isEmpty();
+        if (hasSort) {
+            buildSort(sortBy, sortDirection);  // rejects unsupported sort fields
+        }
+        SearchEngine.Criteria criteria = new SearchEngine.Criteria(
+            userId, keyword, mode, queryVector,
+            parseInstant(createdFrom), parseInstant(createdTo), parseInstant(updatedFrom), parseInstant(updatedTo),
+            tagFilter == null ? Set.of() : tagFilter.tagIds(),
+            tagFilter == null ? 0 : tagFilter.minMatches(),
+            hasSort ? sortBy : null,
+            "ASC".equalsIgnoreCase(sortDirection),
+            page, size);
+
+        return searchEngine.search(criteria).map(hits -> {
+            Map<UUID, Pok> poksById = new HashMap<>();
+            pokRepository.findAllById(hits.pokIds()).forEach(p -> poksById.put(p.getId(), p));
+            List<PokResponse> content = hits.pokIds().stream()
+                .map(poksById::get)
+                .filter(p -> p != null && p.getDeletedAt() == null && userId.equals(p.getUserId()))
+                .map(p -> PokResponse.from(p, buildTagResponses(p.getId(), userTags), List.of()))
+                .toList();
+            log.debug("Search engine returned {} of {} hits for user {} (mode={})",
+                content.size(), hits.totalHits(), userId, mode);
+            return new PageImpl<>(content, PageRequest.of(page, size), hits.totalHits());
+        });
     }
 
     /**
      * Performs semantic or hybrid search using the pgvector {@code <=>} cosine distance operator.
      */
     private Page<PokResponse> searchWithSemantics(
-        UUID userId, String keyword, String searchMode,
+        UUID userId, String keyword, float[] queryEmbedding, String searchMode, TagFilter tagFilter,
         int page, int size, List<UserTag> userTags
     ) {
-        String text = (keyword != null && !keyword.isBlank()) ? keyword : "";
-        float[] queryEmbedding = embeddingService.embed(text);
         String queryVector = toVectorString(queryEmbedding);
 
         int semanticLimit = size * 3;  // Over-fetch for hybrid recall
         int semanticOffset = page * size;
-        List<Pok> semanticPoks = pokRepository.findSemantically(userId, queryVector, semanticLimit, semanticOffset);
+        List<Pok> semanticPoks = tagFilter == null
+            ? pokRepository.findSemantically(userId, queryVector, semanticLimit, semanticOffset)
+            : pokRepository.findSemanticallyByTags(userId, queryVector,
+                tagFilter.tagIds(), tagFilter.minMatches(), semanticLimit, semanticOffset);
 
         if ("hybrid".equals(searchMode) && keyword != null && !keyword.isBlank()) {
             // Merge semantic + keyword results, deduplicated (semantic first)
             Pageable pageable = PageRequest.of(page, size, buildSort(null, null));
-            Page<Pok> keywordPage = pokRepository.searchPoks(userId, keyword,
-                null, null, null, null, pageable);
+            Page<Pok> keywordPage = findKeywordMatches(userId, keyword,
+                null, null, null, null, tagFilter, pageable);
             List<Pok> merged = mergeSemanticsAndKeyword(semanticPoks, keywordPage.getContent(), size);
             return new PageImpl<>(
                 merged.stream()
@@ -288,6 +747,7 @@ public class PokService {
         String sortBy, String sortDirection,
         String createdFrom, String createdTo,
         String updatedFrom, String updatedTo,
+        TagFilter tagFilter,
         int page, int size, List<UserTag> userTags
     ) {
         Instant createdFromInstant = parseInstant(createdFrom);
@@ -297,14 +757,91 @@ public class PokService {
         Sort sort = buildSort(sortBy, sortDirection);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Pok> poks = pokRepository.searchPoks(userId, keyword,
+        Page<Pok> poks = findKeywordMatches(userId, keyword,
             createdFromInstant, createdToInstant,
-            updatedFromInstant, updatedToInstant, pageable);
+            updatedFromInstant, updatedToInstant, tagFilter, pageable);
 
         log.debug("Found {} POKs matching search criteria for user {}", poks.getTotalElements(), userId);
         return poks.map(pok -> PokResponse.from(pok, buildTagResponses(pok.getId(), userTags), List.of()));
     }
 
+    /**
+     * Runs the keyword/date query, adding the per-POK tag count only when a tag filter is present.
+     */
+    private Page<Pok> findKeywordMatches(
+        UUID userId, String keyword,
+        Instant createdFrom, Instant createdTo,
+        Instant updatedFrom, Instant updatedTo,
+        TagFilter tagFilter, Pageable pageable
+    ) {
+        if (tagFilter == null) {
+            return pokRepository.searchPoks(userId, keyword,
+                createdFrom, createdTo, updatedFrom, updatedTo, pageable);
+        }
+        return pokRepository.searchPoksByTags(userId, keyword,
+            createdFrom, createdTo, updatedFrom, updatedTo,
+            tagFilter.tagIds(), tagFilter.minMatches(), pageable);
+    }
+
+    /**
+     * Resolves user-tag subscription IDs to the global tag IDs stored in {@code pok_tags}.
+     *
+     * @param userTagIds the requested user-tag subscription IDs (may be null or empty)
+     * @param tagMatch   "any" (default) or "all"
+     * @param userTags   the user's active tags
+     * @return the resolved filter, or {@code null} if no tag filter was requested
+     * @throws IllegalArgumentException if {@code tagMatch} is not a supported value
+     */
+    private TagFilter resolveTagFilter(List<UUID> userTagIds, String tagMatch, List<UserTag> userTags) {
+        if (userTagIds == null || userTagIds.isEmpty()) {
+            return null;
+        }
+        boolean matchAll;
+        if (tagMatch == null || tagMatch.isEmpty() || "any".equalsIgnoreCase(tagMatch)) {
+            matchAll = false;
+        } else if ("all".equalsIgnoreCase(tagMatch)) {
+            matchAll = true;
+        } else {
+            throw new IllegalArgumentException(
+                "Unsupported tag match mode: '" + tagMatch + "'. Allowed values: [any, all]");
+        }
+
+        Set<UUID> requested = new HashSet<>(userTagIds);
+        Set<UUID> globalTagIds = new HashSet<>();
+        for (UserTag userTag : userTags) {
+            if (requested.contains(userTag.getId()) && userTag.getTag() != null) {
+                globalTagIds.add(userTag.getTag().getId());
+            }
+        }
+
+        if (matchAll && globalTagIds.size() < requested.size()) {
+            return TagFilter.NOTHING;
+        }
+        return new TagFilter(globalTagIds, matchAll ? globalTagIds.size() : 1);
+    }
+
+    /**
+     * A resolved tag restriction: global tag IDs and how many of them a POK must carry.
+     */
+    private record TagFilter(Set<UUID> tagIds, long minMatches) {
+
+        static final TagFilter NOTHING = new TagFilter(Set.of(), 0);
+
+        boolean matchesNothing() {
+            return tagIds.isEmpty();
+        }
+
+        boolean matches(List<UUID> pokTagIds) {
+            return pokTagIds.stream().filter(tagIds::contains).distinct().count() >= minMatches;
+        }
+    }
+
+    /**
+     * The page produced by a search, the strategy that produced it, and whether it may be cached.
+     */
+    private record SearchOutcome(Page<PokResponse> page, SearchPlanner.Strategy strategy, boolean cacheable) {
+    }
+
     /**
      * Converts a float[] embedding to pgvector text format {@code "[f1,f2,...,fn]"}.
      */
@@ -366,41 +903,154 @@ public class PokService {
      * @param id      the POK ID
      * @param request the update request (title optional, content mandatory)
      * @param userId  the ID of the user updating the POK
-     * @return the updated POK
+     * @return the updated POK, with any other POKs it now nearly duplicates
      * @throws PokNotFoundException       if the POK is not found or soft-deleted
      * @throws PokAccessDeniedException   if the POK belongs to another user
      */
     @Transactional
     public PokResponse update(UUID id, UpdatePokRequest request, UUID userId) {
+        return update(id, request, userId, null);
+    }
+
+    /**
+     * Updates a POK if it still matches an {@code If-Match} precondition.
+     *
+     * <p>With a precondition, the POK's row is locked while it is checked and written, so two
+     * editors holding the same tag cannot both succeed: the second one gets a
+     * {@link PreconditionFailedException} instead of silently overwriting the first. An update
+     * that leaves title and content as they were writes nothing.
+     *
+     * @param id      the POK ID
+     * @param request the update request (title optional, content mandatory)
+     * @param userId  the ID of the user updating the POK
+     * @param ifMatch the {@code If-Match} header, or {@code null} to update unconditionally
+     * @return the updated POK, with any other POKs it now nearly duplicates
+     * @throws PokNotFoundException         if the POK is not found or soft-deleted
+     * @throws PokAccessDeniedException     if the POK belongs to another user
+     * @throws PreconditionFailedException  if the POK changed since the tag was issued
+     */
+    @Transactional
+    public PokResponse update(UUID id, UpdatePokRequest request, UUID userId, String ifMatch) {
         log.debug("Updating POK {} for user {}", id, userId);
 
-        Pok pok = pokRepository.findByIdAndDeletedAtIsNull(id)
+        Pok pok = loadForWrite(id, userId, ifMatch);
+        return write(id, pok, userId, request.title(), request.content());
+    }
+
+    /**
+     * Applies a partial update to a POK.
+     *
+     * <p>Fields the patch omits keep their values, and content can be changed by text-range edits
+     * instead of being re-sent whole. A patch that leaves title and content as they were writes
+     * nothing: no history entry, no reindexing and no embedding or suggestion regeneration.
+     *
+     * @param id      the POK ID
+     * @param request the patch
+     * @param userId  the ID of the user updating the POK
+     * @param ifMatch the {@code If-Match} header, or {@code null} to update unconditionally
+     * @return the POK after the patch, with any other POKs it now nearly duplicates
+     * @throws IllegalArgumentException    if the patch is malformed or leaves the content blank
+     *                                     or too long
+     * @throws PokNotFoundException        if the POK is not found or soft-deleted
+     * @throws PokAccessDeniedException    if the POK belongs to another user
+     * @throws PreconditionFailedException if the POK changed since the tag was issued
+     */
+    @Transactional
+    public PokResponse patch(UUID id, PatchPokRequest request, UUID userId, String ifMatch) {
+        log.debug("Patching POK {} for user {}", id, userId);
+
+        boolean clearTitle = Boolean.TRUE.equals(request.clearTitle());
+        if (clearTitle && request.title() != null) {
+            throw new IllegalArgumentException("Send either title or clearTitle, not both");
+        }
+        if (request.content() != null && request.edits() != null) {
+            throw new IllegalArgumentException("Send either content or edits, not both");
+        }
+
+        Pok pok = loadForWrite(id, userId, ifMatch);
+
+        String title = clearTitle ? null : request.title() != null ? request.title() : pok.getTitle();
+        String content = request.content() != null ? request.content()
+            : request.edits() != null ? applyEdits(pok.getContent(), request.edits())
+            : pok.getContent();
+        if (content.isBlank()) {
+            throw new IllegalArgumentException("Content must not be blank");
+        }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("Content must be between 1 and 50,000 characters");
+        }
+        return write(id, pok, userId, title, content);
+    }
+
+    /**
+     * Loads a POK to be written, enforcing ownership and any {@code If-Match} precondition.
+     *
+     * <p>With a precondition, the POK's row is locked while it is checked and written, so two
+     * editors holding the same tag cannot both succeed.
+     */
+    private Pok loadForWrite(UUID id, UUID userId, String ifMatch) {
+        Pok pok = (ifMatch == null
+                ? pokRepository.findByIdAndDeletedAtIsNull(id)
+                : pokRepository.findActiveByIdForUpdate(id))
             .orElseThrow(() -> new PokNotFoundException("POK not found"));
 
         verifyOwnership(pok, userId);
 
+        if (ifMatch != null && !PokETags.contentMatches(ifMatch, pok.getUpdatedAt())) {
+            log.info("POK update rejected: id={}, userId={} changed since the client read it", id, userId);
+            throw new PreconditionFailedException("POK was modified by another client; reload it and retry");
+        }
+        return pok;
+    }
+
+    /**
+     * Sets a POK's title and content and, if either changed, saves it and raises the follow-up
+     * work: history, cache invalidation, reindexing, embedding and tag suggestions.
+     */
+    private PokResponse write(UUID id, Pok pok, UUID userId, String title, String content) {
         String oldTitle = pok.getTitle();
         String oldContent = pok.getContent();
 
-        pok.updateTitle(request.title());
-        pok.updateContent(request.content());
-        pok.clearEmbedding();  // Mark stale; will be regenerated async below
+        pok.updateTitle(title);
+        pok.updateContent(content);
 
-        Pok updatedPok = pokRepository.save(pok);
+        Pok updatedPok = pok;
+        if (Objects.equals(oldTitle, pok.getTitle()) && oldContent.equals(pok.getContent())) {
+            log.debug("POK {} unchanged, nothing to write", id);
+        } else {
+            pok.clearEmbedding();  // Mark stale; regenerated after commit
+            duplicateDetectionService.sign(pok);
 
-        log.info("POK updated: id={}, userId={}", id, userId);
+            updatedPok = pokRepository.save(pok);
 
-        logUpdate(updatedPok, userId, oldTitle, oldContent);
+            log.info("POK updated: id={}, userId={}", id, userId);
 
-        // Trigger async vector embedding regeneration (non-blocking)
-        embeddingGenerationService.generateEmbeddingForPok(id);
-
-        // Trigger async AI tag suggestions (non-blocking) — content may have changed
-        tagSuggestionService.suggestTagsForPok(id, userId);
+            pokHistoryService.recordUpdate(updatedPok, userId, oldTitle, oldContent);
+            userChangeVersionService.markChanged(userId);
+            pokEventBus.publish(new PokEvent.PokUpdated(id, userId));
+        }
 
         List<TagResponse> tags = buildTagResponses(id, userId);
         List<TagSuggestionResponse> suggestions = buildSuggestionResponses(id);
-        return PokResponse.from(updatedPok, tags, suggestions);
+        return PokResponse.from(updatedPok, tags, suggestions)
+            .withLikelyDuplicates(duplicateDetectionService.findLikelyDuplicates(updatedPok));
+    }
+
+    /**
+     * Applies ascending, non-overlapping text-range edits, all relative to the original text.
+     */
+    private static String applyEdits(String content, List<PatchPokRequest.TextEdit> edits) {
+        StringBuilder result = new StringBuilder(content.length());
+        int cursor = 0;
+        for (PatchPokRequest.TextEdit edit : edits) {
+            if (edit.start() < cursor || edit.end() < edit.start() || edit.end() > content.length()) {
+                throw new IllegalArgumentException("Edit range [" + edit.start() + ", " + edit.end()
+                    + ") is out of order or outside the content (length " + content.length() + ")");
+            }
+            result.append(content, cursor, edit.start()).append(edit.text());
+            cursor = edit.end();
+        }
+        return result.append(content, cursor, content.length()).toString();
     }
 
     /**
@@ -423,15 +1073,14 @@ public class PokService {
 
         verifyOwnership(pok, userId);
 
-        String oldTitle = pok.getTitle();
-        String oldContent = pok.getContent();
-
         pok.softDelete();
         pokRepository.save(pok);
 
         log.info("POK soft deleted: id={}, userId={}", id, userId);
 
-        logDelete(pok, userId, oldTitle, oldContent);
+        pokHistoryService.recordDelete(pok, userId);
+        userChangeVersionService.markChanged(userId);
+        pokEventBus.publish(new PokEvent.PokDeleted(id, userId));
     }
 
     /**
@@ -461,18 +1110,69 @@ public class PokService {
     @Transactional(readOnly = true)
     public List<PokAuditLogResponse> getHistory(UUID id, UUID userId) {
         log.debug("Getting history for POK {} for user {}", id, userId);
+        verifyHistoryAccess(id, userId);
+        return pokHistoryService.getHistory(id);
+    }
+
+    /**
+     * Retrieves a slice of the audit history for a POK, most recent first, without titles or
+     * content.
+     *
+     * @param id     the POK ID
+     * @param userId the requesting user's ID
+     * @param cursor the {@code nextCursor} of the previous slice, or {@code null} for the first
+     * @param size   maximum number of entries in the slice
+     * @return the entries and the cursor for the next slice
+     * @throws PokNotFoundException     if the POK is not found
+     * @throws PokAccessDeniedException if the POK belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public PokHistoryPageResponse getHistoryPage(UUID id, UUID userId, String cursor, int size) {
+        log.debug("Getting history page for POK {} for user {}", id, userId);
+        verifyHistoryAccess(id, userId);
+        return pokHistoryService.getHistoryPage(id, cursor, size);
+    }
+
+    /**
+     * Retrieves one version of a POK's audit history with its old and new values.
+     *
+     * @param id      the POK ID
+     * @param version the history version
+     * @param userId  the requesting user's ID
+     * @return the audit entry
+     * @throws PokNotFoundException     if the POK or the version is not found
+     * @throws PokAccessDeniedException if the POK belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public PokAuditLogResponse getHistoryVersion(UUID id, int version, UUID userId) {
+        verifyHistoryAccess(id, userId);
+        return pokHistoryService.getVersion(id, version);
+    }
+
+    /**
+     * Retrieves the content changes made by one version of a POK.
+     *
+     * @param id      the POK ID
+     * @param version the history version
+     * @param userId  the requesting user's ID
+     * @return the title change and content edits
+     * @throws PokNotFoundException     if the POK or the version is not found
+     * @throws PokAccessDeniedException if the POK belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public PokVersionDiffResponse getHistoryDiff(UUID id, int version, UUID userId) {
+        verifyHistoryAccess(id, userId);
+        return pokHistoryService.getVersionDiff(id, version);
+    }
 
-        // Verify the POK exists and the user owns it — we check including deleted POKs
-        // because history should still be accessible for deleted POKs.
+    /**
+     * Verifies the POK exists and the user owns it. Deleted POKs are included because history
+     * should still be accessible for them.
+     */
+    private void verifyHistoryAccess(UUID id, UUID userId) {
         Pok pok = pokRepository.findById(id)
             .orElseThrow(() -> new PokNotFoundException("POK not found"));
-
         verifyOwnership(pok, userId);
-
-        return pokAuditLogRepository.findByPokIdOrderByOccurredAtDesc(id)
-            .stream()
-            .map(PokAuditLogResponse::from)
-            .toList();
     }
 
     /**
@@ -499,8 +1199,14 @@ public class PokService {
      * @return list of {@link TagResponse} for the POK's assigned tags
      */
     private List<TagResponse> buildTagResponses(UUID pokId, List<UserTag> userTags) {
-        return pokTagRepository.findByPokId(pokId).stream()
-                .map(PokTag::getTagId)
+        return tagResponses(pokTagRepository.findByPokId(pokId).stream().map(PokTag::getTagId).toList(), userTags);
+    }
+
+    /**
+     * Maps already-loaded global tag IDs of a POK to the user's tag responses.
+     */
+    private static List<TagResponse> tagResponses(List<UUID> tagIds, List<UserTag> userTags) {
+        return tagIds.stream()
                 .flatMap(tagId -> userTags.stream()
                         .filter(ut -> ut.getTag().getId() != null && ut.getTag().getId().equals(tagId)))
                 .map(TagResponse::from)
@@ -514,34 +1220,4 @@ public class PokService {
                 .map(TagSuggestionResponse::from)
                 .toList();
     }
-
-    private void logCreate(Pok pok, UUID userId) {
-        PokAuditLog entry = new PokAuditLog(
-            pok.getId(), userId, Action.CREATE,
-            null, pok.getTitle(),
-            null, pok.getContent(),
-            pok.getCreatedAt()
-        );
-        pokAuditLogRepository.save(entry);
-    }
-
-    private void logUpdate(Pok pok, UUID userId, String oldTitle, String oldContent) {
-        PokAuditLog entry = new PokAuditLog(
-            pok.getId(), userId, Action.UPDATE,
-            oldTitle, pok.getTitle(),
-            oldContent, pok.getContent(),
-            Instant.now()
-        );
-        pokAuditLogRepository.save(entry);
-    }
-
-    private void logDelete(Pok pok, UUID userId, String oldTitle, String oldContent) {
-        PokAuditLog entry = new PokAuditLog(
-            pok.getId(), userId, Action.DELETE,
-            oldTitle, null,
-            oldContent, null,
-            pok.getDeletedAt()
-        );
-        pokAuditLogRepository.save(entry);
-    }
 }
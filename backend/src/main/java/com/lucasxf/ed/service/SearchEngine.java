@@ -0,0 +1,123 @@
+package com.lucasxf.ed.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pluggable full-text/vector search backend for POKs.
+ *
+ * <p>{@link PokService} asks the engine first for keyword, semantic and hybrid searches that have
+ * a keyword. When the engine is not {@linkplain #isAvailable() available} (disabled, or still
+ * rebuilding) or cannot answer a query, the Postgres queries in {@link PokService} serve it
+ * instead, so an engine is always an optimization and never a dependency.
+ *
+ * <p>Writers notify the engine through {@link #index(Collection)} and {@link #remove(UUID)}.
+ * Implementations apply those after the surrounding transaction commits and reload the POK from
+ * the database, so callers never have to pass the final state along.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public interface SearchEngine {
+
+    /**
+     * Search modes an engine may support.
+     */
+    enum Mode {
+        KEYWORD, SEMANTIC, HYBRID
+    }
+
+    /**
+     * Returns whether the engine can currently answer searches.
+     *
+     * @return {@code true} if {@link #search(Criteria)} may be called
+     */
+    boolean isAvailable();
+
+    /**
+     * Runs a search and returns the matching POK IDs for the requested page, best match first.
+     *
+     * @param criteria the search criteria
+     * @return the hits, or empty if the engine could not answer and the caller should fall back
+     */
+    Optional<Hits> search(Criteria criteria);
+
+    /**
+     * Schedules (re)indexing of the given POKs from their committed state.
+     *
+     * @param pokIds the POKs whose content, tags or embedding changed
+     */
+    void index(Collection<UUID> pokIds);
+
+    /**
+     * Schedules (re)indexing of a single POK from its committed state.
+     *
+     * @param pokId the POK whose content, tags or embedding changed
+     */
+    default void index(UUID pokId) {
+        index(List.of(pokId));
+    }
+
+    /**
+     * Schedules removal of a POK from the index.
+     *
+     * @param pokId the deleted POK
+     */
+    void remove(UUID pokId);
+
+    /**
+     * Rebuilds the whole index from the database.
+     *
+     * @return the number of POKs indexed
+     */
+    int rebuild();
+
+    /**
+     * Search criteria understood by every engine.
+     *
+     * @param userId        the owner of the POKs to search (required)
+     * @param keyword       the user's query text (required)
+     * @param mode          how to rank results
+     * @param queryVector   the embedded keyword, required for {@link Mode#SEMANTIC} and {@link Mode#HYBRID}
+     * @param createdFrom   optional inclusive lower bound on creation time
+     * @param createdTo     optional inclusive upper bound on creation time
+     * @param updatedFrom   optional inclusive lower bound on update time
+     * @param updatedTo     optional inclusive upper bound on update time
+     * @param tagIds        global tag IDs to filter by (empty = no tag filter)
+     * @param minTagMatches how many of {@code tagIds} a POK must carry
+     * @param sortBy        "createdAt" or "updatedAt" to sort keyword results by date, {@code null} for relevance
+     * @param ascending     sort direction when {@code sortBy} is set
+     * @param page          zero-based page number
+     * @param size          page size
+     */
+    record Criteria(
+        UUID userId,
+        String keyword,
+        Mode mode,
+        float[] queryVector,
+        Instant createdFrom,
+        Instant createdTo,
+        Instant updatedFrom,
+        Instant updatedTo,
+        Set<UUID> tagIds,
+        long minTagMatches,
+        String sortBy,
+        boolean ascending,
+        int page,
+        int size
+    ) {
+    }
+
+    /**
+     * A page of search hits.
+     *
+     * @param pokIds    IDs of the POKs on the requested page, best match first
+     * @param totalHits total number of matches (approximate for vector modes)
+     */
+    record Hits(List<UUID> pokIds, long totalHits) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.lucasxf.ed.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+import com.lucasxf.ed.config.SearchProperties;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.UserTagRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Chooses how {@link PokService#search} executes a request, based on the user's corpus size.
+ *
+ * <p>Listings without a keyword always use the indexed user/date page query, which reads one
+ * page whatever the corpus size. Keyword and vector searches over small corpora are cheapest to
+ * load once and search exactly in memory: one indexed range read replaces the keyword, COUNT and
+ * vector queries, and cosine ranking is exact instead of depending on how many IVFFlat lists
+ * happen to hold the user's rows. Larger corpora go to the indexes — the search engine for full text when one is available, pgvector or the engine for
+ * vector modes. Semantic requests for a user without any embedded POK fall back to keyword
+ * search, since vector ranking would return nothing.
+ *
+ * <p>Statistics (POK count, embedded count, tag count) cost two aggregate queries and are reused
+ * until the user's {@link UserChangeVersionService change version} moves, so steady-state
+ * planning does not touch the database. Only the last {@value #MAX_CACHED_STATS} users'
+ * statistics are kept.
+ *
+ * <p>Every executed search is logged with its plan and latency, and timed as
+ * {@code learnimo.search.execution{strategy=...}}; {@code learnimo.search.plans{strategy=...}}
+ * counts the decisions themselves.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+public class SearchPlanner {
+
+    static final int MAX_CACHED_STATS = 10_000;
+
+    /**
+     * Execution strategies, from cheapest on small corpora to most scalable.
+     */
+    public enum Strategy {
+        /** Load every active POK of the user and filter/rank in the JVM. */
+        EXACT_IN_MEMORY,
+        /** Postgres keyword/date query ({@code LIKE} on the user's rows). */
+        EXACT_SQL,
+        /** Full-text search engine (BM25). */
+        FTS,
+        /** Approximate nearest-neighbour vector search. */
+        ANN,
+        /** Vector and keyword search combined. */
+        HYBRID
+    }
+
+    /**
+     * Cheap per-user statistics the plan is based on.
+     *
+     * @param pokCount      active POKs
+     * @param embeddedCount active POKs with an embedding
+     * @param tagCount      active tag subscriptions
+     */
+    public record CorpusStats(long pokCount, long embeddedCount, long tagCount) {
+    }
+
+    /**
+     * A planning decision.
+     *
+     * @param strategy the chosen strategy
+     * @param stats    the statistics it was based on
+     * @param reason   short human-readable justification, for logs
+     */
+    public record Plan(Strategy strategy, CorpusStats stats, String reason) {
+    }
+
+    private record VersionedStats(long version, CorpusStats stats) {
+    }
+
+    private final PokRepository pokRepository;
+    private final UserTagRepository userTagRepository;
+    private final UserChangeVersionService userChangeVersionService;
+    private final SearchEngine searchEngine;
+    private final MeterRegistry meterRegistry;
+    private final int inMemoryMaxPoks;
+    /** Least recently used first; guarded by itself. */
+    private final Map<UUID, VersionedStats> statsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, VersionedStats> eldest) {
+            return size() > MAX_CACHED_STATS;
+        }
+    };
+
+    public SearchPlanner(PokRepository pokRepository,
+                         UserTagRepository userTagRepository,
+                         UserChangeVersionService userChangeVersionService,
+                         SearchEngine searchEngine,
+                         SearchProperties searchProperties,
+                         MeterRegistry meterRegistry) {
+        this.pokRepository = requireNonNull(pokRepository);
+        this.userTagRepository = requireNonNull(userTagRepository);
+        this.userChangeVersionService = requireNonNull(userChangeVersionService);
+        this.searchEngine = requireNonNull(searchEngine);
+        this.meterRegistry = requireNonNull(meterRegistry);
+        this.inMemoryMaxPoks = searchProperties.planner().inMemoryMaxPoks();
+    }
+
+    /**
+     * Plans a search request.
+     *
+     * @param userId     the user searching
+     * @param keyword    the query text (may be null or blank)
+     * @param searchMode the requested mode ("keyword", "semantic" or "hybrid"; null = keyword)
+     * @return the plan
+     */
+    public Plan plan(UUID userId, String keyword, String searchMode) {
+        CorpusStats stats = stats(userId);
+        Plan plan = choose(stats, keyword, searchMode);
+        Counter.builder("learnimo.search.plans")
+            .tag("strategy", plan.strategy().name())
+            .description("POK search planning decisions")
+            .register(meterRegistry)
+            .increment();
+        return plan;
+    }
+
+    /**
+     * Records how long a planned search took, and which strategy actually ran (it can differ
+     * from the plan when a backend is unavailable at execution time).
+     *
+     * @param userId      the user searching
+     * @param plan        the plan
+     * @param executed    the strategy that produced the result
+     * @param elapsedNanos wall-clock execution time
+     */
+    public void recordExecution(UUID userId, Plan plan, Strategy executed, long elapsedNanos) {
+        Timer.builder("learnimo.search.execution")
+            .tag("strategy", executed.name())
+            .description("POK search execution time by strategy")
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.debug("Search for user {} planned {} ({}; pokCount={}, embedded={}, tags={}), executed {} in {} ms",
+            userId, plan.strategy(), plan.reason(), plan.stats().pokCount(), plan.stats().embeddedCount(),
+            plan.stats().tagCount(), executed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    /**
+     * Returns the user's corpus statistics, recomputing them only after the user has written.
+     *
+     * @param userId the user
+     * @return the statistics
+     */
+    public CorpusStats stats(UUID userId) {
+        long version = userChangeVersionService.current(userId);
+        VersionedStats cached;
+        synchronized (statsByUser) {
+            cached = statsByUser.get(userId);
+        }
+        if (cached != null && cached.version() == version) {
+            return cached.stats();
+        }
+        PokRepository.CorpusCounts counts = pokRepository.countCorpus(userId);
+        CorpusStats stats = new CorpusStats(
+            counts.getPokCount(), counts.getEmbeddedCount(), userTagRepository.countByUserIdAndDeletedAtIsNull(userId));
+        synchronized (statsByUser) {
+            statsByUser.put(userId, new VersionedStats(version, stats));
+        }
+        return stats;
+    }
+
+    private Plan choose(CorpusStats stats, String keyword, String searchMode) {
+        if (keyword == null || keyword.isBlank()) {
+            return new Plan(Strategy.EXACT_SQL, stats, "no keyword; indexed user/date page");
+        }
+        if (stats.pokCount() <= inMemoryMaxPoks) {
+            return new Plan(Strategy.EXACT_IN_MEMORY, stats, "corpus within in-memory threshold of " + inMemoryMaxPoks);
+        }
+        boolean vectorMode = "semantic".equals(searchMode) || "hybrid".equals(searchMode);
+        if (vectorMode && stats.embeddedCount() == 0) {
+            return new Plan(textStrategy(), stats, "no embedded POKs to rank by vector");
+        }
+        if ("semantic".equals(searchMode)) {
+            return new Plan(Strategy.ANN, stats, "semantic mode on large corpus");
+        }
+        if ("hybrid".equals(searchMode)) {
+            return new Plan(Strategy.HYBRID, stats, "hybrid mode on large corpus");
+        }
+        return new Plan(textStrategy(), stats, searchEngine.isAvailable()
+            ? "keyword on large corpus; search engine available"
+            : "keyword on large corpus; no search engine");
+    }
+
+    private Strategy textStrategy() {
+        return searchEngine.isAvailable() ? Strategy.FTS : Strategy.EXACT_SQL;
+    }
+}
@@ -0,0 +1,169 @@
+package com.lucasxf.ed.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import com.lucasxf.ed.config.SearchProperties;
+import com.lucasxf.ed.dto.PokResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, in-process cache of POK search responses.
+ *
+ * <p>Entries are keyed by {@link Key}, which embeds the user's change version from
+ * {@link UserChangeVersionService}. Any write bumps the version, so stale entries are never
+ * served — they simply stop being looked up and age out of the LRU order. There is no explicit
+ * invalidation path to get wrong.
+ *
+ * <p>Hits and misses are published as {@code learnimo.search.cache.requests{result=hit|miss}},
+ * and the current entry count as {@code learnimo.search.cache.size}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    private final boolean enabled;
+    private final Map<Key, Page<PokResponse>> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SearchResultCache(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        SearchProperties.Cache props = searchProperties.cache();
+        this.enabled = props.enabled() && props.maxEntries() > 0;
+        int maxEntries = props.maxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Page<PokResponse>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("learnimo.search.cache.requests")
+            .tag("result", "hit")
+            .description("POK search requests served from the per-user result cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("learnimo.search.cache.requests")
+            .tag("result", "miss")
+            .description("POK search requests that had to query the database")
+            .register(meterRegistry);
+        Gauge.builder("learnimo.search.cache.size", this, SearchResultCache::size)
+            .description("Number of cached POK search responses")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response for the key, or {@code null} on a miss.
+     *
+     * @param key the normalized search key
+     * @return the cached page, or {@code null}
+     */
+    public Page<PokResponse> get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        Page<PokResponse> cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            log.debug("Search cache hit for user {} at version {}", key.userId(), key.version());
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Stores a response, evicting the least recently used entry if the cache is full.
+     *
+     * @param key   the normalized search key
+     * @param value the response to cache
+     */
+    public void put(Key key, Page<PokResponse> value) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the number of cached responses.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Cache key for a search request. Build it with {@link #of} so that requests that differ only in
+     * spelled-out defaults or tag order share an entry.
+     */
+    public record Key(
+        UUID userId,
+        long version,
+        String keyword,
+        String searchMode,
+        String sortBy,
+        String sortDirection,
+        Instant createdFrom,
+        Instant createdTo,
+        Instant updatedFrom,
+        Instant updatedTo,
+        List<UUID> tagIds,
+        String tagMatch,
+        int page,
+        int size
+    ) {
+
+        /**
+         * Builds a normalized key. Date bounds must already be parsed so that equivalent ISO 8601
+         * spellings collapse to the same instant.
+         */
+        public static Key of(UUID userId, long version, String keyword, String searchMode,
+                             String sortBy, String sortDirection,
+                             Instant createdFrom, Instant createdTo,
+                             Instant updatedFrom, Instant updatedTo,
+                             List<UUID> tagIds, String tagMatch, int page, int size) {
+            boolean hasKeyword = keyword != null && !keyword.isBlank();
+            // Mirrors PokService: vector modes only apply when there is a keyword to embed
+            boolean vectorMode = "semantic".equals(searchMode) || "hybrid".equals(searchMode);
+            List<UUID> tags = tagIds == null || tagIds.isEmpty()
+                ? List.of()
+                : tagIds.stream().distinct().sorted().toList();
+            return new Key(
+                userId,
+                version,
+                keyword,
+                hasKeyword && vectorMode ? searchMode : "keyword",
+                // No sort means relevance order when a search engine answers, so it is not "updatedAt"
+                sortBy == null || sortBy.isEmpty() ? null : sortBy,
+                "ASC".equalsIgnoreCase(sortDirection) ? "ASC" : "DESC",
+                createdFrom, createdTo, updatedFrom, updatedTo,
+                tags,
+                tags.isEmpty() ? null : (tagMatch == null || tagMatch.isEmpty() ? "any" : tagMatch.toLowerCase(Locale.ROOT)),
+                page,
+                size
+            );
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.lucasxf.ed.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.dto.CreatePokRequest;
+import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.dto.SyncBatchRequest;
+import com.lucasxf.ed.dto.SyncBatchRequest.SyncOperation;
+import com.lucasxf.ed.dto.SyncBatchResponse;
+import com.lucasxf.ed.dto.SyncBatchResponse.OperationResult;
+import com.lucasxf.ed.dto.SyncBatchResponse.Status;
+import com.lucasxf.ed.dto.SyncChangesResponse;
+import com.lucasxf.ed.dto.UpdatePokRequest;
+import com.lucasxf.ed.exception.PokAccessDeniedException;
+import com.lucasxf.ed.exception.PokNotFoundException;
+import com.lucasxf.ed.exception.PreconditionFailedException;
+import com.lucasxf.ed.repository.PokRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Applies a batch of offline POK edits uploaded in one request (the counterpart of
+ * {@link SyncService}'s change feed).
+ *
+ * <p>Operations are applied in order, in chunks of {@value #CHUNK_SIZE}, each chunk in its own
+ * transaction, so their follow-up work is delivered once per chunk by {@link com.lucasxf.ed.event.PokEventBus}.
+ * If an operation fails unexpectedly, its chunk is rolled back and replayed one operation per
+ * transaction, so the failure only costs that operation, which is reported as
+ * {@link Status#FAILED} for the client to retry.
+ *
+ * <p>Updates and deletes carry the version they were made against. The POK's row is locked
+ * while it is compared, and an edit to a POK that changed since is reported as a
+ * {@link Status#CONFLICT} with the server's copy instead of overwriting it. Re-uploading an edit
+ * that already landed, including a delete of a POK that is already deleted, is reported as
+ * {@link Status#APPLIED}, and creates are deduplicated by {@code opId} through
+ * {@link IdempotencyService}, so a client can safely resend a batch whose response it never
+ * received.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class SyncUploadService {
+
+    static final int CHUNK_SIZE = 50;
+
+    /** Keeps sync creates apart from {@code Idempotency-Key} headers sent to the POK API. */
+    static final String IDEMPOTENCY_PREFIX = "sync:";
+
+    private final PokService pokService;
+    private final PokRepository pokRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public SyncUploadService(PokService pokService,
+                             PokRepository pokRepository,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager) {
+        this.pokService = requireNonNull(pokService);
+        this.pokRepository = requireNonNull(pokRepository);
+        this.validator = requireNonNull(validator);
+        this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    }
+
+    /**
+     * Applies a batch of edits.
+     *
+     * @param userId  the uploading user
+     * @param request the edits, in the order they were made
+     * @return one result per operation, in request order
+     */
+    public SyncBatchResponse apply(UUID userId, SyncBatchRequest request) {
+        List<SyncOperation> operations = request.operations();
+        OperationResult[] results = new OperationResult[operations.size()];
+
+        List<Integer> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < operations.size(); i++) {
+            SyncOperation op = operations.get(i);
+            String problem = validate(op);
+            if (problem != null) {
+                results[i] = result(op, Status.REJECTED, op == null ? null : op.pokId(), problem);
+                continue;
+            }
+            chunk.add(i);
+            if (chunk.size() == CHUNK_SIZE) {
+                applyChunk(userId, operations, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(userId, operations, chunk, results);
+        }
+
+        log.info("Sync upload for user {}: {} operations, {} applied", userId, operations.size(),
+            Arrays.stream(results).filter(r -> r.status() == Status.APPLIED).count());
+        return new SyncBatchResponse(List.of(results));
+    }
+
+    private void applyChunk(UUID userId, List<SyncOperation> operations, List<Integer> chunk,
+                            OperationResult[] results) {
+        try {
+            List<OperationResult> applied = transactionTemplate.execute(status -> chunk.stream()
+                .map(i -> applyOne(userId, operations.get(i)))
+                .toList());
+            for (int j = 0; j < chunk.size(); j++) {
+                results[chunk.get(j)] = applied.get(j);
+            }
+        } catch (RuntimeException e) {
+            log.info("Sync chunk for user {} failed ({}); applying its operations one by one",
+                userId, e.getMessage());
+            for (int i : chunk) {
+                SyncOperation op = operations.get(i);
+                try {
+                    results[i] = transactionTemplate.execute(status -> applyOne(userId, op));
+                } catch (PokNotFoundException | PokAccessDeniedException ex) {
+                    results[i] = result(op, Status.NOT_FOUND, op.pokId(), "POK not found");
+                } catch (PreconditionFailedException ex) {
+                    results[i] = result(op, Status.CONFLICT, op.pokId(), ex.getMessage());
+                } catch (IllegalArgumentException ex) {
+                    results[i] = result(op, Status.REJECTED, op.pokId(), ex.getMessage());
+                } catch (RuntimeException ex) {
+                    // Only this operation's transaction rolled back; the rest of the chunk goes on
+                    log.warn("Sync {} {} for user {} failed", op.type(), op.opId(), userId, ex);
+                    results[i] = result(op, Status.FAILED, op.pokId(), "Operation failed on the server; retry it later");
+                }
+            }
+        }
+    }
+
+    private OperationResult applyOne(UUID userId, SyncOperation op) {
+        return switch (op.type()) {
+            case CREATE -> {
+                PokResponse created = pokService.create(new CreatePokRequest(op.title(), op.content(), op.tagIds()),
+                    userId, IDEMPOTENCY_PREFIX + op.opId());
+                yield new OperationResult(op.opId(), Status.APPLIED, created.id(), created.updatedAt(), null, null);
+            }
+            case UPDATE -> {
+                Optional<Pok> current = lockCurrent(userId, op);
+                if (current.isEmpty()) {
+                    yield result(op, Status.NOT_FOUND, op.pokId(), "POK not found");
+                }
+                Pok pok = current.get();
+                if (Objects.equals(pok.getTitle(), op.title()) && pok.getContent().equals(op.content())) {
+                    // Nothing to write: already uploaded, or made the same edit elsewhere
+                    yield new OperationResult(op.opId(), Status.APPLIED, op.pokId(), pok.getUpdatedAt(), null, null);
+                }
+                if (changedSince(pok, op)) {
+                    yield conflict(op, pok);
+                }
+                PokResponse updated = pokService.update(op.pokId(), new UpdatePokRequest(op.title(), op.content()),
+                    userId, null);
+                yield new OperationResult(op.opId(), Status.APPLIED, op.pokId(), updated.updatedAt(), null, null);
+            }
+            case DELETE -> {
+                Optional<Pok> current = pokRepository.findByIdForUpdate(op.pokId())
+                    .filter(pok -> pok.getUserId().equals(userId));
+                if (current.isEmpty()) {
+                    yield result(op, Status.NOT_FOUND, op.pokId(), "POK not found");
+                }
+                if (current.get().getDeletedAt() != null) {
+                    // Already deleted: a redelivered delete, or the POK was deleted elsewhere
+                    yield new OperationResult(op.opId(), Status.APPLIED, op.pokId(), null, null, null);
+                }
+                if (changedSince(current.get(), op)) {
+                    yield conflict(op, current.get());
+                }
+                pokService.softDelete(op.pokId(), userId);
+                yield new OperationResult(op.opId(), Status.APPLIED, op.pokId(), null, null, null);
+            }
+        };
+    }
+
+    /**
+     * Locks the POK an update targets, so nothing can change it between the version check and
+     * the write.
+     */
+    private Optional<Pok> lockCurrent(UUID userId, SyncOperation op) {
+        return pokRepository.findActiveByIdForUpdate(op.pokId())
+            .filter(pok -> pok.getUserId().equals(userId));
+    }
+
+    private static boolean changedSince(Pok pok, SyncOperation op) {
+        return op.baseUpdatedAt() != null && !PokETags.sameContentVersion(op.baseUpdatedAt(), pok.getUpdatedAt());
+    }
+
+    private static OperationResult conflict(SyncOperation op, Pok pok) {
+        log.debug("Sync {} of POK {} conflicts: changed since {}", op.type(), op.pokId(), op.baseUpdatedAt());
+        SyncChangesResponse.SyncPok current = new SyncChangesResponse.SyncPok(pok.getId(), pok.getTitle(),
+            pok.getContent(), pok.getCreatedAt(), pok.getUpdatedAt());
+        return new OperationResult(op.opId(), Status.CONFLICT, op.pokId(), pok.getUpdatedAt(),
+            "POK was modified on the server since this edit was made", current);
+    }
+
+    /**
+     * Returns why an operation cannot be applied, or {@code null} if it is well-formed.
+     */
+    private String validate(SyncOperation op) {
+        if (op == null) {
+            return "Operation must not be null";
+        }
+        Set<ConstraintViolation<SyncOperation>> violations = validator.validate(op);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (op.type() != SyncBatchRequest.Type.CREATE && op.pokId() == null) {
+            return "pokId is required for " + op.type();
+        }
+        if (op.type() != SyncBatchRequest.Type.DELETE && (op.content() == null || op.content().isBlank())) {
+            return "Content is required and must not be blank";
+        }
+        return null;
+    }
+
+    private static OperationResult result(SyncOperation op, Status status, UUID pokId, String message) {
+        return new OperationResult(op == null ? null : op.opId(), status, pokId, null, message, null);
+    }
+}
@@ -0,0 +1,279 @@
+package com.lucasxf.ed.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Finds which of a user's tag names occur in a text, in one pass over the text.
+ *
+ * <p>The tag names are compiled into an Aho–Corasick automaton, stored as a full transition
+ * table over the characters the names use, so each character of the text costs one table lookup
+ * whatever the number of tags. Characters no name uses send the automaton back to its root.
+ *
+ * <p>Matching is case-insensitive and treats hyphens and runs of whitespace as a single space, so
+ * tag {@code spring-boot} matches "Spring Boot" and "spring-boot". A match must start and end at a
+ * word boundary wherever the name starts or ends with a letter or digit: {@code java} does not
+ * match "javascript", while {@code c++}, which ends in a symbol, also matches "c++17".
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+final class TagMatcher {
+
+    private static final int ASCII = 128;
+
+    /** The names compiled, sorted and distinct; identifies the matcher. */
+    private final List<String> names;
+    /** Original names per normalized key, indexed like {@link #keyLengths}. */
+    private final List<List<String>> originals;
+    private final int[] keyLengths;
+    private final boolean[] wordStart;
+    private final boolean[] wordEnd;
+    /** {@code transitions[state][symbol]}, failure links already folded in. */
+    private final int[][] transitions;
+    /** Keys ending at each state, including those reached through failure links. */
+    private final int[][] outputs;
+    private final int[] asciiSymbols;
+    private final Map<Character, Integer> otherSymbols;
+
+    private TagMatcher(List<String> names, List<List<String>> originals, int[] keyLengths, boolean[] wordStart,
+                       boolean[] wordEnd, int[][] transitions, int[][] outputs, int[] asciiSymbols,
+                       Map<Character, Integer> otherSymbols) {
+        this.names = names;
+        this.originals = originals;
+        this.keyLengths = keyLengths;
+        this.wordStart = wordStart;
+        this.wordEnd = wordEnd;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.asciiSymbols = asciiSymbols;
+        this.otherSymbols = otherSymbols;
+    }
+
+    /**
+     * Compiles a matcher for the given tag names.
+     *
+     * @param tagNames the names to look for; blank names never match
+     * @return the matcher
+     */
+    static TagMatcher compile(Collection<String> tagNames) {
+        List<String> names = tagNames.stream().distinct().sorted().toList();
+
+        Map<String, List<String>> byKey = new LinkedHashMap<>();
+        for (String name : names) {
+            String key = key(name);
+            if (!key.isEmpty()) {
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(name);
+            }
+        }
+        List<String> keys = List.copyOf(byKey.keySet());
+
+        int[] asciiSymbols = new int[ASCII];
+        Arrays.fill(asciiSymbols, -1);
+        Map<Character, Integer> otherSymbols = new HashMap<>();
+        int symbolCount = 0;
+        for (String key : keys) {
+            for (char c : key.toCharArray()) {
+                if (symbol(c, asciiSymbols, otherSymbols) < 0) {
+                    if (c < ASCII) {
+                        asciiSymbols[c] = symbolCount++;
+                    } else {
+                        otherSymbols.put(c, symbolCount++);
+                    }
+                }
+            }
+        }
+
+        // Trie: one row per state, -1 where there is no edge
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(newRow(symbolCount));
+        ends.add(new ArrayList<>());
+        for (int k = 0; k < keys.size(); k++) {
+            int state = 0;
+            for (char c : keys.get(k).toCharArray()) {
+                int symbol = symbol(c, asciiSymbols, otherSymbols);
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow(symbolCount));
+                    ends.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            ends.get(state).add(k);
+        }
+
+        // Breadth-first, so a state's failure target is complete before the state itself
+        int[][] transitions = trie.toArray(int[][]::new);
+        int[] failure = new int[transitions.length];
+        int[][] outputs = new int[transitions.length][];
+        outputs[0] = new int[0];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int child = transitions[0][symbol];
+            if (child < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = merge(ends.get(state), outputs[failure[state]]);
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int child = transitions[state][symbol];
+                if (child < 0) {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                } else {
+                    failure[child] = transitions[failure[state]][symbol];
+                    queue.add(child);
+                }
+            }
+        }
+
+        int[] keyLengths = new int[keys.size()];
+        boolean[] wordStart = new boolean[keys.size()];
+        boolean[] wordEnd = new boolean[keys.size()];
+        for (int k = 0; k < keys.size(); k++) {
+            String key = keys.get(k);
+            keyLengths[k] = key.length();
+            wordStart[k] = isWordChar(key.charAt(0));
+            wordEnd[k] = isWordChar(key.charAt(key.length() - 1));
+        }
+        return new TagMatcher(names, List.copyOf(byKey.values()), keyLengths, wordStart, wordEnd, transitions,
+            outputs, asciiSymbols, otherSymbols);
+    }
+
+    /**
+     * Returns the names this matcher was compiled from, sorted and distinct.
+     */
+    List<String> names() {
+        return names;
+    }
+
+    /**
+     * Returns the number of cells of the transition table, states times symbols: the part of the
+     * matcher whose size grows fastest with the names.
+     */
+    long tableSize() {
+        return (long) transitions.length * (transitions.length == 0 ? 0 : transitions[0].length);
+    }
+
+    /**
+     * Returns the tag names that occur in {@code text}.
+     *
+     * @param text the text to search
+     * @return the matching names, as given to {@link #compile}
+     */
+    Set<String> match(String text) {
+        Set<String> found = new HashSet<>();
+        if (originals.isEmpty() || text == null || text.isEmpty()) {
+            return found;
+        }
+        char[] chars = normalize(text).toCharArray();
+        int state = 0;
+        for (int i = 0; i < chars.length; i++) {
+            int symbol = symbol(chars[i], asciiSymbols, otherSymbols);
+            state = symbol < 0 ? 0 : transitions[state][symbol];
+            for (int k : outputs[state]) {
+                int start = i - keyLengths[k] + 1;
+                if (wordStart[k] && start > 0 && isWordChar(chars[start - 1])) {
+                    continue;
+                }
+                if (wordEnd[k] && i + 1 < chars.length && isWordChar(chars[i + 1])) {
+                    continue;
+                }
+                found.addAll(originals.get(k));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the form a tag name is matched in: normalized, without leading or trailing spaces.
+     */
+    static String key(String name) {
+        return normalize(name).strip();
+    }
+
+    /**
+     * Returns a PostgreSQL regular expression that matches a {@linkplain #key key} in normalized
+     * text with the same word-boundary rule as {@link #match}, for matching in the database.
+     */
+    static String wordRegex(String key) {
+        StringBuilder regex = new StringBuilder();
+        if (isWordChar(key.charAt(0))) {
+            regex.append("(^|[^[:alnum:]])");
+        }
+        for (char c : key.toCharArray()) {
+            // A backslash makes any non-alphanumeric character literal
+            if (!isWordChar(c) && c != ' ') {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        if (isWordChar(key.charAt(key.length() - 1))) {
+            regex.append("($|[^[:alnum:]])");
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Lower-cases and turns each run of hyphens and whitespace into one space.
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean separator = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '-' || Character.isWhitespace(c)) {
+                if (!separator) {
+                    normalized.append(' ');
+                    separator = true;
+                }
+            } else {
+                normalized.append(Character.toLowerCase(c));
+                separator = false;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int symbol(char c, int[] asciiSymbols, Map<Character, Integer> otherSymbols) {
+        if (c < ASCII) {
+            return asciiSymbols[c];
+        }
+        Integer symbol = otherSymbols.get(c);
+        return symbol == null ? -1 : symbol;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static int[] newRow(int size) {
+        int[] row = new int[size];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] merge(List<Integer> own, int[] inherited) {
+        int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            merged[inherited.length + i] = own.get(i);
+        }
+        return merged;
+    }
+}
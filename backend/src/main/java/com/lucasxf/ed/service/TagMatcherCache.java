@@ -0,0 +1,76 @@
+package com.lucasxf.ed.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the users' compiled {@link TagMatcher}s, least recently used first.
+ *
+ * <p>A matcher's transition table grows with the number of states times the number of distinct
+ * characters of the names, so the cache is bounded by the total {@linkplain TagMatcher#tableSize
+ * table size} as well as by the number of matchers: the least recently used matchers are evicted
+ * until a new one fits. A matcher larger than the whole budget is not cached.
+ *
+ * <p>Thread-safe.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+final class TagMatcherCache {
+
+    private final int maxMatchers;
+    private final long maxTableSize;
+    private final Map<UUID, TagMatcher> matchers = new LinkedHashMap<>(16, 0.75f, true);
+    private long tableSize;
+
+    TagMatcherCache(int maxMatchers, long maxTableSize) {
+        this.maxMatchers = maxMatchers;
+        this.maxTableSize = maxTableSize;
+    }
+
+    /**
+     * Returns the user's cached matcher if it was compiled from exactly these names.
+     *
+     * @param userId the user
+     * @param names  the user's tag names, sorted and distinct
+     * @return the matcher, or {@code null} if there is none for these names
+     */
+    synchronized TagMatcher get(UUID userId, List<String> names) {
+        TagMatcher cached = matchers.get(userId);
+        return cached != null && cached.names().equals(names) ? cached : null;
+    }
+
+    /**
+     * Caches a user's matcher, replacing the previous one.
+     *
+     * @param userId  the user
+     * @param matcher the matcher compiled for the user's current names
+     */
+    synchronized void put(UUID userId, TagMatcher matcher) {
+        TagMatcher previous = matchers.remove(userId);
+        if (previous != null) {
+            tableSize -= previous.tableSize();
+        }
+        if (matcher.tableSize() > maxTableSize) {
+            return;
+        }
+        Iterator<TagMatcher> eldest = matchers.values().iterator();
+        while (eldest.hasNext() && (matchers.size() >= maxMatchers || tableSize + matcher.tableSize() > maxTableSize)) {
+            tableSize -= eldest.next().tableSize();
+            eldest.remove();
+        }
+        matchers.put(userId, matcher);
+        tableSize += matcher.tableSize();
+    }
+
+    synchronized int size() {
+        return matchers.size();
+    }
+
+    synchronized long tableSize() {
+        return tableSize;
+    }
+}
@@ -18,6 +18,8 @@ import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.CreateTagRequest;
 import com.lucasxf.ed.dto.TagResponse;
 import com.lucasxf.ed.dto.UpdateTagRequest;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
 import com.lucasxf.ed.exception.PokNotFoundException;
 import com.lucasxf.ed.exception.TagConflictException;
 import com.lucasxf.ed.exception.TagNotFoundException;
@@ -49,16 +51,22 @@ public class TagService {
     private final UserTagRepository userTagRepository;
     private final PokTagRepository pokTagRepository;
     private final PokRepository pokRepository;
+    private final UserChangeVersionService userChangeVersionService;
+    private final PokEventBus pokEventBus;
     private final Random random = new Random();
 
     public TagService(TagRepository tagRepository,
                       UserTagRepository userTagRepository,
                       PokTagRepository pokTagRepository,
-                      PokRepository pokRepository) {
+                      PokRepository pokRepository,
+                      UserChangeVersionService userChangeVersionService,
+                      PokEventBus pokEventBus) {
         this.tagRepository = tagRepository;
         this.userTagRepository = userTagRepository;
         this.pokTagRepository = pokTagRepository;
         this.pokRepository = pokRepository;
+        this.userChangeVersionService = userChangeVersionService;
+        this.pokEventBus = pokEventBus;
     }
 
     // ===== createOrReuse =====
@@ -88,6 +96,9 @@ public class TagService {
 
         String color = DEFAULT_COLORS.get(random.nextInt(DEFAULT_COLORS.size()));
         UserTag userTag = userTagRepository.save(new UserTag(userId, globalTag, color));
+        userChangeVersionService.markChanged(userId);
+        pokEventBus.publish(new PokEvent.TagChanged(userId, globalTag.getId(), List.of()));
+        pokEventBus.publish(new PokEvent.TagSubscribed(userId, globalTag.getId()));
         return TagResponse.from(userTag);
     }
 
@@ -137,13 +148,20 @@ public class TagService {
         Tag newGlobalTag = tagRepository.findByNameIgnoreCase(newName)
                 .orElseGet(() -> tagRepository.save(new Tag(newName)));
 
-        List<UUID> userPokIds = pokRepository.findIdsByUserId(userId);
-        if (!userPokIds.isEmpty()) {
-            pokTagRepository.reassignTag(oldUserTag.getTag().getId(), newGlobalTag.getId(), userPokIds);
+        // Only the POKs carrying the old tag change, so only they are reassigned, reindexed and reported
+        List<UUID> taggedPokIds =
+                pokTagRepository.findActivePokIdsByTagIdAndUserId(oldUserTag.getTag().getId(), userId);
+        if (!taggedPokIds.isEmpty()) {
+            pokTagRepository.reassignTag(oldUserTag.getTag().getId(), newGlobalTag.getId(), taggedPokIds);
         }
 
         // Create new subscription, preserve old color
         UserTag newUserTag = userTagRepository.save(new UserTag(userId, newGlobalTag, oldUserTag.getColor()));
+        userChangeVersionService.markChanged(userId);
+        if (!taggedPokIds.isEmpty()) {
+            pokEventBus.publish(new PokEvent.TagChanged(userId, newGlobalTag.getId(), taggedPokIds));
+        }
+        pokEventBus.publish(new PokEvent.TagSubscribed(userId, newGlobalTag.getId()));
         return TagResponse.from(newUserTag);
     }
 
@@ -160,13 +178,18 @@ public class TagService {
     public void deleteTag(UUID userTagId, UUID userId) {
         UserTag userTag = findOwnedUserTag(userTagId, userId);
 
-        List<UUID> userPokIds = pokRepository.findIdsByUserId(userId);
-        if (!userPokIds.isEmpty()) {
-            pokTagRepository.deleteByTagIdAndPokIdIn(userTag.getTag().getId(), userPokIds);
+        List<UUID> taggedPokIds =
+                pokTagRepository.findActivePokIdsByTagIdAndUserId(userTag.getTag().getId(), userId);
+        if (!taggedPokIds.isEmpty()) {
+            pokTagRepository.deleteByTagIdAndPokIdIn(userTag.getTag().getId(), taggedPokIds);
         }
 
         userTag.softDelete();
         userTagRepository.save(userTag);
+        userChangeVersionService.markChanged(userId);
+        if (!taggedPokIds.isEmpty()) {
+            pokEventBus.publish(new PokEvent.TagChanged(userId, userTag.getTag().getId(), taggedPokIds));
+        }
     }
 
     // ===== assignTag =====
@@ -187,7 +210,12 @@ public class TagService {
         pokTagRepository.findByPokIdAndTagId(pokId, userTag.getTag().getId())
                 .ifPresentOrElse(
                         existing -> { /* idempotent — do nothing */ },
-                        () -> pokTagRepository.save(new PokTag(pokId, userTag.getTag().getId(), PokTag.Source.MANUAL))
+                        () -> {
+                            pokTagRepository.save(new PokTag(pokId, userTag.getTag().getId(), PokTag.Source.MANUAL));
+                            userChangeVersionService.markChanged(userId);
+                            pokEventBus.publish(new PokEvent.TagChanged(userId, userTag.getTag().getId(),
+                                    List.of(pokId)));
+                        }
                 );
     }
 
@@ -207,7 +235,11 @@ public class TagService {
         findOwnedPok(pokId, userId);
 
         pokTagRepository.findByPokIdAndTagId(pokId, userTag.getTag().getId())
-                .ifPresent(pokTagRepository::delete);
+                .ifPresent(pokTag -> {
+                    pokTagRepository.delete(pokTag);
+                    userChangeVersionService.markChanged(userId);
+                    pokEventBus.publish(new PokEvent.TagChanged(userId, userTag.getTag().getId(), List.of(pokId)));
+                });
     }
 
     // ===== assignTagsToNewPok =====
@@ -1,5 +1,7 @@
 package com.lucasxf.ed.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -10,10 +12,13 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.lucasxf.ed.domain.Pok;
 import com.lucasxf.ed.domain.PokTag;
 import com.lucasxf.ed.domain.PokTagSuggestion;
 import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.TagSuggestionResponse;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
 import com.lucasxf.ed.exception.TagNotFoundException;
 import com.lucasxf.ed.repository.PokRepository;
 import com.lucasxf.ed.repository.PokTagRepository;
@@ -28,6 +33,16 @@ import com.lucasxf.ed.repository.UserTagRepository;
  * title and content of a POK (case-insensitive, whole-word). Suggestions are stored
  * as {@link PokTagSuggestion} records and surfaced to the user for approval or rejection.
  *
+ * <p>Matching uses a {@link TagMatcher} compiled from the user's tag names, so each POK is
+ * scanned once whatever the number of tags. The last {@value #MAX_CACHED_MATCHERS} users'
+ * matchers, with at most {@value #MAX_CACHED_TABLE_SIZE} transition table cells in total, are
+ * kept and reused until their tag names change.
+ *
+ * <p>Once a POK is embedded, a semantic stage also suggests the tags whose POKs it resembles,
+ * even if it never names them: "concurrency" for a POK about mutexes. Each tag of a user is
+ * represented by the centroid of the embeddings of the POKs carrying it, kept current by the
+ * database as POKs are tagged and embedded (see {@code user_tag_centroids}).
+ *
  * @author Lucas Xavier Ferreira
  * @since 2026-02-25
  */
@@ -35,22 +50,38 @@ import com.lucasxf.ed.repository.UserTagRepository;
 @Transactional
 public class TagSuggestionService {
 
+    static final int MAX_CACHED_MATCHERS = 1_000;
+    /** Transition table cells the cached matchers may hold in total, about 32 MB. */
+    static final long MAX_CACHED_TABLE_SIZE = 8_000_000;
+    /** Largest cosine distance between a POK and a tag's centroid for the tag to be suggested. */
+    static final double MAX_CENTROID_DISTANCE = 0.35;
+    /** Fewest embedded POKs a tag needs before its centroid says anything about the tag. */
+    static final int MIN_CENTROID_POKS = 3;
+    static final int MAX_SEMANTIC_SUGGESTIONS_PER_POK = 3;
+
     private final PokRepository pokRepository;
     private final TagRepository tagRepository;
     private final UserTagRepository userTagRepository;
     private final PokTagRepository pokTagRepository;
     private final PokTagSuggestionRepository suggestionRepository;
+    private final UserChangeVersionService userChangeVersionService;
+    private final PokEventBus pokEventBus;
+    private final TagMatcherCache matchers = new TagMatcherCache(MAX_CACHED_MATCHERS, MAX_CACHED_TABLE_SIZE);
 
     public TagSuggestionService(PokRepository pokRepository,
                                 TagRepository tagRepository,
                                 UserTagRepository userTagRepository,
                                 PokTagRepository pokTagRepository,
-                                PokTagSuggestionRepository suggestionRepository) {
+                                PokTagSuggestionRepository suggestionRepository,
+                                UserChangeVersionService userChangeVersionService,
+                                PokEventBus pokEventBus) {
         this.pokRepository = pokRepository;
         this.tagRepository = tagRepository;
         this.userTagRepository = userTagRepository;
         this.pokTagRepository = pokTagRepository;
         this.suggestionRepository = suggestionRepository;
+        this.userChangeVersionService = userChangeVersionService;
+        this.pokEventBus = pokEventBus;
     }
 
     // ===== suggestTagsForPok =====
@@ -59,12 +90,16 @@ public class TagSuggestionService {
      * Generates tag suggestions for a POK by matching the user's active tags against
      * the POK's title and content.
      *
-     * <p>Runs asynchronously after POK creation. Skips:
+     * <p>Runs asynchronously; used by the backfill. Skips:
      * <ul>
      *   <li>Tags already assigned to the POK</li>
-     *   <li>Tags that already have a PENDING suggestion</li>
+     *   <li>Tags already suggested for the POK, whatever the user decided (left to the
+     *       unique index on {@code (pok_id, lower(suggested_name))})</li>
      * </ul>
      *
+     * <p>Costs one query for the POK's assigned tags and one INSERT for all new suggestions,
+     * whatever the number of tags.
+     *
      * @param pokId  the POK to analyze
      * @param userId the owner's ID
      */
@@ -75,33 +110,125 @@ public class TagSuggestionService {
             return;
         }
         var pok = pokOpt.get();
-        String text = (pok.getTitle() + " " + pok.getContent()).toLowerCase();
 
         List<UserTag> userTags = userTagRepository.findByUserIdAndDeletedAtIsNull(userId);
-        List<PokTagSuggestion> existing = suggestionRepository.findByPokIdAndUserId(pokId, userId);
-        Set<String> alreadySuggested = existing.stream()
-                .map(s -> s.getSuggestedName().toLowerCase())
+        Set<String> matched = matcherFor(userId, userTags).match(text(pok));
+        if (matched.isEmpty()) {
+            return;
+        }
+        Set<UUID> assigned = pokTagRepository.findByPokId(pokId).stream()
+                .map(PokTag::getTagId)
                 .collect(Collectors.toSet());
 
+        List<UUID> pokIds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
         for (UserTag userTag : userTags) {
             String tagName = userTag.getTag().getName();
-            String tagLower = tagName.toLowerCase();
-
-            // Skip if already assigned
-            if (pokTagRepository.findByPokIdAndTagId(pokId, userTag.getTag().getId()).isPresent()) {
-                continue;
+            if (matched.contains(tagName) && !assigned.contains(userTag.getTag().getId())) {
+                pokIds.add(pokId);
+                names.add(tagName);
             }
+        }
+        insert(userId, pokIds, names);
+    }
 
-            // Skip if already suggested
-            if (alreadySuggested.contains(tagLower)) {
+    /**
+     * Generates tag suggestions for many POKs of one user in one pass. Called by
+     * {@code TagSuggestionEventSubscriber} on its own thread once the POKs are committed.
+     *
+     * <p>Applies the same rules as {@link #suggestTagsForPok}, but loads the POKs, the user's
+     * tags and existing assignments once for the whole batch, and inserts all new suggestions
+     * with one statement.
+     *
+     * @param pokIds the POKs to analyze
+     * @param userId the owner's ID
+     */
+    public void suggestTagsForPoks(List<UUID> pokIds, UUID userId) {
+        List<UserTag> userTags = userTagRepository.findByUserIdAndDeletedAtIsNull(userId);
+        if (userTags.isEmpty() || pokIds.isEmpty()) {
+            return;
+        }
+        Set<String> assigned = pokTagRepository.findByPokIdIn(pokIds).stream()
+                .map(pt -> pt.getPokId() + ":" + pt.getTagId())
+                .collect(Collectors.toSet());
+
+        TagMatcher matcher = matcherFor(userId, userTags);
+        List<UUID> suggestedPokIds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (var pok : pokRepository.findAllById(pokIds)) {
+            if (pok.isDeleted() || !pok.getUserId().equals(userId)) {
                 continue;
             }
-
-            // Match: tag name appears in title or content (simple substring match)
-            if (containsKeyword(text, tagLower)) {
-                suggestionRepository.save(new PokTagSuggestion(pokId, userId, tagName));
+            Set<String> matched = matcher.match(text(pok));
+            for (UserTag userTag : userTags) {
+                String tagName = userTag.getTag().getName();
+                if (matched.contains(tagName) && !assigned.contains(pok.getId() + ":" + userTag.getTag().getId())) {
+                    suggestedPokIds.add(pok.getId());
+                    names.add(tagName);
+                }
             }
         }
+        insert(userId, suggestedPokIds, names);
+    }
+
+    // ===== suggestTagOnExistingPoks =====
+
+    /**
+     * Suggests a tag the user just subscribed to on their existing POKs. Called by
+     * {@code TagSuggestionEventSubscriber} once the subscription is committed, so a new tag does
+     * not wait for the admin backfill to be suggested on older POKs.
+     *
+     * <p>The matching POKs are found by the database in one query over a trigram index on their
+     * normalized text, with the same rules as {@link #suggestTagsForPok} (whole words, POKs that
+     * have or were suggested the tag left out), and suggested with one INSERT.
+     *
+     * @param tagId  the global tag subscribed to
+     * @param userId the subscriber
+     * @return the POKs the tag was suggested on
+     */
+    public List<UUID> suggestTagOnExistingPoks(UUID tagId, UUID userId) {
+        var userTag = userTagRepository.findByUserIdAndTagIdAndDeletedAtIsNull(userId, tagId);
+        if (userTag.isEmpty()) {
+            return List.of();  // Unsubscribed again before the pass ran
+        }
+        String name = userTag.get().getTag().getName();
+        String key = TagMatcher.key(name);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        String likePattern = "%" + key.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        List<UUID> pokIds = pokRepository.findIdsMatchingTagName(userId, tagId, name, likePattern,
+                TagMatcher.wordRegex(key));
+        insert(userId, pokIds, Collections.nCopies(pokIds.size(), name));
+        return pokIds;
+    }
+
+    // ===== suggestTagsByEmbedding =====
+
+    /**
+     * Suggests the user's tags whose centroid is semantically close to each of the given freshly
+     * embedded POKs. Called by {@code EmbeddingEventSubscriber} once the embeddings are saved.
+     *
+     * <p>Scores every POK against all of the user's tag centroids in one INSERT ... SELECT: at most
+     * {@value #MAX_SEMANTIC_SUGGESTIONS_PER_POK} tags per POK, within a cosine distance of
+     * {@value #MAX_CENTROID_DISTANCE}, and only tags on at least {@value #MIN_CENTROID_POKS}
+     * embedded POKs. Tags already assigned or suggested are skipped, as in
+     * {@link #suggestTagsForPok}.
+     *
+     * @param pokIds the embedded POKs
+     * @param userId the owner's ID
+     * @return whether any suggestion was added
+     */
+    public boolean suggestTagsByEmbedding(List<UUID> pokIds, UUID userId) {
+        if (pokIds.isEmpty()) {
+            return false;
+        }
+        int inserted = suggestionRepository.insertPendingNearTagCentroids(userId, pokIds.toArray(UUID[]::new),
+                MAX_CENTROID_DISTANCE, MIN_CENTROID_POKS, MAX_SEMANTIC_SUGGESTIONS_PER_POK);
+        if (inserted > 0) {
+            userChangeVersionService.markChanged(userId);
+        }
+        return inserted > 0;
     }
 
     // ===== getPendingSuggestions =====
@@ -144,6 +271,7 @@ public class TagSuggestionService {
             // Global tag no longer exists (edge case) — just mark approved
             suggestion.approve();
             suggestionRepository.save(suggestion);
+            userChangeVersionService.markChanged(userId);
             return;
         }
 
@@ -155,10 +283,12 @@ public class TagSuggestionService {
             existingAssignment.get().setSource(PokTag.Source.AI_EDITED);
         } else {
             pokTagRepository.save(new PokTag(suggestion.getPokId(), tag.getId(), PokTag.Source.AI));
+            pokEventBus.publish(new PokEvent.TagChanged(userId, tag.getId(), List.of(suggestion.getPokId())));
         }
 
         suggestion.approve();
         suggestionRepository.save(suggestion);
+        userChangeVersionService.markChanged(userId);
     }
 
     // ===== rejectSuggestion =====
@@ -174,6 +304,7 @@ public class TagSuggestionService {
         PokTagSuggestion suggestion = findOwnedSuggestion(suggestionId, userId);
         suggestion.reject();
         suggestionRepository.save(suggestion);
+        userChangeVersionService.markChanged(userId);
     }
 
     // ===== helpers =====
@@ -184,17 +315,40 @@ public class TagSuggestionService {
     }
 
     /**
-     * Returns {@code true} if {@code text} contains {@code keyword}.
-     * Normalizes hyphens to spaces so that tag "spring-boot" matches "Spring Boot" in text.
+     * Returns the matcher for the user's current tags, compiling it only if the tag names changed
+     * since it was last compiled. The comparison costs one pass over the names, not the POK text.
+     */
+    private TagMatcher matcherFor(UUID userId, List<UserTag> userTags) {
+        List<String> names = userTags.stream()
+                .map(userTag -> userTag.getTag().getName())
+                .distinct()
+                .sorted()
+                .toList();
+        TagMatcher cached = matchers.get(userId, names);
+        if (cached != null) {
+            return cached;
+        }
+        TagMatcher compiled = TagMatcher.compile(names);
+        matchers.put(userId, compiled);
+        return compiled;
+    }
+
+    /**
+     * Inserts PENDING suggestions for the (POK, name) pairs at the same index of both lists; pairs
+     * suggested before are skipped by the database.
      */
-    private boolean containsKeyword(String text, String keyword) {
-        // Direct match (e.g. "docker" in "I use docker daily")
-        if (text.contains(keyword)) {
-            return true;
+    private void insert(UUID userId, List<UUID> pokIds, List<String> names) {
+        if (pokIds.isEmpty()) {
+            return;
         }
-        // Hyphen-normalized match (e.g. "spring-boot" matches "spring boot")
-        String normalizedText = text.replace('-', ' ');
-        String normalizedKeyword = keyword.replace('-', ' ');
-        return normalizedText.contains(normalizedKeyword);
+        int inserted = suggestionRepository.insertPendingIgnoringDuplicates(
+                userId, pokIds.toArray(UUID[]::new), names.toArray(String[]::new));
+        if (inserted > 0) {
+            userChangeVersionService.markChanged(userId);
+        }
+    }
+
+    private static String text(Pok pok) {
+        return pok.getTitle() == null ? pok.getContent() : pok.getTitle() + " " + pok.getContent();
     }
 }
@@ -0,0 +1,341 @@
+package com.lucasxf.ed.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the difference between two texts as a compact edit script, and applies it back.
+ *
+ * <p>The script is a sequence of operations on the base text, read left to right:
+ * <ul>
+ *   <li>{@code =n} — copy the next {@code n} characters of the base</li>
+ *   <li>{@code -n} — skip the next {@code n} characters of the base</li>
+ *   <li>{@code +n:text} — insert the {@code n} characters that follow the colon</li>
+ * </ul>
+ * For example, turning {@code "Records are great"} into {@code "Records are immutable"} gives
+ * {@code =12-5+9:immutable}.
+ *
+ * <p>Lines are diffed with Myers' algorithm; where a block of lines was replaced, the common
+ * prefix and suffix of the old and new blocks are kept as copies, so editing a word inside a long
+ * paragraph costs about as much as the word itself. Diffs needing more than {@value #MAX_EDIT_DISTANCE}
+ * line edits fall back to replacing everything between the common prefix and suffix.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+final class TextDelta {
+
+    private static final int MAX_EDIT_DISTANCE = 1_000;
+
+    private TextDelta() {
+    }
+
+    /**
+     * Computes the edit script that turns {@code base} into {@code target}.
+     *
+     * @param base   the earlier text
+     * @param target the later text
+     * @return the edit script; a single copy if the texts are equal
+     */
+    static String encode(String base, String target) {
+        List<String> a = lines(base);
+        List<String> b = lines(target);
+
+        int prefix = 0;
+        while (prefix < a.size() && prefix < b.size() && a.get(prefix).equals(b.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.size() - prefix && suffix < b.size() - prefix
+            && a.get(a.size() - 1 - suffix).equals(b.get(b.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        Script script = new Script();
+        script.copy(length(a, 0, prefix));
+        List<String> oldMiddle = a.subList(prefix, a.size() - suffix);
+        List<String> newMiddle = b.subList(prefix, b.size() - suffix);
+        boolean[][] edits = diff(oldMiddle, newMiddle);
+        if (edits == null) {
+            script.replace(String.join("", oldMiddle), String.join("", newMiddle));
+        } else {
+            emit(script, oldMiddle, newMiddle, edits[0], edits[1]);
+        }
+        script.copy(length(a, a.size() - suffix, a.size()));
+        return script.toString();
+    }
+
+    /**
+     * Applies an edit script produced by {@link #encode} to its base text.
+     *
+     * @param base  the text the script was computed from
+     * @param delta the edit script
+     * @return the target text
+     * @throws IllegalStateException if the script does not fit the base text
+     */
+    static String apply(String base, String delta) {
+        StringBuilder result = new StringBuilder(base.length() + delta.length());
+        replay(base, delta, (kind, from, to) -> {
+            switch (kind) {
+                case EQUAL -> result.append(base, from, to);
+                case INSERT -> result.append(delta, from, to);
+                case DELETE -> {
+                }
+            }
+        });
+        return result.toString();
+    }
+
+    /**
+     * Expands an edit script into the text it keeps, removes and inserts, for display.
+     *
+     * @param base  the text the script was computed from
+     * @param delta the edit script
+     * @return the edits in order; applying them to {@code base} gives the target text
+     * @throws IllegalStateException if the script does not fit the base text
+     */
+    static List<Edit> edits(String base, String delta) {
+        List<Edit> edits = new ArrayList<>();
+        replay(base, delta, (kind, from, to) ->
+            edits.add(new Edit(kind, kind == Edit.Kind.INSERT ? delta.substring(from, to) : base.substring(from, to))));
+        return edits;
+    }
+
+    private static void replay(String base, String delta, OperationHandler handler) {
+        int position = 0;
+        int i = 0;
+        while (i < delta.length()) {
+            char op = delta.charAt(i++);
+            int start = i;
+            while (i < delta.length() && Character.isDigit(delta.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                throw new IllegalStateException("Malformed delta at offset " + start);
+            }
+            int n = Integer.parseInt(delta, start, i, 10);
+            switch (op) {
+                case '=', '-' -> {
+                    if (position + n > base.length()) {
+                        throw new IllegalStateException("Delta reads past the end of its base text");
+                    }
+                    handler.accept(op == '=' ? Edit.Kind.EQUAL : Edit.Kind.DELETE, position, position + n);
+                    position += n;
+                }
+                case '+' -> {
+                    if (i >= delta.length() || delta.charAt(i) != ':' || i + 1 + n > delta.length()) {
+                        throw new IllegalStateException("Malformed insertion at offset " + start);
+                    }
+                    handler.accept(Edit.Kind.INSERT, i + 1, i + 1 + n);
+                    i += 1 + n;
+                }
+                default -> throw new IllegalStateException("Unknown delta operation '" + op + "'");
+            }
+        }
+        if (position != base.length()) {
+            throw new IllegalStateException("Delta does not cover its base text");
+        }
+    }
+
+    /**
+     * Walks the line diff, copying kept lines and emitting each run of deleted/inserted lines as
+     * one character-level replacement.
+     */
+    private static void emit(Script script, List<String> a, List<String> b, boolean[] deleted, boolean[] inserted) {
+        int x = 0;
+        int y = 0;
+        while (x < a.size() || y < b.size()) {
+            if (x < a.size() && y < b.size() && !deleted[x] && !inserted[y]) {
+                script.copy(a.get(x).length());
+                x++;
+                y++;
+                continue;
+            }
+            StringBuilder removed = new StringBuilder();
+            StringBuilder added = new StringBuilder();
+            while (x < a.size() && deleted[x]) {
+                removed.append(a.get(x++));
+            }
+            while (y < b.size() && inserted[y]) {
+                added.append(b.get(y++));
+            }
+            script.replace(removed.toString(), added.toString());
+        }
+    }
+
+    /**
+     * Myers' O(ND) diff over line IDs. Returns which lines of {@code a} are deleted and which
+     * lines of {@code b} are inserted, or {@code null} if the edit distance exceeds the cap.
+     */
+    private static boolean[][] diff(List<String> a, List<String> b) {
+        Map<String, Integer> ids = new HashMap<>();
+        int[] left = a.stream().mapToInt(line -> ids.computeIfAbsent(line, k -> ids.size())).toArray();
+        int[] right = b.stream().mapToInt(line -> ids.computeIfAbsent(line, k -> ids.size())).toArray();
+        int n = left.length;
+        int m = right.length;
+        int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]))
+                    ? v[offset + k + 1]
+                    : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && left[x] == right[y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+                    return backtrack(trace, n, m);
+                }
+            }
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+        }
+        return null;
+    }
+
+    private static boolean[][] backtrack(List<int[]> trace, int n, int m) {
+        boolean[] deleted = new boolean[n];
+        boolean[] inserted = new boolean[m];
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            // previous holds diagonals -(d-1)..(d-1), so diagonal j is at index j + d - 1
+            boolean down = k == -d || (k != d && previous[k - 1 + d - 1] < previous[k + 1 + d - 1]);
+            int previousK = down ? k + 1 : k - 1;
+            int previousX = previous[previousK + d - 1];
+            int previousY = previousX - previousK;
+            while (x > previousX && y > previousY) {
+                x--;
+                y--;
+            }
+            if (down) {
+                inserted[previousY] = true;
+            } else {
+                deleted[previousX] = true;
+            }
+            x = previousX;
+            y = previousY;
+        }
+        return new boolean[][]{deleted, inserted};
+    }
+
+    /**
+     * Splits text into lines, each keeping its trailing line break.
+     */
+    private static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines.add(text.substring(start, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            lines.add(text.substring(start));
+        }
+        return lines;
+    }
+
+    private static int length(List<String> lines, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            length += lines.get(i).length();
+        }
+        return length;
+    }
+
+    /**
+     * One run of kept, removed or inserted text.
+     */
+    record Edit(Kind kind, String text) {
+
+        enum Kind {
+            EQUAL,
+            DELETE,
+            INSERT
+        }
+    }
+
+    /**
+     * Receives the operations of a script: {@code [from, to)} ranges of the base text for
+     * EQUAL and DELETE, of the script itself for INSERT.
+     */
+    @FunctionalInterface
+    private interface OperationHandler {
+        void accept(Edit.Kind kind, int from, int to);
+    }
+
+    /**
+     * Builds an edit script, merging adjacent operations of the same kind.
+     */
+    private static final class Script {
+        private final StringBuilder out = new StringBuilder();
+        private char pendingOp;
+        private int pendingCount;
+
+        void copy(int n) {
+            pending('=', n);
+        }
+
+        /**
+         * Replaces {@code removed} with {@code added}, keeping their common prefix and suffix.
+         */
+        void replace(String removed, String added) {
+            int prefix = 0;
+            int limit = Math.min(removed.length(), added.length());
+            while (prefix < limit && removed.charAt(prefix) == added.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < limit - prefix
+                && removed.charAt(removed.length() - 1 - suffix) == added.charAt(added.length() - 1 - suffix)) {
+                suffix++;
+            }
+            copy(prefix);
+            pending('-', removed.length() - prefix - suffix);
+            String inserted = added.substring(prefix, added.length() - suffix);
+            if (!inserted.isEmpty()) {
+                flush();
+                out.append('+').append(inserted.length()).append(':').append(inserted);
+            }
+            copy(suffix);
+        }
+
+        private void pending(char op, int n) {
+            if (n == 0) {
+                return;
+            }
+            if (pendingOp != op) {
+                flush();
+                pendingOp = op;
+            }
+            pendingCount += n;
+        }
+
+        private void flush() {
+            if (pendingCount > 0) {
+                out.append(pendingOp).append(pendingCount);
+            }
+            pendingOp = 0;
+            pendingCount = 0;
+        }
+
+        @Override
+        public String toString() {
+            flush();
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.lucasxf.ed.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.domain.UserTag;
+import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.dto.TagResponse;
+import com.lucasxf.ed.dto.TimelineItemsResponse;
+import com.lucasxf.ed.dto.TimelineMonthResponse;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.PokTagRepository;
+import com.lucasxf.ed.repository.UserTagRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Server-side aggregation for the POK timeline view.
+ *
+ * <p>The timeline is split into two calls so a multi-year history never has to be downloaded at
+ * once: {@link #getMonths} returns per-month counts from one aggregate query, and
+ * {@link #getMonthItems} loads the POKs of a single month lazily, in keyset-paginated slices.
+ * Months are calendar months of {@code createdAt} in UTC, matching the web client's grouping.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+public class TimelineService {
+
+    private final PokRepository pokRepository;
+    private final PokTagRepository pokTagRepository;
+    private final UserTagRepository userTagRepository;
+
+    public TimelineService(PokRepository pokRepository,
+                           PokTagRepository pokTagRepository,
+                           UserTagRepository userTagRepository) {
+        this.pokRepository = requireNonNull(pokRepository);
+        this.pokTagRepository = requireNonNull(pokTagRepository);
+        this.userTagRepository = requireNonNull(userTagRepository);
+    }
+
+    /**
+     * Returns the number of active POKs per month of creation, newest month first. Months with
+     * no POKs are omitted.
+     *
+     * @param userId the user ID
+     * @return month buckets
+     */
+    @Transactional(readOnly = true)
+    public List<TimelineMonthResponse> getMonths(UUID userId) {
+        return pokRepository.countByCreationMonth(userId).stream()
+            .map(c -> new TimelineMonthResponse(c.getMonth(), c.getPokCount()))
+            .toList();
+    }
+
+    /**
+     * Returns a slice of the POKs created in one month, newest first.
+     *
+     * @param userId the user ID
+     * @param month  the month, formatted as {@code YYYY-MM}
+     * @param cursor the {@code nextCursor} of the previous slice, or {@code null} for the first
+     * @param size   maximum number of POKs in the slice
+     * @return the slice and the cursor for the next one
+     * @throws IllegalArgumentException if {@code month} or {@code cursor} cannot be parsed
+     */
+    @Transactional(readOnly = true)
+    public TimelineItemsResponse getMonthItems(UUID userId, String month, String cursor, int size) {
+        YearMonth yearMonth = parseMonth(month);
+        Instant from = yearMonth.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = yearMonth.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        // Fetch one extra row to learn whether another slice exists without a COUNT
+        Limit limit = Limit.of(size + 1);
+        List<Pok> poks;
+        if (cursor == null || cursor.isEmpty()) {
+            poks = pokRepository.findCreatedBetween(userId, from, to, limit);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            poks = pokRepository.findCreatedBetweenAfter(userId, from, to, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasMore = poks.size() > size;
+        List<Pok> slice = hasMore ? poks.subList(0, size) : poks;
+        String nextCursor = hasMore ? Cursor.of(slice.getLast()).encode() : null;
+
+        log.debug("Timeline month {} for user {}: {} POKs, hasMore={}", yearMonth, userId, slice.size(), hasMore);
+        return new TimelineItemsResponse(yearMonth.toString(), toResponses(userId, slice), nextCursor);
+    }
+
+    /**
+     * Hydrates POKs with their tags using one query for all assignments in the slice.
+     */
+    private List<PokResponse> toResponses(UUID userId, List<Pok> poks) {
+        if (poks.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, UserTag> userTagsByGlobalId = userTagRepository.findByUserIdAndDeletedAtIsNull(userId).stream()
+            .collect(Collectors.toMap(ut -> ut.getTag().getId(), Function.identity(), (a, b) -> a));
+        Map<UUID, List<TagResponse>> tagsByPok = pokTagRepository.findByPokIdIn(poks.stream().map(Pok::getId).toList())
+            .stream()
+            .filter(pt -> userTagsByGlobalId.containsKey(pt.getTagId()))
+            .collect(Collectors.groupingBy(PokTag::getPokId,
+                Collectors.mapping(pt -> TagResponse.from(userTagsByGlobalId.get(pt.getTagId())), Collectors.toList())));
+        return poks.stream()
+            .map(p -> PokResponse.from(p, tagsByPok.getOrDefault(p.getId(), List.of()), List.of()))
+            .toList();
+    }
+
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported month format: '" + month + "'. Expected YYYY-MM (e.g. 2026-01)");
+        }
+    }
+
+    /**
+     * Keyset position in {@code createdAt DESC, id DESC} order, encoded as URL-safe Base64 so
+     * clients treat it as opaque.
+     */
+    record Cursor(Instant createdAt, UUID id) {
+
+        static Cursor of(Pok pok) {
+            return new Cursor(pok.getCreatedAt(), pok.getId());
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed timeline cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.lucasxf.ed.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-user monotonic change counter.
+ *
+ * <p>Every write that can change what a user sees in a list or search (POKs, tag subscriptions,
+ * POK–tag assignments, tag suggestions, embeddings) calls {@link #markChanged(UUID)}. Readers
+ * include {@link #current(UUID)} in cache keys, so a bump invalidates every cached read for that
+ * user without having to enumerate the entries.
+ *
+ * <p>When called inside a transaction the bump is deferred until after commit. Bumping earlier
+ * would let a concurrent reader observe the new version while still reading pre-commit rows,
+ * and cache stale data under a key that is supposed to be fresh.
+ *
+ * <p>Counters live in memory and start from zero on every boot; they are only meaningful to
+ * in-process caches that are reset along with them. Anything handed to clients (ETags) must use
+ * {@link #token(UUID)}, which also identifies the boot.
+ *
+ * <p>Versions come from one clock shared by all users, and only the last
+ * {@value #MAX_TRACKED_USERS} users to write or read are remembered. A forgotten user's version
+ * is the highest version forgotten so far, which is at least their own last version and was never
+ * handed out for different data, so forgetting a user costs a cache miss, never a stale hit.
+ *
+ * <p>This assumes a single application instance. A write handled by one instance does not bump
+ * the counters of another, whose caches and ETags would keep serving the data from before the
+ * write. Running several instances needs a shared version (e.g. a column on {@code users}) first.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Service
+public class UserChangeVersionService {
+
+    static final int MAX_TRACKED_USERS = 100_000;
+
+    /** Versions of recently seen users, least recently used first; guarded by itself. */
+    private final Map<UUID, Long> versions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            if (size() <= maxTrackedUsers) {
+                return false;
+            }
+            forgotten = Math.max(forgotten, eldest.getValue());
+            return true;
+        }
+    };
+    private final int maxTrackedUsers;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long clock;
+    /** Version of every user not in {@link #versions}. */
+    private long forgotten;
+
+    public UserChangeVersionService() {
+        this(MAX_TRACKED_USERS);
+    }
+
+    UserChangeVersionService(int maxTrackedUsers) {
+        this.maxTrackedUsers = maxTrackedUsers;
+    }
+
+    /**
+     * Returns the current change version for a user.
+     *
+     * @param userId the user's ID
+     * @return the version (0 if nobody has written anything since boot)
+     */
+    public long current(UUID userId) {
+        synchronized (versions) {
+            Long version = versions.get(userId);
+            return version == null ? forgotten : version;
+        }
+    }
+
+    /**
+     * Returns the user's current change version qualified by this boot, e.g. {@code "mb2x0k1q.42"}.
+     * Unlike {@link #current(UUID)}, two tokens are only equal if nothing changed in between, even
+     * across restarts.
+     *
+     * @param userId the user's ID
+     * @return the version token
+     */
+    public String token(UUID userId) {
+        return epoch + "." + current(userId);
+    }
+
+    /**
+     * Records that the user's data changed. Deferred to after commit when a transaction is active.
+     *
+     * @param userId the user whose data changed
+     */
+    public void markChanged(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(userId);
+                }
+            });
+        } else {
+            increment(userId);
+        }
+    }
+
+    private void increment(UUID userId) {
+        synchronized (versions) {
+            versions.put(userId, ++clock);
+        }
+    }
+}
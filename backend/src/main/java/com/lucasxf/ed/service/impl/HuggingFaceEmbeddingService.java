@@ -9,7 +9,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * {@link EmbeddingService} backed by the HuggingFace Inference API.
@@ -48,25 +50,62 @@ public class HuggingFaceEmbeddingService implements EmbeddingService {
      */
     @Override
     public float[] embed(String text) {
+        return withRetries(() -> {
+            float[] response = restClient.post()
+                .uri(props.modelUrl())
+                .header("Authorization", "Bearer " + props.apiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("inputs", text))
+                .retrieve()
+                .body(float[].class);
+
+            if (response == null || response.length == 0) {
+                throw new EmbeddingUnavailableException(
+                    "HuggingFace returned an empty embedding response");
+            }
+            return response;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Sends all texts in one request; the API accepts a list of inputs and returns one
+     * vector per input. Retries follow the same rules as {@link #embed(String)}.
+     *
+     * @throws EmbeddingUnavailableException if all retries are exhausted, a non-retryable
+     *         error occurs, or the response does not contain one vector per input
+     */
+    @Override
+    public List<float[]> embedAll(List<String> texts) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        return withRetries(() -> {
+            float[][] response = restClient.post()
+                .uri(props.modelUrl())
+                .header("Authorization", "Bearer " + props.apiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("inputs", texts))
+                .retrieve()
+                .body(float[][].class);
+
+            if (response == null || response.length != texts.size()) {
+                throw new EmbeddingUnavailableException(
+                    "HuggingFace returned " + (response == null ? 0 : response.length)
+                        + " embeddings for " + texts.size() + " inputs");
+            }
+            return List.of(response);
+        });
+    }
+
+    private <T> T withRetries(Supplier<T> call) {
         int maxRetries = props.maxRetries();
         Exception lastException = null;
 
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
-                float[] response = restClient.post()
-                    .uri(props.modelUrl())
-                    .header("Authorization", "Bearer " + props.apiKey())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("inputs", text))
-                    .retrieve()
-                    .body(float[].class);
-
-                if (response == null || response.length == 0) {
-                    throw new EmbeddingUnavailableException(
-                        "HuggingFace returned an empty embedding response");
-                }
-
-                return response;
+                return call.get();
 
             } catch (HttpClientErrorException e) {
                 // 4xx: client error — do not retry, fail immediately
@@ -0,0 +1,31 @@
+-- V13__add_content_simhash_to_poks.sql
+-- Near-duplicate detection: a 64-bit SimHash of each POK's title and content.
+-- Two POKs whose signatures differ in at most 3 bits are reported as likely duplicates.
+--
+-- Lookups use banded LSH: the signature is split into four 16-bit bands, and any pair
+-- within 3 bits must agree on at least one band (pigeonhole). Each band gets its own
+-- expression index so a candidate lookup is four index probes (BitmapOr), never a scan.
+
+ALTER TABLE poks
+    ADD COLUMN content_simhash BIGINT;
+
+CREATE INDEX idx_poks_simhash_band0
+    ON poks (user_id, ((content_simhash >> 48) & 65535))
+    WHERE deleted_at IS NULL AND content_simhash IS NOT NULL;
+
+CREATE INDEX idx_poks_simhash_band1
+    ON poks (user_id, ((content_simhash >> 32) & 65535))
+    WHERE deleted_at IS NULL AND content_simhash IS NOT NULL;
+
+CREATE INDEX idx_poks_simhash_band2
+    ON poks (user_id, ((content_simhash >> 16) & 65535))
+    WHERE deleted_at IS NULL AND content_simhash IS NOT NULL;
+
+CREATE INDEX idx_poks_simhash_band3
+    ON poks (user_id, (content_simhash & 65535))
+    WHERE deleted_at IS NULL AND content_simhash IS NOT NULL;
+
+COMMENT ON COLUMN poks.content_simhash IS
+    '64-bit SimHash of title + content (word unigrams and bigrams). '
+    'NULL until computed on create/update or by the admin backfill. '
+    'Indexed per 16-bit band for near-duplicate candidate lookup.';
@@ -0,0 +1,29 @@
+-- V14__add_delta_encoding_to_pok_audit_logs.sql
+-- Compact audit history: periodic snapshots with content deltas in between, instead of full
+-- old/new copies of the content on every entry.
+
+ALTER TABLE pok_audit_logs
+    ADD COLUMN version       INTEGER,
+    ADD COLUMN storage       VARCHAR(10) NOT NULL DEFAULT 'FULL'
+        CHECK (storage IN ('FULL', 'SNAPSHOT', 'DELTA')),
+    ADD COLUMN content_delta TEXT;
+
+-- Number existing entries per POK in chronological order; they keep the FULL format until
+-- compacted (POST /api/v1/admin/audit/compact)
+UPDATE pok_audit_logs a
+SET version = numbered.version
+FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY pok_id ORDER BY occurred_at, id) AS version
+    FROM pok_audit_logs
+) numbered
+WHERE a.id = numbered.id;
+
+ALTER TABLE pok_audit_logs ALTER COLUMN version SET NOT NULL;
+
+-- One entry per version: two concurrent writers cannot both append a delta against the same base
+CREATE UNIQUE INDEX idx_pok_audit_logs_pok_id_version
+    ON pok_audit_logs (pok_id, version);
+
+COMMENT ON COLUMN pok_audit_logs.version IS 'Position of the entry in the POK''s history, starting at 1';
+COMMENT ON COLUMN pok_audit_logs.storage IS 'FULL: old and new values stored; SNAPSHOT: new values only; DELTA: new title and content_delta only';
+COMMENT ON COLUMN pok_audit_logs.content_delta IS 'Edit script from the previous version''s content to this version''s (DELTA entries only)';
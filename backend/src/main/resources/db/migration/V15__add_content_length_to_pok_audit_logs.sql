@@ -0,0 +1,17 @@
+-- V15__add_content_length_to_pok_audit_logs.sql
+-- Lightweight history listing: each audit entry records the length of the content it leaves
+-- behind, so the paginated history can report per-version size changes without loading or
+-- reconstructing any content.
+
+ALTER TABLE pok_audit_logs
+    ADD COLUMN content_length INTEGER;
+
+-- Backfill what can be derived in SQL. DELTA updates only store an edit script, so their
+-- length stays NULL (reported as unknown) — they exist only since V14.
+UPDATE pok_audit_logs
+SET content_length = CASE WHEN action = 'DELETE' THEN 0 ELSE char_length(new_content) END
+WHERE action = 'DELETE' OR storage <> 'DELTA';
+
+COMMENT ON COLUMN pok_audit_logs.content_length IS
+    'Length in characters (code points) of the content after this entry''s change; 0 after a DELETE. '
+    'NULL if unknown.';
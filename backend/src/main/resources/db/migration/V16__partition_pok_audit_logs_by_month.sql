@@ -0,0 +1,83 @@
+-- V16__partition_pok_audit_logs_by_month.sql
+-- Range-partition the audit trail by calendar month (UTC) of occurred_at, so old history can be
+-- archived by dropping whole partitions instead of DELETE + VACUUM, and each month's indexes stay
+-- small. AuditLogMaintenanceService creates future partitions ahead of time and archives expired
+-- ones (audit.retention-months).
+--
+-- Primary and unique keys of a partitioned table must include the partition key, so the primary
+-- key becomes (id, occurred_at) and the (pok_id, version) index is no longer unique; history
+-- writes lock the POK's row instead to assign versions one writer at a time.
+
+ALTER TABLE pok_audit_logs RENAME TO pok_audit_logs_unpartitioned;
+ALTER TABLE pok_audit_logs_unpartitioned RENAME CONSTRAINT pok_audit_logs_pkey TO pok_audit_logs_unpartitioned_pkey;
+ALTER INDEX idx_pok_audit_logs_pok_id_occurred_at RENAME TO idx_pok_audit_logs_unpartitioned_pok_id_occurred_at;
+ALTER INDEX idx_pok_audit_logs_pok_id_version RENAME TO idx_pok_audit_logs_unpartitioned_pok_id_version;
+
+CREATE TABLE pok_audit_logs (
+    id             UUID NOT NULL DEFAULT uuid_generate_v4(),
+    pok_id         UUID NOT NULL REFERENCES poks(id) ON DELETE RESTRICT,
+    user_id        UUID NOT NULL,
+    action         VARCHAR(10) NOT NULL CHECK (action IN ('CREATE', 'UPDATE', 'DELETE')),
+    old_title      TEXT,
+    new_title      TEXT,
+    old_content    TEXT,
+    new_content    TEXT,
+    occurred_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    version        INTEGER NOT NULL,
+    storage        VARCHAR(10) NOT NULL DEFAULT 'FULL' CHECK (storage IN ('FULL', 'SNAPSHOT', 'DELTA')),
+    content_delta  TEXT,
+    content_length INTEGER,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- One partition per month from the oldest entry through three months ahead. There is no default
+-- partition: an entry outside every partition fails loudly rather than landing somewhere that
+-- retention never archives.
+DO $$
+DECLARE
+    current_month DATE := date_trunc('month', NOW() AT TIME ZONE 'UTC')::date;
+    month         DATE;
+BEGIN
+    SELECT COALESCE(MIN(date_trunc('month', occurred_at AT TIME ZONE 'UTC'))::date, current_month)
+    INTO month
+    FROM pok_audit_logs_unpartitioned;
+
+    WHILE month <= current_month + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF pok_audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'pok_audit_logs_y' || to_char(month, 'YYYY') || 'm' || to_char(month, 'MM'),
+                       month || ' 00:00:00+00',
+                       (month + INTERVAL '1 month')::date || ' 00:00:00+00');
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO pok_audit_logs (id, pok_id, user_id, action, old_title, new_title, old_content, new_content,
+                            occurred_at, version, storage, content_delta, content_length)
+SELECT id, pok_id, user_id, action, old_title, new_title, old_content, new_content,
+       occurred_at, version, storage, content_delta, content_length
+FROM pok_audit_logs_unpartitioned;
+
+DROP TABLE pok_audit_logs_unpartitioned;
+
+-- Created after the copy; each is propagated to every partition, current and future
+CREATE INDEX idx_pok_audit_logs_pok_id_occurred_at
+    ON pok_audit_logs (pok_id, occurred_at DESC);
+
+CREATE INDEX idx_pok_audit_logs_pok_id_version
+    ON pok_audit_logs (pok_id, version);
+
+COMMENT ON TABLE pok_audit_logs IS 'Immutable audit trail for all POK create/update/delete operations, range-partitioned by month of occurred_at (UTC)';
+COMMENT ON COLUMN pok_audit_logs.pok_id IS 'FK to poks.id — ON DELETE RESTRICT prevents losing audit history if hard delete is added later';
+COMMENT ON COLUMN pok_audit_logs.user_id IS 'Denormalized user ID — preserved even if user account is deleted';
+COMMENT ON COLUMN pok_audit_logs.action IS 'Operation type: CREATE, UPDATE, or DELETE';
+COMMENT ON COLUMN pok_audit_logs.old_title IS 'Title before the change (FULL entries only; null for CREATE)';
+COMMENT ON COLUMN pok_audit_logs.new_title IS 'Title after the change (null for DELETE)';
+COMMENT ON COLUMN pok_audit_logs.old_content IS 'Content before the change (FULL entries only; null for CREATE)';
+COMMENT ON COLUMN pok_audit_logs.new_content IS 'Content after the change (FULL and SNAPSHOT entries; null for DELETE)';
+COMMENT ON COLUMN pok_audit_logs.occurred_at IS 'Timestamp of the operation; partition key';
+COMMENT ON COLUMN pok_audit_logs.version IS 'Position of the entry in the POK''s history, starting at 1';
+COMMENT ON COLUMN pok_audit_logs.storage IS 'FULL: old and new values stored; SNAPSHOT: new values only; DELTA: new title and content_delta only';
+COMMENT ON COLUMN pok_audit_logs.content_delta IS 'Edit script from the previous version''s content to this version''s (DELTA entries only)';
+COMMENT ON COLUMN pok_audit_logs.content_length IS
+    'Length in characters (code points) of the content after this entry''s change; 0 after a DELETE. '
+    'NULL if unknown.';
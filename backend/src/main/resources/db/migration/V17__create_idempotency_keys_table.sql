@@ -0,0 +1,27 @@
+-- V17__create_idempotency_keys_table.sql
+-- Idempotency-Key dedupe store for POK creation and imports. A retried request with the same key
+-- replays the original result instead of creating the POKs again.
+--
+-- Rows are compact: a created POK is referenced by ID (the replay re-reads it), and only import
+-- summaries are stored as JSON. The primary key serializes concurrent retries: a second INSERT of
+-- the same key waits for the first transaction and then sees its committed row.
+-- IdempotencyService deletes rows older than idempotency.ttl.
+
+CREATE TABLE idempotency_keys (
+    user_id     UUID         NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    idem_key    VARCHAR(255) NOT NULL,
+    operation   VARCHAR(20)  NOT NULL CHECK (operation IN ('CREATE_POK', 'IMPORT')),
+    fingerprint BYTEA,
+    pok_id      UUID,
+    response    JSONB,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (user_id, idem_key)
+);
+
+-- TTL eviction scans by age
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Idempotency-Key claims and results for POK create and import requests';
+COMMENT ON COLUMN idempotency_keys.fingerprint IS 'SHA-256 of the request body (create only); reusing a key with a different body is rejected';
+COMMENT ON COLUMN idempotency_keys.pok_id IS 'POK created by the original CREATE_POK request';
+COMMENT ON COLUMN idempotency_keys.response IS 'PokImportResponse of the original IMPORT request; NULL while it is still running';
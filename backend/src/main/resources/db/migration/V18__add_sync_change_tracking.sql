@@ -0,0 +1,94 @@
+-- V18__add_sync_change_tracking.sql
+-- Change tracking for the incremental sync feed (GET /api/v1/sync/changes).
+--
+-- Every synced row carries sync_xid: the 64-bit ID (xid8) of the transaction that last changed
+-- it in a way clients care about. Transaction IDs only grow and never wrap, and unlike
+-- updated_at they cannot be skewed or tied across rows written at the same instant. A sync
+-- cursor holds the snapshot xmin of the previous read. Any transaction that read could not see
+-- has an ID at or above that xmin, so "sync_xid >= cursor" never misses a late commit. It may
+-- re-send a few rows, which clients apply idempotently.
+--
+-- Triggers stamp the column, so every write path is covered: JPA saves, bulk JPQL updates and
+-- deletes, and imports. Soft-deleted POKs and tag subscriptions are their own tombstones. Tag
+-- assignments are hard-deleted, so their removals are recorded in pok_tag_tombstones.
+
+ALTER TABLE poks ADD COLUMN sync_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE user_tags ADD COLUMN sync_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+-- Assignments are fetched per user; the owner is copied from the POK on insert
+ALTER TABLE pok_tags ADD COLUMN user_id UUID;
+ALTER TABLE pok_tags ADD COLUMN sync_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+UPDATE pok_tags pt SET user_id = p.user_id FROM poks p WHERE p.id = pt.pok_id;
+ALTER TABLE pok_tags ALTER COLUMN user_id SET NOT NULL;
+
+CREATE TABLE pok_tag_tombstones (
+    user_id  UUID NOT NULL,
+    pok_id   UUID NOT NULL,
+    tag_id   UUID NOT NULL,
+    sync_xid xid8 NOT NULL DEFAULT pg_current_xact_id(),
+    PRIMARY KEY (pok_id, tag_id)
+);
+
+CREATE INDEX idx_poks_user_id_sync_xid ON poks (user_id, sync_xid);
+CREATE INDEX idx_user_tags_user_id_sync_xid ON user_tags (user_id, sync_xid);
+CREATE INDEX idx_pok_tags_user_id_sync_xid ON pok_tags (user_id, sync_xid);
+CREATE INDEX idx_pok_tag_tombstones_user_id_sync_xid ON pok_tag_tombstones (user_id, sync_xid);
+
+CREATE FUNCTION sync_touch() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.sync_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$;
+
+-- Embedding and simhash writes do not concern clients and leave sync_xid alone
+CREATE TRIGGER trg_poks_sync_touch
+    BEFORE UPDATE OF title, content, deleted_at ON poks
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title
+          OR OLD.content IS DISTINCT FROM NEW.content
+          OR OLD.deleted_at IS DISTINCT FROM NEW.deleted_at)
+    EXECUTE FUNCTION sync_touch();
+
+CREATE TRIGGER trg_user_tags_sync_touch
+    BEFORE UPDATE OF color, deleted_at ON user_tags
+    FOR EACH ROW
+    WHEN (OLD.color IS DISTINCT FROM NEW.color OR OLD.deleted_at IS DISTINCT FROM NEW.deleted_at)
+    EXECUTE FUNCTION sync_touch();
+
+-- Assignments: stamp inserts and updates, and leave a tombstone for every (pok, tag) pair that
+-- goes away, by deletion or by a rename moving it to another tag. Re-adding a pair clears its
+-- tombstone.
+CREATE FUNCTION pok_tags_sync() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE'
+       OR (TG_OP = 'UPDATE' AND (OLD.pok_id <> NEW.pok_id OR OLD.tag_id <> NEW.tag_id)) THEN
+        INSERT INTO pok_tag_tombstones (user_id, pok_id, tag_id)
+        VALUES (OLD.user_id, OLD.pok_id, OLD.tag_id)
+        ON CONFLICT (pok_id, tag_id) DO UPDATE SET sync_xid = pg_current_xact_id();
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+
+    IF TG_OP = 'INSERT' THEN
+        SELECT p.user_id INTO NEW.user_id FROM poks p WHERE p.id = NEW.pok_id;
+    END IF;
+    DELETE FROM pok_tag_tombstones WHERE pok_id = NEW.pok_id AND tag_id = NEW.tag_id;
+    NEW.sync_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_pok_tags_sync
+    BEFORE INSERT OR UPDATE OR DELETE ON pok_tags
+    FOR EACH ROW
+    EXECUTE FUNCTION pok_tags_sync();
+
+COMMENT ON COLUMN poks.sync_xid IS 'Transaction that last changed title, content or deleted_at (sync feed position)';
+COMMENT ON COLUMN user_tags.sync_xid IS 'Transaction that last changed the subscription (sync feed position)';
+COMMENT ON COLUMN pok_tags.user_id IS 'Owner of the POK, copied on insert so assignments can be synced per user';
+COMMENT ON COLUMN pok_tags.sync_xid IS 'Transaction that last wrote the assignment (sync feed position)';
+COMMENT ON TABLE pok_tag_tombstones IS 'Removed POK–tag assignments, reported to sync clients as deletions';
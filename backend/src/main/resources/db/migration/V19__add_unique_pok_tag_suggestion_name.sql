@@ -0,0 +1,21 @@
+-- V19__add_unique_pok_tag_suggestion_name.sql
+-- One suggestion per POK and tag name, case-insensitively. The suggestion pipeline inserts all new
+-- suggestions of a POK (or a batch of POKs) in one INSERT ... ON CONFLICT DO NOTHING and relies on
+-- this index to skip names it suggested before, instead of loading existing suggestions first.
+-- The index covers every status: a suggestion the user rejected is never made again.
+
+-- Drop duplicates left by concurrent suggestion passes, keeping the user's decision if there is
+-- one, otherwise the oldest suggestion
+DELETE FROM pok_tag_suggestions
+WHERE id IN (
+    SELECT id FROM (
+        SELECT id, row_number() OVER (
+                   PARTITION BY pok_id, lower(suggested_name)
+                   ORDER BY (status = 'PENDING'), created_at, id) AS rn
+        FROM pok_tag_suggestions
+    ) ranked
+    WHERE rn > 1
+);
+
+CREATE UNIQUE INDEX idx_pok_tag_suggestions_pok_name
+    ON pok_tag_suggestions (pok_id, lower(suggested_name));
@@ -0,0 +1,17 @@
+-- V20__add_trigram_index_for_tag_matching.sql
+-- Trigram index over the normalized text of active POKs, so a newly subscribed tag can be
+-- suggested on a user's existing POKs with one indexed query instead of a scan in Java.
+--
+-- The expression is the normalized form TagMatcher matches tag names in: title and content,
+-- lower-cased, with each run of hyphens and whitespace turned into one space. Queries must use the
+-- same expression (see PokRepository.findIdsMatchingTagName) for the index to apply.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_poks_match_text_trgm
+    ON poks
+    USING gin ((regexp_replace(lower(coalesce(title, '') || ' ' || content), '[\s-]+', ' ', 'g')) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+COMMENT ON INDEX idx_poks_match_text_trgm IS
+    'Serves LIKE ''%name%'' lookups of tag names in POK text (names of 3+ characters); partial on active POKs';
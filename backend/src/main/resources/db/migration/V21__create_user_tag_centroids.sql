@@ -0,0 +1,124 @@
+-- V21__create_user_tag_centroids.sql
+-- Per (user, tag) centroid of the embeddings of the user's active POKs carrying the tag, so a newly
+-- embedded POK can be suggested the tags it is semantically close to ("concurrency" for a POK
+-- about mutexes) with one query over the user's centroids.
+--
+-- The table keeps the sum of the embeddings and their count rather than the mean: cosine distance
+-- ignores a vector's length, so "embedding <=> embedding_sum" is the distance to the centroid, and
+-- a sum is updated by adding or subtracting one POK's embedding, never by re-reading the others.
+--
+-- Triggers keep it current from every write path: assignments added, removed or moved by a rename
+-- (pok_tags), and POKs (re-)embedded, soft-deleted, restored or hard-deleted (poks). A POK counts
+-- while it is active and has an embedding. A centroid whose count drops to zero is removed.
+
+CREATE TABLE user_tag_centroids (
+    user_id       UUID NOT NULL,
+    tag_id        UUID NOT NULL,
+    embedding_sum vector(384) NOT NULL,
+    pok_count     INTEGER NOT NULL CHECK (pok_count > 0),
+    PRIMARY KEY (user_id, tag_id)
+);
+
+CREATE FUNCTION tag_centroid_add(p_user_id UUID, p_tag_id UUID, p_embedding vector) RETURNS void
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF p_embedding IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO user_tag_centroids (user_id, tag_id, embedding_sum, pok_count)
+    VALUES (p_user_id, p_tag_id, p_embedding, 1)
+    ON CONFLICT (user_id, tag_id) DO UPDATE
+        SET embedding_sum = user_tag_centroids.embedding_sum + EXCLUDED.embedding_sum,
+            pok_count = user_tag_centroids.pok_count + 1;
+END
+$$;
+
+CREATE FUNCTION tag_centroid_remove(p_user_id UUID, p_tag_id UUID, p_embedding vector) RETURNS void
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF p_embedding IS NULL THEN
+        RETURN;
+    END IF;
+    DELETE FROM user_tag_centroids
+    WHERE user_id = p_user_id AND tag_id = p_tag_id AND pok_count <= 1;
+    IF NOT FOUND THEN
+        UPDATE user_tag_centroids
+        SET embedding_sum = embedding_sum - p_embedding,
+            pok_count = pok_count - 1
+        WHERE user_id = p_user_id AND tag_id = p_tag_id;
+    END IF;
+END
+$$;
+
+-- Assignments: the POK's embedding leaves the old (user, tag) and joins the new one. Runs after
+-- pok_tags_sync, which fills in user_id on insert.
+CREATE FUNCTION pok_tags_centroid() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.pok_id = NEW.pok_id AND OLD.tag_id = NEW.tag_id THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM tag_centroid_remove(OLD.user_id, OLD.tag_id, p.embedding)
+        FROM poks p WHERE p.id = OLD.pok_id AND p.deleted_at IS NULL;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM tag_centroid_add(NEW.user_id, NEW.tag_id, p.embedding)
+        FROM poks p WHERE p.id = NEW.pok_id AND p.deleted_at IS NULL;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_pok_tags_centroid
+    AFTER INSERT OR UPDATE OF pok_id, tag_id OR DELETE ON pok_tags
+    FOR EACH ROW
+    EXECUTE FUNCTION pok_tags_centroid();
+
+-- POKs: swap the POK's old contribution for its new one in every tag it carries. Hard deletes are
+-- handled before the row goes; the cascaded pok_tags deletes then no longer find the POK.
+CREATE FUNCTION poks_centroid() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+DECLARE
+    old_embedding vector := CASE WHEN OLD.deleted_at IS NULL THEN OLD.embedding END;
+    new_embedding vector;
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        new_embedding := CASE WHEN NEW.deleted_at IS NULL THEN NEW.embedding END;
+    END IF;
+    IF old_embedding IS DISTINCT FROM new_embedding THEN
+        PERFORM tag_centroid_remove(pt.user_id, pt.tag_id, old_embedding)
+        FROM pok_tags pt WHERE pt.pok_id = OLD.id;
+        PERFORM tag_centroid_add(pt.user_id, pt.tag_id, new_embedding)
+        FROM pok_tags pt WHERE pt.pok_id = OLD.id;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_poks_centroid
+    AFTER UPDATE OF embedding, deleted_at ON poks
+    FOR EACH ROW
+    WHEN (OLD.embedding IS DISTINCT FROM NEW.embedding OR OLD.deleted_at IS DISTINCT FROM NEW.deleted_at)
+    EXECUTE FUNCTION poks_centroid();
+
+CREATE TRIGGER trg_poks_centroid_delete
+    BEFORE DELETE ON poks
+    FOR EACH ROW
+    WHEN (OLD.deleted_at IS NULL AND OLD.embedding IS NOT NULL)
+    EXECUTE FUNCTION poks_centroid();
+
+-- Existing assignments
+INSERT INTO user_tag_centroids (user_id, tag_id, embedding_sum, pok_count)
+SELECT pt.user_id, pt.tag_id, sum(p.embedding), count(*)
+FROM pok_tags pt
+JOIN poks p ON p.id = pt.pok_id
+WHERE p.deleted_at IS NULL AND p.embedding IS NOT NULL
+GROUP BY pt.user_id, pt.tag_id;
+
+COMMENT ON TABLE user_tag_centroids IS 'Sum and count of the embeddings of each user''s active POKs per tag, maintained by triggers';
+COMMENT ON COLUMN user_tag_centroids.embedding_sum IS 'Sum of the embeddings; same direction as the centroid, so usable as-is with cosine distance';
+COMMENT ON COLUMN user_tag_centroids.pok_count IS 'Number of embedded active POKs in the sum';
@@ -0,0 +1,29 @@
+-- V22__default_uuid_v7_keys.sql
+-- Time-ordered UUIDv7 defaults for the tables whose entities are keyed by Hibernate's UUIDv7
+-- generator, so rows inserted by SQL get the same kind of key as rows inserted by the app. Tag
+-- suggestions are inserted in bulk by INSERT ... SELECT statements that do not supply an ID, and
+-- were otherwise keyed with random v4 UUIDs by the V11 default.
+--
+-- PostgreSQL 15 has no native v7 function: this one writes the Unix time in milliseconds over the
+-- first 48 bits of a random (v4) UUID, then turns its version nibble from 4 into 7. The variant
+-- bits of the v4 UUID are already those of v7. Existing rows keep their IDs.
+
+CREATE FUNCTION uuid_generate_v7() RETURNS uuid
+    LANGUAGE sql VOLATILE PARALLEL SAFE AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid
+$$;
+
+COMMENT ON FUNCTION uuid_generate_v7() IS 'Time-ordered UUIDv7 (RFC 9562): 48-bit Unix millisecond timestamp, then random bits';
+
+ALTER TABLE poks ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE pok_audit_logs ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE pok_tags ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE pok_tag_suggestions ALTER COLUMN id SET DEFAULT uuid_generate_v7();
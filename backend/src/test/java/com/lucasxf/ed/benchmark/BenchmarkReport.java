@@ -0,0 +1,90 @@
+package com.lucasxf.ed.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects per-scenario results and renders them as a Markdown table.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+class BenchmarkReport {
+
+    /**
+     * Outcome of one scenario run.
+     *
+     * @param corpusSize    POKs in the user's corpus
+     * @param scenario      scenario name
+     * @param operations    completed operations
+     * @param errors        operations that failed (non-2xx or exception)
+     * @param latenciesNanos sorted per-operation latencies
+     * @param elapsedNanos  wall-clock duration of the scenario
+     * @param statements    SQL statements issued during the scenario
+     */
+    record Result(int corpusSize, String scenario, int operations, int errors, long[] latenciesNanos,
+                  long elapsedNanos, long statements) {
+
+        double percentileMillis(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.clamp(index, 0, latenciesNanos.length - 1)] / 1_000_000.0;
+        }
+
+        double throughputPerSecond() {
+            return elapsedNanos == 0 ? 0 : operations * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        double statementsPerOperation() {
+            return operations == 0 ? 0 : (double) statements / operations;
+        }
+    }
+
+    private final List<Result> results = new ArrayList<>();
+
+    /**
+     * Records a scenario; {@code latenciesNanos} is sorted in place.
+     */
+    Result add(int corpusSize, String scenario, int errors, long[] latenciesNanos, long elapsedNanos,
+               long statements) {
+        Arrays.sort(latenciesNanos);
+        Result result = new Result(corpusSize, scenario, latenciesNanos.length, errors, latenciesNanos,
+            elapsedNanos, statements);
+        results.add(result);
+        return result;
+    }
+
+    List<Result> results() {
+        return List.copyOf(results);
+    }
+
+    String toMarkdown() {
+        StringBuilder table = new StringBuilder()
+            .append("| POKs | Scenario | Ops | Errors | p50 ms | p95 ms | p99 ms | max ms | ops/s | SQL/op |\n")
+            .append("|---:|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (Result r : results) {
+            table.append(String.format(Locale.ROOT, "| %d | %s | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %.2f |%n",
+                r.corpusSize(), r.scenario(), r.operations(), r.errors(), r.percentileMillis(50),
+                r.percentileMillis(95), r.percentileMillis(99), r.percentileMillis(100),
+                r.throughputPerSecond(), r.statementsPerOperation()));
+        }
+        return table.toString();
+    }
+
+    void writeTo(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, toMarkdown());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write benchmark report to " + file, e);
+        }
+    }
+}
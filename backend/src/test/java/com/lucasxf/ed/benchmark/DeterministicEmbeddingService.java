@@ -0,0 +1,89 @@
+package com.lucasxf.ed.benchmark;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.lucasxf.ed.exception.EmbeddingUnavailableException;
+import com.lucasxf.ed.service.EmbeddingService;
+
+/**
+ * Local, deterministic stand-in for the HuggingFace embedding API.
+ *
+ * <p>Vectors are built by feature hashing: every word of the text adds ±1 to a few of the 384
+ * dimensions chosen by its hash, and the result is L2-normalized. Texts that share words
+ * therefore land close together under cosine distance, which is enough for semantic and hybrid
+ * search to rank realistically, and the same text always yields the same vector.
+ *
+ * <p>Each call sleeps for {@code latency} plus up to {@code jitter}, so the benchmark can model
+ * the remote call's cost without depending on the network.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+class DeterministicEmbeddingService implements EmbeddingService {
+
+    static final int DIMENSIONS = 384;
+    private static final int DIMENSIONS_PER_WORD = 3;
+
+    private final Duration latency;
+    private final Duration jitter;
+
+    DeterministicEmbeddingService(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        simulateLatency();
+        return vectorFor(text);
+    }
+
+    /**
+     * Computes the vector for {@code text} without the simulated latency; used by the corpus
+     * generator so bulk loading is not slowed down.
+     */
+    static float[] vectorFor(String text) {
+        float[] vector = new float[DIMENSIONS];
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            int hash = word.hashCode();
+            for (int i = 0; i < DIMENSIONS_PER_WORD; i++) {
+                int mixed = Integer.rotateLeft(hash * 0x9E3779B9, 7 * i) ^ (i * 0x85EBCA6B);
+                vector[Math.floorMod(mixed, DIMENSIONS)] += (mixed & 0x100) == 0 ? 1f : -1f;
+            }
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            vector[0] = 1f;
+            return vector;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    private void simulateLatency() {
+        long nanos = latency.toNanos();
+        if (!jitter.isZero()) {
+            nanos += ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1);
+        }
+        if (nanos == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmbeddingUnavailableException("Interrupted while simulating embedding latency", e);
+        }
+    }
+}
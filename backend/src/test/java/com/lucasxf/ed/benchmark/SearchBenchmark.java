@@ -0,0 +1,305 @@
+package com.lucasxf.ed.benchmark;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.lucasxf.ed.service.EmbeddingService;
+import com.lucasxf.ed.service.SearchEngine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Reproducible latency/throughput benchmark for {@code GET /api/v1/poks} and the write paths
+ * that compete with it.
+ *
+ * <p>For each corpus size a fresh synthetic user is bulk-loaded into a pgvector container (with
+ * the real Flyway schema and indexes), then every scenario is driven by concurrent clients
+ * through the full MVC and security stack with {@link MockMvc}. The HuggingFace client is
+ * replaced by {@link DeterministicEmbeddingService}, whose latency is configurable, so semantic
+ * and hybrid numbers include a realistic embedding round-trip without network noise.
+ *
+ * <p>Not part of the regular build. Run with:
+ * <pre>
+ * mvn -Pbenchmark test -Dbenchmark.corpus-sizes=1000,10000,100000,500000
+ * </pre>
+ * Options (system properties, defaults in parentheses): {@code benchmark.corpus-sizes}
+ * (1000,10000), {@code benchmark.threads} (8), {@code benchmark.operations} per scenario (2000),
+ * {@code benchmark.warmup} operations per scenario (200), {@code benchmark.embedding-latency-ms}
+ * (50), {@code benchmark.embedding-jitter-ms} (20), {@code benchmark.seed} (42),
+ * {@code benchmark.search-cache} (false) and {@code benchmark.lucene} (false).
+ *
+ * <p>Results (p50/p95/p99/max latency, throughput, SQL statements per operation) are logged and
+ * written to {@code target/benchmark/search-benchmark.md}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Search benchmark")
+class SearchBenchmark {
+
+    private static final List<Integer> CORPUS_SIZES = Arrays.stream(
+            System.getProperty("benchmark.corpus-sizes", "1000,10000").split(","))
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .toList();
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 2_000);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 200);
+    private static final long SEED = Long.getLong("benchmark.seed", 42L);
+    private static final Path REPORT = Path.of("target", "benchmark", "search-benchmark.md");
+
+    static PostgreSQLContainer<?> postgres;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            return;
+        }
+        postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg15")
+            .withDatabaseName("ed_benchmark")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "work_mem=16MB");
+        postgres.start();
+
+        try (Connection conn = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            conn.createStatement().execute("CREATE EXTENSION IF NOT EXISTS vector;");
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to enable pgvector extension", e);
+        }
+
+        String jdbcUrl = postgres.getJdbcUrl();
+        registry.add("spring.datasource.url",
+            () -> jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // Benchmark the real schema: Flyway migrations, including the IVFFlat and partial indexes
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+            SqlStatementCounter.class::getName);
+        registry.add("search.cache.enabled", () -> System.getProperty("benchmark.search-cache", "false"));
+        registry.add("search.lucene.enabled", () -> System.getProperty("benchmark.lucene", "false"));
+        registry.add("search.lucene.rebuild-on-startup", () -> "false");
+    }
+
+    @AfterAll
+    static void stopContainers() {
+        if (postgres != null && postgres.isRunning()) {
+            postgres.stop();
+        }
+    }
+
+    @TestConfiguration
+    static class StubEmbeddingConfig {
+
+        @Bean
+        @Primary
+        EmbeddingService deterministicEmbeddingService() {
+            return new DeterministicEmbeddingService(
+                Duration.ofMillis(Long.getLong("benchmark.embedding-latency-ms", 50L)),
+                Duration.ofMillis(Long.getLong("benchmark.embedding-jitter-ms", 20L)));
+        }
+    }
+
+    /**
+     * One kind of request; {@code next} builds a request for the given corpus from the caller's
+     * random stream.
+     */
+    private record Scenario(String name, Operation next) {
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        RequestBuilder build(SyntheticCorpusGenerator.Corpus corpus, SplittableRandom random) throws Exception;
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SearchEngine searchEngine;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("search, create and update latency across corpus sizes")
+    void runSuite() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker not available");
+        SyntheticCorpusGenerator generator = new SyntheticCorpusGenerator(jdbcTemplate);
+        BenchmarkReport report = new BenchmarkReport();
+
+        for (int i = 0; i < CORPUS_SIZES.size(); i++) {
+            int size = CORPUS_SIZES.get(i);
+            long start = System.nanoTime();
+            SyntheticCorpusGenerator.Corpus corpus = generator.generate(size, SEED + i);
+            int indexed = searchEngine.rebuild();
+            log.info("Loaded corpus of {} POKs in {} s (search engine indexed {})",
+                size, Duration.ofNanos(System.nanoTime() - start).toSeconds(), indexed);
+
+            for (Scenario scenario : scenarios()) {
+                BenchmarkReport.Result result = run(corpus, scenario, report);
+                log.info("{} POKs / {}: p50={} ms p99={} ms, {} ops/s, {} SQL/op",
+                    size, scenario.name(), result.percentileMillis(50), result.percentileMillis(99),
+                    Math.round(result.throughputPerSecond()), String.format("%.2f", result.statementsPerOperation()));
+                assertThat(result.errors()).as("failed requests in %s", scenario.name()).isZero();
+            }
+        }
+
+        report.writeTo(REPORT);
+        log.info("Search benchmark results (also written to {}):\n{}", REPORT.toAbsolutePath(), report.toMarkdown());
+    }
+
+    private List<Scenario> scenarios() {
+        Scenario keyword = new Scenario("keyword", (corpus, random) -> search(corpus, random, "keyword"));
+        Scenario semantic = new Scenario("semantic", (corpus, random) -> search(corpus, random, "semantic"));
+        Scenario hybrid = new Scenario("hybrid", (corpus, random) -> search(corpus, random, "hybrid"));
+        Scenario tagged = new Scenario("keyword+tag", (corpus, random) -> search(corpus, random, "keyword")
+            .param("tagIds", corpus.userTagIds().get(random.nextInt(corpus.userTagIds().size())).toString()));
+        Scenario listing = new Scenario("list by createdAt", (corpus, random) -> get("/api/v1/poks")
+            .with(user(corpus.userId().toString()))
+            .param("sortBy", "createdAt")
+            .param("page", String.valueOf(random.nextInt(5))));
+        Scenario create = new Scenario("create", this::create);
+        Scenario update = new Scenario("update", this::update);
+
+        // Read-heavy mix typical of the app: mostly searches, with writes invalidating caches and indexes
+        List<Scenario> weighted = new ArrayList<>();
+        weighted.addAll(List.of(keyword, keyword, keyword, semantic, hybrid, hybrid, tagged, listing));
+        weighted.addAll(List.of(create, update));
+        Scenario mixed = new Scenario("mixed 80r/20w",
+            (corpus, random) -> weighted.get(random.nextInt(weighted.size())).next().build(corpus, random));
+
+        return List.of(keyword, semantic, hybrid, tagged, listing, create, update, mixed);
+    }
+
+    private static MockHttpServletRequestBuilder search(
+            SyntheticCorpusGenerator.Corpus corpus, SplittableRandom random, String mode) {
+        return get("/api/v1/poks")
+            .with(user(corpus.userId().toString()))
+            .param("keyword", SyntheticCorpusGenerator.query(random))
+            .param("searchMode", mode)
+            .param("size", "20");
+    }
+
+    private RequestBuilder create(SyntheticCorpusGenerator.Corpus corpus, SplittableRandom random) throws Exception {
+        int topic = random.nextInt(SyntheticCorpusGenerator.TOPICS.size());
+        return post("/api/v1/poks")
+            .with(user(corpus.userId().toString()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(Map.of(
+                "title", "Benchmark " + SyntheticCorpusGenerator.query(random),
+                "content", SyntheticCorpusGenerator.content(random, topic))));
+    }
+
+    private RequestBuilder update(SyntheticCorpusGenerator.Corpus corpus, SplittableRandom random) throws Exception {
+        UUID pokId = corpus.samplePoks().get(random.nextInt(corpus.samplePoks().size()));
+        int topic = random.nextInt(SyntheticCorpusGenerator.TOPICS.size());
+        return put("/api/v1/poks/{id}", pokId)
+            .with(user(corpus.userId().toString()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(Map.of(
+                "title", "Updated " + SyntheticCorpusGenerator.query(random),
+                "content", SyntheticCorpusGenerator.content(random, topic))));
+    }
+
+    private BenchmarkReport.Result run(SyntheticCorpusGenerator.Corpus corpus, Scenario scenario,
+                                       BenchmarkReport report) throws Exception {
+        SplittableRandom root = new SplittableRandom(SEED ^ scenario.name().hashCode() ^ corpus.pokCount());
+        drive(corpus, scenario, WARMUP, root.split(), new long[WARMUP], new AtomicInteger());
+
+        long[] latencies = new long[OPERATIONS];
+        AtomicInteger errors = new AtomicInteger();
+        SqlStatementCounter.reset();
+        long start = System.nanoTime();
+        drive(corpus, scenario, OPERATIONS, root.split(), latencies, errors);
+        long elapsed = System.nanoTime() - start;
+        return report.add(corpus.pokCount(), scenario.name(), errors.get(), latencies, elapsed,
+            SqlStatementCounter.count());
+    }
+
+    /**
+     * Runs {@code operations} requests on {@code benchmark.threads} concurrent clients, each with its own random
+     * stream split from {@code random}, recording each latency into {@code latencies}.
+     */
+    private void drive(SyntheticCorpusGenerator.Corpus corpus, Scenario scenario, int operations,
+                       SplittableRandom random, long[] latencies, AtomicInteger errors) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService clients = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                SplittableRandom clientRandom = random.split();
+                futures.add(clients.submit(() -> {
+                    for (int op = next.getAndIncrement(); op < operations; op = next.getAndIncrement()) {
+                        long begin = System.nanoTime();
+                        try {
+                            int status = mockMvc.perform(scenario.next().build(corpus, clientRandom))
+                                .andReturn().getResponse().getStatus();
+                            if (status >= 300) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            log.warn("{} request failed: {}", scenario.name(), e.getMessage());
+                        }
+                        latencies[op] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+}
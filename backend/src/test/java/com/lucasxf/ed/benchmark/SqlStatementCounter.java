@@ -0,0 +1,35 @@
+package com.lucasxf.ed.benchmark;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares, including native queries.
+ *
+ * <p>Registered through {@code spring.jpa.properties.hibernate.session_factory.statement_inspector},
+ * which makes Hibernate instantiate the class itself, so the count is static. The benchmark
+ * resets it before each scenario and reads it afterwards; statements issued by asynchronous
+ * work the scenario triggers (embedding generation, tag suggestions) are deliberately included.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final LongAdder STATEMENTS = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.increment();
+        return sql;
+    }
+
+    static void reset() {
+        STATEMENTS.reset();
+    }
+
+    static long count() {
+        return STATEMENTS.sum();
+    }
+}
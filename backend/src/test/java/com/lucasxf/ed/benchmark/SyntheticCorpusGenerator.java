@@ -0,0 +1,226 @@
+package com.lucasxf.ed.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bulk-loads synthetic users, tags and POKs straight through JDBC.
+ *
+ * <p>Going around JPA keeps a 500K-POK load in the range of minutes: rows are written in
+ * batches of {@value #BATCH_SIZE} and embeddings are computed locally with
+ * {@link DeterministicEmbeddingService#vectorFor}, so searches against the stubbed service rank
+ * the corpus consistently.
+ *
+ * <p>Text is drawn from a fixed set of topics, each with its own vocabulary, mixed with common
+ * filler words. Content length follows a log-normal distribution (median around 60 words, long
+ * tail up to a few thousand characters), which matches how short notes dominate real corpora
+ * while a few POKs are long write-ups. Creation dates spread over three years. Everything is
+ * derived from the seed, so two runs with the same parameters produce the same corpus. POK and
+ * tag-assignment IDs are UUIDv7 stamped with each POK's creation time, as the app would have
+ * assigned them.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+class SyntheticCorpusGenerator {
+
+    static final int BATCH_SIZE = 1_000;
+    private static final Duration SPAN = Duration.ofDays(3 * 365);
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+
+    /** Topic name (also used as tag name) followed by its vocabulary. */
+    static final List<List<String>> TOPICS = List.of(
+        List.of("java", "jvm", "garbage", "collector", "heap", "thread", "virtual", "record", "stream", "lambda"),
+        List.of("spring", "bean", "context", "autowiring", "transaction", "controller", "repository", "profile"),
+        List.of("postgres", "index", "vacuum", "query", "planner", "btree", "partition", "replication", "wal"),
+        List.of("react", "component", "hook", "render", "state", "effect", "memo", "suspense", "props"),
+        List.of("kubernetes", "pod", "deployment", "service", "ingress", "helm", "node", "cluster", "probe"),
+        List.of("testing", "mock", "assertion", "fixture", "coverage", "flaky", "integration", "contract"),
+        List.of("security", "token", "jwt", "oauth", "csrf", "cookie", "hashing", "encryption", "secret"),
+        List.of("career", "mentoring", "feedback", "promotion", "interview", "meeting", "roadmap", "review"),
+        List.of("performance", "latency", "throughput", "cache", "profiling", "allocation", "benchmark", "p99"),
+        List.of("architecture", "module", "boundary", "event", "queue", "coupling", "cohesion", "monolith")
+    );
+
+    private static final List<String> FILLER = List.of(
+        "the", "a", "when", "we", "should", "because", "after", "before", "this", "that", "learned", "today",
+        "using", "with", "without", "always", "never", "remember", "important", "note", "about", "how", "why",
+        "works", "fails", "better", "faster", "simple", "problem", "solution", "team", "production", "bug");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SyntheticCorpusGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A generated user and what the benchmark needs to drive load against it.
+     *
+     * @param userId     the user
+     * @param pokCount   number of POKs created
+     * @param userTagIds the user's tag subscription IDs (what the API filters by)
+     * @param samplePoks a sample of POK IDs to update during mixed workloads
+     */
+    record Corpus(UUID userId, int pokCount, List<UUID> userTagIds, List<UUID> samplePoks) {
+    }
+
+    /**
+     * Creates one user with {@code pokCount} POKs, one tag per topic, and one to three tag
+     * assignments per POK.
+     *
+     * @param pokCount number of POKs
+     * @param seed     random seed
+     * @return the corpus handle
+     */
+    Corpus generate(int pokCount, long seed) {
+        SplittableRandom text = new SplittableRandom(seed);
+        UUID userId = new UUID(seed, text.nextLong());
+        String handle = "bench_" + Long.toHexString(seed & 0xFFFFFFFL) + "_" + pokCount;
+        jdbcTemplate.update("""
+            INSERT INTO users (id, email, password_hash, display_name, handle)
+            VALUES (?, ?, 'benchmark', 'Benchmark User', ?)
+            """, userId, handle + "@benchmark.local", handle);
+
+        List<UUID> tagIds = new ArrayList<>();
+        List<UUID> userTagIds = new ArrayList<>();
+        for (List<String> topic : TOPICS) {
+            tagIds.add(tagId(topic.getFirst()));
+            UUID userTagId = randomUuid(text);
+            userTagIds.add(userTagId);
+            jdbcTemplate.update("INSERT INTO user_tags (id, user_id, tag_id, color) VALUES (?, ?, ?, 'blue')",
+                userTagId, userId, tagIds.getLast());
+        }
+
+        List<UUID> samplePoks = new ArrayList<>();
+        List<Object[]> pokRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> tagRows = new ArrayList<>(BATCH_SIZE * 2);
+        for (int i = 0; i < pokCount; i++) {
+            int topic = text.nextInt(TOPICS.size());
+            String title = sentence(text, topic, 3 + text.nextInt(6));
+            String content = content(text, topic);
+            Instant createdAt = NOW.minusSeconds(text.nextLong(SPAN.toSeconds()));
+            UUID pokId = timeOrderedUuid(createdAt, text);
+            Instant updatedAt = text.nextInt(4) == 0
+                ? createdAt.plusSeconds(text.nextLong(Duration.between(createdAt, NOW).toSeconds() + 1))
+                : createdAt;
+            pokRows.add(new Object[]{pokId, userId, title, content,
+                vectorLiteral(DeterministicEmbeddingService.vectorFor(title + " " + content)),
+                Timestamp.from(createdAt), Timestamp.from(updatedAt)});
+
+            tagRows.add(new Object[]{timeOrderedUuid(createdAt, text), pokId, tagIds.get(topic)});
+            int extraTags = text.nextInt(3);
+            for (int t = 1; t <= extraTags; t++) {
+                tagRows.add(new Object[]{timeOrderedUuid(createdAt, text), pokId, tagIds.get((topic + t) % TOPICS.size())});
+            }
+            if (samplePoks.size() < 1_000 && text.nextInt(Math.max(1, pokCount / 1_000)) == 0) {
+                samplePoks.add(pokId);
+            }
+            if (pokRows.size() == BATCH_SIZE) {
+                flush(pokRows, tagRows);
+            }
+        }
+        flush(pokRows, tagRows);
+
+        // The IVFFlat index was built on an empty table; rebuild it so its lists reflect the data
+        jdbcTemplate.execute("REINDEX INDEX idx_poks_embedding_ivfflat");
+        jdbcTemplate.execute("ANALYZE poks");
+        jdbcTemplate.execute("ANALYZE pok_tags");
+        return new Corpus(userId, pokCount, List.copyOf(userTagIds), List.copyOf(samplePoks));
+    }
+
+    /**
+     * Returns a realistic search phrase: one or two words of a random topic.
+     */
+    static String query(SplittableRandom random) {
+        List<String> vocabulary = TOPICS.get(random.nextInt(TOPICS.size()));
+        String first = vocabulary.get(random.nextInt(vocabulary.size()));
+        return random.nextBoolean() ? first : first + " " + vocabulary.get(random.nextInt(vocabulary.size()));
+    }
+
+    /**
+     * Returns POK content in the corpus' style, for create and update operations.
+     */
+    static String content(SplittableRandom random, int topic) {
+        // Log-normal word count: median e^4.1 ≈ 60 words, clamped to keep within column limits
+        int words = (int) Math.min(2_000, Math.max(5, Math.exp(4.1 + 0.8 * random.nextGaussian())));
+        StringBuilder content = new StringBuilder(words * 7);
+        while (words > 0) {
+            int length = Math.min(words, 6 + random.nextInt(13));
+            content.append(sentence(random, topic, length)).append(". ");
+            words -= length;
+        }
+        return content.toString().trim();
+    }
+
+    private static String sentence(SplittableRandom random, int topic, int words) {
+        List<String> vocabulary = TOPICS.get(topic);
+        StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(random.nextInt(10) < 4
+                ? vocabulary.get(random.nextInt(vocabulary.size()))
+                : FILLER.get(random.nextInt(FILLER.size())));
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+
+    private UUID tagId(String name) {
+        List<UUID> existing = jdbcTemplate.queryForList("SELECT id FROM tags WHERE LOWER(name) = ?", UUID.class, name);
+        if (!existing.isEmpty()) {
+            return existing.getFirst();
+        }
+        UUID id = UUID.nameUUIDFromBytes(("benchmark-tag:" + name).getBytes(StandardCharsets.UTF_8));
+        jdbcTemplate.update("INSERT INTO tags (id, name) VALUES (?, ?)", id, name);
+        return id;
+    }
+
+    private void flush(List<Object[]> pokRows, List<Object[]> tagRows) {
+        if (pokRows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO poks (id, user_id, title, content, embedding, created_at, updated_at)
+            VALUES (?, ?, ?, ?, CAST(? AS vector), ?, ?)
+            """, pokRows);
+        jdbcTemplate.batchUpdate("INSERT INTO pok_tags (id, pok_id, tag_id, source) VALUES (?, ?, ?, 'MANUAL')",
+            tagRows);
+        pokRows.clear();
+        tagRows.clear();
+    }
+
+    private static UUID randomUuid(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * Returns a UUIDv7 for a row created at {@code at}, the shape the app assigns to POKs and
+     * tag assignments, so the corpus' primary key indexes look like production ones.
+     */
+    static UUID timeOrderedUuid(Instant at, SplittableRandom random) {
+        long msb = (at.toEpochMilli() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long lsb = Long.MIN_VALUE | (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL);
+        return new UUID(msb, lsb);
+    }
+
+    private static String vectorLiteral(float[] vector) {
+        StringBuilder literal = new StringBuilder(vector.length * 8).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(vector[i]);
+        }
+        return literal.append(']').toString();
+    }
+}
@@ -0,0 +1,203 @@
+package com.lucasxf.ed.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares random (v4) and time-ordered (v7) UUID primary keys under sustained inserts.
+ *
+ * <p>Each key style fills its own copy of {@code pok_audit_logs} (created with
+ * {@code LIKE ... INCLUDING ALL} from the real Flyway schema, so it carries the same indexes)
+ * with the same seeded rows, in JDBC batches of {@value SyntheticCorpusGenerator#BATCH_SIZE}.
+ * v7 keys come from Hibernate's {@link UuidVersion7Strategy}, the generator the entities use.
+ *
+ * <p>Reported per key style: overall insert throughput, throughput over the last tenth of the
+ * load (where random keys have to touch pages all over an index that no longer fits in shared
+ * buffers), WAL volume, and primary key index size, leaf density and fragmentation
+ * ({@code pgstatindex}).
+ *
+ * <p>Not part of the regular build. Run with:
+ * <pre>
+ * mvn -Pbenchmark test -Dtest=UuidKeyBenchmark -Dbenchmark.key-rows=5000000
+ * </pre>
+ * Options: {@code benchmark.key-rows} (1000000) and {@code benchmark.seed} (42). Results are
+ * logged and written to {@code target/benchmark/uuid-key-benchmark.md}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("UUID key benchmark")
+class UuidKeyBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.key-rows", 1_000_000);
+    private static final long SEED = Long.getLong("benchmark.seed", 42L);
+    private static final Path REPORT = Path.of("target", "benchmark", "uuid-key-benchmark.md");
+
+    static PostgreSQLContainer<?> postgres;
+    static JdbcTemplate jdbcTemplate;
+
+    /**
+     * Outcome of loading one table.
+     */
+    private record Result(String keys, int rows, long elapsedNanos, long tailNanos, int tailRows,
+                          long walBytes, long pkeyBytes, long indexBytes, double leafDensity,
+                          double leafFragmentation) {
+
+        double rowsPerSecond() {
+            return rows * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        double tailRowsPerSecond() {
+            return tailRows * 1_000_000_000.0 / tailNanos;
+        }
+    }
+
+    @BeforeAll
+    static void startDatabase() {
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            return;
+        }
+        // Small shared_buffers so the random-key index outgrows the cache within the default load
+        postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg15")
+            .withDatabaseName("ed_benchmark")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("postgres", "-c", "shared_buffers=64MB", "-c", "max_wal_size=4GB");
+        postgres.start();
+
+        String jdbcUrl = postgres.getJdbcUrl();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+            postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS vector");
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+
+    @AfterAll
+    static void stopContainers() {
+        if (postgres != null && postgres.isRunning()) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("insert throughput and index size, UUIDv4 vs UUIDv7")
+    void compareKeyStyles() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker not available");
+
+        UuidVersion7Strategy v7 = new UuidVersion7Strategy();
+        Map<String, Supplier<UUID>> styles = Map.of(
+            "v4 (random)", UUID::randomUUID,
+            "v7 (time-ordered)", () -> v7.generateUuid(null));
+
+        List<Result> results = new ArrayList<>();
+        for (String keys : List.of("v4 (random)", "v7 (time-ordered)")) {
+            Result result = load(keys, styles.get(keys));
+            log.info("{}: {} rows/s overall, {} rows/s in last tenth, pkey {} MB (leaf density {}%)",
+                keys, Math.round(result.rowsPerSecond()), Math.round(result.tailRowsPerSecond()),
+                result.pkeyBytes() / (1024 * 1024), result.leafDensity());
+            results.add(result);
+        }
+
+        String report = toMarkdown(results);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+        log.info("UUID key benchmark results (also written to {}):\n{}", REPORT.toAbsolutePath(), report);
+        assertThat(results).allSatisfy(r -> assertThat(r.rows()).isEqualTo(ROWS));
+    }
+
+    private Result load(String keys, Supplier<UUID> ids) {
+        String table = keys.startsWith("v4") ? "key_bench_v4" : "key_bench_v7";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE pok_audit_logs INCLUDING ALL)");
+        jdbcTemplate.execute("CHECKPOINT");
+
+        // Same rows for both tables; only the keys differ
+        SplittableRandom random = new SplittableRandom(SEED);
+        UUID userId = new UUID(SEED, random.nextLong());
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        int tailStart = ROWS - ROWS / 10;
+        long tailStartNanos = 0;
+        long walStart = walPosition();
+        long startNanos = System.nanoTime();
+
+        List<Object[]> batch = new ArrayList<>(SyntheticCorpusGenerator.BATCH_SIZE);
+        for (int i = 0; i < ROWS; i++) {
+            if (i == tailStart) {
+                tailStartNanos = System.nanoTime();
+            }
+            int topic = random.nextInt(SyntheticCorpusGenerator.TOPICS.size());
+            batch.add(new Object[]{ids.get(), new UUID(random.nextLong(), random.nextLong()), userId,
+                SyntheticCorpusGenerator.query(random), SyntheticCorpusGenerator.content(random, topic),
+                Timestamp.from(start.plusMillis(i))});
+            if (batch.size() == SyntheticCorpusGenerator.BATCH_SIZE || i == ROWS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO " + table
+                    + " (id, pok_id, user_id, action, version, storage, new_title, new_content, occurred_at)"
+                    + " VALUES (?, ?, ?, 'CREATE', 1, 'SNAPSHOT', ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        long endNanos = System.nanoTime();
+        long walBytes = walPosition() - walStart;
+
+        Map<String, Object> stats = jdbcTemplate.queryForMap(
+            "SELECT avg_leaf_density, leaf_fragmentation FROM pgstatindex(?)", table + "_pkey");
+        Long pkeyBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class,
+            table + "_pkey");
+        Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_indexes_size(?::regclass)", Long.class, table);
+        log.debug("Loaded {} in {} s", table, Duration.ofNanos(endNanos - startNanos).toSeconds());
+
+        return new Result(keys, ROWS, endNanos - startNanos, endNanos - tailStartNanos, ROWS - tailStart,
+            walBytes, pkeyBytes, indexBytes,
+            ((Number) stats.get("avg_leaf_density")).doubleValue(),
+            ((Number) stats.get("leaf_fragmentation")).doubleValue());
+    }
+
+    private long walPosition() {
+        return jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn() - '0/0'::pg_lsn", Long.class);
+    }
+
+    private static String toMarkdown(List<Result> results) {
+        StringBuilder table = new StringBuilder()
+            .append("| Keys | Rows | rows/s | rows/s (last 10%) | WAL MB | pkey MB | all indexes MB | ")
+            .append("leaf density % | leaf fragmentation % |\n")
+            .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (Result r : results) {
+            table.append(String.format(Locale.ROOT, "| %s | %d | %.0f | %.0f | %.1f | %.1f | %.1f | %.1f | %.1f |%n",
+                r.keys(), r.rows(), r.rowsPerSecond(), r.tailRowsPerSecond(), r.walBytes() / 1048576.0,
+                r.pkeyBytes() / 1048576.0, r.indexBytes() / 1048576.0, r.leafDensity(), r.leafFragmentation()));
+        }
+        return table.toString();
+    }
+}
@@ -3,8 +3,12 @@ package com.lucasxf.ed.controller;
 import com.lucasxf.ed.config.AdminProperties;
 import com.lucasxf.ed.config.CorsProperties;
 import com.lucasxf.ed.security.SecurityConfig;
+import com.lucasxf.ed.service.AuditLogMaintenanceService;
+import com.lucasxf.ed.service.DuplicateDetectionService;
 import com.lucasxf.ed.service.EmbeddingBackfillService;
 import com.lucasxf.ed.service.JwtService;
+import com.lucasxf.ed.service.PokHistoryService;
+import com.lucasxf.ed.service.SearchEngine;
 import com.lucasxf.ed.service.TagSuggestionBackfillService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -44,6 +49,18 @@ class AdminControllerTest {
     @MockitoBean
     private TagSuggestionBackfillService tagSuggestionBackfillService;
 
+    @MockitoBean
+    private SearchEngine searchEngine;
+
+    @MockitoBean
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @MockitoBean
+    private PokHistoryService pokHistoryService;
+
+    @MockitoBean
+    private AuditLogMaintenanceService auditLogMaintenanceService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -118,4 +135,95 @@ class AdminControllerTest {
                 .header("X-Internal-Key", "wrong-key"))
             .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @DisplayName("POST /admin/search-index/rebuild with valid key returns 200 with indexed count")
+    void rebuildSearchIndex_withValidKey_returns200() throws Exception {
+        when(adminProperties.internalKey()).thenReturn(VALID_KEY);
+        when(searchEngine.rebuild()).thenReturn(128);
+
+        mockMvc.perform(post("/api/v1/admin/search-index/rebuild")
+                .header("X-Internal-Key", VALID_KEY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.indexed").value(128));
+
+        verify(searchEngine).rebuild();
+    }
+
+    @Test
+    @DisplayName("POST /admin/search-index/rebuild without key returns 401")
+    void rebuildSearchIndex_withoutKey_returns401() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/search-index/rebuild"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("POST /admin/poks/backfill-duplicate-signatures with valid key returns 200 with signed count")
+    void backfillDuplicateSignatures_withValidKey_returns200() throws Exception {
+        when(adminProperties.internalKey()).thenReturn(VALID_KEY);
+        when(duplicateDetectionService.backfill()).thenReturn(17);
+
+        mockMvc.perform(post("/api/v1/admin/poks/backfill-duplicate-signatures")
+                .header("X-Internal-Key", VALID_KEY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.signed").value(17));
+    }
+
+    @Test
+    @DisplayName("POST /admin/poks/backfill-duplicate-signatures without key returns 401")
+    void backfillDuplicateSignatures_withoutKey_returns401() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/poks/backfill-duplicate-signatures"))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(duplicateDetectionService);
+    }
+
+    @Test
+    @DisplayName("POST /admin/audit/compact with valid key returns 200 with counts")
+    void compactAuditLog_withValidKey_returns200() throws Exception {
+        when(adminProperties.internalKey()).thenReturn(VALID_KEY);
+        when(pokHistoryService.compactLegacyEntries()).thenReturn(new PokHistoryService.Compaction(3, 12));
+
+        mockMvc.perform(post("/api/v1/admin/audit/compact")
+                .header("X-Internal-Key", VALID_KEY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.poks").value(3))
+            .andExpect(jsonPath("$.reencoded").value(12));
+    }
+
+    @Test
+    @DisplayName("POST /admin/audit/compact without key returns 401")
+    void compactAuditLog_withoutKey_returns401() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/audit/compact"))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(pokHistoryService);
+    }
+
+    @Test
+    @DisplayName("POST /admin/audit/maintenance with valid key returns 200 with counts")
+    void maintainAuditLog_withValidKey_returns200() throws Exception {
+        when(adminProperties.internalKey()).thenReturn(VALID_KEY);
+        when(auditLogMaintenanceService.maintain())
+            .thenReturn(new AuditLogMaintenanceService.Maintenance(1, 2, 3400));
+
+        mockMvc.perform(post("/api/v1/admin/audit/maintenance")
+                .header("X-Internal-Key", VALID_KEY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.partitionsCreated").value(1))
+            .andExpect(jsonPath("$.partitionsArchived").value(2))
+            .andExpect(jsonPath("$.rowsArchived").value(3400));
+    }
+
+    @Test
+    @DisplayName("POST /admin/audit/maintenance with wrong key returns 401")
+    void maintainAuditLog_withWrongKey_returns401() throws Exception {
+        when(adminProperties.internalKey()).thenReturn(VALID_KEY);
+
+        mockMvc.perform(post("/api/v1/admin/audit/maintenance")
+                .header("X-Internal-Key", "wrong"))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(auditLogMaintenanceService);
+    }
 }
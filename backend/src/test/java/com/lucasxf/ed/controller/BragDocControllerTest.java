@@ -0,0 +1,112 @@
+package com.lucasxf.ed.controller;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.lucasxf.ed.config.CorsProperties;
+import com.lucasxf.ed.dto.BragDocJobResponse;
+import com.lucasxf.ed.dto.BragDocJobResponse.Status;
+import com.lucasxf.ed.security.SecurityConfig;
+import com.lucasxf.ed.service.BragDocService;
+import com.lucasxf.ed.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MockMvc tests for {@link BragDocController}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@WebMvcTest(BragDocController.class)
+@Import(SecurityConfig.class)
+@EnableConfigurationProperties(CorsProperties.class)
+class BragDocControllerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BragDocService bragDocService;
+
+    @MockitoBean
+    private JwtService jwtService; // Required by SecurityConfig
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID jobId = UUID.randomUUID();
+
+    @Test
+    void generate_newJob_shouldReturn202() throws Exception {
+        when(bragDocService.start(userId, "quarter", null, null)).thenReturn(job(Status.RUNNING, null));
+
+        mockMvc.perform(post("/api/v1/brag-docs")
+                .with(user(userId.toString())))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.jobId").value(jobId.toString()))
+            .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void generate_cachedDocument_shouldReturn200() throws Exception {
+        when(bragDocService.start(userId, "year", "2025-01-01T00:00:00Z", null))
+            .thenReturn(job(Status.COMPLETED, "# Brag document\n"));
+
+        mockMvc.perform(post("/api/v1/brag-docs")
+                .param("period", "year")
+                .param("from", "2025-01-01T00:00:00Z")
+                .with(user(userId.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.markdown").value("# Brag document\n"));
+    }
+
+    @Test
+    void generate_unsupportedPeriod_shouldReturn400() throws Exception {
+        when(bragDocService.start(any(), any(), isNull(), isNull()))
+            .thenThrow(new IllegalArgumentException("Unsupported period: 'week'. Allowed values: [month, quarter, year]"));
+
+        mockMvc.perform(post("/api/v1/brag-docs")
+                .param("period", "week")
+                .with(user(userId.toString())))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void get_unknownJob_shouldReturn404() throws Exception {
+        when(bragDocService.find(userId, jobId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/brag-docs/{jobId}", jobId)
+                .with(user(userId.toString())))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void get_withoutAuthentication_shouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/v1/brag-docs/{jobId}", jobId))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(bragDocService);
+    }
+
+    private BragDocJobResponse job(Status status, String markdown) {
+        return new BragDocJobResponse(jobId, status, "quarter", 0, 0, markdown, null, NOW,
+            status == Status.COMPLETED ? NOW : null);
+    }
+}
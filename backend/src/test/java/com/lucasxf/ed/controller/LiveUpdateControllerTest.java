@@ -0,0 +1,76 @@
+package com.lucasxf.ed.controller;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.lucasxf.ed.config.CorsProperties;
+import com.lucasxf.ed.security.SecurityConfig;
+import com.lucasxf.ed.service.JwtService;
+import com.lucasxf.ed.service.LiveUpdateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MockMvc tests for {@link LiveUpdateController}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@WebMvcTest(LiveUpdateController.class)
+@Import(SecurityConfig.class)
+@EnableConfigurationProperties(CorsProperties.class)
+class LiveUpdateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LiveUpdateService liveUpdateService;
+
+    @MockitoBean
+    private JwtService jwtService; // Required by SecurityConfig
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void stream_shouldOpenEventStream() throws Exception {
+        when(liveUpdateService.connect(userId)).thenReturn(Optional.of(new SseEmitter()));
+
+        mockMvc.perform(get("/api/v1/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .with(user(userId.toString())))
+            .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void stream_overConnectionLimit_shouldReturn429() throws Exception {
+        when(liveUpdateService.connect(userId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .with(user(userId.toString())))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void stream_withoutAuthentication_shouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/v1/events").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(liveUpdateService);
+    }
+}
@@ -2,16 +2,31 @@ package com.lucasxf.ed.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lucasxf.ed.dto.CreatePokRequest;
+import com.lucasxf.ed.dto.DuplicateGroupResponse;
+import com.lucasxf.ed.dto.PatchPokRequest;
 import com.lucasxf.ed.dto.PokAuditLogResponse;
+import com.lucasxf.ed.dto.PokDuplicateResponse;
+import com.lucasxf.ed.dto.PokHistoryEntryResponse;
+import com.lucasxf.ed.dto.PokHistoryPageResponse;
+import com.lucasxf.ed.dto.PokImportResponse;
 import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.dto.PokVersionDiffResponse;
+import com.lucasxf.ed.dto.TagFacetResponse;
+import com.lucasxf.ed.dto.TimelineItemsResponse;
+import com.lucasxf.ed.dto.TimelineMonthResponse;
 import com.lucasxf.ed.dto.UpdatePokRequest;
 import java.util.Collections;
 import com.lucasxf.ed.exception.PokAccessDeniedException;
 import com.lucasxf.ed.exception.PokNotFoundException;
+import com.lucasxf.ed.exception.PreconditionFailedException;
 import com.lucasxf.ed.config.CorsProperties;
 import com.lucasxf.ed.security.SecurityConfig;
+import com.lucasxf.ed.service.DuplicateDetectionService;
 import com.lucasxf.ed.service.JwtService;
+import com.lucasxf.ed.service.PokETags;
+import com.lucasxf.ed.service.PokImportService;
 import com.lucasxf.ed.service.PokService;
+import com.lucasxf.ed.service.TimelineService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -30,10 +45,13 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -56,6 +74,15 @@ class PokControllerTest {
     @MockitoBean
     private PokService pokService;
 
+    @MockitoBean
+    private TimelineService timelineService;
+
+    @MockitoBean
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @MockitoBean
+    private PokImportService pokImportService;
+
     @MockitoBean
     private JwtService jwtService; // Required by SecurityConfig
 
@@ -70,10 +97,10 @@ class PokControllerTest {
         // Given
         CreatePokRequest request = new CreatePokRequest("Test Title", "Test content", null);
         PokResponse response = new PokResponse(
-            pokId, userId, "Test Title", "Test content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            pokId, userId, "Test Title", "Test content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
 
-        when(pokService.create(any(CreatePokRequest.class), any(UUID.class)))
+        when(pokService.create(any(CreatePokRequest.class), any(UUID.class), isNull()))
             .thenReturn(response);
 
         // When/Then
@@ -86,7 +113,22 @@ class PokControllerTest {
             .andExpect(jsonPath("$.title").value("Test Title"))
             .andExpect(jsonPath("$.content").value("Test content"));
 
-        verify(pokService).create(any(CreatePokRequest.class), eq(userId));
+        verify(pokService).create(any(CreatePokRequest.class), eq(userId), isNull());
+    }
+
+    @Test
+    @WithMockUser
+    void createPok_withReusedIdempotencyKey_shouldReturn409() throws Exception {
+        CreatePokRequest request = new CreatePokRequest(null, "Content", null);
+        when(pokService.create(any(CreatePokRequest.class), eq(userId), eq("retry-1")))
+            .thenThrow(new IllegalArgumentException("Idempotency-Key was already used for a different request"));
+
+        mockMvc.perform(post("/api/v1/poks")
+                .with(user(userId.toString()))
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isConflict());
     }
 
     @Test
@@ -95,10 +137,10 @@ class PokControllerTest {
         // Given: Title is optional (frictionless capture)
         CreatePokRequest request = new CreatePokRequest(null, "Content without title", null);
         PokResponse response = new PokResponse(
-            pokId, userId, null, "Content without title", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            pokId, userId, null, "Content without title", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
 
-        when(pokService.create(any(CreatePokRequest.class), any(UUID.class)))
+        when(pokService.create(any(CreatePokRequest.class), any(UUID.class), isNull()))
             .thenReturn(response);
 
         // When/Then
@@ -159,7 +201,7 @@ class PokControllerTest {
     void getPokById_whenExists_shouldReturn200() throws Exception {
         // Given
         PokResponse response = new PokResponse(
-            pokId, userId, "Title", "Content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            pokId, userId, "Title", "Content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
 
         when(pokService.getById(eq(pokId), any(UUID.class))).thenReturn(response);
@@ -175,6 +217,34 @@ class PokControllerTest {
         verify(pokService).getById(eq(pokId), eq(userId));
     }
 
+    @Test
+    @WithMockUser
+    void getPokById_sendsETag() throws Exception {
+        PokResponse response = new PokResponse(
+            pokId, userId, "Title", "Content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
+        );
+        when(pokService.getETag(pokId, userId)).thenReturn("\"abc-1.2\"");
+        when(pokService.getById(pokId, userId)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/poks/{id}", pokId)
+                .with(user(userId.toString())))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"abc-1.2\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getPokById_withMatchingIfNoneMatch_shouldReturn304WithoutLoading() throws Exception {
+        when(pokService.getETag(pokId, userId)).thenReturn("\"abc-1.2\"");
+
+        mockMvc.perform(get("/api/v1/poks/{id}", pokId)
+                .with(user(userId.toString()))
+                .header("If-None-Match", "\"abc-1.2\""))
+            .andExpect(status().isNotModified());
+
+        verify(pokService, never()).getById(any(), any());
+    }
+
     @Test
     @WithMockUser
     void getPokById_whenNotFound_shouldReturn404() throws Exception {
@@ -219,10 +289,10 @@ class PokControllerTest {
     void listPoks_shouldReturn200WithPagedResults() throws Exception {
         // Given
         PokResponse pok1 = new PokResponse(
-            UUID.randomUUID(), userId, "Title 1", "Content 1", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            UUID.randomUUID(), userId, "Title 1", "Content 1", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
         PokResponse pok2 = new PokResponse(
-            UUID.randomUUID(), userId, null, "Content 2", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            UUID.randomUUID(), userId, null, "Content 2", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
 
         Page<PokResponse> page = new PageImpl<>(
@@ -231,7 +301,7 @@ class PokControllerTest {
             2
         );
 
-        when(pokService.search(any(UUID.class), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20))).thenReturn(page);
+        when(pokService.search(any(UUID.class), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20))).thenReturn(page);
 
         // When/Then
         mockMvc.perform(get("/api/v1/poks")
@@ -245,7 +315,7 @@ class PokControllerTest {
             .andExpect(jsonPath("$.number").value(0))
             .andExpect(jsonPath("$.size").value(20));
 
-        verify(pokService).search(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
+        verify(pokService).search(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
     }
 
     @Test
@@ -254,7 +324,7 @@ class PokControllerTest {
         // Given
         Page<PokResponse> emptyPage = Page.empty(PageRequest.of(1, 10));
 
-        when(pokService.search(any(UUID.class), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(1), eq(10))).thenReturn(emptyPage);
+        when(pokService.search(any(UUID.class), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(1), eq(10))).thenReturn(emptyPage);
 
         // When/Then
         mockMvc.perform(get("/api/v1/poks")
@@ -275,6 +345,20 @@ class PokControllerTest {
             .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser
+    void listPoks_withMatchingIfNoneMatch_shouldReturn304WithoutSearching() throws Exception {
+        when(pokService.searchETag(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20)))
+            .thenReturn("\"list-tag\"");
+
+        mockMvc.perform(get("/api/v1/poks")
+                .with(user(userId.toString()))
+                .header("If-None-Match", "\"list-tag\""))
+            .andExpect(status().isNotModified());
+
+        verify(pokService, never()).search(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
     // ===== UPDATE POK TESTS =====
 
     @Test
@@ -283,10 +367,10 @@ class PokControllerTest {
         // Given
         UpdatePokRequest request = new UpdatePokRequest("Updated Title", "Updated content");
         PokResponse response = new PokResponse(
-            pokId, userId, "Updated Title", "Updated content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            pokId, userId, "Updated Title", "Updated content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
 
-        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class)))
+        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class), isNull()))
             .thenReturn(response);
 
         // When/Then
@@ -298,7 +382,7 @@ class PokControllerTest {
             .andExpect(jsonPath("$.title").value("Updated Title"))
             .andExpect(jsonPath("$.content").value("Updated content"));
 
-        verify(pokService).update(eq(pokId), any(UpdatePokRequest.class), eq(userId));
+        verify(pokService).update(eq(pokId), any(UpdatePokRequest.class), eq(userId), isNull());
     }
 
     @Test
@@ -307,10 +391,10 @@ class PokControllerTest {
         // Given: User removes title (sets to null)
         UpdatePokRequest request = new UpdatePokRequest(null, "Content only");
         PokResponse response = new PokResponse(
-            pokId, userId, null, "Content only", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            pokId, userId, null, "Content only", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
 
-        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class)))
+        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class), isNull()))
             .thenReturn(response);
 
         // When/Then
@@ -329,7 +413,7 @@ class PokControllerTest {
         // Given
         UpdatePokRequest request = new UpdatePokRequest("Title", "Content");
 
-        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class)))
+        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class), isNull()))
             .thenThrow(new PokNotFoundException("POK not found"));
 
         // When/Then
@@ -346,7 +430,7 @@ class PokControllerTest {
         // Given
         UpdatePokRequest request = new UpdatePokRequest("Title", "Content");
 
-        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class)))
+        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), any(UUID.class), isNull()))
             .thenThrow(new PokAccessDeniedException("You do not have permission to access this POK"));
 
         // When/Then
@@ -357,6 +441,75 @@ class PokControllerTest {
             .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser
+    void updatePok_withIfMatch_shouldPassItOnAndReturnNewETag() throws Exception {
+        UpdatePokRequest request = new UpdatePokRequest("Title", "Content");
+        Instant updatedAt = Instant.parse("2026-10-19T10:00:00Z");
+        PokResponse response = new PokResponse(
+            pokId, userId, "Title", "Content", null, updatedAt, updatedAt, Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
+        );
+        when(pokService.changeToken(userId)).thenReturn("e.4");
+        when(pokService.update(pokId, request, userId, "\"old-e.3\"")).thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/poks/{id}", pokId)
+                .with(user(userId.toString()))
+                .header("If-Match", "\"old-e.3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", PokETags.forPok(updatedAt, "e.4")));
+    }
+
+    @Test
+    @WithMockUser
+    void updatePok_withStaleIfMatch_shouldReturn412() throws Exception {
+        UpdatePokRequest request = new UpdatePokRequest("Title", "Content");
+        when(pokService.update(eq(pokId), any(UpdatePokRequest.class), eq(userId), eq("\"old-e.3\"")))
+            .thenThrow(new PreconditionFailedException("POK was modified by another client; reload it and retry"));
+
+        mockMvc.perform(put("/api/v1/poks/{id}", pokId)
+                .with(user(userId.toString()))
+                .header("If-Match", "\"old-e.3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser
+    void patchPok_withEdits_shouldReturn200() throws Exception {
+        PatchPokRequest request = new PatchPokRequest(null, null, null,
+            List.of(new PatchPokRequest.TextEdit(0, 3, "New")));
+        PokResponse response = new PokResponse(
+            pokId, userId, "Title", "New content", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
+        );
+        when(pokService.patch(pokId, request, userId, null)).thenReturn(response);
+
+        mockMvc.perform(patch("/api/v1/poks/{id}", pokId)
+                .with(user(userId.toString()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").value("New content"))
+            .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    @WithMockUser
+    void patchPok_withNegativeEditOffset_shouldReturn400() throws Exception {
+        PatchPokRequest request = new PatchPokRequest(null, null, null,
+            List.of(new PatchPokRequest.TextEdit(-1, 3, "New")));
+
+        mockMvc.perform(patch("/api/v1/poks/{id}", pokId)
+                .with(user(userId.toString()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(pokService);
+    }
+
     @Test
     @WithMockUser
     void updatePok_withEmptyContent_shouldReturn400() throws Exception {
@@ -440,7 +593,7 @@ class PokControllerTest {
     void searchPoks_withKeyword_shouldReturn200() throws Exception {
         // Given
         PokResponse pok = new PokResponse(
-            pokId, userId, "Spring Boot", "Content about Spring", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList()
+            pokId, userId, "Spring Boot", "Content about Spring", null, Instant.now(), Instant.now(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList()
         );
         Page<PokResponse> page = new PageImpl<>(List.of(pok), PageRequest.of(0, 20), 1);
 
@@ -454,6 +607,8 @@ class PokControllerTest {
             eq(null),
             eq(null),
             eq(null),
+            eq(null),
+            eq(null),
             eq(0),
             eq(20)
         )).thenReturn(page);
@@ -466,7 +621,7 @@ class PokControllerTest {
             .andExpect(jsonPath("$.content[0].title").value("Spring Boot"))
             .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(pokService).search(eq(userId), eq("spring"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
+        verify(pokService).search(eq(userId), eq("spring"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
     }
 
     @Test
@@ -485,6 +640,8 @@ class PokControllerTest {
             eq(null),
             eq(null),
             eq(null),
+            eq(null),
+            eq(null),
             eq(0),
             eq(20)
         )).thenReturn(page);
@@ -496,7 +653,7 @@ class PokControllerTest {
                 .param("sortDirection", "ASC"))
             .andExpect(status().isOk());
 
-        verify(pokService).search(eq(userId), eq(null), eq(null), eq("createdAt"), eq("ASC"), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
+        verify(pokService).search(eq(userId), eq(null), eq(null), eq("createdAt"), eq("ASC"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
     }
 
     @Test
@@ -515,6 +672,8 @@ class PokControllerTest {
             eq("2026-01-31T23:59:59Z"),
             eq(null),
             eq(null),
+            eq(null),
+            eq(null),
             eq(0),
             eq(20)
         )).thenReturn(page);
@@ -536,6 +695,8 @@ class PokControllerTest {
             eq("2026-01-31T23:59:59Z"),
             eq(null),
             eq(null),
+            eq(null),
+            eq(null),
             eq(0),
             eq(20)
         );
@@ -557,6 +718,8 @@ class PokControllerTest {
             eq("2026-01-31T23:59:59Z"),
             eq("2026-02-01T00:00:00Z"),
             eq("2026-02-28T23:59:59Z"),
+            eq(null),
+            eq(null),
             eq(1),
             eq(10)
         )).thenReturn(page);
@@ -585,6 +748,8 @@ class PokControllerTest {
             eq("2026-01-31T23:59:59Z"),
             eq("2026-02-01T00:00:00Z"),
             eq("2026-02-28T23:59:59Z"),
+            eq(null),
+            eq(null),
             eq(1),
             eq(10)
         );
@@ -606,6 +771,8 @@ class PokControllerTest {
             eq(null),
             eq(null),
             eq(null),
+            eq(null),
+            eq(null),
             eq(0),
             eq(20)
         )).thenReturn(page);
@@ -615,7 +782,7 @@ class PokControllerTest {
                 .with(user(userId.toString())))
             .andExpect(status().isOk());
 
-        verify(pokService).search(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
+        verify(pokService).search(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
     }
 
     @Test
@@ -634,6 +801,8 @@ class PokControllerTest {
             eq(null),
             eq(null),
             eq(null),
+            eq(null),
+            eq(null),
             eq(0),
             eq(20)
         )).thenReturn(emptyPage);
@@ -646,7 +815,55 @@ class PokControllerTest {
             .andExpect(jsonPath("$.content").isEmpty())
             .andExpect(jsonPath("$.totalElements").value(0));
 
-        verify(pokService).search(eq(userId), eq("nonexistent"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
+        verify(pokService).search(eq(userId), eq("nonexistent"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(0), eq(20));
+    }
+
+    @Test
+    @WithMockUser
+    void searchPoks_withTagFilters_shouldPassTagIdsAndMatchMode() throws Exception {
+        // Given
+        UUID tagA = UUID.randomUUID();
+        UUID tagB = UUID.randomUUID();
+        Page<PokResponse> page = new PageImpl<>(List.of(), PageRequest.of(0, 20), 0);
+
+        when(pokService.search(any(UUID.class), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+            eq(List.of(tagA, tagB)), eq("all"), eq(0), eq(20))).thenReturn(page);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/poks")
+                .with(user(userId.toString()))
+                .param("tagIds", tagA.toString(), tagB.toString())
+                .param("tagMatch", "all"))
+            .andExpect(status().isOk());
+
+        verify(pokService).search(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+            eq(List.of(tagA, tagB)), eq("all"), eq(0), eq(20));
+    }
+
+    @Test
+    @WithMockUser
+    void tagFacets_shouldReturnCountsForFilters() throws Exception {
+        // Given
+        UUID tagA = UUID.randomUUID();
+        TagFacetResponse facet = new TagFacetResponse(tagA, UUID.randomUUID(), "java", "blue", 3);
+        when(pokService.getTagFacets(eq(userId), eq("spring"), eq(null), eq(null), eq(null), eq(null),
+            eq(List.of(tagA)), eq(null))).thenReturn(List.of(facet));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/poks/tag-facets")
+                .with(user(userId.toString()))
+                .param("keyword", "spring")
+                .param("tagIds", tagA.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(tagA.toString()))
+            .andExpect(jsonPath("$[0].name").value("java"))
+            .andExpect(jsonPath("$[0].pokCount").value(3));
+    }
+
+    @Test
+    void tagFacets_withoutAuthentication_shouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/v1/poks/tag-facets"))
+            .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -657,6 +874,127 @@ class PokControllerTest {
             .andExpect(status().isUnauthorized());
     }
 
+    // ===== TIMELINE TESTS =====
+
+    @Test
+    void timelineMonths_shouldReturnBucketsNewestFirst() throws Exception {
+        when(timelineService.getMonths(userId)).thenReturn(List.of(
+            new TimelineMonthResponse("2026-02", 3),
+            new TimelineMonthResponse("2026-01", 12)));
+
+        mockMvc.perform(get("/api/v1/poks/timeline")
+                .with(user(userId.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].month").value("2026-02"))
+            .andExpect(jsonPath("$[0].count").value(3))
+            .andExpect(jsonPath("$[1].month").value("2026-01"));
+    }
+
+    @Test
+    void timelineMonthItems_shouldPassCursorAndCapSize() throws Exception {
+        PokResponse pok = new PokResponse(pokId, userId, "Title", "Content", null, Instant.now(), Instant.now(), List.of(), List.of(), List.of());
+        when(timelineService.getMonthItems(userId, "2026-01", "abc", 100))
+            .thenReturn(new TimelineItemsResponse("2026-01", List.of(pok), "next"));
+
+        mockMvc.perform(get("/api/v1/poks/timeline/{month}", "2026-01")
+                .with(user(userId.toString()))
+                .param("cursor", "abc")
+                .param("size", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.month").value("2026-01"))
+            .andExpect(jsonPath("$.items[0].id").value(pokId.toString()))
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void timelineMonthItems_withMalformedMonth_shouldReturn400() throws Exception {
+        when(timelineService.getMonthItems(eq(userId), eq("2026-13"), any(), anyInt()))
+            .thenThrow(new IllegalArgumentException("Unsupported month format: '2026-13'. Expected YYYY-MM (e.g. 2026-01)"));
+
+        mockMvc.perform(get("/api/v1/poks/timeline/{month}", "2026-13")
+                .with(user(userId.toString())))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void timeline_withoutAuthentication_shouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/v1/poks/timeline"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    // ===== DUPLICATES TESTS =====
+
+    @Test
+    void duplicates_shouldReturnGroups() throws Exception {
+        UUID original = UUID.randomUUID();
+        when(duplicateDetectionService.findDuplicateGroups(userId)).thenReturn(List.of(
+            new DuplicateGroupResponse(List.of(
+                new PokDuplicateResponse(original, "Records", Instant.now(), 1.0),
+                new PokDuplicateResponse(pokId, "Records again", Instant.now(), 0.97)))));
+
+        mockMvc.perform(get("/api/v1/poks/duplicates")
+                .with(user(userId.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].poks[0].id").value(original.toString()))
+            .andExpect(jsonPath("$[0].poks[1].similarity").value(0.97));
+    }
+
+    // ===== IMPORT TESTS =====
+
+    @Test
+    void importJson_shouldReturnImportSummary() throws Exception {
+        when(pokImportService.importJson(eq(userId), any(), isNull())).thenReturn(new PokImportResponse(2, 1,
+            List.of(new PokImportResponse.ImportError(1, "Content is required and must not be blank"))));
+
+        mockMvc.perform(post("/api/v1/poks/import")
+                .with(user(userId.toString()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"content\":\"a\"},{\"content\":\"\"},{\"content\":\"b\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.skipped").value(1))
+            .andExpect(jsonPath("$.errors[0].index").value(1));
+    }
+
+    @Test
+    void importMarkdown_shouldDelegateToMarkdownImport() throws Exception {
+        when(pokImportService.importMarkdown(eq(userId), any(), isNull())).thenReturn(new PokImportResponse(1, 0, List.of()));
+
+        mockMvc.perform(post("/api/v1/poks/import")
+                .with(user(userId.toString()))
+                .contentType("text/markdown")
+                .content("# Records\nRecords are immutable."))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        verify(pokImportService, never()).importJson(any(), any(), any());
+    }
+
+    @Test
+    void importJson_shouldPassIdempotencyKey() throws Exception {
+        when(pokImportService.importJson(eq(userId), any(), eq("retry-1"))).thenReturn(new PokImportResponse(1, 0, List.of()));
+
+        mockMvc.perform(post("/api/v1/poks/import")
+                .with(user(userId.toString()))
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"content\":\"a\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void importJson_withUnreadableBundle_shouldReturn400() throws Exception {
+        when(pokImportService.importJson(eq(userId), any(), isNull()))
+            .thenThrow(new IllegalArgumentException("Unreadable import bundle: unexpected token"));
+
+        mockMvc.perform(post("/api/v1/poks/import")
+                .with(user(userId.toString()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"notes\": 1}"))
+            .andExpect(status().isBadRequest());
+    }
+
     // ===== GET HISTORY TESTS =====
 
     @Test
@@ -719,4 +1057,48 @@ class PokControllerTest {
         mockMvc.perform(get("/api/v1/poks/{id}/history", pokId))
             .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void getHistoryVersions_shouldPassCursorAndCapSize() throws Exception {
+        PokHistoryEntryResponse entry = new PokHistoryEntryResponse(UUID.randomUUID(), 7, "UPDATE", userId,
+            Instant.now(), 1200, -35);
+        when(pokService.getHistoryPage(pokId, userId, "abc", 100))
+            .thenReturn(new PokHistoryPageResponse(List.of(entry), "next"));
+
+        mockMvc.perform(get("/api/v1/poks/{id}/history/versions", pokId)
+                .with(user(userId.toString()))
+                .param("cursor", "abc")
+                .param("size", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].version").value(7))
+            .andExpect(jsonPath("$.items[0].sizeDelta").value(-35))
+            .andExpect(jsonPath("$.items[0].newContent").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getHistoryVersion_whenVersionNotFound_shouldReturn404() throws Exception {
+        when(pokService.getHistoryVersion(pokId, 42, userId))
+            .thenThrow(new PokNotFoundException("History version not found"));
+
+        mockMvc.perform(get("/api/v1/poks/{id}/history/versions/{version}", pokId, 42)
+                .with(user(userId.toString())))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getHistoryDiff_shouldReturnSegments() throws Exception {
+        when(pokService.getHistoryDiff(pokId, 2, userId)).thenReturn(new PokVersionDiffResponse(
+            pokId, 2, "UPDATE", Instant.now(), "Records", "Records",
+            List.of(new PokVersionDiffResponse.Segment("EQUAL", "Records are "),
+                new PokVersionDiffResponse.Segment("INSERT", "shallowly "),
+                new PokVersionDiffResponse.Segment("EQUAL", "immutable."))));
+
+        mockMvc.perform(get("/api/v1/poks/{id}/history/versions/{version}/diff", pokId, 2)
+                .with(user(userId.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.segments.length()").value(3))
+            .andExpect(jsonPath("$.segments[1].op").value("INSERT"))
+            .andExpect(jsonPath("$.segments[1].text").value("shallowly "));
+    }
 }
@@ -0,0 +1,100 @@
+package com.lucasxf.ed.controller;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import com.lucasxf.ed.config.CorsProperties;
+import com.lucasxf.ed.security.SecurityConfig;
+import com.lucasxf.ed.service.JwtService;
+import com.lucasxf.ed.service.PokExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MockMvc tests for {@link PokExportController}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@WebMvcTest(PokExportController.class)
+@Import(SecurityConfig.class)
+@EnableConfigurationProperties(CorsProperties.class)
+class PokExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PokExportService pokExportService;
+
+    @MockitoBean
+    private JwtService jwtService; // Required by SecurityConfig
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void export_shouldStreamAttachmentWithFilters() throws Exception {
+        UUID tagId = UUID.randomUUID();
+        PokExportService.Export export = new PokExportService.Export(userId, PokExportService.Format.MARKDOWN, "", List.of());
+        when(pokExportService.prepare(userId, PokExportService.Format.MARKDOWN, new PokExportService.Filter(
+            "java", null, null, null, null, null, null, List.of(tagId), "all"))).thenReturn(export);
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("# Records\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(pokExportService).write(eq(export), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/poks/export")
+                .param("format", "markdown")
+                .param("keyword", "java")
+                .param("tagIds", tagId.toString())
+                .param("tagMatch", "all")
+                .with(user(userId.toString())))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/markdown"))
+            .andExpect(header().string("Content-Disposition",
+                startsWith("attachment; filename=\"learnimo-export-")))
+            .andExpect(content().string("# Records\n"));
+    }
+
+    @Test
+    void export_withUnsupportedFormat_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/poks/export")
+                .param("format", "pdf")
+                .with(user(userId.toString())))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(pokExportService);
+    }
+
+    @Test
+    void export_withoutAuthentication_shouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/v1/poks/export"))
+            .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,139 @@
+package com.lucasxf.ed.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.lucasxf.ed.config.CorsProperties;
+import com.lucasxf.ed.dto.SyncBatchResponse;
+import com.lucasxf.ed.dto.SyncChangesResponse;
+import com.lucasxf.ed.security.SecurityConfig;
+import com.lucasxf.ed.service.JwtService;
+import com.lucasxf.ed.service.SyncService;
+import com.lucasxf.ed.service.SyncUploadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MockMvc tests for {@link SyncController}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@WebMvcTest(SyncController.class)
+@Import(SecurityConfig.class)
+@EnableConfigurationProperties(CorsProperties.class)
+class SyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SyncService syncService;
+
+    @MockitoBean
+    private SyncUploadService syncUploadService;
+
+    @MockitoBean
+    private JwtService jwtService; // Required by SecurityConfig
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void changes_shouldReturnPageAndCursor() throws Exception {
+        UUID pokId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        when(syncService.changes(userId, "abc", 500)).thenReturn(new SyncChangesResponse(
+            List.of(new SyncChangesResponse.SyncPok(pokId, "Title", "Content", Instant.now(), Instant.now())),
+            List.of(deletedId), List.of(), List.of(), List.of(), List.of(), "next", false));
+
+        mockMvc.perform(get("/api/v1/sync/changes")
+                .param("since", "abc")
+                .with(user(userId.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.poks[0].id").value(pokId.toString()))
+            .andExpect(jsonPath("$.deletedPokIds[0]").value(deletedId.toString()))
+            .andExpect(jsonPath("$.cursor").value("next"))
+            .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void changes_shouldCapPageSize() throws Exception {
+        when(syncService.changes(eq(userId), any(), anyInt())).thenReturn(new SyncChangesResponse(
+            List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), "next", false));
+
+        mockMvc.perform(get("/api/v1/sync/changes")
+                .param("limit", "50000")
+                .with(user(userId.toString())))
+            .andExpect(status().isOk());
+
+        verify(syncService).changes(userId, null, 1000);
+    }
+
+    @Test
+    void changes_withMalformedCursor_shouldReturn400() throws Exception {
+        when(syncService.changes(userId, "garbage", 500))
+            .thenThrow(new IllegalArgumentException("Malformed sync cursor"));
+
+        mockMvc.perform(get("/api/v1/sync/changes")
+                .param("since", "garbage")
+                .with(user(userId.toString())))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void changes_withoutAuthentication_shouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/v1/sync/changes"))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(syncService);
+    }
+
+    @Test
+    void batch_shouldReturnPerOperationResults() throws Exception {
+        UUID pokId = UUID.randomUUID();
+        when(syncUploadService.apply(eq(userId), any())).thenReturn(new SyncBatchResponse(List.of(
+            new SyncBatchResponse.OperationResult("op-1", SyncBatchResponse.Status.CONFLICT, pokId,
+                Instant.parse("2026-10-19T10:00:00Z"), "POK was modified on the server since this edit was made", null))));
+
+        mockMvc.perform(post("/api/v1/sync/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"operations": [{"opId": "op-1", "type": "UPDATE", "pokId": "%s", "content": "Edited",
+                                     "baseUpdatedAt": "2026-10-18T10:00:00Z"}]}
+                    """.formatted(pokId))
+                .with(user(userId.toString())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].opId").value("op-1"))
+            .andExpect(jsonPath("$.results[0].status").value("CONFLICT"));
+    }
+
+    @Test
+    void batch_withNoOperations_shouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/v1/sync/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\": []}")
+                .with(user(userId.toString())))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(syncUploadService);
+    }
+}
@@ -32,7 +32,7 @@ class PokAuditLogResponseTest {
             Instant now = Instant.now();
 
             PokAuditLog log = new PokAuditLog(
-                pokId, userId, PokAuditLog.Action.CREATE,
+                pokId, userId, PokAuditLog.Action.CREATE, 1,
                 null, "New Title",
                 null, "New content",
                 now
@@ -59,7 +59,7 @@ class PokAuditLogResponseTest {
             Instant now = Instant.now();
 
             PokAuditLog log = new PokAuditLog(
-                pokId, userId, PokAuditLog.Action.UPDATE,
+                pokId, userId, PokAuditLog.Action.UPDATE, 1,
                 "Old Title", "New Title",
                 "Old content", "New content",
                 now
@@ -83,7 +83,7 @@ class PokAuditLogResponseTest {
             Instant now = Instant.now();
 
             PokAuditLog log = new PokAuditLog(
-                pokId, userId, PokAuditLog.Action.DELETE,
+                pokId, userId, PokAuditLog.Action.DELETE, 1,
                 "Deleted Title", null,
                 "Deleted content", null,
                 now
@@ -0,0 +1,85 @@
+package com.lucasxf.ed.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.service.EmbeddingGenerationService;
+import com.lucasxf.ed.service.LiveUpdateService;
+import com.lucasxf.ed.service.TagSuggestionService;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link EmbeddingEventSubscriber}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmbeddingEventSubscriber")
+class EmbeddingEventSubscriberTest {
+
+    @Mock
+    private EmbeddingGenerationService embeddingGenerationService;
+
+    @Mock
+    private TagSuggestionService tagSuggestionService;
+
+    @Mock
+    private LiveUpdateService liveUpdateService;
+
+    @InjectMocks
+    private EmbeddingEventSubscriber subscriber;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    @Test
+    @DisplayName("embeds the batch once, then suggests tags by similarity per owner")
+    void onEvents_embedsThenSuggestsPerUser() {
+        Pok alicePok = pok(alice);
+        Pok bobPok = pok(bob);
+        when(embeddingGenerationService.generateEmbeddingsForPoks(List.of(alicePok.getId(), bobPok.getId())))
+            .thenReturn(List.of(alicePok, bobPok));
+        when(tagSuggestionService.suggestTagsByEmbedding(List.of(alicePok.getId()), alice)).thenReturn(true);
+        when(tagSuggestionService.suggestTagsByEmbedding(List.of(bobPok.getId()), bob)).thenReturn(false);
+
+        subscriber.onEvents(List.of(
+            new PokEvent.PokCreated(alicePok.getId(), alice),
+            new PokEvent.PokUpdated(alicePok.getId(), alice),
+            new PokEvent.PokCreated(bobPok.getId(), bob)));
+
+        verify(liveUpdateService).publish(alice, LiveUpdateService.EMBEDDING_READY, List.of(alicePok.getId()));
+        verify(liveUpdateService).publish(alice, LiveUpdateService.SUGGESTIONS_READY, List.of(alicePok.getId()));
+        verify(liveUpdateService).publish(bob, LiveUpdateService.EMBEDDING_READY, List.of(bobPok.getId()));
+        verify(liveUpdateService, never()).publish(bob, LiveUpdateService.SUGGESTIONS_READY, List.of(bobPok.getId()));
+    }
+
+    @Test
+    @DisplayName("suggests nothing when no POK could be embedded")
+    void onEvents_nothingEmbedded_suggestsNothing() {
+        UUID pokId = UUID.randomUUID();
+        when(embeddingGenerationService.generateEmbeddingsForPoks(List.of(pokId))).thenReturn(List.of());
+
+        subscriber.onEvents(List.of(new PokEvent.PokCreated(pokId, alice)));
+
+        verify(tagSuggestionService, never()).suggestTagsByEmbedding(List.of(pokId), alice);
+    }
+
+    private static Pok pok(UUID userId) {
+        Pok pok = new Pok(userId, null, "content");
+        ReflectionTestUtils.setField(pok, "id", UUID.randomUUID());
+        return pok;
+    }
+}
@@ -0,0 +1,63 @@
+package com.lucasxf.ed.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lucasxf.ed.service.LiveUpdateService;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Unit tests for {@link LiveUpdateEventSubscriber}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LiveUpdateEventSubscriber")
+class LiveUpdateEventSubscriberTest {
+
+    @Mock
+    private LiveUpdateService liveUpdateService;
+
+    @InjectMocks
+    private LiveUpdateEventSubscriber subscriber;
+
+    @Test
+    @DisplayName("sends one pok-changed event per user and batch")
+    void onEvents_groupsByUser() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UUID created = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        UUID tagged = UUID.randomUUID();
+
+        subscriber.onEvents(List.of(
+            new PokEvent.PokCreated(created, alice),
+            new PokEvent.PokUpdated(created, alice),
+            new PokEvent.TagChanged(alice, UUID.randomUUID(), List.of(tagged)),
+            new PokEvent.PokDeleted(deleted, bob)));
+
+        verify(liveUpdateService).publish(alice, LiveUpdateService.POK_CHANGED, List.of(created, tagged));
+        verify(liveUpdateService).publish(bob, LiveUpdateService.POK_CHANGED, List.of(deleted));
+        verifyNoMoreInteractions(liveUpdateService);
+    }
+
+    @Test
+    @DisplayName("reports a subscription-only tag change with no POK IDs")
+    void onEvents_subscriptionChange_sendsEmptyList() {
+        UUID userId = UUID.randomUUID();
+
+        subscriber.onEvents(List.of(new PokEvent.TagChanged(userId, UUID.randomUUID(), List.of())));
+
+        verify(liveUpdateService).publish(userId, LiveUpdateService.POK_CHANGED, List.of());
+    }
+}
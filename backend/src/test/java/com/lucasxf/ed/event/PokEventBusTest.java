@@ -0,0 +1,148 @@
+package com.lucasxf.ed.event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PokEventBus}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("PokEventBus")
+class PokEventBusTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final RecordingSubscriber pokSubscriber = new RecordingSubscriber("poks", false);
+    private final RecordingSubscriber tagSubscriber = new RecordingSubscriber("tags", true);
+
+    private SimpleMeterRegistry meterRegistry;
+    private PokEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+            Map.of("poks", pokSubscriber, "tags", tagSubscriber));
+        bus = new PokEventBus(beanFactory.getBeanProvider(PokEventSubscriber.class), meterRegistry,
+            name -> Executors.newSingleThreadExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("holds events until commit, then delivers one batch per subscriber")
+    void publish_inTransaction_deliversBatchAfterCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        PokEvent created = new PokEvent.PokCreated(UUID.randomUUID(), userId);
+        PokEvent updated = new PokEvent.PokUpdated(UUID.randomUUID(), userId);
+        PokEvent tagged = new PokEvent.TagChanged(userId, UUID.randomUUID(), List.of(UUID.randomUUID()));
+
+        bus.publish(created);
+        bus.publish(tagged);
+        bus.publish(updated);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        bus.shutdown();
+
+        assertThat(pokSubscriber.batches).containsExactly(List.of(created, updated));
+        assertThat(tagSubscriber.batches).containsExactly(List.of(tagged));
+        assertThat(meterRegistry.get("learnimo.events.delivered").tag("subscriber", "poks").counter().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("learnimo.events.delivery").tag("subscriber", "poks").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("drops events of a rolled-back transaction")
+    void publish_rolledBack_deliversNothing() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.publish(new PokEvent.PokCreated(UUID.randomUUID(), userId));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        bus.shutdown();
+
+        assertThat(pokSubscriber.batches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("delivers immediately outside a transaction")
+    void publish_withoutTransaction_deliversImmediately() throws Exception {
+        PokEvent deleted = new PokEvent.PokDeleted(UUID.randomUUID(), userId);
+
+        bus.publish(deleted);
+        bus.shutdown();
+
+        assertThat(pokSubscriber.batches).containsExactly(List.of(deleted));
+        assertThat(tagSubscriber.batches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("counts a failing batch without affecting other subscribers")
+    void publish_subscriberFails_isCountedAndIsolated() throws Exception {
+        pokSubscriber.failing = true;
+        PokEvent tagged = new PokEvent.TagChanged(userId, UUID.randomUUID(), List.of());
+
+        bus.publish(new PokEvent.PokCreated(UUID.randomUUID(), userId));
+        bus.publish(tagged);
+        bus.shutdown();
+
+        assertThat(meterRegistry.get("learnimo.events.failures").tag("subscriber", "poks").counter().count())
+            .isEqualTo(1);
+        assertThat(tagSubscriber.batches).containsExactly(List.of(tagged));
+    }
+
+    private static final class RecordingSubscriber implements PokEventSubscriber {
+
+        private final String name;
+        private final boolean tags;
+        private final List<List<PokEvent>> batches = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        private RecordingSubscriber(String name, boolean tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean accepts(PokEvent event) {
+            return tags == event instanceof PokEvent.TagChanged;
+        }
+
+        @Override
+        public void onEvents(List<PokEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("boom");
+            }
+            batches.add(events);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.lucasxf.ed.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lucasxf.ed.service.SearchEngine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link SearchIndexEventSubscriber}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchIndexEventSubscriber")
+class SearchIndexEventSubscriberTest {
+
+    @Mock
+    private SearchEngine searchEngine;
+
+    @InjectMocks
+    private SearchIndexEventSubscriber subscriber;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("reindexes every touched POK once and removes deleted ones")
+    void onEvents_collapsesBatch() {
+        UUID created = UUID.randomUUID();
+        UUID updated = UUID.randomUUID();
+        UUID tagged = UUID.randomUUID();
+        UUID createdThenDeleted = UUID.randomUUID();
+
+        subscriber.onEvents(List.of(
+            new PokEvent.PokCreated(created, userId),
+            new PokEvent.PokCreated(createdThenDeleted, userId),
+            new PokEvent.PokUpdated(updated, userId),
+            new PokEvent.TagChanged(userId, UUID.randomUUID(), List.of(tagged, updated)),
+            new PokEvent.PokDeleted(createdThenDeleted, userId)));
+
+        verify(searchEngine).index(Set.of(created, updated, tagged));
+        verify(searchEngine).remove(createdThenDeleted);
+    }
+
+    @Test
+    @DisplayName("ignores tag subscription changes that touch no POK")
+    void accepts_tagChangeWithoutPoks_isFalse() {
+        assertThat(subscriber.accepts(new PokEvent.TagChanged(userId, UUID.randomUUID(), List.of()))).isFalse();
+        assertThat(subscriber.accepts(new PokEvent.TagSubscribed(userId, UUID.randomUUID()))).isFalse();
+        assertThat(subscriber.accepts(new PokEvent.PokDeleted(UUID.randomUUID(), userId))).isTrue();
+    }
+
+    @Test
+    @DisplayName("does not reindex a batch of deletions")
+    void onEvents_onlyDeletions_doesNotIndex() {
+        UUID deleted = UUID.randomUUID();
+
+        subscriber.onEvents(List.of(new PokEvent.PokDeleted(deleted, userId)));
+
+        verify(searchEngine).remove(deleted);
+        verify(searchEngine, never()).index(any(Collection.class));
+    }
+}
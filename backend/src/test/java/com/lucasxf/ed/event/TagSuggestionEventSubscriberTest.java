@@ -0,0 +1,94 @@
+package com.lucasxf.ed.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lucasxf.ed.service.LiveUpdateService;
+import com.lucasxf.ed.service.TagSuggestionService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TagSuggestionEventSubscriber}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TagSuggestionEventSubscriber")
+class TagSuggestionEventSubscriberTest {
+
+    @Mock
+    private TagSuggestionService tagSuggestionService;
+
+    @Mock
+    private LiveUpdateService liveUpdateService;
+
+    @InjectMocks
+    private TagSuggestionEventSubscriber subscriber;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("accepts saved POKs and new subscriptions, not deletions or assignments")
+    void accepts_savedPoksAndSubscriptions() {
+        assertThat(subscriber.accepts(new PokEvent.PokCreated(UUID.randomUUID(), userId))).isTrue();
+        assertThat(subscriber.accepts(new PokEvent.TagSubscribed(userId, UUID.randomUUID()))).isTrue();
+        assertThat(subscriber.accepts(new PokEvent.PokDeleted(UUID.randomUUID(), userId))).isFalse();
+        assertThat(subscriber.accepts(new PokEvent.TagChanged(userId, UUID.randomUUID(), List.of()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("runs one suggestion pass per user and batch of saved POKs")
+    void onEvents_savedPoks_onePassPerUser() {
+        UUID created = UUID.randomUUID();
+        UUID updated = UUID.randomUUID();
+
+        subscriber.onEvents(List.of(
+            new PokEvent.PokCreated(created, userId),
+            new PokEvent.PokUpdated(updated, userId),
+            new PokEvent.PokUpdated(created, userId)));
+
+        verify(tagSuggestionService).suggestTagsForPoks(List.of(created, updated), userId);
+        verify(liveUpdateService).publish(userId, LiveUpdateService.SUGGESTIONS_READY, List.of(created, updated));
+    }
+
+    @Test
+    @DisplayName("suggests a new subscription on existing POKs and reports the ones it matched")
+    void onEvents_tagSubscribed_reversePass() {
+        UUID tagId = UUID.randomUUID();
+        UUID unmatchedTagId = UUID.randomUUID();
+        UUID pokId = UUID.randomUUID();
+        when(tagSuggestionService.suggestTagOnExistingPoks(tagId, userId)).thenReturn(List.of(pokId));
+        when(tagSuggestionService.suggestTagOnExistingPoks(unmatchedTagId, userId)).thenReturn(List.of());
+
+        subscriber.onEvents(List.of(
+            new PokEvent.TagSubscribed(userId, tagId),
+            new PokEvent.TagSubscribed(userId, unmatchedTagId)));
+
+        verify(liveUpdateService).publish(userId, LiveUpdateService.SUGGESTIONS_READY, List.of(pokId));
+        verifyNoMoreInteractions(liveUpdateService);
+    }
+
+    @Test
+    @DisplayName("stays quiet when a new subscription matches no POK")
+    void onEvents_tagSubscribedWithoutMatches_publishesNothing() {
+        UUID tagId = UUID.randomUUID();
+        when(tagSuggestionService.suggestTagOnExistingPoks(tagId, userId)).thenReturn(List.of());
+
+        subscriber.onEvents(List.of(new PokEvent.TagSubscribed(userId, tagId)));
+
+        verifyNoInteractions(liveUpdateService);
+    }
+}
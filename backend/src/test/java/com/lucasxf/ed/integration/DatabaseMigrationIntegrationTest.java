@@ -0,0 +1,358 @@
+package com.lucasxf.ed.integration;
+
+import com.lucasxf.ed.dto.CreatePokRequest;
+import com.lucasxf.ed.dto.SyncChangesResponse;
+import com.lucasxf.ed.service.EmbeddingService;
+import com.lucasxf.ed.service.PokService;
+import com.lucasxf.ed.service.SyncService;
+import com.lucasxf.ed.service.TagSuggestionService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Integration tests for the Flyway migration chain against a real pgvector PostgreSQL container.
+ *
+ * <p>The rest of the suite builds its schema with Hibernate {@code create-drop}, which has none of
+ * the partitions, triggers, indexes and defaults the migrations add. Here the schema comes from
+ * Flyway, as in production, and the native SQL depending on it is run for real:
+ * <ul>
+ *   <li>V16 — audit entries land in their month's partition; maintenance adds partitions ahead</li>
+ *   <li>V18 — sync triggers stamp {@code sync_xid} and record removed tag assignments</li>
+ *   <li>V20 — tag-name lookups are served by the trigram index</li>
+ *   <li>V21 — tag centroids follow assignments, embeddings and deletes</li>
+ *   <li>V22 — rows inserted by SQL are keyed with time-ordered UUIDv7</li>
+ * </ul>
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "audit.partitions-ahead=5"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Database migrations — Integration")
+class DatabaseMigrationIntegrationTest {
+
+    private static final int DIMENSIONS = 384;
+    private static final long CLOCK_SKEW_MILLIS = 1_000;
+
+    static PostgreSQLContainer<?> postgres;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            return;
+        }
+        postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg15")
+            .withDatabaseName("ed_migration_test")
+            .withUsername("test")
+            .withPassword("test");
+        postgres.start();
+
+        // No extension setup: V1 creates vector and uuid-ossp, V20 creates pg_trgm
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @AfterAll
+    static void stopContainers() {
+        if (postgres != null && postgres.isRunning()) {
+            postgres.stop();
+        }
+    }
+
+    @MockitoBean
+    private EmbeddingService embeddingService;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PokService pokService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TagSuggestionService tagSuggestionService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker not available");
+        // Each test works on its own user, so rows left by other tests never match
+        String handle = "u" + UUID.randomUUID().toString().substring(0, 8);
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO users (email, display_name, handle) VALUES (?, ?, ?) RETURNING id",
+            UUID.class, handle + "@migration-test.com", "Migration Test", handle);
+    }
+
+    @Test
+    @DisplayName("applies the whole migration chain")
+    void flyway_appliesEveryMigration() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied())
+            .extracting(MigrationInfo::getVersion)
+            .extracting(Object::toString)
+            .contains("16", "18", "20", "21", "22");
+    }
+
+    // ---- V16: audit log partitioning ----
+
+    @Test
+    @DisplayName("V16 — audit entries are written to the partition of their month")
+    void auditLog_writesLandInTheMonthPartition() {
+        UUID pokId = pokService.create(new CreatePokRequest("Partitioned", "History goes monthly", null), userId)
+            .id();
+
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT tableoid::regclass::text FROM pok_audit_logs WHERE pok_id = ?", String.class, pokId);
+
+        assertThat(partitions).containsExactly(partitionName(YearMonth.now(ZoneOffset.UTC)));
+    }
+
+    @Test
+    @DisplayName("V16 — an entry outside every partition is refused rather than kept somewhere unarchived")
+    void auditLog_outsideEveryPartition_isRefused() {
+        UUID pokId = insertPok("Ancient", "From before any partition", null);
+
+        assertThatThrownBy(() -> jdbcTemplate.update(
+            "INSERT INTO pok_audit_logs (pok_id, user_id, action, new_content, occurred_at, version) " +
+            "VALUES (?, ?, 'CREATE', 'old', TIMESTAMPTZ '1999-01-15 00:00:00+00', 1)", pokId, userId))
+            .isInstanceOf(DataAccessException.class)
+            .hasMessageContaining("no partition");
+    }
+
+    @Test
+    @DisplayName("V16 — maintenance keeps partitions created ahead of the current month")
+    void auditLog_partitionsCreatedAhead() {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = 'pok_audit_logs'::regclass",
+            String.class);
+
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        // V16 creates three months ahead; the startup run tops that up to audit.partitions-ahead
+        assertThat(partitions).contains(partitionName(current), partitionName(current.plusMonths(5)));
+    }
+
+    // ---- V18: sync change tracking ----
+
+    @Test
+    @DisplayName("V18 — only changes clients see move a POK's sync_xid")
+    void syncXid_stampedOnlyByClientVisibleChanges() {
+        UUID pokId = insertPok("Synced", "Version one", null);
+        long inserted = syncXid(pokId);
+
+        // Each statement commits on its own, so each runs in a newer transaction
+        jdbcTemplate.update("UPDATE poks SET embedding = CAST(? AS vector) WHERE id = ?", vector(0), pokId);
+        long afterEmbedding = syncXid(pokId);
+        jdbcTemplate.update("UPDATE poks SET content = 'Version two' WHERE id = ?", pokId);
+        long afterEdit = syncXid(pokId);
+
+        assertThat(afterEmbedding).isEqualTo(inserted);
+        assertThat(afterEdit).isGreaterThan(inserted);
+    }
+
+    @Test
+    @DisplayName("V18 — assignments copy the POK's owner and leave a tombstone when removed")
+    void pokTags_syncOwnerAndTombstones() {
+        UUID pokId = insertPok("Tagged", "Carries a tag", null);
+        UUID tagId = insertTag("sync-" + UUID.randomUUID());
+
+        jdbcTemplate.update("INSERT INTO pok_tags (pok_id, tag_id, source) VALUES (?, ?, 'MANUAL')", pokId, tagId);
+        UUID owner = jdbcTemplate.queryForObject(
+            "SELECT user_id FROM pok_tags WHERE pok_id = ? AND tag_id = ?", UUID.class, pokId, tagId);
+        jdbcTemplate.update("DELETE FROM pok_tags WHERE pok_id = ? AND tag_id = ?", pokId, tagId);
+
+        assertThat(owner).isEqualTo(userId);
+        SyncChangesResponse changes = syncService.changes(userId, null, 100);
+        assertThat(changes.removedAssignments())
+            .containsExactly(new SyncChangesResponse.RemovedAssignment(pokId, tagId));
+
+        // Re-adding the pair clears its tombstone
+        jdbcTemplate.update("INSERT INTO pok_tags (pok_id, tag_id, source) VALUES (?, ?, 'MANUAL')", pokId, tagId);
+        assertThat(syncService.changes(userId, null, 100).removedAssignments()).isEmpty();
+    }
+
+    // ---- V20: trigram index for tag matching ----
+
+    @Test
+    @DisplayName("V20 — tag names are found in POK text through the trigram index")
+    void tagNameLookup_usesTrigramIndex() {
+        UUID matching = insertPok("Streams", "Rebalancing Apache Kafka-Streams consumers", null);
+        insertPok("Queues", "RabbitMQ dead letter exchanges", null);
+        UUID tagId = insertTag("Kafka Streams");
+        jdbcTemplate.update("INSERT INTO user_tags (user_id, tag_id, color) VALUES (?, ?, 'blue')", userId, tagId);
+
+        List<UUID> suggested = tagSuggestionService.suggestTagOnExistingPoks(tagId, userId);
+
+        assertThat(suggested).containsExactly(matching);
+        assertThat(explain("SELECT id FROM poks WHERE deleted_at IS NULL AND " +
+            "regexp_replace(lower(coalesce(title, '') || ' ' || content), '[\\s-]+', ' ', 'g') LIKE '%kafka streams%'"))
+            .contains("idx_poks_match_text_trgm");
+    }
+
+    // ---- V21: tag centroids ----
+
+    @Test
+    @DisplayName("V21 — centroids follow assignments, embeddings and deletes")
+    void centroids_maintainedByTriggers() {
+        UUID tagId = insertTag("centroid-" + UUID.randomUUID());
+        UUID first = insertPok("First", "Mutexes", vector(0));
+        UUID second = insertPok("Second", "Semaphores", vector(1));
+        assign(first, tagId);
+        assign(second, tagId);
+
+        assertThat(centroidCount(tagId)).isEqualTo(2);
+        assertThat(centroidEquals(tagId, vector(0, 1))).isTrue();
+
+        jdbcTemplate.update("UPDATE poks SET embedding = CAST(? AS vector) WHERE id = ?", vector(2), second);
+        assertThat(centroidEquals(tagId, vector(0, 2))).isTrue();
+
+        jdbcTemplate.update("UPDATE poks SET deleted_at = NOW() WHERE id = ?", first);
+        assertThat(centroidCount(tagId)).isEqualTo(1);
+
+        jdbcTemplate.update("DELETE FROM pok_tags WHERE pok_id = ? AND tag_id = ?", second, tagId);
+        assertThat(centroidCount(tagId)).isZero();
+    }
+
+    @Test
+    @DisplayName("V21 — a POK close to a tag's centroid is suggested the tag")
+    void centroids_suggestNearbyTags() {
+        UUID tagId = insertTag("concurrency-" + UUID.randomUUID());
+        jdbcTemplate.update("INSERT INTO user_tags (user_id, tag_id, color) VALUES (?, ?, 'red')", userId, tagId);
+        for (int i = 0; i < 3; i++) {
+            assign(insertPok("Tagged " + i, "Locks " + i, vector(0)), tagId);
+        }
+        UUID untagged = insertPok("Untagged", "Lock-free queues", vector(0));
+        UUID unrelated = insertPok("Unrelated", "CSS grid", vector(5));
+
+        boolean suggested = tagSuggestionService.suggestTagsByEmbedding(List.of(untagged, unrelated), userId);
+
+        assertThat(suggested).isTrue();
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT pok_id FROM pok_tag_suggestions WHERE user_id = ?", UUID.class, userId))
+            .containsExactly(untagged);
+    }
+
+    // ---- V22: UUIDv7 defaults ----
+
+    @Test
+    @DisplayName("V22 — rows inserted by SQL get time-ordered UUIDv7 keys")
+    void uuidV7Default_keysSqlInserts() {
+        long before = System.currentTimeMillis();
+        UUID pokId = insertPok("Keyed", "By the column default", null);
+        UUID tagId = insertTag("v7-" + UUID.randomUUID());
+        UUID pokTagId = jdbcTemplate.queryForObject(
+            "INSERT INTO pok_tags (pok_id, tag_id, source) VALUES (?, ?, 'MANUAL') RETURNING id",
+            UUID.class, pokId, tagId);
+        long after = System.currentTimeMillis();
+
+        for (UUID id : List.of(pokId, pokTagId)) {
+            assertThat(id.version()).isEqualTo(7);
+            assertThat(id.variant()).isEqualTo(2);
+            // The first 48 bits are the Unix time in milliseconds, by the database's clock
+            assertThat(id.getMostSignificantBits() >>> 16).isBetween(before - CLOCK_SKEW_MILLIS, after + CLOCK_SKEW_MILLIS);
+        }
+    }
+
+    // ---- helpers ----
+
+    private UUID insertPok(String title, String content, String embedding) {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO poks (user_id, title, content, embedding) VALUES (?, ?, ?, CAST(? AS vector)) RETURNING id",
+            UUID.class, userId, title, content, embedding);
+    }
+
+    private UUID insertTag(String name) {
+        return jdbcTemplate.queryForObject("INSERT INTO tags (name) VALUES (?) RETURNING id", UUID.class, name);
+    }
+
+    private void assign(UUID pokId, UUID tagId) {
+        jdbcTemplate.update("INSERT INTO pok_tags (pok_id, tag_id, source) VALUES (?, ?, 'MANUAL')", pokId, tagId);
+    }
+
+    private long syncXid(UUID pokId) {
+        return Long.parseLong(jdbcTemplate.queryForObject(
+            "SELECT sync_xid::text FROM poks WHERE id = ?", String.class, pokId));
+    }
+
+    private int centroidCount(UUID tagId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(pok_count), 0) FROM user_tag_centroids WHERE user_id = ? AND tag_id = ?",
+            Integer.class, userId, tagId);
+    }
+
+    private boolean centroidEquals(UUID tagId, String expectedSum) {
+        return jdbcTemplate.queryForObject(
+            "SELECT embedding_sum = CAST(? AS vector) FROM user_tag_centroids WHERE user_id = ? AND tag_id = ?",
+            Boolean.class, expectedSum, userId, tagId);
+    }
+
+    /**
+     * Plans a query with sequential scans disabled, so a usable index shows up even on a tiny table.
+     */
+    private String explain(String query) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+        });
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("pok_audit_logs_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Returns a pgvector literal with 1 in each of the given dimensions and 0 elsewhere.
+     */
+    private static String vector(int... hotDimensions) {
+        float[] values = new float[DIMENSIONS];
+        for (int dimension : hotDimensions) {
+            values[dimension] = 1.0f;
+        }
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -1,11 +1,17 @@
 package com.lucasxf.ed.integration;
 
 import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.domain.Tag;
 import com.lucasxf.ed.domain.User;
+import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.PokResponse;
 import com.lucasxf.ed.exception.EmbeddingUnavailableException;
 import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.PokTagRepository;
+import com.lucasxf.ed.repository.TagRepository;
 import com.lucasxf.ed.repository.UserRepository;
+import com.lucasxf.ed.repository.UserTagRepository;
 import com.lucasxf.ed.service.EmbeddingService;
 import com.lucasxf.ed.service.PokService;
 import org.junit.jupiter.api.AfterAll;
@@ -26,6 +32,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -44,6 +51,7 @@ import static org.mockito.Mockito.when;
  *   <li>AC4 — POKs with null embedding excluded from semantic results</li>
  *   <li>AC5 — cross-user isolation enforced at SQL level</li>
  *   <li>AC6 — graceful degradation when embedding service is unavailable</li>
+ *   <li>tag filters restrict the ranked POKs ({@code tagMatch=any} and {@code all})</li>
  * </ul>
  *
  * @author Lucas Xavier Ferreira
@@ -100,12 +108,24 @@ class SemanticSearchIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PokTagRepository pokTagRepository;
+
+    @Autowired
+    private UserTagRepository userTagRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
     private User alice;
     private User bob;
 
     @BeforeEach
     void setUp() {
         assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker not available");
+        pokTagRepository.deleteAll();
+        userTagRepository.deleteAll();
+        tagRepository.deleteAll();
         pokRepository.deleteAll();
         userRepository.deleteAll();
         alice = userRepository.save(new User("alice@semantic-test.com", "hash", "Alice", "alice_semantic"));
@@ -217,6 +237,48 @@ class SemanticSearchIntegrationTest {
         assertThat(result.getContent().get(0).title()).isEqualTo("memory management");
     }
 
+    /**
+     * Tag-filtered semantic search only ranks POKs carrying the requested tags: with
+     * {@code tagMatch=any} one of them suffices, with {@code all} a POK must carry every one.
+     */
+    @Test
+    @DisplayName("semantic search with tag filters ranks only POKs carrying the tags")
+    void semanticSearch_withTagFilters_restrictsToTaggedPoks() {
+        float[] embedding = new float[384];
+        embedding[0] = 1.0f;
+        Pok both = pokRepository.save(savePokWithEmbedding(
+            alice.getId(), "Virtual threads", "Pinning on synchronized blocks", embedding));
+        Pok javaOnly = pokRepository.save(savePokWithEmbedding(
+            alice.getId(), "Records", "Compact canonical constructors", embedding));
+        pokRepository.save(savePokWithEmbedding(
+            alice.getId(), "Untagged", "Nothing to filter on", embedding));
+
+        Tag java = tagRepository.save(new Tag("java"));
+        Tag concurrency = tagRepository.save(new Tag("concurrency"));
+        UserTag javaSubscription = userTagRepository.save(new UserTag(alice.getId(), java, "blue"));
+        UserTag concurrencySubscription = userTagRepository.save(new UserTag(alice.getId(), concurrency, "red"));
+        pokTagRepository.saveAll(List.of(
+            new PokTag(both.getId(), java.getId(), PokTag.Source.MANUAL),
+            new PokTag(both.getId(), concurrency.getId(), PokTag.Source.MANUAL),
+            new PokTag(javaOnly.getId(), java.getId(), PokTag.Source.MANUAL)));
+
+        when(embeddingService.embed("jvm")).thenReturn(Arrays.copyOf(embedding, 384));
+        List<java.util.UUID> filter = List.of(javaSubscription.getId(), concurrencySubscription.getId());
+
+        Page<PokResponse> any = pokService.search(
+            alice.getId(), "jvm", "semantic",
+            null, null, null, null, null, null, filter, "any", 0, 20
+        );
+        Page<PokResponse> all = pokService.search(
+            alice.getId(), "jvm", "semantic",
+            null, null, null, null, null, null, filter, "all", 0, 20
+        );
+
+        assertThat(any.getContent()).extracting(PokResponse::title)
+            .containsExactlyInAnyOrder("Virtual threads", "Records");
+        assertThat(all.getContent()).extracting(PokResponse::title).containsExactly("Virtual threads");
+    }
+
     // ---- helpers ----
 
     private Pok savePokWithEmbedding(java.util.UUID userId, String title, String content, float[] embedding) {
@@ -1,6 +1,8 @@
 package com.lucasxf.ed.repository;
 
 import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.domain.Tag;
 import com.lucasxf.ed.domain.User;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,10 +25,12 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * Integration tests for {@link PokRepository} using Testcontainers (local) or service container (CI).
@@ -120,6 +124,22 @@ class PokRepositoryTest {
         entityManager.flush();
     }
 
+    @Test
+    void save_shouldAssignTimeOrderedVersion7Ids() {
+        Pok first = pokRepository.saveAndFlush(new Pok(testUser.getId(), "First", "Content 1"));
+        Pok second = pokRepository.saveAndFlush(new Pok(testUser.getId(), "Second", "Content 2"));
+        PokTag pokTag = entityManager.persistAndFlush(
+            new PokTag(first.getId(), entityManager.persistAndFlush(new Tag("uuid-v7")).getId(), PokTag.Source.MANUAL));
+
+        assertThat(first.getId().version()).isEqualTo(7);
+        assertThat(pokTag.getId().version()).isEqualTo(7);
+        // Later inserts sort after earlier ones, both as Java UUIDs and in Postgres' byte order
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(pokRepository.findAll(Sort.by("id")))
+            .extracting(Pok::getId)
+            .containsExactly(first.getId(), second.getId());
+    }
+
     @Test
     void findByUserIdAndDeletedAtIsNull_shouldReturnOnlyActivePoksForUser() {
         // Given: 2 active POKs and 1 soft-deleted POK for testUser
@@ -561,4 +581,81 @@ class PokRepositoryTest {
         assertThat(result.getTotalElements()).isEqualTo(1);
         assertThat(result.getContent().getFirst().getTitle()).isEqualTo("Spring Data");
     }
+
+    // ============================
+    // TAG FILTER / FACET TESTS
+    // ============================
+
+    @Test
+    void searchPoksByTags_shouldApplyAnyOfAndAllOfSemantics() {
+        // Given: three POKs tagged {java}, {java, spring}, {} and two global tags
+        Tag java = new Tag("java");
+        Tag spring = new Tag("spring");
+        entityManager.persist(java);
+        entityManager.persist(spring);
+
+        Pok javaOnly = new Pok(testUser.getId(), "Java only", "Content");
+        Pok javaAndSpring = new Pok(testUser.getId(), "Java and Spring", "Content");
+        Pok untagged = new Pok(testUser.getId(), "Untagged", "Content");
+        entityManager.persist(javaOnly);
+        entityManager.persist(javaAndSpring);
+        entityManager.persist(untagged);
+        entityManager.persist(new PokTag(javaOnly.getId(), java.getId(), PokTag.Source.MANUAL));
+        entityManager.persist(new PokTag(javaAndSpring.getId(), java.getId(), PokTag.Source.MANUAL));
+        entityManager.persist(new PokTag(javaAndSpring.getId(), spring.getId(), PokTag.Source.MANUAL));
+        // And: another user's POK carrying both global tags
+        Pok othersPok = new Pok(otherUser.getId(), "Other Java and Spring", "Content");
+        entityManager.persist(othersPok);
+        entityManager.persist(new PokTag(othersPok.getId(), java.getId(), PokTag.Source.MANUAL));
+        entityManager.persist(new PokTag(othersPok.getId(), spring.getId(), PokTag.Source.MANUAL));
+        entityManager.flush();
+
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "updatedAt"));
+        List<UUID> tagIds = List.of(java.getId(), spring.getId());
+
+        // When
+        Page<Pok> anyOf = pokRepository.searchPoksByTags(
+            testUser.getId(), null, null, null, null, null, tagIds, 1, pageRequest);
+        Page<Pok> allOf = pokRepository.searchPoksByTags(
+            testUser.getId(), null, null, null, null, null, tagIds, 2, pageRequest);
+
+        // Then
+        assertThat(anyOf.getTotalElements()).isEqualTo(2);
+        assertThat(allOf.getContent()).extracting(Pok::getTitle).containsExactly("Java and Spring");
+    }
+
+    @Test
+    void countTagFacets_shouldCountPoksPerTagInResultSet() {
+        // Given
+        Tag java = new Tag("java");
+        Tag spring = new Tag("spring");
+        entityManager.persist(java);
+        entityManager.persist(spring);
+
+        Pok javaBoot = new Pok(testUser.getId(), "Boot", "Spring Boot on Java");
+        Pok javaPlain = new Pok(testUser.getId(), "Plain", "Plain Java");
+        Pok deleted = new Pok(testUser.getId(), "Deleted", "Spring Boot");
+        deleted.softDelete();
+        entityManager.persist(javaBoot);
+        entityManager.persist(javaPlain);
+        entityManager.persist(deleted);
+        entityManager.persist(new PokTag(javaBoot.getId(), java.getId(), PokTag.Source.MANUAL));
+        entityManager.persist(new PokTag(javaBoot.getId(), spring.getId(), PokTag.Source.MANUAL));
+        entityManager.persist(new PokTag(javaPlain.getId(), java.getId(), PokTag.Source.MANUAL));
+        entityManager.persist(new PokTag(deleted.getId(), spring.getId(), PokTag.Source.MANUAL));
+        entityManager.flush();
+
+        // When
+        List<PokRepository.TagFacetCount> all = pokRepository.countTagFacets(
+            testUser.getId(), null, null, null, null, null);
+        List<PokRepository.TagFacetCount> boot = pokRepository.countTagFacets(
+            testUser.getId(), "boot", null, null, null, null);
+
+        // Then
+        assertThat(all).extracting(PokRepository.TagFacetCount::getTagId, PokRepository.TagFacetCount::getPokCount)
+            .containsExactlyInAnyOrder(
+                tuple(java.getId(), 2L),
+                tuple(spring.getId(), 1L));
+        assertThat(boot).extracting(PokRepository.TagFacetCount::getPokCount).containsOnly(1L);
+    }
 }
@@ -0,0 +1,234 @@
+package com.lucasxf.ed.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.lucasxf.ed.config.AuditProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AuditLogMaintenanceService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogMaintenanceService")
+class AuditLogMaintenanceServiceTest {
+
+    private static final YearMonth NOW = YearMonth.of(2026, 10);
+    private static final String KIND_QUERY = "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('pok_audit_logs')";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PokHistoryService pokHistoryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path archiveDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement tryLock;
+
+    @Mock
+    private PreparedStatement unlock;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(jdbcTemplate.queryForList(KIND_QUERY, String.class)).thenReturn(List.of("p"));
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+            invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        lenient().when(connection.prepareStatement("SELECT pg_try_advisory_lock(?)")).thenReturn(tryLock);
+        lenient().when(connection.prepareStatement("SELECT pg_advisory_unlock(?)")).thenReturn(unlock);
+        givenLockAcquired(true);
+        ResultSet unlocked = booleanResult(true);
+        lenient().when(unlock.executeQuery()).thenReturn(unlocked);
+    }
+
+    @Test
+    @DisplayName("does nothing when the table is not partitioned")
+    void maintain_notPartitioned_skips() {
+        when(jdbcTemplate.queryForList(KIND_QUERY, String.class)).thenReturn(List.of("r"));
+
+        AuditLogMaintenanceService.Maintenance result = service(0, null).maintain(NOW);
+
+        assertThat(result).isEqualTo(new AuditLogMaintenanceService.Maintenance(0, 0, 0));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("skips the run while another instance holds the maintenance lock")
+    void maintain_lockHeldElsewhere_skips() throws Exception {
+        givenLockAcquired(false);
+
+        AuditLogMaintenanceService.Maintenance result = service(6, archiveDir.toString()).maintain(NOW);
+
+        assertThat(result).isEqualTo(new AuditLogMaintenanceService.Maintenance(0, 0, 0));
+        verify(tryLock).setLong(1, AuditLogMaintenanceService.MAINTENANCE_LOCK_KEY);
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(unlock, never()).executeQuery();
+        verifyNoInteractions(pokHistoryService);
+    }
+
+    @Test
+    @DisplayName("creates the missing partitions for the current and upcoming months")
+    void maintain_createsMissingPartitions() throws Exception {
+        givenPartitions("pok_audit_logs_y2026m10", "pok_audit_logs_y2026m11");
+
+        AuditLogMaintenanceService.Maintenance result = service(0, null).maintain(NOW);
+
+        assertThat(result.partitionsCreated()).isEqualTo(2);
+        verify(unlock).setLong(1, AuditLogMaintenanceService.MAINTENANCE_LOCK_KEY);
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS pok_audit_logs_y2026m12 PARTITION OF pok_audit_logs"
+            + " FOR VALUES FROM ('2026-12-01T00:00:00Z') TO ('2027-01-01T00:00:00Z')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS pok_audit_logs_y2027m01 PARTITION OF pok_audit_logs"
+            + " FOR VALUES FROM ('2027-01-01T00:00:00Z') TO ('2027-02-01T00:00:00Z')");
+        verifyNoInteractions(pokHistoryService);
+    }
+
+    @Test
+    @DisplayName("keeps every partition when retention is set without an archive directory")
+    void maintain_retentionWithoutArchiveDir_keepsPartitions() {
+        givenPartitions("pok_audit_logs_y2025m01", "pok_audit_logs_y2026m10", "pok_audit_logs_y2026m11",
+            "pok_audit_logs_y2026m12", "pok_audit_logs_y2027m01");
+
+        AuditLogMaintenanceService.Maintenance result = service(6, " ").maintain(NOW);
+
+        assertThat(result).isEqualTo(new AuditLogMaintenanceService.Maintenance(0, 0, 0));
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(pokHistoryService);
+    }
+
+    @Test
+    @DisplayName("rebases, exports, then detaches and drops expired partitions")
+    void maintain_archivesExpiredPartitions() throws Exception {
+        givenPartitions("pok_audit_logs_y2026m03", "pok_audit_logs_y2026m04", "pok_audit_logs_y2026m10",
+            "pok_audit_logs_y2026m11", "pok_audit_logs_y2026m12", "pok_audit_logs_y2027m01");
+        UUID pokId = UUID.randomUUID();
+        when(jdbcTemplate.queryForList("SELECT DISTINCT pok_id FROM pok_audit_logs_y2026m03", UUID.class))
+            .thenReturn(List.of(pokId));
+        when(pokHistoryService.rebaseHistoryAt(pokId, Instant.parse("2026-04-01T00:00:00Z"))).thenReturn(true);
+        ResultSet row = row(pokId);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row);
+            handler.processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        AuditLogMaintenanceService.Maintenance result = service(6, archiveDir.toString()).maintain(NOW);
+
+        assertThat(result).isEqualTo(new AuditLogMaintenanceService.Maintenance(0, 1, 2));
+        InOrder order = inOrder(pokHistoryService, jdbcTemplate);
+        order.verify(pokHistoryService).rebaseHistoryAt(eq(pokId), any());
+        order.verify(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        order.verify(jdbcTemplate).execute("ALTER TABLE pok_audit_logs DETACH PARTITION pok_audit_logs_y2026m03");
+        order.verify(jdbcTemplate).execute("DROP TABLE pok_audit_logs_y2026m03");
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE pok_audit_logs DETACH PARTITION pok_audit_logs_y2026m04"));
+
+        List<String> lines = readGzip(archiveDir.resolve("pok_audit_logs_y2026m03.jsonl.gz"));
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.getFirst()).get("pok_id").asText()).isEqualTo(pokId.toString());
+        assertThat(objectMapper.readTree(lines.getFirst()).get("occurred_at").asText())
+            .isEqualTo("2026-03-15T12:00:00Z");
+        assertThat(archiveDir.resolve("pok_audit_logs_y2026m03.jsonl.gz.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("names partitions by UTC year and month")
+    void partitionName_padsYearAndMonth() {
+        assertThat(AuditLogMaintenanceService.partitionName(YearMonth.of(2026, 3)))
+            .isEqualTo("pok_audit_logs_y2026m03");
+    }
+
+    private AuditLogMaintenanceService service(int retentionMonths, String archiveDir) {
+        return new AuditLogMaintenanceService(jdbcTemplate, pokHistoryService,
+            new AuditProperties(20, 3, retentionMonths, archiveDir), objectMapper, transactionManager);
+    }
+
+    private void givenLockAcquired(boolean acquired) throws Exception {
+        ResultSet result = booleanResult(acquired);
+        lenient().when(tryLock.executeQuery()).thenReturn(result);
+    }
+
+    private static ResultSet booleanResult(boolean value) throws Exception {
+        ResultSet result = mock(ResultSet.class);
+        lenient().when(result.next()).thenReturn(true);
+        lenient().when(result.getBoolean(1)).thenReturn(value);
+        return result;
+    }
+
+    private void givenPartitions(String... names) {
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.relname FROM pg_inherits"), eq(String.class)))
+            .thenReturn(List.of(names));
+    }
+
+    private static ResultSet row(UUID pokId) throws Exception {
+        ResultSetMetaData meta = mock(ResultSetMetaData.class);
+        when(meta.getColumnCount()).thenReturn(2);
+        when(meta.getColumnLabel(1)).thenReturn("pok_id");
+        when(meta.getColumnLabel(2)).thenReturn("occurred_at");
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(meta);
+        when(rs.getObject(1)).thenReturn(pokId);
+        when(rs.getObject(2)).thenReturn(Timestamp.from(Instant.parse("2026-03-15T12:00:00Z")));
+        return rs;
+    }
+
+    private static List<String> readGzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.lucasxf.ed.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.lucasxf.ed.dto.BragDocJobResponse;
+import com.lucasxf.ed.dto.BragDocJobResponse.Status;
+import com.lucasxf.ed.service.BragDocService.Highlight;
+import com.lucasxf.ed.service.BragDocService.Rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BragDocService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BragDocService")
+class BragDocServiceTest {
+
+    private static final Instant Q4 = Instant.parse("2026-10-01T00:00:00Z");
+    private static final Instant Q3 = Instant.parse("2026-07-01T00:00:00Z");
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private UserChangeVersionService userChangeVersionService;
+
+    private BragDocService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private final List<Object[]> highlightArgs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Jobs run on the calling thread, so start() returns them finished
+        service = new BragDocService(jdbcTemplate, transactionManager, userChangeVersionService,
+            new ExecutorServiceAdapter(new SyncTaskExecutor()));
+    }
+
+    @Test
+    @DisplayName("renders per-period and per-tag rollups with their representative POKs")
+    void start_rendersDocument() {
+        stubRollups(
+            new Rollup(Q4, null, true, 3), new Rollup(Q4, "java", false, 2), new Rollup(Q4, null, false, 1),
+            new Rollup(Q3, null, true, 1), new Rollup(Q3, "java", false, 1));
+        stubHighlights(
+            List.of(highlight("Records", "Records are\n  immutable", "2026-10-03T10:00:00Z", "java"),
+                highlight(null, "Sealed types", "2026-11-01T10:00:00Z", "java"),
+                highlight(" ", "Scratch", "2026-12-01T10:00:00Z", null)),
+            List.of(highlight("Streams", "Lazy pipelines", "2026-08-01T10:00:00Z", "java")));
+
+        BragDocJobResponse job = service.start(userId, "quarter", null, null);
+
+        assertThat(job.status()).isEqualTo(Status.COMPLETED);
+        assertThat(job.periodsDone()).isEqualTo(2);
+        assertThat(job.periodsTotal()).isEqualTo(2);
+        assertThat(job.markdown()).isEqualTo("""
+            # Brag document
+
+            4 POKs, 2026 Q3 to 2026 Q4, by quarter.
+
+            ## 2026 Q4
+
+            3 POKs.
+
+            ### java (2)
+
+            - **Records** (2026-10-03): Records are immutable
+            - Sealed types (2026-11-01)
+
+            ### Untagged (1)
+
+            - Scratch (2026-12-01)
+
+            ## 2026 Q3
+
+            1 POK.
+
+            ### java (1)
+
+            - **Streams** (2026-08-01): Lazy pipelines
+            """);
+        // Highlights are picked within each period's bounds
+        assertThat(highlightArgs.getFirst()).containsExactly("quarter", userId,
+            Timestamp.from(Q4), Timestamp.from(Instant.parse("2027-01-01T00:00:00Z")),
+            BragDocService.HIGHLIGHTS_PER_CLUSTER);
+    }
+
+    @Test
+    @DisplayName("serves a repeat request from cache until the user's data changes")
+    void start_sameVersion_reusesJob() {
+        stubRollups();
+        when(userChangeVersionService.current(userId)).thenReturn(4L, 4L, 5L);
+
+        BragDocJobResponse first = service.start(userId, "year", null, null);
+        BragDocJobResponse repeat = service.start(userId, "year", null, null);
+        BragDocJobResponse afterChange = service.start(userId, "year", null, null);
+
+        assertThat(first.markdown()).isEqualTo("# Brag document\n\nNo POKs yet.\n");
+        assertThat(repeat.jobId()).isEqualTo(first.jobId());
+        assertThat(afterChange.jobId()).isNotEqualTo(first.jobId());
+        verify(jdbcTemplate, times(2)).query(contains("GROUPING SETS"), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("reports a failed job and runs again on the next request")
+    void start_failure_notCached() {
+        when(jdbcTemplate.query(contains("GROUPING SETS"), any(RowMapper.class), any(Object[].class)))
+            .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        BragDocJobResponse failed = service.start(userId, "month", null, null);
+        BragDocJobResponse retried = service.start(userId, "month", null, null);
+
+        assertThat(failed.status()).isEqualTo(Status.FAILED);
+        assertThat(failed.error()).isEqualTo("Brag document generation failed");
+        assertThat(failed.markdown()).isNull();
+        assertThat(retried.jobId()).isNotEqualTo(failed.jobId());
+    }
+
+    @Test
+    @DisplayName("runs one job per user at a time, and reuses it for the same request")
+    void start_whileRunning_refusesAnotherRequest() {
+        List<Runnable> tasks = new ArrayList<>();
+        service = new BragDocService(jdbcTemplate, transactionManager, userChangeVersionService,
+            new ExecutorServiceAdapter(tasks::add));
+
+        BragDocJobResponse running = service.start(userId, "year", null, null);
+        BragDocJobResponse same = service.start(userId, "year", null, null);
+        BragDocJobResponse other = service.start(userId, "month", null, null);
+        BragDocJobResponse otherUser = service.start(UUID.randomUUID(), "month", null, null);
+
+        assertThat(running.status()).isEqualTo(Status.RUNNING);
+        assertThat(same.jobId()).isEqualTo(running.jobId());
+        assertThat(other.status()).isEqualTo(Status.FAILED);
+        assertThat(other.error()).startsWith("Another brag document is still being generated");
+        assertThat(service.find(userId, other.jobId())).isEmpty();
+        assertThat(otherUser.status()).isEqualTo(Status.RUNNING);
+        assertThat(tasks).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("refuses new jobs while the overall limit of running jobs is reached")
+    void start_tooManyRunning_refused() {
+        service = new BragDocService(jdbcTemplate, transactionManager, userChangeVersionService,
+            new ExecutorServiceAdapter(task -> { }));
+        for (int i = 0; i < BragDocService.MAX_RUNNING_JOBS; i++) {
+            service.start(UUID.randomUUID(), "year", null, null);
+        }
+
+        BragDocJobResponse refused = service.start(userId, "year", null, null);
+
+        assertThat(refused.status()).isEqualTo(Status.FAILED);
+        assertThat(refused.error()).startsWith("Too many brag documents are being generated");
+    }
+
+    @Test
+    @DisplayName("forgets a user's least recently used job beyond the per-user limit")
+    void start_beyondPerUserLimit_forgetsOldest() {
+        stubRollups();
+        List<BragDocJobResponse> started = new ArrayList<>();
+        for (int year = 2020; year <= 2020 + BragDocService.MAX_JOBS_PER_USER; year++) {
+            started.add(service.start(userId, "year", year + "-01-01T00:00:00Z", null));
+        }
+
+        assertThat(service.find(userId, started.getFirst().jobId())).isEmpty();
+        assertThat(service.find(userId, started.get(1).jobId())).isPresent();
+        assertThat(service.find(userId, started.getLast().jobId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("cancels a running job that is forgotten")
+    void start_beyondGlobalLimit_cancelsForgottenRunningJob() {
+        stubRollups();
+        List<Runnable> held = new ArrayList<>();
+        service = new BragDocService(jdbcTemplate, transactionManager, userChangeVersionService,
+            new ExecutorServiceAdapter(task -> {
+                if (held.isEmpty()) {
+                    held.add(task);
+                } else {
+                    task.run();
+                }
+            }));
+        BragDocJobResponse forgotten = service.start(userId, "year", null, null);
+
+        for (int i = 0; i < BragDocService.MAX_JOBS; i++) {
+            service.start(UUID.randomUUID(), "year", null, null);
+        }
+
+        assertThat(service.find(userId, forgotten.jobId())).isEmpty();
+        assertThat((Future<?>) held.getFirst()).isCancelled();
+    }
+
+    @Test
+    @DisplayName("only finds the caller's own jobs")
+    void find_otherUsersJob_empty() {
+        stubRollups();
+        BragDocJobResponse job = service.start(userId, "quarter", null, null);
+
+        assertThat(service.find(userId, job.jobId())).contains(job);
+        assertThat(service.find(UUID.randomUUID(), job.jobId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("rejects malformed parameters before starting a job")
+    void start_malformedParameters_rejected() {
+        assertThatThrownBy(() -> service.start(userId, "week", null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported period");
+        assertThatThrownBy(() -> service.start(userId, "month", "last year", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Malformed date");
+    }
+
+    @Test
+    @DisplayName("lists clusters beyond the limit on one line")
+    void section_manyClusters_summarizesTheRest() {
+        List<Rollup> rollups = new ArrayList<>(List.of(new Rollup(Q4, null, true, 20)));
+        for (int i = 0; i < BragDocService.MAX_CLUSTERS_PER_PERIOD + 2; i++) {
+            rollups.add(new Rollup(Q4, "tag" + i, false, 2));
+        }
+
+        String section = BragDocService.section("2026 Q4", rollups, List.of());
+
+        assertThat(section).contains("### tag7 (2)").doesNotContain("### tag8")
+            .endsWith("\nAlso: tag8 (2), tag9 (2).\n");
+    }
+
+    @Test
+    @DisplayName("cuts long excerpts at a word boundary")
+    void excerpt_longContent_cutAtWord() {
+        String excerpt = BragDocService.excerpt("word ".repeat(100));
+
+        assertThat(excerpt).endsWith("word…").hasSizeLessThanOrEqualTo(BragDocService.EXCERPT_LENGTH + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRollups(Rollup... rollups) {
+        when(jdbcTemplate.query(contains("GROUPING SETS"), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(rollups));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void stubHighlights(List<Highlight>... perPeriod) {
+        int[] call = {0};
+        when(jdbcTemplate.query(contains("centroid"), any(RowMapper.class), any(Object[].class))).thenAnswer(inv -> {
+            highlightArgs.add(Arrays.copyOfRange(inv.getArguments(), 2, inv.getArguments().length));
+            return perPeriod[call[0]++];
+        });
+    }
+
+    private static Highlight highlight(String title, String content, String createdAt, String tag) {
+        return new Highlight(UUID.randomUUID(), title, content, Instant.parse(createdAt), tag);
+    }
+}
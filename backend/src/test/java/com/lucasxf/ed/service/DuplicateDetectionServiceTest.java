@@ -0,0 +1,167 @@
+package com.lucasxf.ed.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.dto.DuplicateGroupResponse;
+import com.lucasxf.ed.dto.PokDuplicateResponse;
+import com.lucasxf.ed.repository.PokRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link DuplicateDetectionService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicateDetectionService")
+class DuplicateDetectionServiceTest {
+
+    private static final String NOTE = "Java records are immutable data carriers. The compiler generates the "
+        + "canonical constructor, accessors, equals, hashCode and toString, so they replace most hand-written "
+        + "value classes and Lombok @Value usages in modern code bases.";
+
+    @Mock
+    private PokRepository pokRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DuplicateDetectionService service;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("signatures are deterministic and ignore case and punctuation")
+    void simhash_isDeterministicAndNormalized() {
+        assertThat(DuplicateDetectionService.simhash("Records", NOTE))
+            .isEqualTo(DuplicateDetectionService.simhash("records!", NOTE.toUpperCase()));
+        assertThat(DuplicateDetectionService.simhash(null, "  ...  ")).isNull();
+    }
+
+    @Test
+    @DisplayName("a one-word edit stays within the distance threshold; unrelated text does not")
+    void simhash_nearDuplicatesAreCloseUnrelatedAreFar() {
+        long original = DuplicateDetectionService.simhash("Records", NOTE);
+        long edited = DuplicateDetectionService.simhash("Records", NOTE.replace("modern", "recent"));
+        long unrelated = DuplicateDetectionService.simhash("Vacuum",
+            "Autovacuum reclaims dead tuples in Postgres; tune scale factors on large, write-heavy tables.");
+
+        assertThat(Long.bitCount(original ^ edited)).isLessThanOrEqualTo(DuplicateDetectionService.MAX_HAMMING_DISTANCE);
+        assertThat(Long.bitCount(original ^ unrelated)).isGreaterThan(DuplicateDetectionService.MAX_HAMMING_DISTANCE);
+    }
+
+    @Test
+    @DisplayName("looks candidates up by band and keeps only those within the threshold")
+    void findLikelyDuplicates_filtersBandCandidatesByDistance() {
+        Pok pok = pok("Records", NOTE, 0L);
+        Pok close = pok("Records (again)", NOTE, 0b101L);
+        Pok far = pok("Other", "Other", 0xFFL);
+        when(pokRepository.findSimhashCandidates(eq(userId), eq(pok.getId()), anyInt(), anyInt(), anyInt(), anyInt()))
+            .thenReturn(List.of(far, close));
+
+        List<PokDuplicateResponse> duplicates = service.findLikelyDuplicates(pok);
+
+        assertThat(duplicates).extracting(PokDuplicateResponse::id).containsExactly(close.getId());
+        assertThat(duplicates.getFirst().similarity()).isEqualTo(1.0 - 2.0 / 64);
+        verify(pokRepository).findSimhashCandidates(userId, pok.getId(), 0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("groups transitively similar POKs without comparing unrelated buckets")
+    void findDuplicateGroups_unionsPairsSharingABand() {
+        PokRepository.ContentSignature a = signature("2026-01-01T00:00:00Z", 0x1234_0000_0000_0000L);
+        PokRepository.ContentSignature b = signature("2026-02-01T00:00:00Z", 0x1234_0000_0000_0003L);
+        PokRepository.ContentSignature c = signature("2026-03-01T00:00:00Z", 0x1234_0000_0000_000FL);
+        PokRepository.ContentSignature lonely = signature("2026-04-01T00:00:00Z", 0x0F0F_F0F0_0F0F_F0F0L);
+        when(pokRepository.findContentSignatures(userId)).thenReturn(List.of(c, lonely, b, a));
+
+        List<DuplicateGroupResponse> groups = service.findDuplicateGroups(userId);
+
+        assertThat(groups).hasSize(1);
+        assertThat(groups.getFirst().poks()).extracting(PokDuplicateResponse::id)
+            .containsExactly(a.getId(), b.getId(), c.getId());
+        assertThat(groups.getFirst().poks().getFirst().similarity()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("backfill signs unsigned POKs batch by batch")
+    void backfill_signsUnsignedPoks() {
+        Pok unsigned = pok("Records", NOTE, null);
+        when(pokRepository.findUnsignedAfter(any(UUID.class), any(Limit.class))).thenReturn(List.of(unsigned));
+
+        assertThat(service.backfill()).isEqualTo(1);
+        assertThat(unsigned.getContentSimhash()).isEqualTo(DuplicateDetectionService.simhash("Records", NOTE));
+        verify(pokRepository).saveAll(List.of(unsigned));
+    }
+
+    @Test
+    @DisplayName("backfill commits each batch in its own transaction")
+    void backfill_oneTransactionPerBatch() {
+        List<Pok> full = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            full.add(pok("Note " + i, NOTE, null));
+        }
+        when(pokRepository.findUnsignedAfter(any(UUID.class), any(Limit.class)))
+            .thenReturn(full, List.of(pok("Last", NOTE, null)));
+
+        assertThat(service.backfill()).isEqualTo(501);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(pokRepository).findUnsignedAfter(eq(full.getLast().getId()), any(Limit.class));
+    }
+
+    private Pok pok(String title, String content, Long simhash) {
+        Pok pok = new Pok(userId, title, content);
+        ReflectionTestUtils.setField(pok, "id", UUID.randomUUID());
+        pok.updateContentSimhash(simhash);
+        return pok;
+    }
+
+    private static PokRepository.ContentSignature signature(String createdAt, long simhash) {
+        UUID id = UUID.randomUUID();
+        return new PokRepository.ContentSignature() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return null;
+            }
+
+            @Override
+            public Instant getCreatedAt() {
+                return Instant.parse(createdAt);
+            }
+
+            @Override
+            public Long getContentSimhash() {
+                return simhash;
+            }
+        };
+    }
+}
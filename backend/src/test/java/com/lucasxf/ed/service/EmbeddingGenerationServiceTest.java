@@ -11,10 +11,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -36,6 +39,12 @@ class EmbeddingGenerationServiceTest {
     @Mock
     private EmbeddingService embeddingService;
 
+    @Mock
+    private UserChangeVersionService userChangeVersionService;
+
+    @Mock
+    private SearchEngine searchEngine;
+
     @InjectMocks
     private EmbeddingGenerationService service;
 
@@ -88,4 +97,33 @@ class EmbeddingGenerationServiceTest {
 
         verify(pokRepository, never()).save(any());
     }
+
+    @Test
+    @DisplayName("embeds a batch of POKs with one embedding call")
+    void generateEmbeddingsForPoks_embedsBatchInOneCall() {
+        Pok other = new Pok(pok.getUserId(), null, "Records are immutable");
+        when(pokRepository.findAllById(anyList())).thenReturn(List.of(pok, other));
+        when(embeddingService.embedAll(anyList())).thenReturn(List.of(new float[384], new float[384]));
+
+        List<Pok> embedded = service.generateEmbeddingsForPoks(List.of(pokId, UUID.randomUUID()));
+
+        verify(embeddingService).embedAll(List.of("Test title Test content about Java", "Records are immutable"));
+        verify(embeddingService, never()).embed(anyString());
+        verify(pokRepository).saveAll(List.of(pok, other));
+        verify(userChangeVersionService).markChanged(pok.getUserId());
+        assertThat(embedded).containsExactly(pok, other);
+    }
+
+    @Test
+    @DisplayName("stops the batch without saving when embedding service is unavailable")
+    void generateEmbeddingsForPoks_whenEmbeddingUnavailable_savesNothing() {
+        when(pokRepository.findAllById(anyList())).thenReturn(List.of(pok));
+        when(embeddingService.embedAll(anyList())).thenThrow(new EmbeddingUnavailableException("HF unavailable"));
+
+        List<Pok> embedded = service.generateEmbeddingsForPoks(List.of(pokId));
+
+        assertThat(embedded).isEmpty();
+        verify(pokRepository, never()).saveAll(any());
+        verify(userChangeVersionService, never()).markChanged(any());
+    }
 }
@@ -0,0 +1,141 @@
+package com.lucasxf.ed.service;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.lucasxf.ed.config.IdempotencyProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link IdempotencyService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService")
+class IdempotencyServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private IdempotencyService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private final byte[] fingerprint = IdempotencyService.fingerprint("Title", "Content", null);
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(jdbcTemplate, new IdempotencyProperties(Duration.ofHours(24), Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("a first claim owns the key and reads nothing back")
+    void claim_newKey_isOwned() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+
+        assertThat(service.claim(userId, "key-1", IdempotencyService.Operation.CREATE_POK, fingerprint)).isEmpty();
+
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("a repeated claim replays the recorded POK")
+    void claim_usedKey_returnsPrior() throws Exception {
+        UUID pokId = UUID.randomUUID();
+        ResultSet row = row("CREATE_POK", fingerprint, pokId);
+        stubExistingRow(row);
+
+        Optional<IdempotencyService.Prior> prior =
+            service.claim(userId, "key-1", IdempotencyService.Operation.CREATE_POK, fingerprint);
+
+        assertThat(prior).contains(new IdempotencyService.Prior(pokId, null));
+        assertThat(prior.get().completed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("a key reused with a different body is rejected")
+    void claim_usedKeyDifferentBody_isRejected() throws Exception {
+        stubExistingRow(row("CREATE_POK", IdempotencyService.fingerprint("Other", "Content", null), UUID.randomUUID()));
+
+        assertThatThrownBy(() -> service.claim(userId, "key-1", IdempotencyService.Operation.CREATE_POK, fingerprint))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("already used");
+    }
+
+    @Test
+    @DisplayName("a key reused for another operation is rejected")
+    void claim_usedKeyOtherOperation_isRejected() throws Exception {
+        stubExistingRow(row("IMPORT", null, null));
+
+        assertThatThrownBy(() -> service.claim(userId, "key-1", IdempotencyService.Operation.CREATE_POK, fingerprint))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("rejects keys longer than 255 characters without touching the store")
+    void claim_overlongKey_isRejected() {
+        assertThatThrownBy(() -> service.claim(userId, "k".repeat(256), IdempotencyService.Operation.IMPORT, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("fingerprints distinguish field boundaries and nulls")
+    void fingerprint_separatesFields() {
+        assertThat(IdempotencyService.fingerprint("ab", "c"))
+            .isNotEqualTo(IdempotencyService.fingerprint("a", "bc"));
+        assertThat(IdempotencyService.fingerprint("a", null))
+            .isEqualTo(IdempotencyService.fingerprint("a", null));
+    }
+
+    @Test
+    @DisplayName("eviction deletes keys older than the TTL")
+    void evictExpired_deletesByAge() {
+        service.evictExpired();
+
+        verify(jdbcTemplate).update(eq("DELETE FROM idempotency_keys WHERE created_at < ?"), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExistingRow(ResultSet row) {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(inv -> {
+            RowMapper<IdempotencyService.Prior> mapper = inv.getArgument(1);
+            return List.of(mapper.mapRow(row, 0));
+        });
+    }
+
+    private static ResultSet row(String operation, byte[] fingerprint, UUID pokId) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("operation")).thenReturn(operation);
+        // Lenient: the mapper stops reading once the operation or fingerprint differs
+        lenient().when(rs.getBytes("fingerprint")).thenReturn(fingerprint);
+        lenient().when(rs.getObject("pok_id", UUID.class)).thenReturn(pokId);
+        lenient().when(rs.getString("response")).thenReturn(null);
+        return rs;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lucasxf.ed.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.lucasxf.ed.config.LiveUpdateProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link LiveUpdateService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("LiveUpdateService")
+class LiveUpdateServiceTest {
+
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LiveUpdateService service;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = service(new ExecutorServiceAdapter(new SyncTaskExecutor()));
+    }
+
+    @Test
+    @DisplayName("sends events to every stream of the user and no one else")
+    void publish_reachesOnlyTheUsersStreams() throws IOException {
+        SseEmitter phone = service.connect(userId).orElseThrow();
+        SseEmitter laptop = service.connect(userId).orElseThrow();
+        SseEmitter stranger = service.connect(UUID.randomUUID()).orElseThrow();
+
+        service.publish(userId, LiveUpdateService.EMBEDDING_READY, List.of(UUID.randomUUID()));
+
+        verify(phone).send(any(SseEmitter.SseEventBuilder.class));
+        verify(laptop).send(any(SseEmitter.SseEventBuilder.class));
+        verify(stranger, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("sends a stream's events in order, from one sender at a time")
+    void publish_whileSending_keepsOrder() throws IOException {
+        List<Runnable> senders = new ArrayList<>();
+        service = service(new ExecutorServiceAdapter(senders::add));
+        SseEmitter emitter = service.connect(userId).orElseThrow();
+
+        service.publish(userId, LiveUpdateService.POK_CHANGED, List.of(UUID.randomUUID()));
+        service.publish(userId, LiveUpdateService.EMBEDDING_READY, List.of(UUID.randomUUID()));
+        service.heartbeat();
+
+        assertThat(senders).hasSize(1);
+        senders.getFirst().run();
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, times(3)).send(events.capture());
+        assertThat(events.getAllValues()).extracting(LiveUpdateServiceTest::firstLine)
+            .containsExactly("event:pok-changed", "event:embedding-ready", ":heartbeat");
+    }
+
+    @Test
+    @DisplayName("drops a stream whose client stopped reading once its backlog is full")
+    void heartbeat_stalledClient_dropsStream() throws IOException {
+        List<Runnable> senders = new ArrayList<>();
+        service = service(new ExecutorServiceAdapter(senders::add));
+        SseEmitter stalled = service.connect(userId).orElseThrow();
+
+        for (int i = 0; i <= LiveUpdateService.MAX_PENDING_EVENTS; i++) {
+            service.heartbeat();
+        }
+
+        verify(stalled).complete();
+        assertThat(senders).hasSize(1);
+        assertThat(meterRegistry.get("learnimo.live.connections").gauge().value()).isZero();
+        senders.getFirst().run();
+        verify(stalled, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("refuses streams beyond the per-user limit")
+    void connect_beyondLimit_refused() {
+        service.connect(userId);
+        service.connect(userId);
+
+        Optional<SseEmitter> third = service.connect(userId);
+
+        assertThat(third).isEmpty();
+        assertThat(service.connect(UUID.randomUUID())).isPresent();
+        assertThat(meterRegistry.get("learnimo.live.connections").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("frees the slot of a stream that completes")
+    void connect_afterCompletion_slotFreed() {
+        SseEmitter first = service.connect(userId).orElseThrow();
+        service.connect(userId);
+        ArgumentCaptor<Runnable> onCompletion = ArgumentCaptor.forClass(Runnable.class);
+        verify(first).onCompletion(onCompletion.capture());
+
+        onCompletion.getValue().run();
+
+        assertThat(service.connect(userId)).isPresent();
+    }
+
+    @Test
+    @DisplayName("drops a stream whose client went away")
+    void heartbeat_failedSend_dropsStream() throws IOException {
+        SseEmitter gone = service.connect(userId).orElseThrow();
+        doThrow(new IOException("Broken pipe")).when(gone).send(any(SseEmitter.SseEventBuilder.class));
+
+        service.heartbeat();
+        service.heartbeat();
+
+        verify(gone, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(meterRegistry.get("learnimo.live.connections").gauge().value()).isZero();
+    }
+
+    private LiveUpdateService service(ExecutorService sender) {
+        return new LiveUpdateService(new LiveUpdateProperties(2, Duration.ofMinutes(30)), meterRegistry, sender, () -> {
+            SseEmitter emitter = mock(SseEmitter.class);
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    private static String firstLine(SseEmitter.SseEventBuilder event) {
+        return event.build().iterator().next().getData().toString().lines().findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,269 @@
+package com.lucasxf.ed.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasxf.ed.config.SearchProperties;
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.PokTagRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link LuceneSearchEngine}, run against an in-memory index.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LuceneSearchEngine")
+class LuceneSearchEngineTest {
+
+    @Mock
+    private PokRepository pokRepository;
+
+    @Mock
+    private PokTagRepository pokTagRepository;
+
+    private LuceneSearchEngine engine;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID otherUserId = UUID.randomUUID();
+    private final UUID javaTag = UUID.randomUUID();
+    private final UUID springTag = UUID.randomUUID();
+
+    private Pok running;
+    private Pok programming;
+    private Pok springBoot;
+    private Pok otherUsers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = new LuceneSearchEngine(
+            new SearchProperties(null, null, new SearchProperties.Lucene(true, null, false), null),
+            pokRepository, pokTagRepository);
+
+        running = pok(userId, "Running tests", "The build runs every unit test in parallel", vector(1f, 0f));
+        programming = pok(userId, "Programação funcional", "Notas sobre programar com funções puras", vector(0f, 1f));
+        springBoot = pok(userId, "Spring Boot", "Auto-configuration and starters for Java services", vector(0.9f, 0.1f));
+        otherUsers = pok(otherUserId, "Running", "Someone else's running notes", vector(1f, 0f));
+        setCreatedAt(running, "2026-01-10T00:00:00Z");
+        setCreatedAt(programming, "2026-02-10T00:00:00Z");
+        setCreatedAt(springBoot, "2026-03-10T00:00:00Z");
+
+        List<Pok> all = List.of(running, programming, springBoot, otherUsers);
+        when(pokRepository.findActiveAfter(any(UUID.class), any(Limit.class))).thenReturn(all);
+        when(pokTagRepository.findByPokIdIn(anyCollection())).thenReturn(List.of(
+            new PokTag(springBoot.getId(), javaTag, PokTag.Source.MANUAL),
+            new PokTag(springBoot.getId(), springTag, PokTag.Source.MANUAL),
+            new PokTag(running.getId(), javaTag, PokTag.Source.MANUAL)
+        ));
+        assertThat(engine.rebuild()).isEqualTo(4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+    }
+
+    @Test
+    @DisplayName("is unavailable until the in-memory index is rebuilt")
+    void isAvailable_beforeRebuild_isFalse() throws IOException {
+        LuceneSearchEngine fresh = new LuceneSearchEngine(
+            new SearchProperties(null, null, new SearchProperties.Lucene(true, null, false), null),
+            pokRepository, pokTagRepository);
+        try {
+            assertThat(fresh.isAvailable()).isFalse();
+            assertThat(fresh.search(keyword("running"))).isEmpty();
+        } finally {
+            fresh.close();
+        }
+    }
+
+    @Test
+    @DisplayName("matches English word forms through stemming, scoped to the user")
+    void search_keyword_usesEnglishStemming() {
+        Optional<SearchEngine.Hits> hits = engine.search(keyword("run"));
+
+        assertThat(hits).isPresent();
+        assertThat(hits.get().pokIds()).containsExactly(running.getId());
+        assertThat(hits.get().totalHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("matches Portuguese word forms through stemming")
+    void search_keyword_usesPortugueseStemming() {
+        assertThat(engine.search(keyword("programar")).orElseThrow().pokIds())
+            .containsExactly(programming.getId());
+    }
+
+    @Test
+    @DisplayName("supports quoted phrase queries")
+    void search_keyword_supportsPhrases() {
+        assertThat(engine.search(keyword("\"unit test\"")).orElseThrow().pokIds()).containsExactly(running.getId());
+        assertThat(engine.search(keyword("\"test unit\"")).orElseThrow().pokIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("applies tag filters with any/all semantics")
+    void search_withTagFilter_respectsMinMatches() {
+        SearchEngine.Criteria any = criteria("java | spring | running", SearchEngine.Mode.KEYWORD, null,
+            Set.of(javaTag, springTag), 1, null, null);
+        SearchEngine.Criteria all = criteria("java | spring | running", SearchEngine.Mode.KEYWORD, null,
+            Set.of(javaTag, springTag), 2, null, null);
+
+        assertThat(engine.search(any).orElseThrow().pokIds())
+            .containsExactlyInAnyOrder(running.getId(), springBoot.getId());
+        assertThat(engine.search(all).orElseThrow().pokIds()).containsExactly(springBoot.getId());
+    }
+
+    @Test
+    @DisplayName("applies creation date bounds and explicit date sort")
+    void search_withDateRangeAndSort_filtersAndOrders() {
+        SearchEngine.Criteria criteria = criteria("running | programação | spring", SearchEngine.Mode.KEYWORD, null,
+            Set.of(), 0, Instant.parse("2026-02-01T00:00:00Z"), "createdAt");
+
+        assertThat(engine.search(criteria).orElseThrow().pokIds())
+            .containsExactly(springBoot.getId(), programming.getId());
+    }
+
+    @Test
+    @DisplayName("semantic mode ranks by vector similarity within the user's POKs")
+    void search_semantic_ranksByVector() {
+        SearchEngine.Criteria criteria = criteria("anything", SearchEngine.Mode.SEMANTIC, vector(1f, 0f),
+            Set.of(), 0, null, null);
+
+        List<UUID> ids = engine.search(criteria).orElseThrow().pokIds();
+
+        assertThat(ids).startsWith(running.getId(), springBoot.getId()).doesNotContain(otherUsers.getId());
+    }
+
+    @Test
+    @DisplayName("hybrid mode fuses keyword and vector rankings")
+    void search_hybrid_fusesBothRankings() {
+        SearchEngine.Criteria criteria = criteria("java", SearchEngine.Mode.HYBRID, vector(0f, 1f),
+            Set.of(), 0, null, null);
+
+        List<UUID> ids = engine.search(criteria).orElseThrow().pokIds();
+
+        // springBoot is the only keyword hit; programming is the nearest vector. Both appear.
+        assertThat(ids).contains(springBoot.getId(), programming.getId());
+    }
+
+    @Test
+    @DisplayName("index() picks up new content and remove() drops the POK")
+    void indexAndRemove_updateTheIndexImmediatelyOutsideTransactions() {
+        running.updateContent("Now about marathons");
+        when(pokRepository.findAllById(List.of(running.getId()))).thenReturn(List.of(running));
+        when(pokTagRepository.findByPokIdIn(eq(List.of(running.getId())))).thenReturn(List.of());
+
+        engine.index(running.getId());
+        assertThat(engine.search(keyword("marathon")).orElseThrow().pokIds()).containsExactly(running.getId());
+
+        engine.remove(running.getId());
+        assertThat(engine.search(keyword("marathon")).orElseThrow().pokIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("applies writes made during a rebuild after it, from the current data")
+    void rebuild_concurrentWrite_notOverwrittenByOlderBatch() {
+        Pok staleRunning = pok(userId, "Running tests", "The build runs every unit test in parallel", vector(1f, 0f));
+        ReflectionTestUtils.setField(staleRunning, "id", running.getId());
+        running.updateContent("Now about marathons");
+        when(pokRepository.findAllById(List.of(running.getId()))).thenReturn(List.of(running));
+        when(pokRepository.findActiveAfter(any(UUID.class), any(Limit.class))).thenAnswer(inv -> {
+            // The POK is saved after the rebuild read it, and before the batch is indexed
+            engine.index(running.getId());
+            return List.of(staleRunning, programming, springBoot, otherUsers);
+        });
+
+        engine.rebuild();
+
+        assertThat(engine.search(keyword("marathon")).orElseThrow().pokIds()).containsExactly(running.getId());
+        assertThat(engine.search(keyword("parallel")).orElseThrow().pokIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("commits every write, and only reuses a persistent index after a complete rebuild")
+    void persistentIndex_commitsWritesAndReopensAfterRebuild(@TempDir Path indexPath) throws IOException {
+        SearchProperties properties = new SearchProperties(null, null,
+            new SearchProperties.Lucene(true, indexPath.toString(), false), null);
+        LuceneSearchEngine persistent = new LuceneSearchEngine(properties, pokRepository, pokTagRepository);
+        assertThat(persistent.isAvailable()).isFalse();
+        persistent.rebuild();
+
+        running.updateContent("Now about marathons");
+        when(pokRepository.findAllById(List.of(running.getId()))).thenReturn(List.of(running));
+        persistent.index(running.getId());
+
+        // Durable without close(), as after a crash
+        try (FSDirectory directory = FSDirectory.open(indexPath);
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(new IndexSearcher(reader).count(new TermQuery(new Term("content_en", "marathon")))).isEqualTo(1);
+        }
+        persistent.close();
+
+        LuceneSearchEngine reopened = new LuceneSearchEngine(properties, pokRepository, pokTagRepository);
+        try {
+            assertThat(reopened.isAvailable()).isTrue();
+            assertThat(reopened.search(keyword("marathon")).orElseThrow().pokIds()).containsExactly(running.getId());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private SearchEngine.Criteria keyword(String keyword) {
+        return criteria(keyword, SearchEngine.Mode.KEYWORD, null, Set.of(), 0, null, null);
+    }
+
+    private SearchEngine.Criteria criteria(String keyword, SearchEngine.Mode mode, float[] vector,
+                                           Set<UUID> tagIds, long minTagMatches,
+                                           Instant createdFrom, String sortBy) {
+        return new SearchEngine.Criteria(userId, keyword, mode, vector,
+            createdFrom, null, null, null, tagIds, minTagMatches, sortBy, false, 0, 20);
+    }
+
+    private static Pok pok(UUID owner, String title, String content, float[] embedding) {
+        Pok pok = new Pok(owner, title, content);
+        ReflectionTestUtils.setField(pok, "id", UUID.randomUUID());
+        pok.updateEmbedding(embedding);
+        return pok;
+    }
+
+    private static void setCreatedAt(Pok pok, String instant) {
+        pok.setCreatedAt(Instant.parse(instant));
+    }
+
+    private static float[] vector(float x, float y) {
+        float[] v = new float[384];
+        v[0] = x;
+        v[1] = y;
+        return v;
+    }
+}
@@ -0,0 +1,63 @@
+package com.lucasxf.ed.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PokETags}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("PokETags")
+class PokETagsTest {
+
+    private final Instant updatedAt = Instant.parse("2026-10-19T10:15:30.123456Z");
+
+    @Test
+    @DisplayName("If-Match compares only the content version of a strong tag")
+    void contentMatches_ignoresChangeToken() {
+        String issued = PokETags.forPok(updatedAt, "abc.3");
+
+        assertThat(PokETags.contentMatches(issued, updatedAt)).isTrue();
+        assertThat(PokETags.contentMatches(PokETags.forPok(updatedAt, "abc.9"), updatedAt)).isTrue();
+        assertThat(PokETags.contentMatches(issued, updatedAt.plusNanos(1_000))).isFalse();
+    }
+
+    @Test
+    @DisplayName("If-Match accepts * and lists, and rejects weak tags")
+    void contentMatches_wildcardListAndWeak() {
+        String current = PokETags.forPok(updatedAt, "abc.3");
+
+        assertThat(PokETags.contentMatches("*", updatedAt)).isTrue();
+        assertThat(PokETags.contentMatches("\"other\", " + current, updatedAt)).isTrue();
+        assertThat(PokETags.contentMatches("W/" + current, updatedAt)).isFalse();
+    }
+
+    @Test
+    @DisplayName("search tags depend on the change token and the parameters only")
+    void forSearch_isStablePerTokenAndKey() {
+        UUID userId = UUID.randomUUID();
+        SearchResultCache.Key key = SearchResultCache.Key.of(userId, 0L, "java", null, null, null,
+            null, null, null, null, List.of(), null, 0, 20);
+        SearchResultCache.Key samePage = SearchResultCache.Key.of(userId, 0L, "java", null, null, null,
+            null, null, null, null, List.of(), null, 0, 20);
+
+        assertThat(PokETags.forSearch("abc.1", key)).isEqualTo(PokETags.forSearch("abc.1", samePage));
+        assertThat(PokETags.forSearch("abc.2", key)).isNotEqualTo(PokETags.forSearch("abc.1", key));
+        assertThat(PokETags.forSearch("abc.1", key)).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    @DisplayName("content versions compare at microsecond precision")
+    void sameContentVersion_ignoresSubMicroseconds() {
+        assertThat(PokETags.sameContentVersion(updatedAt.plusNanos(999), updatedAt)).isTrue();
+        assertThat(PokETags.sameContentVersion(updatedAt.plusNanos(1_000), updatedAt)).isFalse();
+    }
+}
@@ -0,0 +1,231 @@
+package com.lucasxf.ed.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.lucasxf.ed.config.JacksonConfig;
+import com.lucasxf.ed.dto.ImportPokRequest;
+import com.lucasxf.ed.dto.PokExportEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PokExportService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PokExportService")
+class PokExportServiceTest {
+
+    private static final Instant CREATED = Instant.parse("2026-10-01T09:00:00Z");
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private PokExportService service;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new PokExportService(jdbcTemplate, objectMapper, transactionManager);
+    }
+
+    @Test
+    @DisplayName("adds only the filters that were given, and binds them in order")
+    void prepare_buildsFilteredQuery() {
+        UUID tag = UUID.randomUUID();
+
+        PokExportService.Export export = service.prepare(userId, PokExportService.Format.NDJSON,
+            new PokExportService.Filter("java", "createdAt", "asc", "2026-01-01T00:00:00Z", null, null, null,
+                List.of(tag), "all"));
+
+        assertThat(export.sql()).contains("strpos(lower(p.title), lower(?))", "p.created_at >= ?", "ANY(?)")
+            .doesNotContain("p.created_at <= ?", "p.updated_at >=")
+            .endsWith("ORDER BY p.created_at ASC, p.id");
+        assertThat(export.args()).hasSize(6);
+        assertThat(export.args().get(3)).isEqualTo(Timestamp.from(Instant.parse("2026-01-01T00:00:00Z")));
+        assertThat(export.args().get(5)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("rejects malformed filters before anything is written")
+    void prepare_malformedFilters_rejected() {
+        assertThatThrownBy(() -> service.prepare(userId, PokExportService.Format.NDJSON,
+            new PokExportService.Filter(null, null, null, "yesterday", null, null, null, null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Malformed date");
+        assertThatThrownBy(() -> service.prepare(userId, PokExportService.Format.NDJSON,
+            new PokExportService.Filter(null, "title", null, null, null, null, null, null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported sort field");
+        assertThatThrownBy(() -> service.prepare(userId, PokExportService.Format.NDJSON,
+            new PokExportService.Filter(null, null, null, null, null, null, null, List.of(UUID.randomUUID()), "most")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported tag match mode");
+        assertThatThrownBy(() -> PokExportService.Format.of("pdf"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported export format");
+    }
+
+    @Test
+    @DisplayName("writes one JSON object per line")
+    void write_ndjson() throws Exception {
+        stubRows(row("Records", "Records are immutable", "java"), row(null, "Untitled note"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = service.write(prepare(PokExportService.Format.NDJSON), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("title").asText()).isEqualTo("Records");
+        assertThat(first.get("tags").get(0).asText()).isEqualTo("java");
+        assertThat(first.get("createdAt").asText()).isEqualTo("2026-10-01T09:00:00Z");
+        assertThat(objectMapper.readTree(lines[1]).get("title").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("writes Markdown in the import format")
+    void write_markdown() {
+        stubRows(row("Records", "Records are immutable", "java", "records"), row(null, "Untitled note"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.write(prepare(PokExportService.Format.MARKDOWN), out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+            # Records
+            Tags: java, records
+
+            Records are immutable
+
+            #\s
+
+            Untitled note
+
+            """);
+    }
+
+    @Test
+    @DisplayName("escapes content lines the import would take for headings, fences or tags, so they import back")
+    void write_markdown_roundTripsThroughImport() {
+        String headings = "# Not a new POK\nSee \\# and\n\\# already escaped";
+        String fence = "Unclosed fence:\n```java\nrecord Point(int x, int y) {}";
+        String tagsLine = "Tags: not tags\nbut content";
+        stubRows(row("Headings", headings, "markdown"), row(null, fence), row("Tags", tagsLine), row("Last", "Done"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.write(prepare(PokExportService.Format.MARKDOWN), out);
+
+        Iterator<ImportPokRequest> imported = ImportBundleReader.markdown(
+            new StringReader(out.toString(StandardCharsets.UTF_8)));
+        List<ImportPokRequest> entries = new ArrayList<>();
+        imported.forEachRemaining(entries::add);
+        assertThat(entries).containsExactly(
+            new ImportPokRequest("Headings", headings, List.of("markdown")),
+            new ImportPokRequest(null, fence, List.of()),
+            new ImportPokRequest("Tags", tagsLine, List.of()),
+            new ImportPokRequest("Last", "Done", List.of()));
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\n\\# Not a new POK\n", "\n\\```java\n");
+    }
+
+    @Test
+    @DisplayName("zips one Markdown file per POK into each of its tag folders")
+    void write_zip() throws IOException {
+        PokExportEntry tagged = row("Records / Java 21", "Records are immutable", "java", "records");
+        PokExportEntry untagged = row(null, "Untitled note");
+        stubRows(tagged, untagged);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.write(prepare(PokExportService.Format.ZIP), out);
+
+        List<String> names = new ArrayList<>();
+        String content = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                content = content == null ? new String(zip.readAllBytes(), StandardCharsets.UTF_8) : content;
+            }
+        }
+        String taggedFile = "records-java-21-" + tagged.id().toString().substring(0, 8) + ".md";
+        assertThat(names).containsExactly("java/" + taggedFile, "records/" + taggedFile,
+            "untagged/untitled-" + untagged.id().toString().substring(0, 8) + ".md");
+        assertThat(content).startsWith("# Records / Java 21\nTags: java, records\n");
+    }
+
+    @Test
+    @DisplayName("makes tag names safe as folder names")
+    void safeName_replacesPathCharacters() {
+        assertThat(PokExportService.safeName("c/c++")).isEqualTo("c_c++");
+        assertThat(PokExportService.safeName("..")).isEqualTo("_");
+        assertThat(PokExportService.safeName("spring boot")).isEqualTo("spring boot");
+    }
+
+    private PokExportService.Export prepare(PokExportService.Format format) {
+        return service.prepare(userId, format, PokExportService.Filter.NONE);
+    }
+
+    private static PokExportEntry row(String title, String content, String... tags) {
+        return new PokExportEntry(UUID.randomUUID(), title, content, List.of(tags), CREATED, CREATED);
+    }
+
+    private void stubRows(PokExportEntry... rows) {
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (PokExportEntry row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet resultSet(PokExportEntry row) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        Array tags = mock(Array.class);
+        when(tags.getArray()).thenReturn(row.tags().toArray(String[]::new));
+        when(rs.getArray("tags")).thenReturn(tags);
+        when(rs.getObject("id", UUID.class)).thenReturn(row.id());
+        when(rs.getString("title")).thenReturn(row.title());
+        when(rs.getString("content")).thenReturn(row.content());
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.from(row.createdAt()));
+        when(rs.getTimestamp("updated_at")).thenReturn(Timestamp.from(row.updatedAt()));
+        return rs;
+    }
+}
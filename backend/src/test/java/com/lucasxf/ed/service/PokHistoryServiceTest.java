@@ -0,0 +1,399 @@
+package com.lucasxf.ed.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.lucasxf.ed.config.AuditProperties;
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokAuditLog;
+import com.lucasxf.ed.domain.PokAuditLog.Action;
+import com.lucasxf.ed.domain.PokAuditLog.Storage;
+import com.lucasxf.ed.dto.PokAuditLogResponse;
+import com.lucasxf.ed.dto.PokHistoryEntryResponse;
+import com.lucasxf.ed.dto.PokHistoryPageResponse;
+import com.lucasxf.ed.dto.PokVersionDiffResponse;
+import com.lucasxf.ed.exception.PokNotFoundException;
+import com.lucasxf.ed.repository.PokAuditLogRepository;
+import com.lucasxf.ed.repository.PokAuditLogRepository.VersionSummary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PokHistoryService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PokHistoryService")
+class PokHistoryServiceTest {
+
+    private static final String CONTENT = """
+        Java records are immutable data carriers. The compiler generates the canonical constructor,
+        accessors, equals, hashCode and toString, so they replace most hand-written value classes.
+        """;
+
+    @Mock
+    private PokAuditLogRepository pokAuditLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PokHistoryService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID pokId = UUID.randomUUID();
+    private final Instant start = Instant.parse("2026-10-01T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        service = new PokHistoryService(pokAuditLogRepository, new AuditProperties(3, 3, 0, null), transactionManager);
+    }
+
+    @Test
+    @DisplayName("records a creation as a version 1 snapshot")
+    void recordCreate_writesSnapshot() {
+        service.recordCreate(pok("Records", CONTENT), userId);
+
+        PokAuditLog entry = saved();
+        assertThat(entry.getAction()).isEqualTo(Action.CREATE);
+        assertThat(entry.getStorage()).isEqualTo(Storage.SNAPSHOT);
+        assertThat(entry.getVersion()).isEqualTo(1);
+        assertThat(entry.getNewContent()).isEqualTo(CONTENT);
+        assertThat(entry.getOldContent()).isNull();
+    }
+
+    @Test
+    @DisplayName("records a small edit as a delta between snapshots")
+    void recordUpdate_betweenSnapshots_writesDelta() {
+        when(pokAuditLogRepository.findLatestVersion(pokId)).thenReturn(1);
+        givenHistory(PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", CONTENT, start));
+        String edited = CONTENT.replace("immutable", "shallowly immutable");
+
+        service.recordUpdate(pok("Records", edited), userId, "Records", CONTENT);
+
+        verify(pokAuditLogRepository).lockPok(pokId);
+        PokAuditLog entry = saved();
+        assertThat(entry.getStorage()).isEqualTo(Storage.DELTA);
+        assertThat(entry.getVersion()).isEqualTo(2);
+        assertThat(entry.getNewContent()).isNull();
+        assertThat(entry.getContentDelta()).hasSizeLessThan(30);
+        assertThat(entry.getContentLength()).isEqualTo(edited.length());
+        assertThat(TextDelta.apply(CONTENT, entry.getContentDelta())).isEqualTo(edited);
+    }
+
+    @Test
+    @DisplayName("records a snapshot every snapshot-interval versions")
+    void recordUpdate_onIntervalBoundary_writesSnapshot() {
+        // Interval 3: versions 1, 4, 7, ... are snapshots
+        when(pokAuditLogRepository.findLatestVersion(pokId)).thenReturn(3);
+
+        service.recordUpdate(pok("Records", CONTENT + "More."), userId, "Records", CONTENT);
+
+        PokAuditLog entry = saved();
+        assertThat(entry.getStorage()).isEqualTo(Storage.SNAPSHOT);
+        assertThat(entry.getVersion()).isEqualTo(4);
+        assertThat(entry.getNewContent()).isEqualTo(CONTENT + "More.");
+    }
+
+    @Test
+    @DisplayName("stores the content when a rewrite makes the delta no smaller than it")
+    void recordUpdate_withRewrite_writesSnapshot() {
+        when(pokAuditLogRepository.findLatestVersion(pokId)).thenReturn(1);
+        givenHistory(PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", CONTENT, start));
+
+        service.recordUpdate(pok("Records", "Completely different."), userId, "Records", CONTENT);
+
+        assertThat(saved().getStorage()).isEqualTo(Storage.SNAPSHOT);
+    }
+
+    @Test
+    @DisplayName("encodes against the latest version when a concurrent update recorded one after the caller read")
+    void recordUpdate_interleavedWithAnotherUpdate_encodesAgainstLatestVersion() {
+        // Both editors read CONTENT; the first one's update was recorded as version 2 before the second got the lock
+        String first = CONTENT.replace("immutable", "shallowly immutable");
+        String second = CONTENT.replace("hand-written", "boilerplate");
+        when(pokAuditLogRepository.findLatestVersion(pokId)).thenReturn(2);
+        givenHistory(
+            PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", CONTENT, start),
+            PokAuditLog.delta(pokId, userId, 2, "Records", TextDelta.encode(CONTENT, first), first.length(),
+                start.plusSeconds(60)));
+
+        service.recordUpdate(pok("Records", second), userId, "Records", CONTENT);
+
+        PokAuditLog entry = saved();
+        assertThat(entry.getStorage()).isEqualTo(Storage.DELTA);
+        assertThat(entry.getVersion()).isEqualTo(3);
+        assertThat(TextDelta.apply(first, entry.getContentDelta())).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("stores a snapshot when the latest version cannot be reconstructed")
+    void recordUpdate_withUnresolvableBase_writesSnapshot() {
+        when(pokAuditLogRepository.findLatestVersion(pokId)).thenReturn(2);
+        givenHistory(
+            PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", "short", start),
+            PokAuditLog.delta(pokId, userId, 2, "Records", "=100", 100, start.plusSeconds(60)));
+
+        service.recordUpdate(pok("Records", CONTENT), userId, "Records", "short");
+
+        PokAuditLog entry = saved();
+        assertThat(entry.getStorage()).isEqualTo(Storage.SNAPSHOT);
+        assertThat(entry.getNewContent()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("keeps old and new values when the POK has no earlier history")
+    void recordUpdate_withoutHistory_writesFullEntry() {
+        when(pokAuditLogRepository.findLatestVersion(pokId)).thenReturn(null);
+
+        service.recordUpdate(pok("New", "New content"), userId, "Old", "Old content");
+
+        PokAuditLog entry = saved();
+        assertThat(entry.getStorage()).isEqualTo(Storage.FULL);
+        assertThat(entry.getVersion()).isEqualTo(1);
+        assertThat(entry.getOldTitle()).isEqualTo("Old");
+        assertThat(entry.getOldContent()).isEqualTo("Old content");
+        assertThat(entry.getNewContent()).isEqualTo("New content");
+    }
+
+    @Test
+    @DisplayName("reconstructs old and new values of every version, newest first")
+    void getHistory_reconstructsFromSnapshotsAndDeltas() {
+        String v2 = CONTENT.replace("immutable", "shallowly immutable");
+        String v3 = v2 + "Use them for DTOs.\n";
+        when(pokAuditLogRepository.findByPokIdOrderByVersionAsc(pokId)).thenReturn(List.of(
+            PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", CONTENT, start),
+            PokAuditLog.delta(pokId, userId, 2, "Records", TextDelta.encode(CONTENT, v2), v2.length(), start.plusSeconds(60)),
+            PokAuditLog.delta(pokId, userId, 3, "Java records", TextDelta.encode(v2, v3), v3.length(),
+                start.plusSeconds(120)),
+            PokAuditLog.deletion(pokId, userId, 4, start.plusSeconds(180))));
+
+        List<PokAuditLogResponse> history = service.getHistory(pokId);
+
+        assertThat(history).extracting(PokAuditLogResponse::action)
+            .containsExactly("DELETE", "UPDATE", "UPDATE", "CREATE");
+        assertThat(history.get(0).oldTitle()).isEqualTo("Java records");
+        assertThat(history.get(0).oldContent()).isEqualTo(v3);
+        assertThat(history.get(0).newContent()).isNull();
+        assertThat(history.get(1).oldTitle()).isEqualTo("Records");
+        assertThat(history.get(1).newTitle()).isEqualTo("Java records");
+        assertThat(history.get(1).oldContent()).isEqualTo(v2);
+        assertThat(history.get(1).newContent()).isEqualTo(v3);
+        assertThat(history.get(2).oldContent()).isEqualTo(CONTENT);
+        assertThat(history.get(2).newContent()).isEqualTo(v2);
+        assertThat(history.get(3).oldContent()).isNull();
+        assertThat(history.get(3).newContent()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("reports unresolvable content as null instead of failing")
+    void getHistory_withBrokenDelta_returnsNullContent() {
+        when(pokAuditLogRepository.findByPokIdOrderByVersionAsc(pokId)).thenReturn(List.of(
+            PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", "short", start),
+            PokAuditLog.delta(pokId, userId, 2, "Records", "=100", 100, start.plusSeconds(60))));
+
+        List<PokAuditLogResponse> history = service.getHistory(pokId);
+
+        assertThat(history.get(0).oldContent()).isEqualTo("short");
+        assertThat(history.get(0).newContent()).isNull();
+    }
+
+    @Test
+    @DisplayName("pages history newest first with size changes and a cursor to older versions")
+    void getHistoryPage_reportsSizeDeltasAndCursor() {
+        List<VersionSummary> newest = List.of(
+            summary(5, Action.DELETE, 0), summary(4, Action.UPDATE, 120), summary(3, Action.UPDATE, 100));
+        when(pokAuditLogRepository.findVersionSummaries(pokId, Integer.MAX_VALUE, Limit.of(3))).thenReturn(newest);
+
+        PokHistoryPageResponse page = service.getHistoryPage(pokId, null, 2);
+
+        assertThat(page.items()).extracting(PokHistoryEntryResponse::version).containsExactly(5, 4);
+        assertThat(page.items()).extracting(PokHistoryEntryResponse::sizeDelta).containsExactly(-120, 20);
+        assertThat(page.nextCursor()).isNotNull();
+
+        List<VersionSummary> oldest = List.of(
+            summary(3, Action.UPDATE, 100), summary(2, Action.UPDATE, null), summary(1, Action.CREATE, 80));
+        when(pokAuditLogRepository.findVersionSummaries(pokId, 4, Limit.of(4))).thenReturn(oldest);
+
+        PokHistoryPageResponse next = service.getHistoryPage(pokId, page.nextCursor(), 3);
+
+        // Version 2 predates content lengths, so neither it nor version 3 knows its size change
+        assertThat(next.items()).extracting(PokHistoryEntryResponse::sizeDelta).containsExactly(null, null, 80);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("rejects a malformed cursor")
+    void getHistoryPage_withMalformedCursor_throws() {
+        assertThatThrownBy(() -> service.getHistoryPage(pokId, "not-a-cursor", 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Malformed history cursor");
+    }
+
+    @Test
+    @DisplayName("reconstructs one version from the nearest snapshot before it")
+    void getVersion_replaysFromNearestSnapshot() {
+        String v4 = CONTENT + "Use them for DTOs.\n";
+        String v5 = v4.replace("DTOs", "value objects");
+        when(pokAuditLogRepository.findLatestVersionNotStoredAs(pokId, 4, Storage.DELTA)).thenReturn(4);
+        when(pokAuditLogRepository.findByPokIdAndVersionBetweenOrderByVersionAsc(pokId, 4, 5)).thenReturn(List.of(
+            PokAuditLog.snapshot(pokId, userId, Action.UPDATE, 4, "Records", v4, start),
+            PokAuditLog.delta(pokId, userId, 5, "Records", TextDelta.encode(v4, v5), v5.length(),
+                start.plusSeconds(60))));
+
+        PokAuditLogResponse version = service.getVersion(pokId, 5);
+
+        assertThat(version.oldContent()).isEqualTo(v4);
+        assertThat(version.newContent()).isEqualTo(v5);
+    }
+
+    @Test
+    @DisplayName("reports a missing version as not found")
+    void getVersion_whenMissing_throwsNotFound() {
+        when(pokAuditLogRepository.findLatestVersionNotStoredAs(pokId, 8, Storage.DELTA)).thenReturn(null);
+        when(pokAuditLogRepository.findByPokIdAndVersionBetweenOrderByVersionAsc(pokId, 1, 9)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.getVersion(pokId, 9))
+            .isInstanceOf(PokNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("diffs a creation as one insertion and an update as kept, removed and inserted runs")
+    void getVersionDiff_returnsSegments() {
+        when(pokAuditLogRepository.findLatestVersionNotStoredAs(pokId, 1, Storage.DELTA)).thenReturn(1);
+        when(pokAuditLogRepository.findByPokIdAndVersionBetweenOrderByVersionAsc(pokId, 1, 1)).thenReturn(List.of(
+            PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", "Records are great", start)));
+        when(pokAuditLogRepository.findByPokIdAndVersionBetweenOrderByVersionAsc(pokId, 1, 2)).thenReturn(List.of(
+            PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", "Records are great", start),
+            PokAuditLog.snapshot(pokId, userId, Action.UPDATE, 2, "Java records", "Records are immutable", start)));
+
+        PokVersionDiffResponse created = service.getVersionDiff(pokId, 1);
+        PokVersionDiffResponse updated = service.getVersionDiff(pokId, 2);
+
+        assertThat(created.segments()).containsExactly(
+            new PokVersionDiffResponse.Segment("INSERT", "Records are great"));
+        assertThat(updated.oldTitle()).isEqualTo("Records");
+        assertThat(updated.newTitle()).isEqualTo("Java records");
+        assertThat(updated.segments()).extracting(PokVersionDiffResponse.Segment::op)
+            .containsExactly("EQUAL", "DELETE", "INSERT");
+    }
+
+    @Test
+    @DisplayName("compaction re-encodes legacy entries whose old values match the previous version")
+    void compactLegacyEntries_reencodesMatchingEntries() {
+        String v2 = CONTENT.replace("immutable", "shallowly immutable");
+        PokAuditLog create = withId(new PokAuditLog(pokId, userId, Action.CREATE, 1,
+            null, "Records", null, CONTENT, start));
+        PokAuditLog update = withId(new PokAuditLog(pokId, userId, Action.UPDATE, 2,
+            "Records", "Records", CONTENT, v2, start.plusSeconds(60)));
+        // Old values do not match version 2, so this entry is kept as it is
+        PokAuditLog gap = withId(new PokAuditLog(pokId, userId, Action.UPDATE, 3,
+            "Records", "Records", "unrecorded edit", v2, start.plusSeconds(120)));
+        PokAuditLog delete = withId(new PokAuditLog(pokId, userId, Action.DELETE, 4,
+            "Records", null, v2, null, start.plusSeconds(180)));
+        when(pokAuditLogRepository.findPokIdsWithStorageAfter(eq(Storage.FULL), any(), eq(Limit.of(100))))
+            .thenReturn(List.of(pokId));
+        when(pokAuditLogRepository.findByPokIdOrderByVersionAsc(pokId))
+            .thenReturn(List.of(create, update, gap, delete));
+        when(pokAuditLogRepository.reencode(any(), any(), any(), any())).thenReturn(1);
+
+        PokHistoryService.Compaction result = service.compactLegacyEntries();
+
+        assertThat(result).isEqualTo(new PokHistoryService.Compaction(1, 3));
+        verify(pokAuditLogRepository).reencode(create.getId(), Storage.SNAPSHOT, CONTENT, null);
+        ArgumentCaptor<String> delta = ArgumentCaptor.forClass(String.class);
+        verify(pokAuditLogRepository).reencode(eq(update.getId()), eq(Storage.DELTA), isNull(), delta.capture());
+        assertThat(TextDelta.apply(CONTENT, delta.getValue())).isEqualTo(v2);
+        verify(pokAuditLogRepository, never()).reencode(eq(gap.getId()), any(), any(), any());
+        verify(pokAuditLogRepository).reencode(delete.getId(), Storage.DELTA, null, null);
+    }
+
+    @Test
+    @DisplayName("rebasing rewrites the first entry after the boundary in full")
+    void rebaseHistoryAt_rewritesFirstRemainingEntryInFull() {
+        String v2 = CONTENT.replace("immutable", "shallowly immutable");
+        Instant boundary = start.plusSeconds(30);
+        PokAuditLog delta = withId(PokAuditLog.delta(pokId, userId, 2, "Java records", TextDelta.encode(CONTENT, v2),
+            v2.length(), start.plusSeconds(60)));
+        when(pokAuditLogRepository.findFirstByPokIdAndOccurredAtGreaterThanEqualOrderByVersionAsc(pokId, boundary))
+            .thenReturn(Optional.of(delta));
+        when(pokAuditLogRepository.findLatestVersionNotStoredAs(pokId, 1, Storage.DELTA)).thenReturn(1);
+        when(pokAuditLogRepository.findByPokIdAndVersionBetweenOrderByVersionAsc(pokId, 1, 2)).thenReturn(List.of(
+            PokAuditLog.snapshot(pokId, userId, Action.CREATE, 1, "Records", CONTENT, start), delta));
+
+        assertThat(service.rebaseHistoryAt(pokId, boundary)).isTrue();
+
+        verify(pokAuditLogRepository).rewrite(delta.getId(), Storage.FULL, "Records", CONTENT, v2);
+    }
+
+    @Test
+    @DisplayName("rebasing leaves self-contained entries alone")
+    void rebaseHistoryAt_withFullEntry_doesNothing() {
+        PokAuditLog full = new PokAuditLog(pokId, userId, Action.UPDATE, 7, "Old", "New", "old", "new", start);
+        when(pokAuditLogRepository.findFirstByPokIdAndOccurredAtGreaterThanEqualOrderByVersionAsc(pokId, start))
+            .thenReturn(Optional.of(full));
+
+        assertThat(service.rebaseHistoryAt(pokId, start)).isFalse();
+
+        verify(pokAuditLogRepository, never()).rewrite(any(), any(), any(), any(), any());
+    }
+
+    /** Stubs the replay of the given versions, the first of which must be a snapshot. */
+    private void givenHistory(PokAuditLog... entries) {
+        int first = entries[0].getVersion();
+        int last = entries[entries.length - 1].getVersion();
+        when(pokAuditLogRepository.findLatestVersionNotStoredAs(pokId, Math.max(1, last - 1), Storage.DELTA))
+            .thenReturn(first);
+        when(pokAuditLogRepository.findByPokIdAndVersionBetweenOrderByVersionAsc(pokId, first, last))
+            .thenReturn(List.of(entries));
+    }
+
+    private Pok pok(String title, String content) {
+        Pok pok = new Pok(userId, title, content);
+        ReflectionTestUtils.setField(pok, "id", pokId);
+        return pok;
+    }
+
+    private static VersionSummary summary(int version, Action action, Integer contentLength) {
+        VersionSummary summary = mock(VersionSummary.class);
+        // Lenient: the extra row fetched past the slice only contributes its length
+        lenient().when(summary.getVersion()).thenReturn(version);
+        lenient().when(summary.getAction()).thenReturn(action);
+        lenient().when(summary.getContentLength()).thenReturn(contentLength);
+        return summary;
+    }
+
+    private static PokAuditLog withId(PokAuditLog entry) {
+        ReflectionTestUtils.setField(entry, "id", UUID.randomUUID());
+        return entry;
+    }
+
+    private PokAuditLog saved() {
+        ArgumentCaptor<PokAuditLog> entry = ArgumentCaptor.forClass(PokAuditLog.class);
+        verify(pokAuditLogRepository).save(entry.capture());
+        return entry.getValue();
+    }
+}
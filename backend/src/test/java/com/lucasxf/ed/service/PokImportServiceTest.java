@@ -0,0 +1,260 @@
+package com.lucasxf.ed.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.dto.CreateTagRequest;
+import com.lucasxf.ed.dto.PokImportResponse;
+import com.lucasxf.ed.dto.TagResponse;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.PokTagRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PokImportService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PokImportService")
+class PokImportServiceTest {
+
+    @Mock private PokRepository pokRepository;
+    @Mock private PokHistoryService pokHistoryService;
+    @Mock private PokTagRepository pokTagRepository;
+    @Mock private TagService tagService;
+    @Mock private DuplicateDetectionService duplicateDetectionService;
+    @Mock private UserChangeVersionService userChangeVersionService;
+    @Mock private PokEventBus pokEventBus;
+    @Mock private IdempotencyService idempotencyService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final UUID userId = UUID.randomUUID();
+
+    private PokImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PokImportService(pokRepository, pokHistoryService, pokTagRepository, tagService,
+            duplicateDetectionService, userChangeVersionService, pokEventBus, idempotencyService, new ObjectMapper(), validator,
+            transactionManager);
+        lenient().when(pokRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("imports a JSON array, skipping entries that fail validation")
+    @SuppressWarnings("unchecked")
+    void importJson_importsValidEntriesAndReportsInvalidOnes() {
+        String bundle = """
+            [
+              {"title": "Records", "content": "Records are immutable data carriers."},
+              {"title": "Empty", "content": "  "},
+              {"content": "Sealed interfaces restrict implementations."}
+            ]
+            """;
+
+        PokImportResponse response = service.importJson(userId, json(bundle), null);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.skipped()).isEqualTo(1);
+        assertThat(response.errors()).singleElement()
+            .satisfies(error -> assertThat(error.index()).isEqualTo(1));
+
+        ArgumentCaptor<List<Pok>> poks = ArgumentCaptor.forClass(List.class);
+        verify(pokRepository).saveAll(poks.capture());
+        assertThat(poks.getValue()).extracting(Pok::getTitle).containsExactly("Records", null);
+        verify(duplicateDetectionService, times(2)).sign(any(Pok.class));
+
+        verify(pokHistoryService).recordCreates(poks.getValue(), userId);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("writes one transaction per chunk and raises a creation event per POK")
+    void importJson_writesChunksAndRaisesEvents() {
+        StringBuilder bundle = new StringBuilder("{\"source\": \"notes-app\", \"poks\": [");
+        int count = PokImportService.CHUNK_SIZE + 1;
+        for (int i = 0; i < count; i++) {
+            bundle.append(i == 0 ? "" : ",").append("{\"content\": \"note ").append(i).append("\"}");
+        }
+        bundle.append("]}");
+
+        PokImportResponse response = service.importJson(userId, json(bundle.toString()), null);
+
+        assertThat(response.imported()).isEqualTo(count);
+        verify(pokRepository, times(2)).saveAll(anyList());
+        verify(pokEventBus, times(count)).publish(any(PokEvent.PokCreated.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("resolves each distinct tag name once per import")
+    @SuppressWarnings("unchecked")
+    void importJson_resolvesTagNamesOnce() {
+        TagResponse java = mock(TagResponse.class);
+        UUID javaTagId = UUID.randomUUID();
+        when(java.tagId()).thenReturn(javaTagId);
+        when(tagService.createOrReuse(new CreateTagRequest("java"), userId)).thenReturn(java);
+
+        String bundle = """
+            [
+              {"content": "Records", "tags": ["java"]},
+              {"content": "Sealed types", "tags": ["Java", "java"]}
+            ]
+            """;
+
+        service.importJson(userId, json(bundle), null);
+
+        verify(tagService, times(1)).createOrReuse(any(), eq(userId));
+        ArgumentCaptor<List<PokTag>> pokTags = ArgumentCaptor.forClass(List.class);
+        verify(pokTagRepository).saveAll(pokTags.capture());
+        assertThat(pokTags.getValue()).hasSize(2)
+            .allSatisfy(pt -> {
+                assertThat(pt.getTagId()).isEqualTo(javaTagId);
+                assertThat(pt.getSource()).isEqualTo(PokTag.Source.MANUAL);
+            });
+    }
+
+    @Test
+    @DisplayName("rejects a bundle that is not an array of POKs")
+    void importJson_withUnexpectedShape_throws() {
+        assertThatThrownBy(() -> service.importJson(userId, json("{\"notes\": 3}"), null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unreadable import bundle");
+        verify(pokRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("keeps imported entries and reports the error when the bundle breaks midway")
+    void importJson_withTruncatedBundle_keepsParsedEntries() {
+        PokImportResponse response = service.importJson(userId,
+            json("[{\"content\": \"first\"}, {\"content\": \"second\"}, {\"content\": "), null);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.errors()).singleElement()
+            .satisfies(error -> assertThat(error.index()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("splits Markdown on level-1 headings, reading tags and ignoring headings in code fences")
+    @SuppressWarnings("unchecked")
+    void importMarkdown_splitsOnHeadings() {
+        TagResponse java = mock(TagResponse.class);
+        when(java.tagId()).thenReturn(UUID.randomUUID());
+        when(tagService.createOrReuse(new CreateTagRequest("java"), userId)).thenReturn(java);
+
+        String bundle = """
+            Loose notes before any heading.
+
+            # Records
+            Tags: java
+
+            Records are immutable.
+            ```bash
+            # not a heading
+            ```
+
+            ## Sub-heading stays in content
+            # Groceries
+            Milk
+            """;
+
+        PokImportResponse response = service.importMarkdown(userId, new StringReader(bundle), null);
+
+        assertThat(response.imported()).isEqualTo(3);
+        ArgumentCaptor<List<Pok>> poks = ArgumentCaptor.forClass(List.class);
+        verify(pokRepository).saveAll(poks.capture());
+        assertThat(poks.getValue()).extracting(Pok::getTitle).containsExactly(null, "Records", "Groceries");
+        assertThat(poks.getValue().get(1).getContent())
+            .startsWith("Records are immutable.")
+            .contains("# not a heading", "## Sub-heading stays in content")
+            .doesNotContain("Tags:");
+        verify(tagService).createOrReuse(new CreateTagRequest("java"), userId);
+    }
+
+    @Test
+    @DisplayName("records the summary under the Idempotency-Key of a first import")
+    void importJson_withNewKey_recordsSummary() {
+        when(idempotencyService.claim(userId, "key-1", IdempotencyService.Operation.IMPORT, null))
+            .thenReturn(Optional.empty());
+
+        PokImportResponse response = service.importJson(userId, json("[{\"content\": \"a\"}]"), "key-1");
+
+        assertThat(response.imported()).isEqualTo(1);
+        verify(idempotencyService).recordResponse(userId, "key-1", "{\"imported\":1,\"skipped\":0,\"errors\":[]}");
+    }
+
+    @Test
+    @DisplayName("replays the recorded summary without importing again")
+    void importJson_withUsedKey_replaysSummary() {
+        when(idempotencyService.claim(userId, "key-1", IdempotencyService.Operation.IMPORT, null))
+            .thenReturn(Optional.of(new IdempotencyService.Prior(null, "{\"imported\":3,\"skipped\":0,\"errors\":[]}")));
+
+        PokImportResponse response = service.importJson(userId, json("[{\"content\": \"a\"}]"), "key-1");
+
+        assertThat(response.imported()).isEqualTo(3);
+        verify(pokRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("rejects a retry while the original import is still running")
+    void importMarkdown_withKeyInProgress_isRejected() {
+        when(idempotencyService.claim(userId, "key-1", IdempotencyService.Operation.IMPORT, null))
+            .thenReturn(Optional.of(new IdempotencyService.Prior(null, null)));
+
+        assertThatThrownBy(() -> service.importMarkdown(userId, new StringReader("# A\nb"), "key-1"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("already running");
+        verify(pokRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("releases the key when the import fails")
+    void importJson_failing_releasesKey() {
+        when(idempotencyService.claim(userId, "key-1", IdempotencyService.Operation.IMPORT, null))
+            .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.importJson(userId, json("{\"notes\": 3}"), "key-1"))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(idempotencyService).release(userId, "key-1");
+    }
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
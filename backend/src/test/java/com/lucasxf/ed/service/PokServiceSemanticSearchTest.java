@@ -1,9 +1,11 @@
 package com.lucasxf.ed.service;
 
 import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.Tag;
+import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.event.PokEventBus;
 import com.lucasxf.ed.exception.EmbeddingUnavailableException;
-import com.lucasxf.ed.repository.PokAuditLogRepository;
 import com.lucasxf.ed.repository.PokRepository;
 import com.lucasxf.ed.repository.PokTagRepository;
 import com.lucasxf.ed.repository.PokTagSuggestionRepository;
@@ -19,6 +21,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +29,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,14 +45,19 @@ import static org.mockito.Mockito.when;
 class PokServiceSemanticSearchTest {
 
     @Mock private PokRepository pokRepository;
-    @Mock private PokAuditLogRepository pokAuditLogRepository;
+    @Mock private PokHistoryService pokHistoryService;
     @Mock private PokTagRepository pokTagRepository;
     @Mock private UserTagRepository userTagRepository;
     @Mock private PokTagSuggestionRepository pokTagSuggestionRepository;
-    @Mock private TagSuggestionService tagSuggestionService;
-    @Mock private EmbeddingGenerationService embeddingGenerationService;
     @Mock private EmbeddingService embeddingService;
     @Mock private TagService tagService;
+    @Mock private UserChangeVersionService userChangeVersionService;
+    @Mock private SearchResultCache searchResultCache;
+    @Mock private SearchEngine searchEngine;
+    @Mock private SearchPlanner searchPlanner;
+    @Mock private DuplicateDetectionService duplicateDetectionService;
+    @Mock private PokEventBus pokEventBus;
+    @Mock private IdempotencyService idempotencyService;
 
     private PokService pokService;
     private UUID userId;
@@ -58,10 +67,12 @@ class PokServiceSemanticSearchTest {
     @BeforeEach
     void setUp() {
         pokService = new PokService(
-            pokRepository, pokAuditLogRepository, pokTagRepository,
+            pokRepository, pokHistoryService, pokTagRepository,
             userTagRepository, pokTagSuggestionRepository,
-            tagSuggestionService, embeddingGenerationService, embeddingService,
-            tagService);
+            embeddingService, tagService, userChangeVersionService, searchResultCache, searchEngine,
+            searchPlanner, duplicateDetectionService, pokEventBus, idempotencyService);
+        lenient().when(searchPlanner.plan(any(), any(), any()))
+            .thenAnswer(inv -> largeCorpusPlan(inv.getArgument(1), inv.getArgument(2)));
         userId = UUID.randomUUID();
         pok1 = new Pok(userId, "Java basics", "Introduction to Java");
         pok2 = new Pok(userId, "Spring Boot", "Building REST APIs");
@@ -180,4 +191,43 @@ class PokServiceSemanticSearchTest {
         assertThat(result.getTotalElements()).isEqualTo(15L);
         assertThat(result.getContent()).hasSize(size); // page is capped at `size`
     }
+
+    @Test
+    @DisplayName("semantic search with a tag filter ranks only POKs carrying the resolved global tags")
+    void search_withSemanticModeAndTagFilter_usesTagRestrictedQuery() {
+        Tag java = new Tag("java");
+        Tag spring = new Tag("spring");
+        ReflectionTestUtils.setField(java, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(spring, "id", UUID.randomUUID());
+        UserTag javaSubscription = new UserTag(userId, java, "blue");
+        UserTag springSubscription = new UserTag(userId, spring, "green");
+        ReflectionTestUtils.setField(javaSubscription, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(springSubscription, "id", UUID.randomUUID());
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId))
+            .thenReturn(List.of(javaSubscription, springSubscription));
+        when(embeddingService.embed("java")).thenReturn(new float[384]);
+        when(pokRepository.findSemanticallyByTags(eq(userId), anyString(),
+                eq(Set.of(java.getId(), spring.getId())), eq(2L), eq(60), eq(0)))
+            .thenReturn(List.of(pok1));
+
+        Page<PokResponse> result = pokService.search(
+            userId, "java", "semantic",
+            null, null, null, null, null, null,
+            List.of(javaSubscription.getId(), springSubscription.getId()), "all", 0, 20
+        );
+
+        assertThat(result.getContent()).extracting(PokResponse::title).containsExactly("Java basics");
+        verify(pokRepository, never()).findSemantically(any(), any(), anyInt(), anyInt());
+    }
+
+    /**
+     * Plan a large corpus would get without a search engine, so the SQL paths under test run.
+     */
+    private static SearchPlanner.Plan largeCorpusPlan(String keyword, String searchMode) {
+        SearchPlanner.Strategy strategy = keyword == null || keyword.isBlank() ? SearchPlanner.Strategy.EXACT_SQL
+            : "semantic".equals(searchMode) ? SearchPlanner.Strategy.ANN
+            : "hybrid".equals(searchMode) ? SearchPlanner.Strategy.HYBRID
+            : SearchPlanner.Strategy.EXACT_SQL;
+        return new SearchPlanner.Plan(strategy, new SearchPlanner.CorpusStats(10_000, 10_000, 0), "test");
+    }
 }
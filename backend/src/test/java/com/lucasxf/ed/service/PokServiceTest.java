@@ -18,13 +18,20 @@ import org.springframework.data.domain.Sort;
 
 import com.lucasxf.ed.domain.Pok;
 import com.lucasxf.ed.domain.PokAuditLog;
+import com.lucasxf.ed.domain.Tag;
+import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.CreatePokRequest;
+import com.lucasxf.ed.dto.PatchPokRequest;
+import com.lucasxf.ed.dto.PokDuplicateResponse;
 import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.dto.TagFacetResponse;
 import com.lucasxf.ed.dto.UpdatePokRequest;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
 import com.lucasxf.ed.exception.PokAccessDeniedException;
 import com.lucasxf.ed.exception.PokNotFoundException;
+import com.lucasxf.ed.exception.PreconditionFailedException;
 import com.lucasxf.ed.dto.PokAuditLogResponse;
-import com.lucasxf.ed.repository.PokAuditLogRepository;
 import com.lucasxf.ed.repository.PokRepository;
 import com.lucasxf.ed.repository.PokTagRepository;
 import com.lucasxf.ed.repository.PokTagSuggestionRepository;
@@ -33,13 +40,18 @@ import com.lucasxf.ed.repository.UserTagRepository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -56,7 +68,7 @@ class PokServiceTest {
     private PokRepository pokRepository;
 
     @Mock
-    private PokAuditLogRepository pokAuditLogRepository;
+    private PokHistoryService pokHistoryService;
 
     @Mock
     private PokTagRepository pokTagRepository;
@@ -68,16 +80,31 @@ class PokServiceTest {
     private PokTagSuggestionRepository pokTagSuggestionRepository;
 
     @Mock
-    private TagSuggestionService tagSuggestionService;
+    private EmbeddingService embeddingService;
 
     @Mock
-    private EmbeddingGenerationService embeddingGenerationService;
+    private TagService tagService;
 
     @Mock
-    private EmbeddingService embeddingService;
+    private UserChangeVersionService userChangeVersionService;
 
     @Mock
-    private TagService tagService;
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private SearchEngine searchEngine;
+
+    @Mock
+    private SearchPlanner searchPlanner;
+
+    @Mock
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Mock
+    private PokEventBus pokEventBus;
+
+    @Mock
+    private IdempotencyService idempotencyService;
 
     @InjectMocks
     private PokService pokService;
@@ -89,6 +116,8 @@ class PokServiceTest {
     void setUp() {
         userId = UUID.randomUUID();
         otherUserId = UUID.randomUUID();
+        lenient().when(searchPlanner.plan(any(), any(), any()))
+            .thenAnswer(inv -> largeCorpusPlan(inv.getArgument(1), inv.getArgument(2)));
     }
 
     // ===== CREATE POK TESTS =====
@@ -111,6 +140,26 @@ class PokServiceTest {
         assertThat(response.deletedAt()).isNull();
 
         verify(pokRepository).save(any(Pok.class));
+        verify(userChangeVersionService).markChanged(userId);
+        verify(pokEventBus).publish(new PokEvent.PokCreated(savedPok.getId(), userId));
+    }
+
+    @Test
+    void create_shouldSignPokAndReportLikelyDuplicates() {
+        // Given
+        CreatePokRequest request = new CreatePokRequest("Title", "Content", null);
+        Pok savedPok = new Pok(userId, "Title", "Content");
+        PokDuplicateResponse duplicate = new PokDuplicateResponse(UUID.randomUUID(), "Title", Instant.now(), 0.98);
+
+        when(pokRepository.save(any(Pok.class))).thenReturn(savedPok);
+        when(duplicateDetectionService.findLikelyDuplicates(savedPok)).thenReturn(List.of(duplicate));
+
+        // When
+        PokResponse response = pokService.create(request, userId);
+
+        // Then
+        assertThat(response.likelyDuplicates()).containsExactly(duplicate);
+        verify(duplicateDetectionService).sign(any(Pok.class));
     }
 
     @Test
@@ -352,6 +401,45 @@ class PokServiceTest {
         verify(pokRepository).save(existingPok);
     }
 
+    @Test
+    void update_withCurrentIfMatch_shouldLockAndUpdate() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, "Old Title", "Old content");
+        String ifMatch = PokETags.forPok(existingPok.getUpdatedAt(), "e.1");
+
+        when(pokRepository.findActiveByIdForUpdate(pokId)).thenReturn(Optional.of(existingPok));
+        when(pokRepository.save(any(Pok.class))).thenReturn(existingPok);
+
+        PokResponse response = pokService.update(pokId, new UpdatePokRequest("Old Title", "New content"), userId, ifMatch);
+
+        assertThat(response.content()).isEqualTo("New content");
+        verify(pokRepository, never()).findByIdAndDeletedAtIsNull(any());
+    }
+
+    @Test
+    void update_withStaleIfMatch_shouldThrowPreconditionFailedAndNotSave() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, "Title", "Content");
+        String staleETag = PokETags.forPok(existingPok.getUpdatedAt().minusSeconds(5), "e.1");
+
+        when(pokRepository.findActiveByIdForUpdate(pokId)).thenReturn(Optional.of(existingPok));
+
+        assertThatThrownBy(() -> pokService.update(pokId, new UpdatePokRequest("Title", "New"), userId, staleETag))
+            .isInstanceOf(PreconditionFailedException.class);
+
+        verify(pokRepository, never()).save(any());
+        verifyNoInteractions(pokHistoryService, pokEventBus);
+    }
+
+    @Test
+    void getETag_whenPokMissing_shouldReturnNull() {
+        UUID pokId = UUID.randomUUID();
+        when(userChangeVersionService.token(userId)).thenReturn("e.1");
+        when(pokRepository.findUpdatedAt(pokId, userId)).thenReturn(Optional.empty());
+
+        assertThat(pokService.getETag(pokId, userId)).isNull();
+    }
+
     @Test
     void update_whenPokNotFound_shouldThrowPokNotFoundException() {
         // Given
@@ -404,6 +492,7 @@ class PokServiceTest {
 
         verify(pokRepository).findByIdAndDeletedAtIsNull(pokId);
         verify(pokRepository).save(pok);
+        verify(pokEventBus).publish(new PokEvent.PokDeleted(pokId, userId));
     }
 
     @Test
@@ -629,7 +718,7 @@ class PokServiceTest {
     }
 
     @Test
-    void update_shouldTriggerTagSuggestions() {
+    void update_shouldPublishPokUpdated() {
         // Given
         UUID pokId = UUID.randomUUID();
         Pok existingPok = new Pok(userId, "Old Title", "Old content");
@@ -641,8 +730,155 @@ class PokServiceTest {
         // When
         pokService.update(pokId, request, userId);
 
-        // Then: tag suggestions are re-triggered so new content can match existing tags
-        verify(tagSuggestionService).suggestTagsForPok(pokId, userId);
+        // Then: suggestions and the embedding are regenerated by subscribers after commit
+        verify(pokEventBus).publish(new PokEvent.PokUpdated(pokId, userId));
+    }
+
+    @Test
+    void update_withUnchangedValues_shouldWriteNothing() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, "Title", "Content");
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(existingPok));
+
+        pokService.update(pokId, new UpdatePokRequest("Title", "Content"), userId);
+
+        verify(pokRepository, never()).save(any());
+        verifyNoInteractions(pokHistoryService, pokEventBus);
+    }
+
+    // ===== PATCH POK TESTS =====
+
+    @Test
+    void patch_withEdits_shouldApplyThemToCurrentContent() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, "Title", "Use HashMap for caching");
+        PatchPokRequest request = new PatchPokRequest(null, null, null, List.of(
+            new PatchPokRequest.TextEdit(4, 11, "ConcurrentHashMap"),
+            new PatchPokRequest.TextEdit(23, 23, " hot keys")));
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(existingPok));
+        when(pokRepository.save(any(Pok.class))).thenReturn(existingPok);
+
+        PokResponse response = pokService.patch(pokId, request, userId, null);
+
+        assertThat(response.title()).isEqualTo("Title");
+        assertThat(response.content()).isEqualTo("Use ConcurrentHashMap for caching hot keys");
+        verify(pokHistoryService).recordUpdate(existingPok, userId, "Title", "Use HashMap for caching");
+        verify(pokEventBus).publish(new PokEvent.PokUpdated(pokId, userId));
+    }
+
+    @Test
+    void patch_clearTitle_shouldKeepContent() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, "Title", "Content");
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(existingPok));
+        when(pokRepository.save(any(Pok.class))).thenReturn(existingPok);
+
+        PokResponse response = pokService.patch(pokId, new PatchPokRequest(null, true, null, null), userId, null);
+
+        assertThat(response.title()).isNull();
+        assertThat(response.content()).isEqualTo("Content");
+    }
+
+    @Test
+    void patch_thatChangesNothing_shouldNotRegenerateAnything() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, "Title", "Content");
+        PatchPokRequest request = new PatchPokRequest("Title", null, null,
+            List.of(new PatchPokRequest.TextEdit(0, 7, "Content")));
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(existingPok));
+
+        pokService.patch(pokId, request, userId, null);
+
+        verify(pokRepository, never()).save(any());
+        verifyNoInteractions(pokHistoryService, pokEventBus, userChangeVersionService);
+    }
+
+    @Test
+    void patch_withOverlappingEdits_shouldThrowIllegalArgument() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, "Title", "Content");
+        PatchPokRequest request = new PatchPokRequest(null, null, null, List.of(
+            new PatchPokRequest.TextEdit(0, 4, "X"),
+            new PatchPokRequest.TextEdit(2, 5, "Y")));
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(existingPok));
+
+        assertThatThrownBy(() -> pokService.patch(pokId, request, userId, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("out of order");
+        verify(pokRepository, never()).save(any());
+    }
+
+    @Test
+    void patch_removingAllContent_shouldThrowIllegalArgument() {
+        UUID pokId = UUID.randomUUID();
+        Pok existingPok = new Pok(userId, null, "Content");
+        PatchPokRequest request = new PatchPokRequest(null, null, null,
+            List.of(new PatchPokRequest.TextEdit(0, 7, "  ")));
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(existingPok));
+
+        assertThatThrownBy(() -> pokService.patch(pokId, request, userId, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Content must not be blank");
+    }
+
+    @Test
+    void patch_withContentAndEdits_shouldThrowBeforeLoading() {
+        PatchPokRequest request = new PatchPokRequest(null, null, "New",
+            List.of(new PatchPokRequest.TextEdit(0, 0, "X")));
+
+        assertThatThrownBy(() -> pokService.patch(UUID.randomUUID(), request, userId, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(pokRepository);
+    }
+
+    @Test
+    void create_withNewIdempotencyKey_shouldCreateAndRecordPok() {
+        CreatePokRequest request = new CreatePokRequest("Title", "Content", null);
+        Pok savedPok = new Pok(userId, "Title", "Content");
+        UUID pokId = UUID.randomUUID();
+        ReflectionTestUtils.setField(savedPok, "id", pokId);
+
+        when(idempotencyService.claim(eq(userId), eq("key-1"), eq(IdempotencyService.Operation.CREATE_POK), any()))
+            .thenReturn(Optional.empty());
+        when(pokRepository.save(any(Pok.class))).thenReturn(savedPok);
+
+        PokResponse response = pokService.create(request, userId, "key-1");
+
+        assertThat(response.id()).isEqualTo(pokId);
+        verify(idempotencyService).recordPok(userId, "key-1", pokId);
+    }
+
+    @Test
+    void create_withUsedIdempotencyKey_shouldReplayOriginalPok() {
+        CreatePokRequest request = new CreatePokRequest("Title", "Content", null);
+        Pok original = new Pok(userId, "Title", "Content");
+        UUID pokId = UUID.randomUUID();
+        ReflectionTestUtils.setField(original, "id", pokId);
+
+        when(idempotencyService.claim(eq(userId), eq("key-1"), eq(IdempotencyService.Operation.CREATE_POK), any()))
+            .thenReturn(Optional.of(new IdempotencyService.Prior(pokId, null)));
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(original));
+
+        PokResponse response = pokService.create(request, userId, "key-1");
+
+        assertThat(response.id()).isEqualTo(pokId);
+        verify(pokRepository, never()).save(any());
+        verifyNoInteractions(pokHistoryService, pokEventBus);
+    }
+
+    @Test
+    void create_withoutIdempotencyKey_shouldNotTouchTheStore() {
+        when(pokRepository.save(any(Pok.class))).thenReturn(new Pok(userId, null, "Content"));
+
+        pokService.create(new CreatePokRequest(null, "Content", null), userId, null);
+
+        verifyNoInteractions(idempotencyService);
     }
 
     @Test
@@ -682,30 +918,22 @@ class PokServiceTest {
     // ===== AUDIT LOG TESTS =====
 
     @Test
-    void create_shouldSaveAuditLogWithCreateAction() {
+    void create_shouldRecordCreateInHistory() {
         // Given
         CreatePokRequest request = new CreatePokRequest("Test Title", "Test content", null);
         Pok savedPok = new Pok(userId, "Test Title", "Test content");
 
         when(pokRepository.save(any(Pok.class))).thenReturn(savedPok);
-        when(pokAuditLogRepository.save(any(PokAuditLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // When
         pokService.create(request, userId);
 
-        // Then: audit log entry saved with CREATE action and correct content
-        verify(pokAuditLogRepository).save(argThat(log ->
-            log.getAction() == PokAuditLog.Action.CREATE
-            && log.getUserId().equals(userId)
-            && log.getOldTitle() == null
-            && log.getOldContent() == null
-            && "Test Title".equals(log.getNewTitle())
-            && "Test content".equals(log.getNewContent())
-        ));
+        // Then: the saved POK is recorded as created by the user
+        verify(pokHistoryService).recordCreate(savedPok, userId);
     }
 
     @Test
-    void update_shouldSaveAuditLogWithUpdateAction() {
+    void update_shouldRecordOldValuesInHistory() {
         // Given
         UUID pokId = UUID.randomUUID();
         Pok existingPok = new Pok(userId, "Old Title", "Old content");
@@ -713,47 +941,34 @@ class PokServiceTest {
 
         when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(existingPok));
         when(pokRepository.save(any(Pok.class))).thenReturn(existingPok);
-        when(pokAuditLogRepository.save(any(PokAuditLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // When
         pokService.update(pokId, request, userId);
 
-        // Then: audit log records old and new values
-        verify(pokAuditLogRepository).save(argThat(log ->
-            log.getAction() == PokAuditLog.Action.UPDATE
-            && log.getUserId().equals(userId)
-            && "Old Title".equals(log.getOldTitle())
-            && "Old content".equals(log.getOldContent())
-            && "New Title".equals(log.getNewTitle())
-            && "New content".equals(log.getNewContent())
-        ));
+        // Then: history receives the values before the update and the POK holding the new ones
+        verify(pokHistoryService).recordUpdate(argThat(pok ->
+            "New Title".equals(pok.getTitle()) && "New content".equals(pok.getContent())),
+            eq(userId), eq("Old Title"), eq("Old content"));
     }
 
     @Test
-    void softDelete_shouldSaveAuditLogWithDeleteAction() {
+    void softDelete_shouldRecordDeleteInHistory() {
         // Given
         UUID pokId = UUID.randomUUID();
         Pok pok = new Pok(userId, "Title", "Content");
 
         when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(pok));
-        when(pokAuditLogRepository.save(any(PokAuditLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // When
         pokService.softDelete(pokId, userId);
 
-        // Then: audit log records old content and nulls for new content
-        verify(pokAuditLogRepository).save(argThat(log ->
-            log.getAction() == PokAuditLog.Action.DELETE
-            && log.getUserId().equals(userId)
-            && "Title".equals(log.getOldTitle())
-            && "Content".equals(log.getOldContent())
-            && log.getNewTitle() == null
-            && log.getNewContent() == null
-        ));
+        // Then: the deleted POK is recorded, still holding its last title and content
+        verify(pokHistoryService).recordDelete(argThat(p ->
+            p.isDeleted() && "Title".equals(p.getTitle()) && "Content".equals(p.getContent())), eq(userId));
     }
 
     @Test
-    void update_whenAccessDenied_shouldNotSaveAuditLog() {
+    void update_whenAccessDenied_shouldNotRecordHistory() {
         // Given: POK belongs to a different user
         UUID pokId = UUID.randomUUID();
         Pok pok = new Pok(otherUserId, "Title", "Content");
@@ -765,8 +980,8 @@ class PokServiceTest {
         assertThatThrownBy(() -> pokService.update(pokId, request, userId))
             .isInstanceOf(PokAccessDeniedException.class);
 
-        // Then: no audit log entry written (transaction would roll back)
-        verify(pokAuditLogRepository, never()).save(any(PokAuditLog.class));
+        // Then: no history entry written (transaction would roll back)
+        verifyNoInteractions(pokHistoryService);
     }
 
     // ===== GET HISTORY TESTS =====
@@ -776,18 +991,13 @@ class PokServiceTest {
         // Given
         UUID pokId = UUID.randomUUID();
         Pok pok = new Pok(userId, "Title", "Content");
-        PokAuditLog log1 = new PokAuditLog(
-            pokId, userId, PokAuditLog.Action.CREATE,
-            null, "Title", null, "Content", Instant.now().minusSeconds(60)
-        );
-        PokAuditLog log2 = new PokAuditLog(
-            pokId, userId, PokAuditLog.Action.UPDATE,
-            "Title", "New Title", "Content", "New content", Instant.now()
-        );
+        PokAuditLogResponse created = new PokAuditLogResponse(UUID.randomUUID(), pokId, userId, "CREATE",
+            null, "Title", null, "Content", Instant.now().minusSeconds(60));
+        PokAuditLogResponse updated = new PokAuditLogResponse(UUID.randomUUID(), pokId, userId, "UPDATE",
+            "Title", "New Title", "Content", "New content", Instant.now());
 
         when(pokRepository.findById(pokId)).thenReturn(Optional.of(pok));
-        when(pokAuditLogRepository.findByPokIdOrderByOccurredAtDesc(pokId))
-            .thenReturn(List.of(log2, log1));
+        when(pokHistoryService.getHistory(pokId)).thenReturn(List.of(updated, created));
 
         // When
         List<PokAuditLogResponse> history = pokService.getHistory(pokId, userId);
@@ -798,7 +1008,7 @@ class PokServiceTest {
         assertThat(history.get(1).action()).isEqualTo("CREATE");
 
         verify(pokRepository).findById(pokId);
-        verify(pokAuditLogRepository).findByPokIdOrderByOccurredAtDesc(pokId);
+        verify(pokHistoryService).getHistory(pokId);
     }
 
     @Test
@@ -827,6 +1037,22 @@ class PokServiceTest {
             .isInstanceOf(PokAccessDeniedException.class);
     }
 
+    @Test
+    void getHistoryPage_whenPokBelongsToOtherUser_shouldNotReadHistory() {
+        // Given
+        UUID pokId = UUID.randomUUID();
+        Pok pok = new Pok(otherUserId, "Title", "Content");
+
+        when(pokRepository.findById(pokId)).thenReturn(Optional.of(pok));
+
+        // When/Then
+        assertThatThrownBy(() -> pokService.getHistoryPage(pokId, userId, null, 20))
+            .isInstanceOf(PokAccessDeniedException.class);
+        assertThatThrownBy(() -> pokService.getHistoryDiff(pokId, 1, userId))
+            .isInstanceOf(PokAccessDeniedException.class);
+        verifyNoInteractions(pokHistoryService);
+    }
+
     // ===== SEARCH — UPDATED DATE FILTERS TESTS =====
 
     @Test
@@ -909,4 +1135,265 @@ class PokServiceTest {
         verify(pokRepository).searchPoks(
             eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null), any(Pageable.class));
     }
+
+    // ===== TAG FILTER / FACET TESTS =====
+
+    private UserTag userTagWithIds(String name) {
+        Tag tag = new Tag(name);
+        ReflectionTestUtils.setField(tag, "id", UUID.randomUUID());
+        UserTag userTag = new UserTag(userId, tag, "blue");
+        ReflectionTestUtils.setField(userTag, "id", UUID.randomUUID());
+        return userTag;
+    }
+
+    @Test
+    void search_withAnyTagFilter_shouldResolveGlobalTagIdsAndRequireOneMatch() {
+        // Given
+        UserTag java = userTagWithIds("java");
+        UserTag spring = userTagWithIds("spring");
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(java, spring));
+        when(pokRepository.searchPoksByTags(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null),
+            any(), eq(1L), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(new Pok(userId, "Tagged", "content"))));
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, null, null, null, null, null, null, null, null,
+            List.of(java.getId(), spring.getId()), null, 0, 20);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        verify(pokRepository).searchPoksByTags(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null),
+            eq(Set.of(java.getTag().getId(), spring.getTag().getId())), eq(1L), any(Pageable.class));
+        verify(pokRepository, never()).searchPoks(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void search_withAllTagFilter_shouldRequireEveryTag() {
+        // Given
+        UserTag java = userTagWithIds("java");
+        UserTag spring = userTagWithIds("spring");
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(java, spring));
+        when(pokRepository.searchPoksByTags(any(), any(), any(), any(), any(), any(), any(), eq(2L), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of()));
+
+        // When
+        pokService.search(userId, null, null, null, null, null, null, null, null,
+            List.of(java.getId(), spring.getId()), "all", 0, 20);
+
+        // Then
+        verify(pokRepository).searchPoksByTags(any(), any(), any(), any(), any(), any(), any(), eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    void search_withAllTagFilterIncludingUnownedTag_shouldReturnEmptyWithoutQuerying() {
+        // Given: one owned tag, one unknown ID — no POK can carry both
+        UserTag java = userTagWithIds("java");
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(java));
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, null, null, null, null, null, null, null, null,
+            List.of(java.getId(), UUID.randomUUID()), "all", 0, 20);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        verify(pokRepository, never()).searchPoksByTags(any(), any(), any(), any(), any(), any(), any(), any(Long.class), any());
+        verify(pokRepository, never()).searchPoks(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void search_withUnsupportedTagMatch_shouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> pokService.search(userId, null, null, null, null, null, null, null, null,
+            List.of(UUID.randomUUID()), "some", 0, 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported tag match mode");
+    }
+
+    @Test
+    void search_withCachedResult_shouldNotQueryRepository() {
+        // Given
+        when(userChangeVersionService.current(userId)).thenReturn(3L);
+        Page<PokResponse> cached = new PageImpl<>(List.of());
+        SearchResultCache.Key key = SearchResultCache.Key.of(userId, 3L, "java", null, null, null,
+            null, null, null, null, null, null, 0, 20);
+        when(searchResultCache.get(key)).thenReturn(cached);
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, "java", null, null, null, null, null, null, null, 0, 20);
+
+        // Then
+        assertThat(result).isSameAs(cached);
+        verifyNoInteractions(pokRepository);
+        verify(searchResultCache, never()).put(any(), any());
+    }
+
+    @Test
+    void search_withCacheMiss_shouldStoreResultUnderCurrentVersion() {
+        // Given
+        when(userChangeVersionService.current(userId)).thenReturn(7L);
+        when(pokRepository.searchPoks(eq(userId), eq("java"), eq(null), eq(null), eq(null), eq(null), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(new Pok(userId, "Java", "content"))));
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, "java", null, null, null, null, null, null, null, 0, 20);
+
+        // Then
+        SearchResultCache.Key expectedKey = SearchResultCache.Key.of(userId, 7L, "java", "keyword", null, "DESC",
+            null, null, null, null, List.of(), "any", 0, 20);
+        verify(searchResultCache).put(expectedKey, result);
+    }
+
+    @Test
+    void search_withAvailableSearchEngine_shouldHydrateHitsInRankOrder() {
+        // Given
+        planFts();
+        Pok first = new Pok(userId, "Second by date", "java");
+        Pok second = new Pok(userId, "First by date", "java");
+        ReflectionTestUtils.setField(first, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(second, "id", UUID.randomUUID());
+        when(searchEngine.isAvailable()).thenReturn(true);
+        when(searchEngine.search(argThat(c -> c.mode() == SearchEngine.Mode.KEYWORD && c.sortBy() == null)))
+            .thenReturn(Optional.of(new SearchEngine.Hits(List.of(first.getId(), second.getId()), 2)));
+        when(pokRepository.findAllById(List.of(first.getId(), second.getId()))).thenReturn(List.of(second, first));
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, "java", null, null, null, null, null, null, null, 0, 20);
+
+        // Then
+        assertThat(result.getContent()).extracting(PokResponse::id).containsExactly(first.getId(), second.getId());
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(pokRepository, never()).searchPoks(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void search_whenSearchEngineCannotAnswer_shouldFallBackToPostgres() {
+        // Given
+        planFts();
+        when(searchEngine.isAvailable()).thenReturn(true);
+        when(searchEngine.search(any())).thenReturn(Optional.empty());
+        when(pokRepository.searchPoks(eq(userId), eq("java"), eq(null), eq(null), eq(null), eq(null), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(new Pok(userId, "Java", "content"))));
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, "java", null, null, null, null, null, null, null, 0, 20);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void search_withInMemoryPlan_shouldFilterSortAndPageWithoutSearchQueries() {
+        // Given
+        Pok older = pokAt("Java streams", "map and filter", "2026-01-01T00:00:00Z");
+        Pok newer = pokAt("Kotlin", "java interop notes", "2026-03-01T00:00:00Z");
+        Pok unrelated = pokAt("Go", "goroutines", "2026-02-01T00:00:00Z");
+        when(searchPlanner.plan(userId, "JAVA", null)).thenReturn(new SearchPlanner.Plan(
+            SearchPlanner.Strategy.EXACT_IN_MEMORY, new SearchPlanner.CorpusStats(3, 0, 0), "test"));
+        when(pokRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(older, newer, unrelated));
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, "JAVA", null, "createdAt", "DESC", null, null, null, null, 0, 20);
+
+        // Then
+        assertThat(result.getContent()).extracting(PokResponse::title).containsExactly("Kotlin", "Java streams");
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(pokRepository, never()).searchPoks(any(), any(), any(), any(), any(), any(), any());
+        verify(searchPlanner).recordExecution(eq(userId), any(), eq(SearchPlanner.Strategy.EXACT_IN_MEMORY), anyLong());
+    }
+
+    @Test
+    void search_withInMemoryPlanInSemanticMode_shouldRankByExactCosine() {
+        // Given
+        Pok far = pokAt("Far", "content", "2026-01-01T00:00:00Z");
+        Pok near = pokAt("Near", "content", "2026-01-02T00:00:00Z");
+        Pok unembedded = pokAt("Unembedded", "content", "2026-01-03T00:00:00Z");
+        far.updateEmbedding(new float[] {0f, 1f});
+        near.updateEmbedding(new float[] {1f, 0.1f});
+        when(searchPlanner.plan(userId, "query", "semantic")).thenReturn(new SearchPlanner.Plan(
+            SearchPlanner.Strategy.EXACT_IN_MEMORY, new SearchPlanner.CorpusStats(3, 2, 0), "test"));
+        when(pokRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(far, near, unembedded));
+        when(embeddingService.embed("query")).thenReturn(new float[] {1f, 0f});
+
+        // When
+        Page<PokResponse> result = pokService.search(userId, "query", "semantic", null, null, null, null, null, null, 0, 20);
+
+        // Then
+        assertThat(result.getContent()).extracting(PokResponse::title).containsExactly("Near", "Far");
+        verify(pokRepository, never()).findSemantically(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTagFacets_shouldMapCountsToUserTagsSortedByCount() {
+        // Given
+        UserTag java = userTagWithIds("java");
+        UserTag spring = userTagWithIds("spring");
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(java, spring));
+        when(pokRepository.countTagFacets(userId, "boot", null, null, null, null)).thenReturn(List.of(
+            facetCount(java.getTag().getId(), 2),
+            facetCount(spring.getTag().getId(), 5),
+            facetCount(UUID.randomUUID(), 9)  // tag the user no longer subscribes to
+        ));
+
+        // When
+        List<TagFacetResponse> facets = pokService.getTagFacets(userId, "boot", null, null, null, null, null, null);
+
+        // Then
+        assertThat(facets).extracting(TagFacetResponse::name).containsExactly("spring", "java");
+        assertThat(facets).extracting(TagFacetResponse::pokCount).containsExactly(5L, 2L);
+        assertThat(facets.get(0).id()).isEqualTo(spring.getId());
+    }
+
+    @Test
+    void getTagFacets_withTagFilter_shouldUseTagRestrictedAggregate() {
+        // Given
+        UserTag java = userTagWithIds("java");
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(java));
+        when(pokRepository.countTagFacetsByTags(eq(userId), eq(null), eq(null), eq(null), eq(null), eq(null),
+            eq(Set.of(java.getTag().getId())), eq(1L))).thenReturn(List.of(facetCount(java.getTag().getId(), 4)));
+
+        // When
+        List<TagFacetResponse> facets = pokService.getTagFacets(userId, null, null, null, null, null,
+            List.of(java.getId()), "any");
+
+        // Then
+        assertThat(facets).hasSize(1);
+        assertThat(facets.get(0).pokCount()).isEqualTo(4);
+        verify(pokRepository, never()).countTagFacets(any(), any(), any(), any(), any(), any());
+    }
+
+    private static PokRepository.TagFacetCount facetCount(UUID tagId, long count) {
+        return new PokRepository.TagFacetCount() {
+            @Override
+            public UUID getTagId() {
+                return tagId;
+            }
+
+            @Override
+            public long getPokCount() {
+                return count;
+            }
+        };
+    }
+
+    private void planFts() {
+        when(searchPlanner.plan(any(), any(), any())).thenReturn(new SearchPlanner.Plan(
+            SearchPlanner.Strategy.FTS, new SearchPlanner.CorpusStats(10_000, 0, 0), "test"));
+    }
+
+    private Pok pokAt(String title, String content, String createdAt) {
+        Pok pok = new Pok(userId, title, content);
+        ReflectionTestUtils.setField(pok, "id", UUID.randomUUID());
+        pok.setCreatedAt(Instant.parse(createdAt));
+        return pok;
+    }
+
+    /**
+     * Plan a large corpus would get without a search engine, so the SQL paths under test run.
+     */
+    private static SearchPlanner.Plan largeCorpusPlan(String keyword, String searchMode) {
+        SearchPlanner.Strategy strategy = keyword == null || keyword.isBlank() ? SearchPlanner.Strategy.EXACT_SQL
+            : "semantic".equals(searchMode) ? SearchPlanner.Strategy.ANN
+            : "hybrid".equals(searchMode) ? SearchPlanner.Strategy.HYBRID
+            : SearchPlanner.Strategy.EXACT_SQL;
+        return new SearchPlanner.Plan(strategy, new SearchPlanner.CorpusStats(10_000, 10_000, 0), "test");
+    }
 }
@@ -0,0 +1,151 @@
+package com.lucasxf.ed.service;
+
+import java.util.UUID;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lucasxf.ed.config.SearchProperties;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.UserTagRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SearchPlanner}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchPlanner")
+class SearchPlannerTest {
+
+    @Mock
+    private PokRepository pokRepository;
+
+    @Mock
+    private UserTagRepository userTagRepository;
+
+    @Mock
+    private UserChangeVersionService userChangeVersionService;
+
+    @Mock
+    private SearchEngine searchEngine;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchPlanner planner;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        planner = new SearchPlanner(pokRepository, userTagRepository, userChangeVersionService, searchEngine,
+            new SearchProperties(null, null, null, new SearchProperties.Planner(100)), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("keyword and vector searches over small corpora run exactly in memory")
+    void plan_smallCorpus_choosesInMemory() {
+        givenCorpus(100, 100);
+
+        assertThat(planner.plan(userId, "java", "semantic").strategy())
+            .isEqualTo(SearchPlanner.Strategy.EXACT_IN_MEMORY);
+        assertThat(planner.plan(userId, "java", null).strategy())
+            .isEqualTo(SearchPlanner.Strategy.EXACT_IN_MEMORY);
+    }
+
+    @Test
+    @DisplayName("large keyword searches use FTS only when the search engine is available")
+    void plan_largeKeywordSearch_dependsOnEngine() {
+        givenCorpus(5_000, 0);
+
+        when(searchEngine.isAvailable()).thenReturn(false);
+        assertThat(planner.plan(userId, "java", null).strategy()).isEqualTo(SearchPlanner.Strategy.EXACT_SQL);
+
+        when(searchEngine.isAvailable()).thenReturn(true);
+        assertThat(planner.plan(userId, "java", null).strategy()).isEqualTo(SearchPlanner.Strategy.FTS);
+    }
+
+    @Test
+    @DisplayName("large vector searches use ANN or hybrid")
+    void plan_largeVectorSearch_choosesAnnOrHybrid() {
+        givenCorpus(5_000, 4_000);
+
+        assertThat(planner.plan(userId, "java", "semantic").strategy()).isEqualTo(SearchPlanner.Strategy.ANN);
+        assertThat(planner.plan(userId, "java", "hybrid").strategy()).isEqualTo(SearchPlanner.Strategy.HYBRID);
+    }
+
+    @Test
+    @DisplayName("vector modes fall back to text strategies when nothing is embedded")
+    void plan_vectorModeWithoutEmbeddings_choosesTextStrategy() {
+        givenCorpus(5_000, 0);
+
+        assertThat(planner.plan(userId, "java", "semantic").strategy()).isEqualTo(SearchPlanner.Strategy.EXACT_SQL);
+    }
+
+    @Test
+    @DisplayName("large listings without a keyword use the indexed SQL scan")
+    void plan_largeListing_choosesExactSql() {
+        givenCorpus(5_000, 5_000);
+
+        assertThat(planner.plan(userId, null, "hybrid").strategy()).isEqualTo(SearchPlanner.Strategy.EXACT_SQL);
+    }
+
+    @Test
+    @DisplayName("small listings without a keyword also read one page instead of the whole corpus")
+    void plan_smallListing_choosesExactSql() {
+        givenCorpus(10, 10);
+
+        assertThat(planner.plan(userId, null, null).strategy()).isEqualTo(SearchPlanner.Strategy.EXACT_SQL);
+        assertThat(planner.plan(userId, " ", "semantic").strategy()).isEqualTo(SearchPlanner.Strategy.EXACT_SQL);
+    }
+
+    @Test
+    @DisplayName("statistics are reused until the user's change version moves")
+    void stats_areCachedPerVersion() {
+        givenCorpus(5_000, 0);
+        when(userChangeVersionService.current(userId)).thenReturn(1L, 1L, 2L);
+
+        planner.stats(userId);
+        planner.stats(userId);
+        planner.stats(userId);
+
+        verify(pokRepository, times(2)).countCorpus(userId);
+    }
+
+    @Test
+    @DisplayName("records decisions and execution latency per strategy")
+    void planAndRecord_publishMetrics() {
+        givenCorpus(10, 0);
+
+        SearchPlanner.Plan plan = planner.plan(userId, "java", null);
+        planner.recordExecution(userId, plan, plan.strategy(), 5_000_000);
+
+        assertThat(meterRegistry.counter("learnimo.search.plans", "strategy", "EXACT_IN_MEMORY").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("learnimo.search.execution", "strategy", "EXACT_IN_MEMORY").count()).isEqualTo(1);
+    }
+
+    private void givenCorpus(long pokCount, long embeddedCount) {
+        when(pokRepository.countCorpus(userId)).thenReturn(new PokRepository.CorpusCounts() {
+            @Override
+            public long getPokCount() {
+                return pokCount;
+            }
+
+            @Override
+            public long getEmbeddedCount() {
+                return embeddedCount;
+            }
+        });
+    }
+}
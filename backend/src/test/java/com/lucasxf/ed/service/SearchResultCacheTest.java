@@ -0,0 +1,106 @@
+package com.lucasxf.ed.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import com.lucasxf.ed.config.SearchProperties;
+import com.lucasxf.ed.dto.PokResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SearchResultCache}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("SearchResultCache")
+class SearchResultCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("returns the stored page for an equal key and counts hits and misses")
+    void get_afterPut_returnsStoredPage() {
+        SearchResultCache cache = cache(true, 10);
+        Page<PokResponse> page = new PageImpl<>(List.of());
+
+        assertThat(cache.get(key(0, "java"))).isNull();
+        cache.put(key(0, "java"), page);
+
+        assertThat(cache.get(key(0, "java"))).isSameAs(page);
+        assertThat(meterRegistry.counter("learnimo.search.cache.requests", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("learnimo.search.cache.requests", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("misses once the user's version moves on")
+    void get_withNewerVersion_misses() {
+        SearchResultCache cache = cache(true, 10);
+        cache.put(key(0, "java"), new PageImpl<>(List.of()));
+
+        assertThat(cache.get(key(1, "java"))).isNull();
+    }
+
+    @Test
+    @DisplayName("evicts the least recently used entry when full")
+    void put_whenFull_evictsLeastRecentlyUsed() {
+        SearchResultCache cache = cache(true, 2);
+        cache.put(key(0, "a"), new PageImpl<>(List.of()));
+        cache.put(key(0, "b"), new PageImpl<>(List.of()));
+        cache.get(key(0, "a"));
+        cache.put(key(0, "c"), new PageImpl<>(List.of()));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(key(0, "a"))).isNotNull();
+        assertThat(cache.get(key(0, "b"))).isNull();
+    }
+
+    @Test
+    @DisplayName("stores nothing when disabled")
+    void put_whenDisabled_isNoOp() {
+        SearchResultCache cache = cache(false, 10);
+        cache.put(key(0, "java"), new PageImpl<>(List.of()));
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(key(0, "java"))).isNull();
+    }
+
+    @Test
+    @DisplayName("normalizes defaults, tag order and ignored search modes into the same key")
+    void keyOf_normalizesEquivalentRequests() {
+        UUID tagA = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+        UUID tagB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+        SearchResultCache.Key explicit = SearchResultCache.Key.of(userId, 0, null, "semantic", "", "desc",
+            null, null, null, null, List.of(tagB, tagA, tagA), "ANY", 0, 20);
+        SearchResultCache.Key implicit = SearchResultCache.Key.of(userId, 0, null, null, null, null,
+            null, null, null, null, List.of(tagA, tagB), null, 0, 20);
+
+        assertThat(explicit).isEqualTo(implicit);
+    }
+
+    private SearchResultCache cache(boolean enabled, int maxEntries) {
+        SearchProperties properties = new SearchProperties(null, new SearchProperties.Cache(enabled, maxEntries), null, null);
+        return new SearchResultCache(properties, meterRegistry);
+    }
+
+    private SearchResultCache.Key key(long version, String keyword) {
+        return SearchResultCache.Key.of(userId, version, keyword, null, null, null,
+            null, null, null, null, null, null, 0, 20);
+    }
+}
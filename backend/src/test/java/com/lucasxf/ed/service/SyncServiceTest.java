@@ -0,0 +1,161 @@
+package com.lucasxf.ed.service;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.lucasxf.ed.dto.SyncChangesResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SyncService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncService")
+class SyncServiceTest {
+
+    private static final String XMIN_QUERY = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SyncService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private Object[] changeArgs;
+
+    @BeforeEach
+    void setUp() {
+        service = new SyncService(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("cursors round-trip and reject anything else")
+    void cursor_roundTrip() {
+        SyncService.SyncCursor finished = new SyncService.SyncCursor(42, null);
+        SyncService.SyncCursor partial = new SyncService.SyncCursor(42,
+            new SyncService.Position(57, 3, UUID.randomUUID(), UUID.randomUUID()));
+
+        assertThat(SyncService.SyncCursor.decode(finished.encode())).isEqualTo(finished);
+        assertThat(SyncService.SyncCursor.decode(partial.encode())).isEqualTo(partial);
+        assertThatThrownBy(() -> SyncService.SyncCursor.decode("bm9wZQ"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Malformed sync cursor");
+    }
+
+    @Test
+    @DisplayName("splits a page into upserts and tombstones and hands out the snapshot xmin")
+    void changes_groupsByKind() throws Exception {
+        UUID deletedPok = UUID.randomUUID();
+        UUID tagSubscription = UUID.randomUUID();
+        UUID tagId = UUID.randomUUID();
+        UUID pokId = UUID.randomUUID();
+        when(jdbcTemplate.queryForObject(XMIN_QUERY, String.class)).thenReturn("900");
+        stubChanges(
+            row(100, 1, deletedPok, SyncService.NIL, true, null, null),
+            row(101, 2, tagSubscription, tagId, false, "java", "blue"),
+            row(102, 3, pokId, tagId, false, "MANUAL", null),
+            row(103, 4, pokId, UUID.randomUUID(), true, null, null));
+
+        SyncChangesResponse response = service.changes(userId, "", 10);
+
+        assertThat(response.deletedPokIds()).containsExactly(deletedPok);
+        assertThat(response.tags()).containsExactly(new SyncChangesResponse.SyncTag(tagSubscription, tagId, "java", "blue"));
+        assertThat(response.assignments()).containsExactly(new SyncChangesResponse.SyncAssignment(pokId, tagId, "MANUAL"));
+        assertThat(response.removedAssignments()).hasSize(1);
+        assertThat(response.poks()).isEmpty();
+        assertThat(response.hasMore()).isFalse();
+        assertThat(SyncService.SyncCursor.decode(response.cursor())).isEqualTo(new SyncService.SyncCursor(900, null));
+    }
+
+    @Test
+    @DisplayName("a full page continues from its last change and keeps the first page's floor")
+    void changes_fullPage_continuesFromLastChange() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        String since = new SyncService.SyncCursor(500, null).encode();
+        when(jdbcTemplate.queryForObject(XMIN_QUERY, String.class)).thenReturn("900");
+        stubChanges(
+            row(600, 2, first, UUID.randomUUID(), true, null, null),
+            row(601, 2, second, UUID.randomUUID(), true, null, null));
+
+        SyncChangesResponse response = service.changes(userId, since, 1);
+
+        assertThat(response.hasMore()).isTrue();
+        assertThat(response.deletedTagIds()).containsExactly(first);
+        SyncService.SyncCursor next = SyncService.SyncCursor.decode(response.cursor());
+        assertThat(next.floor()).isEqualTo(900);
+        assertThat(next.after().xid()).isEqualTo(600);
+        assertThat(next.after().a()).isEqualTo(first);
+        // Scans from the cursor's floor and over-fetches by one to detect the next page
+        assertThat(changeArgs).hasSize(13);
+        assertThat(changeArgs[1]).isEqualTo("500");
+        assertThat(changeArgs[12]).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a continuation page reuses the carried floor instead of reading a new one")
+    void changes_continuation_doesNotReadXmin() throws Exception {
+        String since = new SyncService.SyncCursor(900,
+            new SyncService.Position(600, 2, UUID.randomUUID(), UUID.randomUUID())).encode();
+        stubChanges();
+
+        SyncChangesResponse response = service.changes(userId, since, 10);
+
+        assertThat(SyncService.SyncCursor.decode(response.cursor())).isEqualTo(new SyncService.SyncCursor(900, null));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(String.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubChanges(Object[]... rows) throws Exception {
+        when(jdbcTemplate.query(contains("UNION ALL"), any(RowMapper.class), any(Object[].class))).thenAnswer(inv -> {
+            RowMapper<Object> mapper = inv.getArgument(1);
+            changeArgs = Arrays.copyOfRange(inv.getArguments(), 2, inv.getArguments().length);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows.length; i++) {
+                mapped.add(mapper.mapRow(resultSet(rows[i]), i));
+            }
+            return mapped;
+        });
+    }
+
+    private static Object[] row(long xid, int kind, UUID a, UUID b, boolean deleted, String label, String color) {
+        return new Object[] {xid, kind, a, b, deleted, label, color};
+    }
+
+    private static ResultSet resultSet(Object[] row) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("xid")).thenReturn(Long.toString((long) row[0]));
+        when(rs.getInt("kind")).thenReturn((int) row[1]);
+        when(rs.getObject("a", UUID.class)).thenReturn((UUID) row[2]);
+        when(rs.getObject("b", UUID.class)).thenReturn((UUID) row[3]);
+        when(rs.getBoolean("deleted")).thenReturn((boolean) row[4]);
+        when(rs.getString("label")).thenReturn((String) row[5]);
+        when(rs.getString("color")).thenReturn((String) row[6]);
+        return rs;
+    }
+}
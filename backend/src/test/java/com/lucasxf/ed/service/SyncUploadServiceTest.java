@@ -0,0 +1,243 @@
+package com.lucasxf.ed.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.dto.CreatePokRequest;
+import com.lucasxf.ed.dto.PokResponse;
+import com.lucasxf.ed.dto.SyncBatchRequest;
+import com.lucasxf.ed.dto.SyncBatchRequest.SyncOperation;
+import com.lucasxf.ed.dto.SyncBatchRequest.Type;
+import com.lucasxf.ed.dto.SyncBatchResponse;
+import com.lucasxf.ed.dto.SyncBatchResponse.OperationResult;
+import com.lucasxf.ed.dto.SyncBatchResponse.Status;
+import com.lucasxf.ed.dto.UpdatePokRequest;
+import com.lucasxf.ed.repository.PokRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SyncUploadService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncUploadService")
+class SyncUploadServiceTest {
+
+    private static final Instant SEEN = Instant.parse("2026-10-18T10:00:00Z");
+
+    @Mock private PokService pokService;
+    @Mock private PokRepository pokRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private SyncUploadService service;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new SyncUploadService(pokService, pokRepository, validator, transactionManager);
+    }
+
+    @Test
+    @DisplayName("creates under an opId-derived idempotency key")
+    void apply_create_usesOpIdAsIdempotencyKey() {
+        UUID pokId = UUID.randomUUID();
+        when(pokService.create(any(CreatePokRequest.class), eq(userId), eq("sync:op-1")))
+            .thenReturn(response(pokId, "Offline", SEEN));
+
+        SyncBatchResponse response = service.apply(userId,
+            batch(new SyncOperation("op-1", Type.CREATE, null, null, "Offline", null, null)));
+
+        assertThat(response.results()).containsExactly(
+            new OperationResult("op-1", Status.APPLIED, pokId, SEEN, null, null));
+    }
+
+    @Test
+    @DisplayName("updates a POK that has not changed since the client saw it")
+    void apply_update_unchangedSinceBase_applies() {
+        Pok pok = pok("Old", SEEN);
+        Instant written = SEEN.plusSeconds(60);
+        when(pokRepository.findActiveByIdForUpdate(pok.getId())).thenReturn(Optional.of(pok));
+        when(pokService.update(pok.getId(), new UpdatePokRequest(null, "New"), userId, null))
+            .thenReturn(response(pok.getId(), "New", written));
+
+        SyncBatchResponse response = service.apply(userId,
+            batch(new SyncOperation("op-1", Type.UPDATE, pok.getId(), null, "New", null, SEEN)));
+
+        assertThat(response.results().getFirst().status()).isEqualTo(Status.APPLIED);
+        assertThat(response.results().getFirst().updatedAt()).isEqualTo(written);
+    }
+
+    @Test
+    @DisplayName("reports a conflict with the server copy when the POK changed since the base version")
+    void apply_update_changedSinceBase_conflicts() {
+        Pok pok = pok("Server edit", SEEN.plusSeconds(30));
+        when(pokRepository.findActiveByIdForUpdate(pok.getId())).thenReturn(Optional.of(pok));
+
+        SyncBatchResponse response = service.apply(userId,
+            batch(new SyncOperation("op-1", Type.UPDATE, pok.getId(), null, "Offline edit", null, SEEN)));
+
+        OperationResult result = response.results().getFirst();
+        assertThat(result.status()).isEqualTo(Status.CONFLICT);
+        assertThat(result.current().content()).isEqualTo("Server edit");
+        verify(pokService, never()).update(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("treats a re-uploaded edit that already landed as applied")
+    void apply_update_alreadyApplied_isApplied() {
+        Pok pok = pok("Offline edit", SEEN.plusSeconds(30));
+        when(pokRepository.findActiveByIdForUpdate(pok.getId())).thenReturn(Optional.of(pok));
+
+        SyncBatchResponse response = service.apply(userId,
+            batch(new SyncOperation("op-1", Type.UPDATE, pok.getId(), null, "Offline edit", null, SEEN)));
+
+        assertThat(response.results().getFirst().status()).isEqualTo(Status.APPLIED);
+        verify(pokService, never()).update(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("reports another user's POK as not found")
+    void apply_delete_foreignPok_notFound() {
+        Pok pok = new Pok(UUID.randomUUID(), null, "Theirs");
+        ReflectionTestUtils.setField(pok, "id", UUID.randomUUID());
+        when(pokRepository.findByIdForUpdate(pok.getId())).thenReturn(Optional.of(pok));
+
+        SyncBatchResponse response = service.apply(userId,
+            batch(new SyncOperation("op-1", Type.DELETE, pok.getId(), null, null, null, null)));
+
+        assertThat(response.results().getFirst().status()).isEqualTo(Status.NOT_FOUND);
+        verify(pokService, never()).softDelete(any(), any());
+    }
+
+    @Test
+    @DisplayName("treats a redelivered delete of an already deleted POK as applied")
+    void apply_delete_alreadyDeleted_isApplied() {
+        Pok pok = pok("Gone", SEEN);
+        pok.softDelete();
+        when(pokRepository.findByIdForUpdate(pok.getId())).thenReturn(Optional.of(pok));
+
+        SyncBatchResponse response = service.apply(userId,
+            batch(new SyncOperation("op-1", Type.DELETE, pok.getId(), null, null, null, SEEN)));
+
+        assertThat(response.results().getFirst().status()).isEqualTo(Status.APPLIED);
+        assertThat(response.results().getFirst().pokId()).isEqualTo(pok.getId());
+        verify(pokService, never()).softDelete(any(), any());
+    }
+
+    @Test
+    @DisplayName("rejects malformed operations without failing the batch")
+    void apply_malformedOperation_rejectedAlone() {
+        Pok pok = pok("Title", SEEN);
+        when(pokRepository.findByIdForUpdate(pok.getId())).thenReturn(Optional.of(pok));
+
+        SyncBatchResponse response = service.apply(userId, batch(
+            new SyncOperation("op-1", Type.UPDATE, null, null, "No POK", null, null),
+            new SyncOperation("op-2", Type.CREATE, null, null, " ", null, null),
+            new SyncOperation("op-3", Type.DELETE, pok.getId(), null, null, null, SEEN)));
+
+        assertThat(response.results()).extracting(OperationResult::status)
+            .containsExactly(Status.REJECTED, Status.REJECTED, Status.APPLIED);
+        assertThat(response.results().get(0).message()).isEqualTo("pokId is required for UPDATE");
+        verify(pokService).softDelete(pok.getId(), userId);
+    }
+
+    @Test
+    @DisplayName("replays a failed chunk one operation at a time so only the failing one is lost")
+    void apply_failingOperation_isolatedFromItsChunk() {
+        UUID created = UUID.randomUUID();
+        when(pokService.create(any(CreatePokRequest.class), eq(userId), eq("sync:ok")))
+            .thenReturn(response(created, "Fine", SEEN));
+        when(pokService.create(any(CreatePokRequest.class), eq(userId), eq("sync:bad")))
+            .thenThrow(new IllegalArgumentException("Idempotency-Key was already used for a different request"));
+
+        SyncBatchResponse response = service.apply(userId, batch(
+            new SyncOperation("ok", Type.CREATE, null, null, "Fine", null, null),
+            new SyncOperation("bad", Type.CREATE, null, null, "Clash", null, null)));
+
+        assertThat(response.results()).extracting(OperationResult::status)
+            .containsExactly(Status.APPLIED, Status.REJECTED);
+        // Once in the chunk that rolled back, once on its own
+        verify(pokService, times(2)).create(any(CreatePokRequest.class), eq(userId), eq("sync:ok"));
+    }
+
+    @Test
+    @DisplayName("reports an unexpected failure as failed and still applies the rest of the chunk")
+    void apply_unexpectedFailure_reportedAsFailed() {
+        UUID created = UUID.randomUUID();
+        when(pokService.create(any(CreatePokRequest.class), eq(userId), eq("sync:ok")))
+            .thenReturn(response(created, "Fine", SEEN));
+        when(pokService.create(any(CreatePokRequest.class), eq(userId), eq("sync:boom")))
+            .thenThrow(new IllegalStateException("connection reset"));
+
+        SyncBatchResponse response = service.apply(userId, batch(
+            new SyncOperation("boom", Type.CREATE, null, null, "Breaks", null, null),
+            new SyncOperation("ok", Type.CREATE, null, null, "Fine", null, null)));
+
+        assertThat(response.results()).extracting(OperationResult::status)
+            .containsExactly(Status.FAILED, Status.APPLIED);
+        assertThat(response.results().get(1).pokId()).isEqualTo(created);
+        // The chunk and the failing operation's own transaction both rolled back
+        verify(transactionManager, times(2)).rollback(isNull());
+    }
+
+    @Test
+    @DisplayName("applies large batches in chunks")
+    void apply_largeBatch_chunked() {
+        List<SyncOperation> operations = new ArrayList<>();
+        for (int i = 0; i < SyncUploadService.CHUNK_SIZE * 2 + 1; i++) {
+            operations.add(new SyncOperation("op-" + i, Type.CREATE, null, null, "POK " + i, null, null));
+        }
+        when(pokService.create(any(CreatePokRequest.class), eq(userId), any()))
+            .thenReturn(response(UUID.randomUUID(), "POK", SEEN));
+
+        SyncBatchResponse response = service.apply(userId, new SyncBatchRequest(operations));
+
+        assertThat(response.results()).hasSize(operations.size())
+            .allMatch(result -> result.status() == Status.APPLIED);
+        verify(transactionManager, times(3)).commit(isNull());
+    }
+
+    private SyncBatchRequest batch(SyncOperation... operations) {
+        return new SyncBatchRequest(List.of(operations));
+    }
+
+    private Pok pok(String content, Instant updatedAt) {
+        Pok pok = new Pok(userId, null, content);
+        ReflectionTestUtils.setField(pok, "id", UUID.randomUUID());
+        pok.setUpdatedAt(updatedAt);
+        return pok;
+    }
+
+    private PokResponse response(UUID id, String content, Instant updatedAt) {
+        return new PokResponse(id, userId, null, content, null, updatedAt, updatedAt, List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,88 @@
+package com.lucasxf.ed.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TagMatcherCache}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("TagMatcherCache")
+class TagMatcherCacheTest {
+
+    // 5 states ("", j, ja, jav, java) times 3 symbols (j, a, v)
+    private static final TagMatcher JAVA = TagMatcher.compile(List.of("java"));
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    @Test
+    @DisplayName("returns a matcher only for the names it was compiled from")
+    void get_differentNames_misses() {
+        TagMatcherCache cache = new TagMatcherCache(10, 1_000);
+        cache.put(alice, JAVA);
+
+        assertThat(cache.get(alice, List.of("java"))).isSameAs(JAVA);
+        assertThat(cache.get(alice, List.of("java", "kotlin"))).isNull();
+        assertThat(cache.get(bob, List.of("java"))).isNull();
+    }
+
+    @Test
+    @DisplayName("evicts the least recently used matchers until the new one fits the table budget")
+    void put_overTableBudget_evictsLeastRecentlyUsed() {
+        assertThat(JAVA.tableSize()).isEqualTo(15);
+        TagMatcherCache cache = new TagMatcherCache(10, 40);
+        cache.put(alice, JAVA);
+        cache.put(bob, JAVA);
+        cache.get(alice, List.of("java"));
+
+        cache.put(carol, JAVA);
+
+        assertThat(cache.get(bob, List.of("java"))).isNull();
+        assertThat(cache.get(alice, List.of("java"))).isSameAs(JAVA);
+        assertThat(cache.get(carol, List.of("java"))).isSameAs(JAVA);
+        assertThat(cache.tableSize()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("keeps at most the maximum number of matchers")
+    void put_overCount_evictsEldest() {
+        TagMatcherCache cache = new TagMatcherCache(2, 1_000);
+        cache.put(alice, JAVA);
+        cache.put(bob, JAVA);
+        cache.put(carol, JAVA);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(alice, List.of("java"))).isNull();
+    }
+
+    @Test
+    @DisplayName("does not cache a matcher larger than the whole budget")
+    void put_largerThanBudget_notCached() {
+        TagMatcherCache cache = new TagMatcherCache(10, 10);
+        cache.put(alice, JAVA);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.tableSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("replacing a user's matcher releases the old one's share of the budget")
+    void put_replacement_releasesOldTable() {
+        TagMatcherCache cache = new TagMatcherCache(10, 1_000);
+        cache.put(alice, JAVA);
+        TagMatcher go = TagMatcher.compile(List.of("go"));
+
+        cache.put(alice, go);
+
+        assertThat(cache.tableSize()).isEqualTo(go.tableSize());
+    }
+}
@@ -0,0 +1,96 @@
+package com.lucasxf.ed.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TagMatcher}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("TagMatcher")
+class TagMatcherTest {
+
+    @ParameterizedTest(name = "{0} in \"{1}\" -> {2}")
+    @CsvSource(delimiter = '|', textBlock = """
+        spring-boot | Learning Spring Boot basics      | true
+        spring-boot | spring-boot 4 is out             | true
+        spring boot | a spring--boot   app             | true
+        java        | Java streams                     | true
+        java        | javascript closures              | false
+        java        | learning (java)!                 | true
+        go          | going places                     | false
+        c++         | modern c++17 features            | true
+        c++         | c+ and c                         | false
+        .net        | moved to .NET 8                  | true
+        ação        | Uma AÇÃO simples                 | true
+        """)
+    @DisplayName("matches case-, hyphen- and space-insensitively on word boundaries")
+    void match_singleTag(String tag, String text, boolean expected) {
+        assertThat(TagMatcher.compile(List.of(tag)).match(text).contains(tag)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("finds overlapping and nested names in one pass")
+    void match_overlappingNames() {
+        TagMatcher matcher = TagMatcher.compile(List.of("spring", "spring-boot", "boot", "he", "she", "hers"));
+
+        assertThat(matcher.match("She uses Spring Boot; hers is plain Spring."))
+            .containsExactlyInAnyOrder("spring", "spring-boot", "boot", "she", "hers");
+    }
+
+    @Test
+    @DisplayName("reports every name that normalizes to the same key")
+    void match_equivalentNames() {
+        TagMatcher matcher = TagMatcher.compile(List.of("Spring-Boot", "spring boot"));
+
+        assertThat(matcher.match("spring boot")).containsExactlyInAnyOrder("Spring-Boot", "spring boot");
+    }
+
+    @Test
+    @DisplayName("matches nothing without names or text")
+    void match_empty() {
+        assertThat(TagMatcher.compile(List.of()).match("anything")).isEmpty();
+        assertThat(TagMatcher.compile(List.of(" ", "-")).match("- -")).isEmpty();
+        assertThat(TagMatcher.compile(List.of("java")).match("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("matches whole names among many")
+    void match_manyNames() {
+        List<String> tags = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tags.add("tag" + i);
+        }
+        String text = "notes on tag7, tag42 and tag499 but not tag5000 or xtag3";
+
+        Set<String> found = TagMatcher.compile(tags).match(text);
+
+        assertThat(found).containsExactlyInAnyOrder("tag7", "tag42", "tag499");
+    }
+
+    @Test
+    @DisplayName("builds database regular expressions with the same word-boundary rule")
+    void wordRegex_boundariesAndEscaping() {
+        assertThat(TagMatcher.wordRegex(TagMatcher.key("Spring-Boot")))
+            .isEqualTo("(^|[^[:alnum:]])spring boot($|[^[:alnum:]])");
+        assertThat(TagMatcher.wordRegex(TagMatcher.key("c++"))).isEqualTo("(^|[^[:alnum:]])c\\+\\+");
+        assertThat(TagMatcher.wordRegex(TagMatcher.key(".NET"))).isEqualTo("\\.net($|[^[:alnum:]])");
+    }
+
+    @Test
+    @DisplayName("keeps the compiled names sorted and distinct")
+    void names_sortedDistinct() {
+        assertThat(TagMatcher.compile(List.of("kafka", "docker", "kafka")).names())
+            .containsExactly("docker", "kafka");
+    }
+}
@@ -20,6 +20,8 @@ import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.CreateTagRequest;
 import com.lucasxf.ed.dto.TagResponse;
 import com.lucasxf.ed.dto.UpdateTagRequest;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
 import com.lucasxf.ed.exception.TagConflictException;
 import com.lucasxf.ed.exception.TagNotFoundException;
 import com.lucasxf.ed.repository.PokRepository;
@@ -51,6 +53,12 @@ class TagServiceTest {
     @Mock
     private PokRepository pokRepository;
 
+    @Mock
+    private UserChangeVersionService userChangeVersionService;
+
+    @Mock
+    private PokEventBus pokEventBus;
+
     @InjectMocks
     private TagService tagService;
 
@@ -79,6 +87,7 @@ class TagServiceTest {
         assertThat(response.name()).isEqualTo("spring-boot");
         verify(tagRepository).save(any(Tag.class));
         verify(userTagRepository).save(any(UserTag.class));
+        verify(pokEventBus).publish(new PokEvent.TagSubscribed(userId, savedTag.getId()));
     }
 
     @Test
@@ -189,7 +198,7 @@ class TagServiceTest {
                 .thenReturn(false);
         when(tagRepository.findByNameIgnoreCase("kubernetes")).thenReturn(Optional.of(newGlobalTag));
         when(userTagRepository.save(any(UserTag.class))).thenReturn(newUserTag);
-        when(pokRepository.findIdsByUserId(userId)).thenReturn(List.of());
+        when(pokTagRepository.findActivePokIdsByTagIdAndUserId(oldGlobalTag.getId(), userId)).thenReturn(List.of());
 
         // When
         TagResponse response = tagService.renameTag(oldUserTag.getId(), new UpdateTagRequest("kubernetes"), userId);
@@ -197,6 +206,34 @@ class TagServiceTest {
         // Then
         assertThat(response.name()).isEqualTo("kubernetes");
         assertThat(oldUserTag.isActive()).isFalse(); // soft-deleted
+        verify(pokEventBus, never()).publish(any(PokEvent.TagChanged.class));
+        verify(pokEventBus).publish(new PokEvent.TagSubscribed(userId, newGlobalTag.getId()));
+    }
+
+    @Test
+    void renameTag_shouldReassignAndReportOnlyThePoksCarryingTheTag() {
+        // Given
+        Tag oldGlobalTag = new Tag("k8s");
+        UserTag oldUserTag = new UserTag(userId, oldGlobalTag, "purple");
+        Tag newGlobalTag = new Tag("kubernetes");
+        ReflectionTestUtils.setField(oldGlobalTag, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(newGlobalTag, "id", UUID.randomUUID());
+        List<UUID> taggedPokIds = List.of(UUID.randomUUID());
+
+        when(userTagRepository.findById(any())).thenReturn(Optional.of(oldUserTag));
+        when(userTagRepository.existsByUserIdAndTagNameIgnoreCaseAndDeletedAtIsNull(userId, "kubernetes"))
+                .thenReturn(false);
+        when(tagRepository.findByNameIgnoreCase("kubernetes")).thenReturn(Optional.of(newGlobalTag));
+        when(userTagRepository.save(any(UserTag.class))).thenReturn(new UserTag(userId, newGlobalTag, "purple"));
+        when(pokTagRepository.findActivePokIdsByTagIdAndUserId(oldGlobalTag.getId(), userId)).thenReturn(taggedPokIds);
+
+        // When
+        tagService.renameTag(oldUserTag.getId(), new UpdateTagRequest("kubernetes"), userId);
+
+        // Then
+        verify(pokTagRepository).reassignTag(oldGlobalTag.getId(), newGlobalTag.getId(), taggedPokIds);
+        verify(pokEventBus).publish(new PokEvent.TagChanged(userId, newGlobalTag.getId(), taggedPokIds));
+        verify(pokRepository, never()).findIdsByUserId(any());
     }
 
     @Test
@@ -247,19 +284,41 @@ class TagServiceTest {
     void deleteTag_shouldSoftDeleteSubscriptionAndRemovePokTagAssignments() {
         // Given
         Tag tag = new Tag("legacy");
+        ReflectionTestUtils.setField(tag, "id", UUID.randomUUID());
         UserTag userTag = new UserTag(userId, tag, "red");
-        List<UUID> userPokIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> taggedPokIds = List.of(UUID.randomUUID(), UUID.randomUUID());
 
         when(userTagRepository.findById(any())).thenReturn(Optional.of(userTag));
-        when(pokRepository.findIdsByUserId(userId)).thenReturn(userPokIds);
+        when(pokTagRepository.findActivePokIdsByTagIdAndUserId(tag.getId(), userId)).thenReturn(taggedPokIds);
 
         // When
         tagService.deleteTag(userTag.getId(), userId);
 
         // Then
         assertThat(userTag.isActive()).isFalse(); // soft-deleted
-        verify(pokTagRepository).deleteByTagIdAndPokIdIn(any(), any());
+        verify(pokTagRepository).deleteByTagIdAndPokIdIn(tag.getId(), taggedPokIds);
         verify(userTagRepository).save(userTag);
+        // Only the POKs that carried the tag are reindexed and reported
+        verify(pokEventBus).publish(new PokEvent.TagChanged(userId, tag.getId(), taggedPokIds));
+        verify(pokRepository, never()).findIdsByUserId(any());
+    }
+
+    @Test
+    void deleteTag_withoutTaggedPoks_shouldPublishNoTagChange() {
+        // Given
+        Tag tag = new Tag("unused");
+        UserTag userTag = new UserTag(userId, tag, "red");
+
+        when(userTagRepository.findById(any())).thenReturn(Optional.of(userTag));
+        when(pokTagRepository.findActivePokIdsByTagIdAndUserId(tag.getId(), userId)).thenReturn(List.of());
+
+        // When
+        tagService.deleteTag(userTag.getId(), userId);
+
+        // Then
+        assertThat(userTag.isActive()).isFalse();
+        verify(pokTagRepository, never()).deleteByTagIdAndPokIdIn(any(), any());
+        verify(pokEventBus, never()).publish(any());
     }
 
     @Test
@@ -10,6 +10,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.lucasxf.ed.domain.Pok;
 import com.lucasxf.ed.domain.PokTag;
@@ -17,6 +18,8 @@ import com.lucasxf.ed.domain.PokTagSuggestion;
 import com.lucasxf.ed.domain.Tag;
 import com.lucasxf.ed.domain.UserTag;
 import com.lucasxf.ed.dto.TagSuggestionResponse;
+import com.lucasxf.ed.event.PokEvent;
+import com.lucasxf.ed.event.PokEventBus;
 import com.lucasxf.ed.exception.TagNotFoundException;
 import com.lucasxf.ed.repository.PokRepository;
 import com.lucasxf.ed.repository.PokTagRepository;
@@ -27,7 +30,8 @@ import com.lucasxf.ed.repository.UserTagRepository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,6 +44,8 @@ class TagSuggestionServiceTest {
     @Mock private UserTagRepository userTagRepository;
     @Mock private PokTagRepository pokTagRepository;
     @Mock private PokTagSuggestionRepository suggestionRepository;
+    @Mock private UserChangeVersionService userChangeVersionService;
+    @Mock private PokEventBus pokEventBus;
 
     @InjectMocks
     private TagSuggestionService tagSuggestionService;
@@ -58,56 +64,80 @@ class TagSuggestionServiceTest {
 
         when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(pok));
         when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(userTag));
-        when(suggestionRepository.findByPokIdAndUserId(pokId, userId)).thenReturn(List.of());
-        when(suggestionRepository.save(any(PokTagSuggestion.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(pokTagRepository.findByPokId(pokId)).thenReturn(List.of());
+        when(suggestionRepository.insertPendingIgnoringDuplicates(any(), any(), any())).thenReturn(1);
 
         // When
         tagSuggestionService.suggestTagsForPok(pokId, userId);
 
-        // Then — suggestion created for "spring-boot" (matches title)
-        ArgumentCaptor<PokTagSuggestion> captor = ArgumentCaptor.forClass(PokTagSuggestion.class);
-        verify(suggestionRepository).save(captor.capture());
-        assertThat(captor.getValue().getSuggestedName()).isEqualTo("spring-boot");
-        assertThat(captor.getValue().getStatus()).isEqualTo(PokTagSuggestion.Status.PENDING);
+        // Then — one insert with the suggestion for "spring-boot" (matches title)
+        verify(suggestionRepository).insertPendingIgnoringDuplicates(
+                userId, new UUID[] {pokId}, new String[] {"spring-boot"});
+        verify(userChangeVersionService).markChanged(userId);
+    }
+
+    @Test
+    void suggestTagsForPok_withManyTags_shouldLoadAssignmentsOnceAndInsertOnce() {
+        // Given — three matching tags, one of them already assigned
+        Pok pok = new Pok(userId, "Spring Boot on Docker", "Deploying to Kubernetes");
+        Tag assignedTag = tag("docker");
+        List<UserTag> userTags = List.of(
+                new UserTag(userId, tag("spring-boot"), "blue"),
+                new UserTag(userId, assignedTag, "red"),
+                new UserTag(userId, tag("kubernetes"), "green"),
+                new UserTag(userId, tag("kafka"), "gray"));
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(pok));
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(userTags);
+        when(pokTagRepository.findByPokId(pokId))
+                .thenReturn(List.of(new PokTag(pokId, assignedTag.getId(), PokTag.Source.MANUAL)));
+
+        // When
+        tagSuggestionService.suggestTagsForPok(pokId, userId);
+
+        // Then
+        verify(pokTagRepository).findByPokId(pokId);
+        verify(suggestionRepository).insertPendingIgnoringDuplicates(
+                userId, new UUID[] {pokId, pokId}, new String[] {"spring-boot", "kubernetes"});
+        verify(suggestionRepository, never()).save(any());
     }
 
     @Test
     void suggestTagsForPok_withAlreadyAssignedTag_shouldSkipSuggestion() {
         // Given — tag already assigned to this POK
         Pok pok = new Pok(userId, "Spring Boot Tutorial", "Learning Spring Boot");
-        Tag tag = new Tag("spring-boot");
+        Tag tag = tag("spring-boot");
         UserTag userTag = new UserTag(userId, tag, "blue");
 
         when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(pok));
         when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(userTag));
-        when(pokTagRepository.findByPokIdAndTagId(eq(pokId), any()))
-                .thenReturn(Optional.of(new PokTag(pokId, tag.getId(), PokTag.Source.MANUAL)));
+        when(pokTagRepository.findByPokId(pokId))
+                .thenReturn(List.of(new PokTag(pokId, tag.getId(), PokTag.Source.MANUAL)));
 
         // When
         tagSuggestionService.suggestTagsForPok(pokId, userId);
 
         // Then — no suggestion created (tag already assigned)
-        verify(suggestionRepository, never()).save(any());
+        verify(suggestionRepository, never()).insertPendingIgnoringDuplicates(any(), any(), any());
     }
 
     @Test
-    void suggestTagsForPok_withExistingPendingSuggestion_shouldNotDuplicate() {
-        // Given — suggestion already pending
+    void suggestTagsForPok_withExistingSuggestion_shouldNotMarkChanged() {
+        // Given — the name was suggested before, so the insert skips it
         Pok pok = new Pok(userId, "Spring Boot Tutorial", "Learning Spring Boot");
         Tag tag = new Tag("spring-boot");
         UserTag userTag = new UserTag(userId, tag, "blue");
-        PokTagSuggestion existing = new PokTagSuggestion(pokId, userId, "spring-boot");
 
         when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(pok));
         when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(userTag));
-        when(pokTagRepository.findByPokIdAndTagId(any(), any())).thenReturn(Optional.empty());
-        when(suggestionRepository.findByPokIdAndUserId(pokId, userId)).thenReturn(List.of(existing));
+        when(pokTagRepository.findByPokId(pokId)).thenReturn(List.of());
+        when(suggestionRepository.insertPendingIgnoringDuplicates(any(), any(), any())).thenReturn(0);
 
         // When
         tagSuggestionService.suggestTagsForPok(pokId, userId);
 
-        // Then — no duplicate suggestion created
-        verify(suggestionRepository, never()).save(any());
+        // Then — nothing changed for the user
+        verify(userChangeVersionService, never()).markChanged(any());
     }
 
     @Test
@@ -119,14 +149,30 @@ class TagSuggestionServiceTest {
 
         when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(pok));
         when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(userTag));
-        when(pokTagRepository.findByPokIdAndTagId(any(), any())).thenReturn(Optional.empty());
-        when(suggestionRepository.findByPokIdAndUserId(pokId, userId)).thenReturn(List.of());
+
+        // When
+        tagSuggestionService.suggestTagsForPok(pokId, userId);
+
+        // Then — no suggestion, and no assignment lookup either
+        verify(pokTagRepository, never()).findByPokId(any());
+        verify(suggestionRepository, never()).insertPendingIgnoringDuplicates(any(), any(), any());
+    }
+
+    @Test
+    void suggestTagsForPok_withTagInsideLongerWord_shouldCreateNoSuggestions() {
+        // Given — "java" only appears inside "JavaScript"
+        Pok pok = new Pok(userId, null, "Closures in JavaScript");
+        Tag tag = new Tag("java");
+        UserTag userTag = new UserTag(userId, tag, "blue");
+
+        when(pokRepository.findByIdAndDeletedAtIsNull(pokId)).thenReturn(Optional.of(pok));
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(userTag));
 
         // When
         tagSuggestionService.suggestTagsForPok(pokId, userId);
 
         // Then — no suggestion
-        verify(suggestionRepository, never()).save(any());
+        verify(suggestionRepository, never()).insertPendingIgnoringDuplicates(any(), any(), any());
     }
 
     @Test
@@ -138,7 +184,107 @@ class TagSuggestionServiceTest {
         tagSuggestionService.suggestTagsForPok(pokId, userId);
 
         // Then
+        verify(suggestionRepository, never()).insertPendingIgnoringDuplicates(any(), any(), any());
+    }
+
+    // ===== suggestTagsForPoks =====
+
+    @Test
+    void suggestTagsForPoks_shouldInsertMatchesForTheWholeBatchAtOnce() {
+        // Given — two POKs, only one mentions the user's tag
+        Pok matching = new Pok(userId, "Spring Boot Tutorial", "Learning Spring Boot basics");
+        Pok unrelated = new Pok(userId, "Groceries", "Milk and eggs");
+        ReflectionTestUtils.setField(matching, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(unrelated, "id", UUID.randomUUID());
+        UserTag userTag = new UserTag(userId, new Tag("spring-boot"), "blue");
+        List<UUID> pokIds = List.of(matching.getId(), unrelated.getId());
+
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(userTag));
+        when(pokTagRepository.findByPokIdIn(pokIds)).thenReturn(List.of());
+        when(pokRepository.findAllById(pokIds)).thenReturn(List.of(matching, unrelated));
+        when(suggestionRepository.insertPendingIgnoringDuplicates(any(), any(), any())).thenReturn(1);
+
+        // When
+        tagSuggestionService.suggestTagsForPoks(pokIds, userId);
+
+        // Then — one insert for the batch, no per-POK saves
+        verify(suggestionRepository).insertPendingIgnoringDuplicates(
+                userId, new UUID[] {matching.getId()}, new String[] {"spring-boot"});
         verify(suggestionRepository, never()).save(any());
+        verify(userChangeVersionService).markChanged(userId);
+    }
+
+    // ===== suggestTagOnExistingPoks =====
+
+    @Test
+    void suggestTagOnExistingPoks_shouldInsertSuggestionsForMatchingPoksAtOnce() {
+        // Given — the database finds two existing POKs mentioning the new tag
+        Tag tag = tag("Spring_Boot");
+        List<UUID> matching = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        when(userTagRepository.findByUserIdAndTagIdAndDeletedAtIsNull(userId, tag.getId()))
+                .thenReturn(Optional.of(new UserTag(userId, tag, "blue")));
+        when(pokRepository.findIdsMatchingTagName(userId, tag.getId(), "Spring_Boot", "%spring\\_boot%",
+                "(^|[^[:alnum:]])spring\\_boot($|[^[:alnum:]])")).thenReturn(matching);
+        when(suggestionRepository.insertPendingIgnoringDuplicates(any(), any(), any())).thenReturn(2);
+
+        // When
+        List<UUID> suggested = tagSuggestionService.suggestTagOnExistingPoks(tag.getId(), userId);
+
+        // Then — one insert for every match, nothing scanned in Java
+        assertThat(suggested).isEqualTo(matching);
+        verify(suggestionRepository).insertPendingIgnoringDuplicates(
+                userId, matching.toArray(UUID[]::new), new String[] {"Spring_Boot", "Spring_Boot"});
+        verify(pokRepository, never()).findAllById(any());
+        verify(userChangeVersionService).markChanged(userId);
+    }
+
+    @Test
+    void suggestTagOnExistingPoks_afterUnsubscribing_shouldDoNothing() {
+        // Given — the subscription was deleted before the pass ran
+        UUID tagId = UUID.randomUUID();
+        when(userTagRepository.findByUserIdAndTagIdAndDeletedAtIsNull(userId, tagId)).thenReturn(Optional.empty());
+
+        // When
+        List<UUID> suggested = tagSuggestionService.suggestTagOnExistingPoks(tagId, userId);
+
+        // Then
+        assertThat(suggested).isEmpty();
+        verify(pokRepository, never()).findIdsMatchingTagName(any(), any(), any(), any(), any());
+    }
+
+    // ===== suggestTagsByEmbedding =====
+
+    @Test
+    void suggestTagsByEmbedding_shouldScoreTheBatchAgainstCentroidsInOneStatement() {
+        // Given — the database adds one suggestion for the two embedded POKs
+        UUID[] pokIds = {UUID.randomUUID(), UUID.randomUUID()};
+        when(suggestionRepository.insertPendingNearTagCentroids(userId, pokIds,
+                TagSuggestionService.MAX_CENTROID_DISTANCE, TagSuggestionService.MIN_CENTROID_POKS,
+                TagSuggestionService.MAX_SEMANTIC_SUGGESTIONS_PER_POK)).thenReturn(1);
+
+        // When
+        boolean suggested = tagSuggestionService.suggestTagsByEmbedding(List.of(pokIds), userId);
+
+        // Then — no POK or tag is loaded into Java
+        assertThat(suggested).isTrue();
+        verify(userChangeVersionService).markChanged(userId);
+        verify(pokRepository, never()).findAllById(any());
+        verify(userTagRepository, never()).findByUserIdAndDeletedAtIsNull(any());
+    }
+
+    @Test
+    void suggestTagsByEmbedding_withNothingClose_shouldNotMarkChanged() {
+        // Given
+        when(suggestionRepository.insertPendingNearTagCentroids(any(), any(), anyDouble(), anyInt(), anyInt()))
+                .thenReturn(0);
+
+        // When
+        boolean suggested = tagSuggestionService.suggestTagsByEmbedding(List.of(UUID.randomUUID()), userId);
+
+        // Then
+        assertThat(suggested).isFalse();
+        verify(userChangeVersionService, never()).markChanged(any());
     }
 
     // ===== getPendingSuggestions =====
@@ -183,6 +329,7 @@ class TagSuggestionServiceTest {
         ArgumentCaptor<PokTag> captor = ArgumentCaptor.forClass(PokTag.class);
         verify(pokTagRepository).save(captor.capture());
         assertThat(captor.getValue().getSource()).isEqualTo(PokTag.Source.AI);
+        verify(pokEventBus).publish(new PokEvent.TagChanged(userId, tag.getId(), List.of(pokId)));
     }
 
     @Test
@@ -247,4 +394,10 @@ class TagSuggestionServiceTest {
         assertThatThrownBy(() -> tagSuggestionService.rejectSuggestion(suggestionId, userId))
                 .isInstanceOf(TagNotFoundException.class);
     }
+
+    private static Tag tag(String name) {
+        Tag tag = new Tag(name);
+        ReflectionTestUtils.setField(tag, "id", UUID.randomUUID());
+        return tag;
+    }
 }
@@ -0,0 +1,105 @@
+package com.lucasxf.ed.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link TextDelta}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("TextDelta")
+class TextDeltaTest {
+
+    private static final String NOTE = """
+        # Records
+        Java records are immutable data carriers. The compiler generates the canonical constructor,
+        accessors, equals, hashCode and toString.
+
+        ## When not to use them
+        JPA entities need a no-args constructor and mutable state.
+        """;
+
+    @Test
+    @DisplayName("equal texts give a single copy")
+    void encode_equalTexts_isSingleCopy() {
+        assertThat(TextDelta.encode(NOTE, NOTE)).isEqualTo("=" + NOTE.length());
+        assertThat(TextDelta.encode("", "")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a one-word edit inside a long line costs about the word")
+    void encode_wordEdit_isSmall() {
+        String target = NOTE.replace("immutable", "shallowly immutable");
+
+        String delta = TextDelta.encode(NOTE, target);
+
+        assertThat(delta).isEqualTo("=27+10:shallowly =" + (NOTE.length() - 27));
+        assertThat(TextDelta.apply(NOTE, delta)).isEqualTo(target);
+    }
+
+    @Test
+    @DisplayName("round-trips inserted, deleted and moved lines")
+    void encode_lineEdits_roundTrip() {
+        String target = """
+            # Records
+            Java records are immutable data carriers.
+
+            ## When not to use them
+            JPA entities need a no-args constructor and mutable state.
+            Builders with many optional fields read better as classes.
+            # Records
+            """;
+
+        assertThat(TextDelta.apply(NOTE, TextDelta.encode(NOTE, target))).isEqualTo(target);
+        assertThat(TextDelta.apply(target, TextDelta.encode(target, NOTE))).isEqualTo(NOTE);
+    }
+
+    @ParameterizedTest(name = "\"{0}\" -> \"{1}\"")
+    @CsvSource(value = {
+        "'', ''",
+        "'', 'new note'",
+        "'old note', ''",
+        "'no trailing newline', 'no trailing newline\nbut now two lines'",
+        "'a\nb\nc', 'c\nb\na'",
+        "'café ☕ naïve', 'café 🍵 naïve'"
+    })
+    @DisplayName("round-trips edge cases")
+    void encode_edgeCases_roundTrip(String base, String target) {
+        assertThat(TextDelta.apply(base, TextDelta.encode(base, target))).isEqualTo(target);
+    }
+
+    @Test
+    @DisplayName("expands a script into kept, removed and inserted text")
+    void edits_listRunsInOrder() {
+        String delta = TextDelta.encode("Records are great", "Records are immutable");
+
+        assertThat(TextDelta.edits("Records are great", delta)).containsExactly(
+            new TextDelta.Edit(TextDelta.Edit.Kind.EQUAL, "Records are "),
+            new TextDelta.Edit(TextDelta.Edit.Kind.DELETE, "great"),
+            new TextDelta.Edit(TextDelta.Edit.Kind.INSERT, "immutable"));
+    }
+
+    @Test
+    @DisplayName("rejects a script that does not fit its base")
+    void apply_mismatchedScript_throws() {
+        assertThatThrownBy(() -> TextDelta.apply("short", "=10"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TextDelta.apply("short", "=3"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("does not cover");
+        assertThatThrownBy(() -> TextDelta.apply("short", "+9:abc"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Malformed insertion");
+        assertThatThrownBy(() -> TextDelta.apply("short", "-9"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TextDelta.apply("short", "*5"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
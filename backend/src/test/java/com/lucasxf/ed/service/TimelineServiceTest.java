@@ -0,0 +1,141 @@
+package com.lucasxf.ed.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasxf.ed.domain.Pok;
+import com.lucasxf.ed.domain.PokTag;
+import com.lucasxf.ed.domain.Tag;
+import com.lucasxf.ed.domain.UserTag;
+import com.lucasxf.ed.dto.TimelineItemsResponse;
+import com.lucasxf.ed.dto.TimelineMonthResponse;
+import com.lucasxf.ed.repository.PokRepository;
+import com.lucasxf.ed.repository.PokTagRepository;
+import com.lucasxf.ed.repository.UserTagRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TimelineService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimelineService")
+class TimelineServiceTest {
+
+    private static final Instant JANUARY = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant FEBRUARY = Instant.parse("2026-02-01T00:00:00Z");
+
+    @Mock
+    private PokRepository pokRepository;
+
+    @Mock
+    private PokTagRepository pokTagRepository;
+
+    @Mock
+    private UserTagRepository userTagRepository;
+
+    @InjectMocks
+    private TimelineService timelineService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("maps month counts from the aggregate query")
+    void getMonths_mapsCounts() {
+        when(pokRepository.countByCreationMonth(userId)).thenReturn(List.of(monthCount("2026-02", 3)));
+
+        assertThat(timelineService.getMonths(userId)).containsExactly(new TimelineMonthResponse("2026-02", 3));
+    }
+
+    @Test
+    @DisplayName("returns a cursor when the month has more POKs than the slice size")
+    void getMonthItems_withMorePoks_returnsCursor() {
+        Pok newest = pok("2026-01-20T10:00:00Z");
+        Pok middle = pok("2026-01-15T10:00:00Z");
+        Pok oldest = pok("2026-01-02T10:00:00Z");
+        when(pokRepository.findCreatedBetween(userId, JANUARY, FEBRUARY, Limit.of(3)))
+            .thenReturn(List.of(newest, middle, oldest));
+
+        TimelineItemsResponse first = timelineService.getMonthItems(userId, "2026-01", null, 2);
+
+        assertThat(first.month()).isEqualTo("2026-01");
+        assertThat(first.items()).extracting("id").containsExactly(newest.getId(), middle.getId());
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(pokRepository.findCreatedBetweenAfter(userId, JANUARY, FEBRUARY,
+            middle.getCreatedAt(), middle.getId(), Limit.of(3))).thenReturn(List.of(oldest));
+
+        TimelineItemsResponse second = timelineService.getMonthItems(userId, "2026-01", first.nextCursor(), 2);
+
+        assertThat(second.items()).extracting("id").containsExactly(oldest.getId());
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("hydrates tags for the whole slice in one batch")
+    void getMonthItems_hydratesTags() {
+        Pok pok = pok("2026-01-20T10:00:00Z");
+        Tag tag = new Tag("java");
+        ReflectionTestUtils.setField(tag, "id", UUID.randomUUID());
+        UserTag userTag = new UserTag(userId, tag, "blue");
+        ReflectionTestUtils.setField(userTag, "id", UUID.randomUUID());
+        when(pokRepository.findCreatedBetween(userId, JANUARY, FEBRUARY, Limit.of(21))).thenReturn(List.of(pok));
+        when(userTagRepository.findByUserIdAndDeletedAtIsNull(userId)).thenReturn(List.of(userTag));
+        when(pokTagRepository.findByPokIdIn(anyCollection()))
+            .thenReturn(List.of(new PokTag(pok.getId(), tag.getId(), PokTag.Source.MANUAL)));
+
+        TimelineItemsResponse response = timelineService.getMonthItems(userId, "2026-01", null, 20);
+
+        assertThat(response.items().getFirst().tags()).extracting("name").containsExactly("java");
+    }
+
+    @Test
+    @DisplayName("rejects unparseable months and cursors")
+    void getMonthItems_withMalformedInput_throws() {
+        assertThatThrownBy(() -> timelineService.getMonthItems(userId, "2026-13", null, 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("YYYY-MM");
+        assertThatThrownBy(() -> timelineService.getMonthItems(userId, "2026-01", "not-a-cursor", 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("cursor");
+        verifyNoInteractions(pokRepository);
+    }
+
+    private Pok pok(String createdAt) {
+        Pok pok = new Pok(userId, "Title", "Content");
+        ReflectionTestUtils.setField(pok, "id", UUID.randomUUID());
+        pok.setCreatedAt(Instant.parse(createdAt));
+        return pok;
+    }
+
+    private static PokRepository.MonthCount monthCount(String month, long count) {
+        return new PokRepository.MonthCount() {
+            @Override
+            public String getMonth() {
+                return month;
+            }
+
+            @Override
+            public long getPokCount() {
+                return count;
+            }
+        };
+    }
+}
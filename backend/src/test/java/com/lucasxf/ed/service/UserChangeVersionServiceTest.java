@@ -0,0 +1,84 @@
+package com.lucasxf.ed.service;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link UserChangeVersionService}.
+ *
+ * @author Lucas Xavier Ferreira
+ * @since 2026-10-19
+ */
+@DisplayName("UserChangeVersionService")
+class UserChangeVersionServiceTest {
+
+    private final UserChangeVersionService service = new UserChangeVersionService();
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("starts at zero and increments immediately outside a transaction")
+    void markChanged_withoutTransaction_incrementsImmediately() {
+        assertThat(service.current(userId)).isZero();
+
+        service.markChanged(userId);
+
+        assertThat(service.current(userId)).isEqualTo(1);
+        assertThat(service.current(UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    @DisplayName("defers the increment until the transaction commits")
+    void markChanged_withinTransaction_defersUntilAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.markChanged(userId);
+        assertThat(service.current(userId)).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(service.current(userId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("token changes with the version and differs between instances")
+    void token_tracksVersionAndBoot() {
+        String before = service.token(userId);
+
+        service.markChanged(userId);
+
+        assertThat(service.token(userId)).isNotEqualTo(before).endsWith(".1");
+        assertThat(before).endsWith(".0");
+    }
+
+    @Test
+    @DisplayName("never hands a forgotten user a version seen before")
+    void current_afterEviction_neverGoesBack() {
+        UserChangeVersionService small = new UserChangeVersionService(2);
+        UUID other = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        small.markChanged(userId);
+        small.markChanged(userId);
+        long before = small.current(userId);
+
+        small.markChanged(other);
+        small.markChanged(third);  // Evicts userId
+
+        assertThat(small.current(userId)).isGreaterThanOrEqualTo(before);
+        small.markChanged(userId);
+        assertThat(small.current(userId)).isGreaterThan(before);
+        assertThat(small.current(UUID.randomUUID())).isGreaterThanOrEqualTo(before);
+    }
+}